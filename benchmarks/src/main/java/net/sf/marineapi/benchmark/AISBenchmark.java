@@ -0,0 +1,153 @@
+/*
+ * AISBenchmark.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.marineapi.ais.message.AISMessage;
+import net.sf.marineapi.ais.parser.AISLineDecoder;
+import net.sf.marineapi.ais.parser.AISMessageFactory;
+import net.sf.marineapi.ais.util.Sixbit;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.AISSentence;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of AIS decoding over recorded VDM/VDO data: six-bit payload
+ * decoding, message creation from parsed sentences, and the complete path
+ * from sentence to message with {@link AISLineDecoder}. Each operation
+ * handles one message, or one sentence for the line decoder.
+ *
+ * @author Kimmo Tuukkanen
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AISBenchmark {
+
+    private static final String CORPUS = "AIS-VDM-VDO.txt";
+
+    private final AISMessageFactory factory = AISMessageFactory.getInstance();
+    private final AISLineDecoder decoder = new AISLineDecoder();
+
+    private byte[][] lines;
+    private AISSentence[][] messages;
+    private String[] payloads;
+    private int[] fillBits;
+    private int line;
+    private int message;
+    private int payload;
+
+    @Setup
+    public void setUp() throws IOException {
+
+        SentenceFactory sf = SentenceFactory.getInstance();
+        List<byte[]> bytes = new ArrayList<>();
+        List<AISSentence[]> groups = new ArrayList<>();
+        List<AISSentence> group = new ArrayList<>();
+
+        for (String s : Corpus.lines(CORPUS)) {
+            AISSentence ais;
+            try {
+                ais = (AISSentence) sf.createParser(s);
+            } catch (RuntimeException e) {
+                // e.g. checksum error in recording
+                continue;
+            }
+            bytes.add(s.getBytes(StandardCharsets.US_ASCII));
+            if (ais.isFirstFragment()) {
+                group.clear();
+            }
+            group.add(ais);
+            if (ais.isLastFragment()) {
+                AISSentence[] g = group.toArray(new AISSentence[group.size()]);
+                try {
+                    factory.create(g);
+                    groups.add(g);
+                } catch (IllegalArgumentException e) {
+                    // unsupported message type
+                }
+            }
+        }
+
+        lines = bytes.toArray(new byte[bytes.size()][]);
+        messages = groups.toArray(new AISSentence[groups.size()][]);
+        payloads = new String[messages.length];
+        fillBits = new int[messages.length];
+        for (int i = 0; i < messages.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (AISSentence s : messages[i]) {
+                sb.append(s.getPayload());
+            }
+            payloads[i] = sb.toString();
+            fillBits[i] = messages[i][messages[i].length - 1].getFillBits();
+        }
+    }
+
+    @Benchmark
+    public int sixbit() {
+        if (++payload == payloads.length) {
+            payload = 0;
+        }
+        Sixbit sb = new Sixbit(payloads[payload], fillBits[payload]);
+        // message type and MMSI
+        return sb.getInt(0, 6) + sb.getInt(8, 38);
+    }
+
+    @Benchmark
+    public AISMessage messageFactory() {
+        if (++message == messages.length) {
+            message = 0;
+        }
+        return factory.create(messages[message]);
+    }
+
+    @Benchmark
+    public AISMessage lineDecoder() {
+        if (++line == lines.length) {
+            line = 0;
+        }
+        byte[] b = lines[line];
+        try {
+            return decoder.decode(b, 0, b.length);
+        } catch (IllegalArgumentException e) {
+            // unsupported message type
+            return null;
+        }
+    }
+}
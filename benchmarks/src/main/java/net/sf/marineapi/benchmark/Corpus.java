@@ -0,0 +1,68 @@
+/*
+ * Corpus.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads the recorded NMEA data bundled with benchmarks. The recordings are
+ * the same files used by unit tests, copied into {@code data/} of the
+ * benchmark jar at build time.
+ *
+ * @author Kimmo Tuukkanen
+ */
+final class Corpus {
+
+    private Corpus() {
+    }
+
+    /**
+     * Reads all non-empty lines of given recording.
+     *
+     * @param name File name, e.g. {@code Navibe-GM720.txt}
+     * @return Lines in file order
+     * @throws IOException If file is not found or reading fails
+     */
+    static List<String> lines(String name) throws IOException {
+        InputStream in = Corpus.class.getResourceAsStream("/data/" + name);
+        if (in == null) {
+            throw new IOException("Corpus not found: " + name);
+        }
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader r = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    lines.add(line);
+                }
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * SentenceBenchmark.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.Sentence;
+import net.sf.marineapi.nmea.sentence.SentenceValidator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of NMEA 0183 sentence validation, parsing and formatting over
+ * recorded GPS data. Each operation handles one sentence; the sentences of
+ * recording are cycled in file order.
+ *
+ * @author Kimmo Tuukkanen
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SentenceBenchmark {
+
+    @Param({ "Garmin-GPS15H.txt", "Navibe-GM720.txt" })
+    public String corpus;
+
+    private final SentenceFactory factory = SentenceFactory.getInstance();
+
+    // all lines, lines with parser available and pre-parsed sentences
+    private String[] lines;
+    private String[] supported;
+    private Sentence[] sentences;
+    private int line;
+    private int parse;
+    private int format;
+    private final StringBuilder buffer = new StringBuilder(Sentence.MAX_LENGTH);
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> all = Corpus.lines(corpus);
+        List<String> ok = new ArrayList<>();
+        List<Sentence> parsed = new ArrayList<>();
+        for (String s : all) {
+            try {
+                parsed.add(factory.createParser(s));
+                ok.add(s);
+            } catch (RuntimeException e) {
+                // unsupported or invalid sentence
+            }
+        }
+        lines = all.toArray(new String[all.size()]);
+        supported = ok.toArray(new String[ok.size()]);
+        sentences = parsed.toArray(new Sentence[parsed.size()]);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        if (++line == lines.length) {
+            line = 0;
+        }
+        return SentenceValidator.isValid(lines[line]);
+    }
+
+    @Benchmark
+    public Sentence createParser() {
+        if (++parse == supported.length) {
+            parse = 0;
+        }
+        return factory.createParser(supported[parse]);
+    }
+
+    @Benchmark
+    public String toSentence() {
+        if (++format == sentences.length) {
+            format = 0;
+        }
+        return sentences[format].toSentence();
+    }
+
+    @Benchmark
+    public int appendTo() {
+        if (++format == sentences.length) {
+            format = 0;
+        }
+        buffer.setLength(0);
+        return sentences[format].appendTo(buffer).length();
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * AISDuplicateFilter.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.event;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.sf.marineapi.nmea.event.SentenceEvent;
+import net.sf.marineapi.nmea.event.SentenceListener;
+import net.sf.marineapi.nmea.sentence.AISSentence;
+import net.sf.marineapi.util.LongHashSet;
+
+/**
+ * <p>
+ * Sentence listener that suppresses AIS messages received more than once
+ * within a time window, e.g. when the same transmission is picked up by
+ * several shore stations or satellite feeds. Register the filter in one or
+ * more {@link net.sf.marineapi.nmea.io.SentenceReader}s and pass the actual
+ * listener, typically an {@link AbstractAISMessageListener}, to constructor.
+ * </p>
+ * <p>
+ * Messages are identified by MMSI and a hash of the complete payload. The
+ * fragments of multi-sentence messages are collected per event source and
+ * forwarded together once the message is complete, so messages from
+ * different readers are never interleaved in the target listener.
+ * Non-AIS sentences and reader state notifications are forwarded as is.</p>
+ * <p>
+ * Seen keys are stored in a ring of primitive hash sets, each covering a
+ * fraction of the window; expired sets are cleared as a whole when the ring
+ * advances, so there is no per-key expiry bookkeeping. Event timestamps are
+ * used as the time base.</p>
+ * <p>
+ * Message and duplicate counts are recorded per event source. All methods
+ * are synchronized and the target listener is notified while holding the
+ * lock.</p>
+ *
+ * @author Kimmo Tuukkanen
+ */
+public class AISDuplicateFilter implements SentenceListener {
+
+    /** Default duplicate detection window, in milliseconds */
+    public static final long DEFAULT_WINDOW = 30000L;
+
+    private static final int BUCKETS = 8;
+
+    private final SentenceListener target;
+    private final long bucketWidth;
+    private final LongHashSet[] buckets = new LongHashSet[BUCKETS];
+    private final long[] bucketEpoch = new long[BUCKETS];
+    private long lastTime = Long.MIN_VALUE;
+
+    private final Map<Object, List<SentenceEvent>> pending = new HashMap<>();
+    private final Map<Object, long[]> counters = new HashMap<>();
+    private long messages;
+    private long duplicates;
+
+    /**
+     * Creates a new filter with default window.
+     *
+     * @param target Listener to receive unique messages
+     */
+    public AISDuplicateFilter(SentenceListener target) {
+        this(target, DEFAULT_WINDOW);
+    }
+
+    /**
+     * Creates a new filter.
+     *
+     * @param target Listener to receive unique messages
+     * @param window Duplicate detection window in milliseconds, i.e. how long
+     *            a message is remembered after it was first received.
+     * @throws IllegalArgumentException If target is {@code null} or window
+     *             is not positive.
+     */
+    public AISDuplicateFilter(SentenceListener target, long window) {
+        if (target == null) {
+            throw new IllegalArgumentException("Target listener cannot be null");
+        }
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.target = target;
+        this.bucketWidth = Math.max(1L, (window + BUCKETS - 2) / (BUCKETS - 1));
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongHashSet();
+            bucketEpoch[i] = Long.MIN_VALUE;
+        }
+    }
+
+    @Override
+    public synchronized void readingPaused() {
+        target.readingPaused();
+    }
+
+    @Override
+    public synchronized void readingStarted() {
+        target.readingStarted();
+    }
+
+    @Override
+    public synchronized void readingStopped() {
+        target.readingStopped();
+    }
+
+    @Override
+    public synchronized void sentenceRead(SentenceEvent event) {
+
+        if (!(event.getSentence() instanceof AISSentence)) {
+            target.sentenceRead(event);
+            return;
+        }
+
+        AISSentence s = (AISSentence) event.getSentence();
+        Object source = event.getSource();
+
+        List<SentenceEvent> group = pending.get(source);
+        if (s.isFirstFragment()) {
+            if (group != null) {
+                group.clear();
+            }
+        } else if (group == null || group.size() != s.getFragmentNumber() - 1) {
+            // missed the beginning or a fragment in between
+            if (group != null) {
+                group.clear();
+            }
+            return;
+        }
+
+        if (s.isLastFragment()) {
+            if (group == null || group.isEmpty()) {
+                dispatch(source, event.getTimeStamp(), null, event);
+            } else {
+                group.add(event);
+                dispatch(source, event.getTimeStamp(), group, event);
+                group.clear();
+            }
+        } else {
+            if (group == null) {
+                group = new ArrayList<>(2);
+                pending.put(source, group);
+            }
+            group.add(event);
+        }
+    }
+
+    /**
+     * Returns the total number of AIS messages received.
+     *
+     * @return Number of complete messages, including duplicates.
+     */
+    public synchronized long getMessageCount() {
+        return messages;
+    }
+
+    /**
+     * Returns the total number of duplicate messages suppressed.
+     *
+     * @return Number of duplicates
+     */
+    public synchronized long getDuplicateCount() {
+        return duplicates;
+    }
+
+    /**
+     * Returns the ratio of duplicates to all received messages.
+     *
+     * @return Duplicate rate from 0.0 to 1.0, 0.0 if nothing received.
+     */
+    public synchronized double getDuplicateRate() {
+        return messages == 0 ? 0.0 : (double) duplicates / messages;
+    }
+
+    /**
+     * Returns the number of AIS messages received from given source.
+     *
+     * @param source Event source, e.g. {@code SentenceReader}
+     * @return Number of complete messages, including duplicates.
+     */
+    public synchronized long getMessageCount(Object source) {
+        long[] c = counters.get(source);
+        return c == null ? 0 : c[0];
+    }
+
+    /**
+     * Returns the number of messages from given source that were suppressed
+     * as duplicates of messages received earlier from any source.
+     *
+     * @param source Event source, e.g. {@code SentenceReader}
+     * @return Number of duplicates
+     */
+    public synchronized long getDuplicateCount(Object source) {
+        long[] c = counters.get(source);
+        return c == null ? 0 : c[1];
+    }
+
+    /**
+     * Returns the ratio of duplicates to all messages received from given
+     * source.
+     *
+     * @param source Event source, e.g. {@code SentenceReader}
+     * @return Duplicate rate from 0.0 to 1.0, 0.0 if nothing received.
+     */
+    public synchronized double getDuplicateRate(Object source) {
+        long[] c = counters.get(source);
+        return c == null || c[0] == 0 ? 0.0 : (double) c[1] / c[0];
+    }
+
+    /**
+     * Returns the event sources seen by this filter.
+     *
+     * @return Set of sources
+     */
+    public synchronized Set<Object> getSources() {
+        return new HashSet<>(counters.keySet());
+    }
+
+    /**
+     * Resets all message counters. Remembered messages are retained.
+     */
+    public synchronized void resetStatistics() {
+        counters.clear();
+        messages = 0;
+        duplicates = 0;
+    }
+
+    /**
+     * Forgets all remembered messages and pending fragments.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i].clear();
+            bucketEpoch[i] = Long.MIN_VALUE;
+        }
+        pending.clear();
+        lastTime = Long.MIN_VALUE;
+    }
+
+    /**
+     * Checks and forwards a complete message.
+     *
+     * @param group Fragments in order, or {@code null} for single sentence.
+     * @param last Last or only sentence event
+     */
+    private void dispatch(Object source, long time, List<SentenceEvent> group, SentenceEvent last) {
+
+        long[] c = counters.get(source);
+        if (c == null) {
+            c = new long[2];
+            counters.put(source, c);
+        }
+        c[0]++;
+        messages++;
+
+        if (isDuplicate(key(group, last), time)) {
+            c[1]++;
+            duplicates++;
+            return;
+        }
+
+        if (group == null) {
+            target.sentenceRead(last);
+        } else {
+            for (SentenceEvent e : group) {
+                target.sentenceRead(e);
+            }
+        }
+    }
+
+    /**
+     * Tells if the key was seen within window, remembering it if not.
+     */
+    private boolean isDuplicate(long key, long time) {
+        long now = Math.max(lastTime, time);
+        lastTime = now;
+        long epoch = Math.floorDiv(now, bucketWidth);
+
+        for (int i = 0; i < BUCKETS; i++) {
+            long e = bucketEpoch[i];
+            if (e > epoch - BUCKETS && buckets[i].contains(key)) {
+                return true;
+            }
+        }
+
+        int slot = (int) Math.floorMod(epoch, (long) BUCKETS);
+        if (bucketEpoch[slot] != epoch) {
+            buckets[slot].clear();
+            bucketEpoch[slot] = epoch;
+        }
+        buckets[slot].add(key);
+        return false;
+    }
+
+    /**
+     * Message key; MMSI in upper half and payload hash in lower half.
+     */
+    private static long key(List<SentenceEvent> group, SentenceEvent last) {
+        int hash = 0x811C9DC5;
+        int mmsi = -1;
+        int count = group == null ? 1 : group.size();
+        for (int n = 0; n < count; n++) {
+            SentenceEvent e = group == null ? last : group.get(n);
+            String payload = ((AISSentence) e.getSentence()).getPayload();
+            if (n == 0) {
+                mmsi = mmsi(payload);
+            }
+            for (int i = 0; i < payload.length(); i++) {
+                hash = (hash ^ payload.charAt(i)) * 0x01000193;
+            }
+        }
+        hash = (hash ^ ((AISSentence) last.getSentence()).getFillBits()) * 0x01000193;
+        return ((long) mmsi << 32) | (hash & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Decodes the MMSI field (bits 8-37) from the first seven payload
+     * characters.
+     */
+    private static int mmsi(String payload) {
+        if (payload.length() < 7) {
+            return -1;
+        }
+        long bits = 0;
+        for (int i = 0; i < 7; i++) {
+            int c = payload.charAt(i);
+            bits = (bits << 6) | ((c < 0x60 ? c - 0x30 : c - 0x38) & 0x3F);
+        }
+        return (int) ((bits >>> 4) & 0x3FFFFFFF);
+    }
+}
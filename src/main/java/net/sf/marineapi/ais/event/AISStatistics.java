@@ -0,0 +1,538 @@
+/*
+ * AISStatistics.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.sf.marineapi.ais.message.AISMessage;
+import net.sf.marineapi.ais.parser.AISMessageFactory;
+import net.sf.marineapi.ais.parser.AISMessageParser;
+import net.sf.marineapi.nmea.event.SentenceEvent;
+import net.sf.marineapi.nmea.event.SentenceListener;
+import net.sf.marineapi.nmea.sentence.AISSentence;
+import net.sf.marineapi.nmea.sentence.TalkerId;
+
+/**
+ * <p>
+ * Sentence listener that collects AIS traffic statistics; message counts by
+ * message type, radio channel, talker ID and MMSI, incomplete or malformed
+ * messages and data rule violations reported by the message parsers.
+ * Register it in one or more {@link net.sf.marineapi.nmea.io.SentenceReader}s
+ * next to the actual listeners, e.g. with {@code AISSentence} type.</p>
+ * <p>
+ * Counters are {@link LongAdder}s, so concurrent readers do not contend on
+ * a lock when recording. Fragments of multi-sentence messages are collected
+ * per event source, assuming that each source dispatches its events from a
+ * single thread, as {@code SentenceReader} does.</p>
+ * <p>
+ * Use {@link #snapshot()} periodically, e.g. from a scheduled executor, to
+ * read the counters. Each snapshot contains the totals and the rates per
+ * second since the previous snapshot.</p>
+ *
+ * @author Kimmo Tuukkanen
+ */
+public class AISStatistics implements SentenceListener {
+
+    /** Number of AIS message types, i.e. the range of six-bit type field. */
+    public static final int MESSAGE_TYPES = 64;
+
+    private static final TalkerId[] TALKERS = TalkerId.values();
+
+    // counter layout
+    private static final int SENTENCES = 0;
+    private static final int MESSAGES = 1;
+    private static final int FRAGMENT_ERRORS = 2;
+    private static final int DECODE_ERRORS = 3;
+    private static final int VIOLATING_MESSAGES = 4;
+    private static final int VIOLATIONS = 5;
+    private static final int TYPE_BASE = 6;
+    private static final int CHANNEL_BASE = TYPE_BASE + MESSAGE_TYPES;
+    private static final int TALKER_BASE = CHANNEL_BASE + 3;
+    private static final int COUNTERS = TALKER_BASE + TALKERS.length;
+
+    private static final int CHANNEL_A = 0;
+    private static final int CHANNEL_B = 1;
+    private static final int CHANNEL_OTHER = 2;
+
+    private final LongAdder[] counters = new LongAdder[COUNTERS];
+    private final ConcurrentMap<Integer, LongAdder> byMMSI = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, List<AISSentence>> pending = new ConcurrentHashMap<>();
+    private final AISMessageFactory factory = AISMessageFactory.getInstance();
+
+    private Snapshot previous;
+
+    /**
+     * Creates a new instance.
+     */
+    public AISStatistics() {
+        for (int i = 0; i < COUNTERS; i++) {
+            counters[i] = new LongAdder();
+        }
+        previous = new Snapshot(System.currentTimeMillis());
+    }
+
+    @Override
+    public void readingPaused() {
+    }
+
+    @Override
+    public void readingStarted() {
+    }
+
+    @Override
+    public void readingStopped() {
+    }
+
+    @Override
+    public void sentenceRead(SentenceEvent event) {
+
+        if (!(event.getSentence() instanceof AISSentence)) {
+            return;
+        }
+
+        AISSentence s = (AISSentence) event.getSentence();
+        counters[SENTENCES].increment();
+
+        if (!s.isFragmented()) {
+            record(s);
+            return;
+        }
+
+        List<AISSentence> group = pending.get(event.getSource());
+        if (s.isFirstFragment()) {
+            if (group == null) {
+                group = new ArrayList<>(2);
+                pending.put(event.getSource(), group);
+            } else if (!group.isEmpty()) {
+                // previous message never completed
+                counters[FRAGMENT_ERRORS].increment();
+                group.clear();
+            }
+        } else if (group == null || group.size() != s.getFragmentNumber() - 1
+                || !group.get(0).isPartOfMessage(s)) {
+            counters[FRAGMENT_ERRORS].increment();
+            if (group != null) {
+                group.clear();
+            }
+            return;
+        }
+
+        group.add(s);
+        if (s.isLastFragment()) {
+            record(group.toArray(new AISSentence[group.size()]));
+            group.clear();
+        }
+    }
+
+    /**
+     * Takes a snapshot of current counters. The rates of returned snapshot
+     * are calculated over the interval since previous snapshot, or since
+     * the creation or last {@link #reset()} of this instance.
+     *
+     * @return Snapshot of counters
+     */
+    public Snapshot snapshot() {
+        return snapshot(System.currentTimeMillis());
+    }
+
+    /**
+     * Takes a snapshot at given time.
+     *
+     * @param time Current time in milliseconds
+     * @return Snapshot of counters
+     */
+    synchronized Snapshot snapshot(long time) {
+        Snapshot s = new Snapshot(time, this, previous);
+        previous = s;
+        return s;
+    }
+
+    /**
+     * Resets all counters and forgets the pending message fragments.
+     */
+    public synchronized void reset() {
+        for (LongAdder c : counters) {
+            c.reset();
+        }
+        byMMSI.clear();
+        pending.clear();
+        previous = new Snapshot(System.currentTimeMillis());
+    }
+
+    /**
+     * Records a complete message.
+     */
+    private void record(AISSentence... sentences) {
+
+        AISMessage msg;
+        try {
+            msg = factory.create(sentences);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // unsupported type, or parser rejected the payload
+            counters[DECODE_ERRORS].increment();
+            return;
+        }
+
+        AISSentence first = sentences[0];
+        counters[MESSAGES].increment();
+        counters[TYPE_BASE + (msg.getMessageType() & 0x3F)].increment();
+        counters[CHANNEL_BASE + channel(first.getRadioChannel())].increment();
+        counters[TALKER_BASE + first.getTalkerId().ordinal()].increment();
+
+        LongAdder c = byMMSI.get(msg.getMMSI());
+        if (c == null) {
+            c = byMMSI.computeIfAbsent(msg.getMMSI(), k -> new LongAdder());
+        }
+        c.increment();
+
+        if (msg instanceof AISMessageParser) {
+            int n = ((AISMessageParser) msg).getNrOfViolations();
+            if (n > 0) {
+                counters[VIOLATING_MESSAGES].increment();
+                counters[VIOLATIONS].add(n);
+            }
+        }
+    }
+
+    private static int channel(String ch) {
+        if ("A".equals(ch) || "1".equals(ch)) {
+            return CHANNEL_A;
+        }
+        if ("B".equals(ch) || "2".equals(ch)) {
+            return CHANNEL_B;
+        }
+        return CHANNEL_OTHER;
+    }
+
+    private static int channel(char ch) {
+        switch (Character.toUpperCase(ch)) {
+            case 'A':
+            case '1':
+                return CHANNEL_A;
+            case 'B':
+            case '2':
+                return CHANNEL_B;
+            default:
+                throw new IllegalArgumentException("Unknown channel: " + ch);
+        }
+    }
+
+    /**
+     * Immutable view of the statistics counters at a point in time. Counts
+     * are totals since the creation or reset of statistics, rates are
+     * events per second over the interval from previous snapshot.
+     */
+    public static final class Snapshot {
+
+        private final long time;
+        private final long interval;
+        private final long[] totals;
+        private final long[] deltas;
+        private final Map<Integer, Long> mmsiTotals;
+        private final Map<Integer, Long> mmsiDeltas;
+
+        /**
+         * Empty base snapshot.
+         */
+        private Snapshot(long time) {
+            this.time = time;
+            this.interval = 0;
+            this.totals = new long[COUNTERS];
+            this.deltas = totals;
+            this.mmsiTotals = Collections.emptyMap();
+            this.mmsiDeltas = mmsiTotals;
+        }
+
+        private Snapshot(long time, AISStatistics stats, Snapshot prev) {
+            this.time = time;
+            this.interval = Math.max(0, time - prev.time);
+            this.totals = new long[COUNTERS];
+            this.deltas = new long[COUNTERS];
+            for (int i = 0; i < COUNTERS; i++) {
+                totals[i] = stats.counters[i].sum();
+                deltas[i] = totals[i] - prev.totals[i];
+            }
+            Map<Integer, Long> t = new HashMap<>(stats.byMMSI.size() * 2);
+            Map<Integer, Long> d = new HashMap<>(stats.byMMSI.size() * 2);
+            for (Map.Entry<Integer, LongAdder> e : stats.byMMSI.entrySet()) {
+                long sum = e.getValue().sum();
+                Long p = prev.mmsiTotals.get(e.getKey());
+                t.put(e.getKey(), sum);
+                d.put(e.getKey(), p == null ? sum : sum - p);
+            }
+            this.mmsiTotals = Collections.unmodifiableMap(t);
+            this.mmsiDeltas = d;
+        }
+
+        /**
+         * Returns the time when snapshot was taken.
+         *
+         * @return Time in milliseconds
+         */
+        public long getTime() {
+            return time;
+        }
+
+        /**
+         * Returns the length of interval over which the rates are
+         * calculated.
+         *
+         * @return Interval in milliseconds
+         */
+        public long getInterval() {
+            return interval;
+        }
+
+        /**
+         * Returns the number of AIS sentences received.
+         *
+         * @return Sentence count
+         */
+        public long getSentenceCount() {
+            return totals[SENTENCES];
+        }
+
+        /**
+         * Returns the number of AIS sentences received per second.
+         *
+         * @return Sentence rate
+         */
+        public double getSentenceRate() {
+            return rate(deltas[SENTENCES]);
+        }
+
+        /**
+         * Returns the number of successfully decoded messages.
+         *
+         * @return Message count
+         */
+        public long getMessageCount() {
+            return totals[MESSAGES];
+        }
+
+        /**
+         * Returns the number of successfully decoded messages per second.
+         *
+         * @return Message rate
+         */
+        public double getMessageRate() {
+            return rate(deltas[MESSAGES]);
+        }
+
+        /**
+         * Returns the number of messages of given type.
+         *
+         * @param type Message type, 0-63
+         * @return Message count
+         * @throws IllegalArgumentException If type is out of range
+         */
+        public long getMessageCount(int type) {
+            return totals[TYPE_BASE + type(type)];
+        }
+
+        /**
+         * Returns the number of messages of given type per second.
+         *
+         * @param type Message type, 0-63
+         * @return Message rate
+         * @throws IllegalArgumentException If type is out of range
+         */
+        public double getMessageRate(int type) {
+            return rate(deltas[TYPE_BASE + type(type)]);
+        }
+
+        /**
+         * Returns the number of messages received on given radio channel.
+         *
+         * @param channel Channel 'A' or 'B', also '1' and '2' are accepted.
+         * @return Message count
+         * @throws IllegalArgumentException If channel is unknown
+         */
+        public long getChannelCount(char channel) {
+            return totals[CHANNEL_BASE + channel(channel)];
+        }
+
+        /**
+         * Returns the number of messages received on given radio channel
+         * per second.
+         *
+         * @param channel Channel 'A' or 'B', also '1' and '2' are accepted.
+         * @return Message rate
+         * @throws IllegalArgumentException If channel is unknown
+         */
+        public double getChannelRate(char channel) {
+            return rate(deltas[CHANNEL_BASE + channel(channel)]);
+        }
+
+        /**
+         * Returns the channel load ratio of channel A, i.e. the share of
+         * messages received on channel A out of messages on both channels
+         * during the interval.
+         *
+         * @return Ratio from 0.0 to 1.0, or {@code Double.NaN} if nothing
+         *         was received on either channel.
+         */
+        public double getChannelBalance() {
+            long a = deltas[CHANNEL_BASE + CHANNEL_A];
+            long b = deltas[CHANNEL_BASE + CHANNEL_B];
+            return a + b == 0 ? Double.NaN : (double) a / (a + b);
+        }
+
+        /**
+         * Returns the number of messages received from given talker.
+         *
+         * @param talker Talker ID, e.g. {@link TalkerId#AI}
+         * @return Message count
+         */
+        public long getTalkerCount(TalkerId talker) {
+            return totals[TALKER_BASE + talker.ordinal()];
+        }
+
+        /**
+         * Returns the number of messages received from given talker per
+         * second.
+         *
+         * @param talker Talker ID, e.g. {@link TalkerId#AI}
+         * @return Message rate
+         */
+        public double getTalkerRate(TalkerId talker) {
+            return rate(deltas[TALKER_BASE + talker.ordinal()]);
+        }
+
+        /**
+         * Returns the MMSIs seen so far.
+         *
+         * @return Set of MMSI values
+         */
+        public Set<Integer> getMMSIs() {
+            return mmsiTotals.keySet();
+        }
+
+        /**
+         * Returns the number of messages received from given MMSI.
+         *
+         * @param mmsi MMSI
+         * @return Message count
+         */
+        public long getMMSICount(int mmsi) {
+            Long n = mmsiTotals.get(mmsi);
+            return n == null ? 0 : n;
+        }
+
+        /**
+         * Returns the number of messages received from given MMSI per
+         * second.
+         *
+         * @param mmsi MMSI
+         * @return Message rate
+         */
+        public double getMMSIRate(int mmsi) {
+            Long n = mmsiDeltas.get(mmsi);
+            return n == null ? 0.0 : rate(n);
+        }
+
+        /**
+         * Returns the number of multi-sentence messages that were discarded
+         * because of missing or out of order fragments.
+         *
+         * @return Error count
+         */
+        public long getFragmentErrorCount() {
+            return totals[FRAGMENT_ERRORS];
+        }
+
+        /**
+         * Returns the number of fragment errors per second.
+         *
+         * @return Error rate
+         */
+        public double getFragmentErrorRate() {
+            return rate(deltas[FRAGMENT_ERRORS]);
+        }
+
+        /**
+         * Returns the number of complete messages that could not be decoded,
+         * e.g. unsupported message types or malformed payloads.
+         *
+         * @return Error count
+         */
+        public long getDecodeErrorCount() {
+            return totals[DECODE_ERRORS];
+        }
+
+        /**
+         * Returns the number of decoding errors per second.
+         *
+         * @return Error rate
+         */
+        public double getDecodeErrorRate() {
+            return rate(deltas[DECODE_ERRORS]);
+        }
+
+        /**
+         * Returns the number of messages with one or more rule violations.
+         *
+         * @return Message count
+         * @see AISMessageParser#getViolations()
+         */
+        public long getViolatingMessageCount() {
+            return totals[VIOLATING_MESSAGES];
+        }
+
+        /**
+         * Returns the total number of rule violations.
+         *
+         * @return Violation count
+         * @see AISMessageParser#getViolations()
+         */
+        public long getViolationCount() {
+            return totals[VIOLATIONS];
+        }
+
+        /**
+         * Returns the number of messages with rule violations per second.
+         *
+         * @return Message rate
+         */
+        public double getViolationRate() {
+            return rate(deltas[VIOLATING_MESSAGES]);
+        }
+
+        private double rate(long delta) {
+            return interval == 0 ? 0.0 : delta * 1000.0 / interval;
+        }
+
+        private static int type(int type) {
+            if (type < 0 || type >= MESSAGE_TYPES) {
+                throw new IllegalArgumentException("Invalid message type: " + type);
+            }
+            return type;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * AISArchive.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.parser;
+
+/**
+ * Result of decoding an AIS archive, or a chunk of it, with
+ * {@link AISArchiveDecoder}. Holds the {@link AISColumns} of each message
+ * type found and counts of processed lines.
+ *
+ * @author Kimmo Tuukkanen
+ */
+public class AISArchive {
+
+    private static final int TYPES = 64;
+
+    private final AISColumns[] columns = new AISColumns[TYPES];
+    long lines;
+    long messages;
+    long errors;
+
+    /**
+     * Creates a new empty result.
+     */
+    AISArchive() {
+    }
+
+    /**
+     * Returns the columns of given message type.
+     *
+     * @param type Message type
+     * @return Columns, or {@code null} if no messages of type were found.
+     */
+    public AISColumns getColumns(int type) {
+        return type >= 0 && type < TYPES ? columns[type] : null;
+    }
+
+    /**
+     * Returns the message types found, in ascending order.
+     *
+     * @return Array of message types
+     */
+    public int[] getMessageTypes() {
+        int n = 0;
+        for (AISColumns c : columns) {
+            if (c != null) {
+                n++;
+            }
+        }
+        int[] types = new int[n];
+        n = 0;
+        for (int t = 0; t < TYPES; t++) {
+            if (columns[t] != null) {
+                types[n++] = t;
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Returns the number of lines read, including comments, empty lines and
+     * non-AIS sentences.
+     *
+     * @return Number of lines
+     */
+    public long getLineCount() {
+        return lines;
+    }
+
+    /**
+     * Returns the number of decoded messages.
+     *
+     * @return Number of messages, i.e. total rows in all columns.
+     */
+    public long getMessageCount() {
+        return messages;
+    }
+
+    /**
+     * Returns the number of VDM/VDO sentences that could not be decoded, e.g.
+     * due to checksum errors or missing fragments.
+     *
+     * @return Number of errors
+     */
+    public long getErrorCount() {
+        return errors;
+    }
+
+    /**
+     * Returns the columns of given type, creating them if necessary.
+     */
+    AISColumns columns(int type) {
+        AISColumns c = columns[type];
+        if (c == null) {
+            c = new AISColumns(type);
+            columns[type] = c;
+        }
+        return c;
+    }
+
+    /**
+     * Appends the rows and counts of given result, which must follow this
+     * result in archive order.
+     */
+    void append(AISArchive other) {
+        for (int t = 0; t < TYPES; t++) {
+            if (other.columns[t] != null) {
+                columns(t).append(other.columns[t]);
+            }
+        }
+        lines += other.lines;
+        messages += other.messages;
+        errors += other.errors;
+    }
+}
@@ -0,0 +1,442 @@
+/*
+ * AISArchiveDecoder.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.parser;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import net.sf.marineapi.ais.util.Angle12;
+import net.sf.marineapi.ais.util.Latitude27;
+import net.sf.marineapi.ais.util.Longitude28;
+import net.sf.marineapi.ais.util.Sixbit;
+import net.sf.marineapi.ais.util.SpeedOverGround;
+
+/**
+ * <p>
+ * Decodes large AIS archive files into {@link AISColumns}, one set of
+ * primitive arrays per message type, without creating message objects.
+ * Intended for batch analytics over recorded data.</p>
+ * <p>
+ * The file is split in chunks that are memory mapped and decoded in
+ * parallel, each with its own {@link AISLineDecoder}. A multi-sentence
+ * message belongs to the chunk where its first sentence begins; the chunk
+ * decoder reads past its end to complete such message, and the next chunk
+ * skips the trailing fragments at its beginning. Chunk results are returned
+ * in file order.</p>
+ * <p>
+ * Archive lines consist of a VDM or VDO sentence, optionally preceded by a
+ * time stamp; either a decimal number of seconds (with optional fraction)
+ * or milliseconds since epoch, or an NMEA 4.0 tag block with {@code c:}
+ * field. Lines that do not contain an AIS sentence are skipped.</p>
+ *
+ * @author Kimmo Tuukkanen
+ * @see AISLineDecoder
+ */
+public class AISArchiveDecoder {
+
+    /** Default chunk size in bytes */
+    public static final int DEFAULT_CHUNK_SIZE = 32 * 1024 * 1024;
+
+    // how far chunk decoder may read past chunk end to complete message
+    private static final int OVERLAP = 64 * 1024;
+
+    /** Maximum chunk size in bytes, limited by size of mapped region */
+    public static final int MAX_CHUNK_SIZE = Integer.MAX_VALUE - OVERLAP - 1;
+    private static final int MAX_LINE = 1024;
+    private static final long MAX_SECONDS = 100000000000L;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /**
+     * Creates a new decoder using all available processors.
+     */
+    public AISArchiveDecoder() {
+    }
+
+    /**
+     * Returns the number of decoding threads.
+     *
+     * @return Number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of decoding threads.
+     *
+     * @param threads Number of threads
+     * @throws IllegalArgumentException If threads is not positive
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be positive");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Returns the chunk size.
+     *
+     * @return Chunk size in bytes
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the chunk size, i.e. the unit of parallel work.
+     *
+     * @param bytes Chunk size in bytes
+     * @throws IllegalArgumentException If size is less than 1024 bytes or
+     *             greater than {@link #MAX_CHUNK_SIZE}
+     */
+    public void setChunkSize(int bytes) {
+        if (bytes < 1024) {
+            throw new IllegalArgumentException("Chunk size must be at least 1024 bytes");
+        }
+        if (bytes > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size cannot exceed " + MAX_CHUNK_SIZE + " bytes");
+        }
+        this.chunkSize = bytes;
+    }
+
+    /**
+     * Decodes the whole archive into memory.
+     *
+     * @param file Archive file
+     * @return Decoded columns of all messages
+     * @throws IOException If file cannot be read
+     */
+    public AISArchive decode(Path file) throws IOException {
+        AISArchive result = new AISArchive();
+        decode(file, result::append);
+        return result;
+    }
+
+    /**
+     * Decodes the archive chunk by chunk, e.g. for writing the columns to
+     * disk without holding the whole archive in memory. Consumer is invoked
+     * in the calling thread, in file order.
+     *
+     * @param file Archive file
+     * @param consumer Consumer of chunk results
+     * @throws IOException If file cannot be read
+     */
+    public void decode(Path file, Consumer<AISArchive> consumer) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = ch.size();
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                // keep a bounded number of chunks in flight
+                List<Future<AISArchive>> pending = new ArrayList<>();
+                long start = 0;
+                while (start < size || !pending.isEmpty()) {
+                    while (start < size && pending.size() < threads * 2) {
+                        final long from = start;
+                        final long to = Math.min(size, start + chunkSize);
+                        pending.add(executor.submit(() -> decodeChunk(ch, size, from, to)));
+                        start = to;
+                    }
+                    consumer.accept(pending.remove(0).get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Decodes the lines beginning within [from, to) of file.
+     */
+    AISArchive decodeChunk(FileChannel ch, long fileSize, long from, long to) throws IOException {
+
+        // map one byte before chunk to see if it begins at line start
+        long mapStart = Math.max(0, from - 1);
+        long mapEnd = Math.min(fileSize, to + OVERLAP);
+        MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+        int limit = buf.limit();
+        int end = (int) (to - mapStart);
+        int pos = 0;
+        if (from > 0) {
+            if (buf.get(0) != '\n') {
+                while (pos < limit && buf.get(pos) != '\n') {
+                    pos++;
+                }
+            }
+            pos++;
+        }
+
+        AISArchive result = new AISArchive();
+        AISLineDecoder decoder = new AISLineDecoder();
+        byte[] line = new byte[MAX_LINE];
+        boolean synced = from == 0;
+        long messageTime = -1;
+        long messageOffset = 0;
+
+        while (pos < limit) {
+            if (pos >= end && !decoder.hasPendingFragments()) {
+                break;
+            }
+            int lineStart = pos;
+            int n = 0;
+            boolean overflow = false;
+            while (pos < limit) {
+                byte b = buf.get(pos++);
+                if (b == '\n') {
+                    break;
+                }
+                if (n < MAX_LINE) {
+                    line[n++] = b;
+                } else {
+                    overflow = true;
+                }
+            }
+            boolean own = lineStart < end;
+            if (own) {
+                result.lines++;
+            }
+
+            int begin = sentenceStart(line, n);
+            if (begin < 0) {
+                continue;
+            }
+            int fragment = fragmentNumber(line, begin, n);
+            if (!own && fragment < 2) {
+                // only continuation of pending message is read past the end
+                break;
+            }
+            if (!synced && fragment > 1) {
+                // trailing fragments of message of previous chunk
+                continue;
+            }
+            synced = true;
+            if (overflow) {
+                result.errors++;
+                decoder.reset();
+                continue;
+            }
+
+            boolean first = !decoder.hasPendingFragments();
+            Sixbit content;
+            try {
+                content = decoder.decodePayload(line, begin, n - begin);
+            } catch (IllegalArgumentException e) {
+                result.errors++;
+                continue;
+            }
+            if (first) {
+                messageTime = timestamp(line, begin);
+                messageOffset = mapStart + lineStart;
+            }
+            if (content != null) {
+                extract(result, content, messageTime, messageOffset);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds the message in columns of its type.
+     */
+    private static void extract(AISArchive result, Sixbit c, long time, long offset) {
+        if (c.length() < 38) {
+            result.errors++;
+            return;
+        }
+        int type = c.getInt(0, 6);
+        int mmsi = c.getInt(8, 38);
+        double lat = Double.NaN;
+        double lon = Double.NaN;
+        double sog = Double.NaN;
+        double cog = Double.NaN;
+        int hdg = AISColumns.HEADING_NOT_AVAILABLE;
+
+        // field offsets as in the message parsers, see ITU-R M.1371
+        switch (type) {
+            case 1:
+            case 2:
+            case 3:
+                if (c.length() >= 137) {
+                    sog = speed(c.getInt(50, 60));
+                    lon = longitude(c.getAs28BitInt(61, 89));
+                    lat = latitude(c.getAs27BitInt(89, 116));
+                    cog = course(c.getInt(116, 128));
+                    hdg = c.getInt(128, 137);
+                }
+                break;
+            case 4:
+                if (c.length() >= 134) {
+                    lon = longitude(c.getAs28BitInt(79, 107));
+                    lat = latitude(c.getAs27BitInt(107, 134));
+                }
+                break;
+            case 9:
+                if (c.length() >= 128) {
+                    int s = c.getInt(50, 60);
+                    sog = SpeedOverGround.isAvailable(s) ? s : Double.NaN;
+                    lon = longitude(c.getAs28BitInt(61, 89));
+                    lat = latitude(c.getAs27BitInt(89, 116));
+                    cog = course(c.getInt(116, 128));
+                }
+                break;
+            case 18:
+            case 19:
+                if (c.length() >= 133) {
+                    sog = speed(c.getInt(46, 56));
+                    lon = longitude(c.getAs28BitInt(57, 85));
+                    lat = latitude(c.getAs27BitInt(85, 112));
+                    cog = course(c.getInt(112, 124));
+                    hdg = c.getInt(124, 133);
+                }
+                break;
+            case 21:
+                if (c.length() >= 219) {
+                    lon = longitude(c.getAs28BitInt(164, 192));
+                    lat = latitude(c.getAs27BitInt(192, 219));
+                }
+                break;
+            default:
+                break;
+        }
+        result.columns(type).add(mmsi, time, offset, lat, lon, sog, cog, hdg);
+        result.messages++;
+    }
+
+    private static double latitude(int value) {
+        return Latitude27.isAvailable(value) ? Latitude27.toDegrees(value) : Double.NaN;
+    }
+
+    private static double longitude(int value) {
+        return Longitude28.isAvailable(value) ? Longitude28.toDegrees(value) : Double.NaN;
+    }
+
+    private static double speed(int value) {
+        return SpeedOverGround.isAvailable(value) ? SpeedOverGround.toKnots(value) : Double.NaN;
+    }
+
+    private static double course(int value) {
+        return Angle12.isAvailable(value) ? Angle12.toDegrees(value) : Double.NaN;
+    }
+
+    /**
+     * Returns the index of '!' or '$' beginning a VDM or VDO sentence in
+     * line, or -1 if not found.
+     */
+    private static int sentenceStart(byte[] line, int length) {
+        boolean tag = length > 0 && line[0] == '\\';
+        for (int i = 0; i < length; i++) {
+            byte b = line[i];
+            if (tag) {
+                // skip tag block content
+                if (i > 0 && b == '\\') {
+                    tag = false;
+                }
+            } else if (b == '!' || b == '$') {
+                if (i + 6 < length && line[i + 3] == 'V' && line[i + 4] == 'D'
+                    && (line[i + 5] == 'M' || line[i + 5] == 'O')) {
+                    return i;
+                }
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the fragment number field of sentence, -1 if not numeric.
+     */
+    private static int fragmentNumber(byte[] line, int begin, int length) {
+        int commas = 0;
+        int i = begin;
+        while (i < length && commas < 2) {
+            if (line[i++] == ',') {
+                commas++;
+            }
+        }
+        int value = 0;
+        int digits = 0;
+        while (i < length && line[i] >= '0' && line[i] <= '9' && digits < 3) {
+            value = value * 10 + (line[i++] - '0');
+            digits++;
+        }
+        return digits == 0 ? -1 : value;
+    }
+
+    /**
+     * Parses the time stamp preceding the sentence, -1 if none.
+     */
+    static long timestamp(byte[] line, int end) {
+        int i = 0;
+        if (end > 0 && line[0] == '\\') {
+            // tag block, find "c:" field
+            for (i = 1; i < end - 1; i++) {
+                if (line[i] == 'c' && line[i + 1] == ':' && (line[i - 1] == '\\' || line[i - 1] == ',')) {
+                    i += 2;
+                    break;
+                }
+            }
+            if (i >= end - 1) {
+                return -1;
+            }
+        }
+        long value = 0;
+        int digits = 0;
+        while (i < end && line[i] >= '0' && line[i] <= '9' && digits < 18) {
+            value = value * 10 + (line[i++] - '0');
+            digits++;
+        }
+        if (digits == 0) {
+            return -1;
+        }
+        if (value >= MAX_SECONDS) {
+            return value;
+        }
+        long millis = value * 1000;
+        if (i < end && line[i] == '.') {
+            int scale = 100;
+            for (i++; i < end && line[i] >= '0' && line[i] <= '9'; i++) {
+                millis += (line[i] - '0') * scale;
+                scale /= 10;
+            }
+        }
+        return millis;
+    }
+}
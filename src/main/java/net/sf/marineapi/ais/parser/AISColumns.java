@@ -0,0 +1,223 @@
+/*
+ * AISColumns.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.parser;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Decoded AIS messages of single type in columnar form, i.e. one primitive
+ * array per field, as produced by {@link AISArchiveDecoder}. Rows are in the
+ * order of appearance in the archive.</p>
+ * <p>
+ * Every row has all columns. Position fields that are not available or not
+ * included in the message type are {@code Double.NaN}, heading that is not
+ * available is 511 as in the AIS messages. Time column contains the time
+ * stamp of archive line in milliseconds, or -1 if the line had none.</p>
+ * <p>
+ * Column getters return the internal arrays trimmed to {@link #size()},
+ * without copying. The arrays should not be modified.</p>
+ *
+ * @author Kimmo Tuukkanen
+ */
+public class AISColumns {
+
+    /** Value of heading column when heading is not available */
+    public static final int HEADING_NOT_AVAILABLE = 511;
+
+    private final int type;
+    private int size;
+    private int[] mmsi;
+    private long[] time;
+    private long[] offset;
+    private double[] latitude;
+    private double[] longitude;
+    private double[] speed;
+    private double[] course;
+    private int[] heading;
+
+    /**
+     * Creates a new empty column set.
+     *
+     * @param type Message type
+     */
+    AISColumns(int type) {
+        this(type, 64);
+    }
+
+    private AISColumns(int type, int capacity) {
+        this.type = type;
+        mmsi = new int[capacity];
+        time = new long[capacity];
+        offset = new long[capacity];
+        latitude = new double[capacity];
+        longitude = new double[capacity];
+        speed = new double[capacity];
+        course = new double[capacity];
+        heading = new int[capacity];
+    }
+
+    /**
+     * Returns the message type of all rows.
+     *
+     * @return Message type
+     */
+    public int getMessageType() {
+        return type;
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return Number of messages
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the MMSI column.
+     *
+     * @return Array of MMSI values
+     */
+    public int[] getMMSIColumn() {
+        trim();
+        return mmsi;
+    }
+
+    /**
+     * Returns the time column.
+     *
+     * @return Time stamps in milliseconds, -1 if not available.
+     */
+    public long[] getTimeColumn() {
+        trim();
+        return time;
+    }
+
+    /**
+     * Returns the offset column, i.e. the position of first sentence of each
+     * message in archive file.
+     *
+     * @return Byte offsets from beginning of file
+     */
+    public long[] getOffsetColumn() {
+        trim();
+        return offset;
+    }
+
+    /**
+     * Returns the latitude column.
+     *
+     * @return Latitudes in degrees
+     */
+    public double[] getLatitudeColumn() {
+        trim();
+        return latitude;
+    }
+
+    /**
+     * Returns the longitude column.
+     *
+     * @return Longitudes in degrees
+     */
+    public double[] getLongitudeColumn() {
+        trim();
+        return longitude;
+    }
+
+    /**
+     * Returns the speed over ground column.
+     *
+     * @return Speeds in knots
+     */
+    public double[] getSpeedColumn() {
+        trim();
+        return speed;
+    }
+
+    /**
+     * Returns the course over ground column.
+     *
+     * @return Courses in degrees
+     */
+    public double[] getCourseColumn() {
+        trim();
+        return course;
+    }
+
+    /**
+     * Returns the true heading column.
+     *
+     * @return Headings in degrees
+     */
+    public int[] getHeadingColumn() {
+        trim();
+        return heading;
+    }
+
+    void add(int id, long ts, long pos, double lat, double lon, double sog, double cog, int hdg) {
+        if (size == mmsi.length) {
+            grow(Math.max(16, size * 2));
+        }
+        mmsi[size] = id;
+        time[size] = ts;
+        offset[size] = pos;
+        latitude[size] = lat;
+        longitude[size] = lon;
+        speed[size] = sog;
+        course[size] = cog;
+        heading[size] = hdg;
+        size++;
+    }
+
+    void append(AISColumns other) {
+        if (size + other.size > mmsi.length) {
+            grow(size + other.size);
+        }
+        System.arraycopy(other.mmsi, 0, mmsi, size, other.size);
+        System.arraycopy(other.time, 0, time, size, other.size);
+        System.arraycopy(other.offset, 0, offset, size, other.size);
+        System.arraycopy(other.latitude, 0, latitude, size, other.size);
+        System.arraycopy(other.longitude, 0, longitude, size, other.size);
+        System.arraycopy(other.speed, 0, speed, size, other.size);
+        System.arraycopy(other.course, 0, course, size, other.size);
+        System.arraycopy(other.heading, 0, heading, size, other.size);
+        size += other.size;
+    }
+
+    private void trim() {
+        if (mmsi.length != size) {
+            grow(size);
+        }
+    }
+
+    private void grow(int capacity) {
+        mmsi = Arrays.copyOf(mmsi, capacity);
+        time = Arrays.copyOf(time, capacity);
+        offset = Arrays.copyOf(offset, capacity);
+        latitude = Arrays.copyOf(latitude, capacity);
+        longitude = Arrays.copyOf(longitude, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        course = Arrays.copyOf(course, capacity);
+        heading = Arrays.copyOf(heading, capacity);
+    }
+}
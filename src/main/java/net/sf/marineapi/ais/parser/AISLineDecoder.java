@@ -0,0 +1,269 @@
+/*
+ * AISLineDecoder.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.parser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import net.sf.marineapi.ais.message.AISMessage;
+import net.sf.marineapi.ais.util.Sixbit;
+import net.sf.marineapi.nmea.sentence.Sentence;
+
+/**
+ * <p>
+ * Decodes AIS messages directly from raw VDM/VDO sentence bytes, e.g. lines
+ * read from a socket or a log file. The line is validated and split in a
+ * single pass and the payload characters are decoded straight into the
+ * message bit vector, bypassing {@link net.sf.marineapi.nmea.parser.SentenceFactory},
+ * the sentence parsers and intermediate Strings. This is considerably faster
+ * than {@link AISMessageFactory#create(net.sf.marineapi.nmea.sentence.AISSentence...)}
+ * for streams consisting mostly of AIS data.</p>
+ * <p>
+ * Multi-sentence messages are reassembled internally; decode methods return
+ * {@code null} until the last fragment has been received. Fragments must
+ * arrive in order, one message at a time.</p>
+ * <p>
+ * Decoder keeps state of pending fragments and is therefore not thread-safe;
+ * use one instance per input stream.</p>
+ *
+ * @author Kimmo Tuukkanen
+ */
+public class AISLineDecoder {
+
+    private final AISMessageFactory factory = AISMessageFactory.getInstance();
+
+    // pending fragments of multi-sentence message
+    private byte[] buffer = new byte[128];
+    private int buffered;
+    private int fragments;
+    private int nextFragment;
+    private int sequenceId = -1;
+
+    // fields of last line, set by parse()
+    private int count;
+    private int number;
+    private int seqId;
+    private int payloadStart;
+    private int payloadLength;
+    private int fillBits;
+
+    /**
+     * Decodes an AIS message from given sentence String.
+     *
+     * @param line VDM or VDO sentence
+     * @return Decoded message, or {@code null} if sentence is a fragment of
+     *         incomplete message.
+     * @throws IllegalArgumentException If line is not a valid VDM or VDO
+     *             sentence, fragment order is incorrect or message type is not
+     *             supported.
+     * @see #decode(byte[], int, int)
+     */
+    public AISMessage decode(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+        return decode(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Decodes an AIS message from given sentence bytes. Trailing line
+     * terminators are ignored and checksum is validated if present.
+     *
+     * @param line Buffer containing a VDM or VDO sentence in ASCII
+     * @param offset Index of sentence begin character in buffer
+     * @param length Number of sentence bytes
+     * @return Decoded message, or {@code null} if sentence is a fragment of
+     *         incomplete message.
+     * @throws IllegalArgumentException If line is not a valid VDM or VDO
+     *             sentence, fragment order is incorrect or message type is not
+     *             supported.
+     */
+    public AISMessage decode(byte[] line, int offset, int length) {
+        Sixbit content = decodePayload(line, offset, length);
+        return content == null ? null : factory.create(content);
+    }
+
+    /**
+     * Decodes the six-bit payload of given sentence bytes without creating
+     * the message parser, see {@link #decode(byte[], int, int)}.
+     *
+     * @param line Buffer containing a VDM or VDO sentence in ASCII
+     * @param offset Index of sentence begin character in buffer
+     * @param length Number of sentence bytes
+     * @return Payload of complete message, or {@code null} if sentence is a
+     *         fragment of incomplete message.
+     * @throws IllegalArgumentException If line is not a valid VDM or VDO
+     *             sentence or fragment order is incorrect.
+     */
+    public Sixbit decodePayload(byte[] line, int offset, int length) {
+        parse(line, offset, length);
+
+        if (count == 1) {
+            reset();
+            return new Sixbit(line, payloadStart, payloadLength, fillBits);
+        }
+
+        if (number == 1) {
+            buffered = 0;
+            fragments = count;
+            nextFragment = 1;
+            sequenceId = seqId;
+        } else if (number != nextFragment || count != fragments || seqId != sequenceId) {
+            reset();
+            throw new IllegalArgumentException("Incorrect order of AIS sentences");
+        }
+
+        if (buffered + payloadLength > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, buffered + payloadLength));
+        }
+        System.arraycopy(line, payloadStart, buffer, buffered, payloadLength);
+        buffered += payloadLength;
+
+        if (number < count) {
+            nextFragment++;
+            return null;
+        }
+
+        Sixbit result = new Sixbit(buffer, 0, buffered, fillBits);
+        reset();
+        return result;
+    }
+
+    /**
+     * Tells if the decoder holds fragments of an incomplete message.
+     *
+     * @return {@code true} if waiting for more fragments, otherwise
+     *         {@code false}.
+     */
+    public boolean hasPendingFragments() {
+        return fragments > 0;
+    }
+
+    /**
+     * Discards pending fragments of incomplete message, e.g. after a gap in
+     * the input stream.
+     */
+    public void reset() {
+        buffered = 0;
+        fragments = 0;
+        nextFragment = 0;
+        sequenceId = -1;
+    }
+
+    /**
+     * Validates the sentence and sets the field members.
+     */
+    private void parse(byte[] b, int offset, int length) {
+        int end = offset + length;
+        while (end > offset && (b[end - 1] == '\r' || b[end - 1] == '\n')) {
+            end--;
+        }
+        if (end - offset < 7 || (b[offset] != Sentence.ALTERNATIVE_BEGIN_CHAR
+                && b[offset] != Sentence.BEGIN_CHAR)) {
+            throw invalid(b, offset, length);
+        }
+
+        // checksum is optional, as in SentenceValidator
+        if (end - offset > 3 && b[end - 3] == Sentence.CHECKSUM_DELIMITER) {
+            int expected = (hex(b[end - 2]) << 4) | hex(b[end - 1]);
+            end -= 3;
+            int sum = 0;
+            for (int i = offset + 1; i < end; i++) {
+                sum ^= b[i];
+            }
+            if (expected < 0 || sum != expected) {
+                throw new IllegalArgumentException("Checksum mismatch: "
+                    + new String(b, offset, length, StandardCharsets.US_ASCII).trim());
+            }
+        }
+
+        // talker ID and sentence ID, e.g. "AIVDM"
+        int i = offset + 1;
+        if (b[i + 5] != Sentence.FIELD_DELIMITER || b[i + 2] != 'V' || b[i + 3] != 'D'
+                || (b[i + 4] != 'M' && b[i + 4] != 'O')) {
+            throw invalid(b, offset, length);
+        }
+        i += 6;
+
+        int next = field(b, i, end);
+        count = number(b, i, next);
+        i = next + 1;
+        next = field(b, i, end);
+        number = number(b, i, next);
+        i = next + 1;
+        next = field(b, i, end);
+        seqId = next == i ? -1 : number(b, i, next);
+        i = field(b, next + 1, end) + 1;
+        next = field(b, i, end);
+        payloadStart = i;
+        payloadLength = next - i;
+        i = next + 1;
+        fillBits = number(b, i, end);
+
+        if (count < 1 || number < 1 || number > count || payloadLength == 0
+                || fillBits < 0 || fillBits > 5) {
+            throw invalid(b, offset, length);
+        }
+    }
+
+    /**
+     * Returns the index of next field delimiter, or {@code end}.
+     */
+    private static int field(byte[] b, int from, int end) {
+        int i = from;
+        while (i < end && b[i] != Sentence.FIELD_DELIMITER) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Parses non-negative decimal number, -1 if empty or not numeric.
+     */
+    private static int number(byte[] b, int from, int to) {
+        if (from >= to || to - from > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int d = b[i] - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static int hex(byte c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -256;
+    }
+
+    private static IllegalArgumentException invalid(byte[] b, int offset, int length) {
+        String s = new String(b, offset, length, StandardCharsets.US_ASCII).trim();
+        return new IllegalArgumentException("Not a VDM/VDO sentence: " + s);
+    }
+}
@@ -24,6 +24,7 @@ import net.sf.marineapi.ais.message.AISMessage05;
 import net.sf.marineapi.ais.util.PositioningDevice;
 import net.sf.marineapi.ais.util.ShipType;
 import net.sf.marineapi.ais.util.Sixbit;
+import net.sf.marineapi.ais.util.SixbitWriter;
 
 /**
  * AIS Message 5 implementation: Ship Static and Voyage Related Data.
@@ -108,8 +109,8 @@ class AISMessage05Parser extends AISMessageParser implements AISMessage05 {
 		
 		fAISVersion = content.getInt(FROM[AISVERSION], TO[AISVERSION]);
 		fIMONumber = content.getInt(FROM[IMONUMBER], TO[IMONUMBER]);
-		fCallSign = content.getString(FROM[CALLSIGN], TO[CALLSIGN]).trim();
-		fName = content.getString(FROM[NAME], TO[NAME]).trim();
+		fCallSign = content.getTrimmedString(FROM[CALLSIGN], TO[CALLSIGN]);
+		fName = content.getTrimmedString(FROM[NAME], TO[NAME]);
 		fShipAndCargoType = content.getInt(FROM[TYPEOFSHIPANDCARGO], TO[TYPEOFSHIPANDCARGO]);
 
 		fBow = content.getInt(FROM[BOW], TO[BOW]); 
@@ -125,7 +126,7 @@ class AISMessage05Parser extends AISMessageParser implements AISMessage05 {
 		fETAMinute = content.getInt(FROM[MINUTE], TO[MINUTE]); 
 
 		fMaximumDraught = content.getInt(FROM[DRAUGHT], TO[DRAUGHT]);
-		fDestination = content.getString(FROM[DESTINATION], TO[DESTINATION]).trim();
+		fDestination = content.getTrimmedString(FROM[DESTINATION], TO[DESTINATION]);
 	}    
 
 	public int getAISVersionIndicator() { return fAISVersion; }
@@ -175,4 +176,30 @@ class AISMessage05Parser extends AISMessageParser implements AISMessage05 {
 		result += SEPARATOR + "Dest:      " + fDestination;
 		return result;
 	}
+
+	/**
+	 * Writes the fields of message 5.
+	 *
+	 * @param msg Message to encode
+	 * @param out Payload writer of 424 bits
+	 */
+	static void encode(AISMessage05 msg, SixbitWriter out) {
+		AISMessageParser.encode(msg, out);
+		out.setInt(FROM[AISVERSION], TO[AISVERSION], msg.getAISVersionIndicator());
+		out.setInt(FROM[IMONUMBER], TO[IMONUMBER], msg.getIMONumber());
+		out.setString(FROM[CALLSIGN], TO[CALLSIGN], msg.getCallSign());
+		out.setString(FROM[NAME], TO[NAME], msg.getName());
+		out.setInt(FROM[TYPEOFSHIPANDCARGO], TO[TYPEOFSHIPANDCARGO], msg.getTypeOfShipAndCargoType());
+		out.setInt(FROM[BOW], TO[BOW], msg.getBow());
+		out.setInt(FROM[STERN], TO[STERN], msg.getStern());
+		out.setInt(FROM[PORT], TO[PORT], msg.getPort());
+		out.setInt(FROM[STARBOARD], TO[STARBOARD], msg.getStarboard());
+		out.setInt(FROM[TYPEOFEPFD], TO[TYPEOFEPFD], msg.getTypeOfEPFD());
+		out.setInt(FROM[MONTH], TO[MONTH], msg.getETAMonth());
+		out.setInt(FROM[DAY], TO[DAY], msg.getETADay());
+		out.setInt(FROM[HOUR], TO[HOUR], msg.getETAHour());
+		out.setInt(FROM[MINUTE], TO[MINUTE], msg.getETAMinute());
+		out.setInt(FROM[DRAUGHT], TO[DRAUGHT], (int) Math.round(msg.getMaximumDraught() * 10));
+		out.setString(FROM[DESTINATION], TO[DESTINATION], msg.getDestination());
+	}
 }
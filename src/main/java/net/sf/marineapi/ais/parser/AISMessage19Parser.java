@@ -24,6 +24,7 @@ import net.sf.marineapi.ais.message.AISMessage19;
 import net.sf.marineapi.ais.util.PositioningDevice;
 import net.sf.marineapi.ais.util.ShipType;
 import net.sf.marineapi.ais.util.Sixbit;
+import net.sf.marineapi.ais.util.SixbitWriter;
 
 /**
  * AIS Message 19 implementation: Extended Class B Equipment Position Report.
@@ -115,4 +116,21 @@ class AISMessage19Parser extends AISPositionReportBParser implements AISMessage1
 		result += SEPARATOR + "EPFD:    " + PositioningDevice.toString(fTypeOfEPFD);
 		return result;		
 	}
+
+	/**
+	 * Writes the fields of message 19.
+	 *
+	 * @param msg Message to encode
+	 * @param out Payload writer of 312 bits
+	 */
+	static void encode(AISMessage19 msg, SixbitWriter out) {
+		AISPositionReportBParser.encode(msg, out);
+		out.setString(FROM[NAME], TO[NAME], msg.getName());
+		out.setInt(FROM[TYPEOFSHIPANDCARGO], TO[TYPEOFSHIPANDCARGO], msg.getTypeOfShipAndCargoType());
+		out.setInt(FROM[BOW], TO[BOW], msg.getBow());
+		out.setInt(FROM[STERN], TO[STERN], msg.getStern());
+		out.setInt(FROM[PORT], TO[PORT], msg.getPort());
+		out.setInt(FROM[STARBOARD], TO[STARBOARD], msg.getStarboard());
+		out.setInt(FROM[TYPEOFEPFD], TO[TYPEOFEPFD], msg.getTypeOfEPFD());
+	}
 }
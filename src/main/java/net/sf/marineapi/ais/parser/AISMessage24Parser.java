@@ -23,6 +23,7 @@ package net.sf.marineapi.ais.parser;
 import net.sf.marineapi.ais.message.AISMessage24;
 import net.sf.marineapi.ais.util.ShipType;
 import net.sf.marineapi.ais.util.Sixbit;
+import net.sf.marineapi.ais.util.SixbitWriter;
 
 /**
  *
@@ -189,4 +190,28 @@ class AISMessage24Parser extends AISMessageParser implements AISMessage24 {
         result = result + "\n\tDim:       " + dim;
         return result;
     }
+
+    /**
+     * Writes the fields of message 24, part A or B.
+     *
+     * @param msg Message to encode
+     * @param out Payload writer of 160 bits for part A, 168 for part B.
+     */
+    static void encode(AISMessage24 msg, SixbitWriter out) {
+        AISMessageParser.encode(msg, out);
+        out.setInt(FROM_A[PARTNUMBER], TO_A[PARTNUMBER], msg.getPartNumber());
+        if (msg.getPartNumber() == 0) {
+            out.setString(FROM_A[NAME], TO_A[NAME], msg.getName());
+        } else {
+            out.setInt(FROM_B[TYPEOFSHIPANDCARGO], TO_B[TYPEOFSHIPANDCARGO], msg.getTypeOfShipAndCargoType());
+            out.setString(FROM_B[VENDORID], TO_B[VENDORID], msg.getVendorId());
+            out.setInt(FROM_B[UNITMODELCODE], TO_B[UNITMODELCODE], msg.getUnitModelCode());
+            out.setInt(FROM_B[SERIALNUMBER], TO_B[SERIALNUMBER], msg.getSerialNumber());
+            out.setString(FROM_B[CALLSIGN], TO_B[CALLSIGN], msg.getCallSign());
+            out.setInt(FROM_B[BOW], TO_B[BOW], msg.getBow());
+            out.setInt(FROM_B[STERN], TO_B[STERN], msg.getStern());
+            out.setInt(FROM_B[PORT], TO_B[PORT], msg.getPort());
+            out.setInt(FROM_B[STARBOARD], TO_B[STARBOARD], msg.getStarboard());
+        }
+    }
 }
@@ -0,0 +1,258 @@
+/*
+ * AISMessageEncoder.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.parser;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.sf.marineapi.ais.message.AISMessage;
+import net.sf.marineapi.ais.message.AISMessage04;
+import net.sf.marineapi.ais.message.AISMessage05;
+import net.sf.marineapi.ais.message.AISMessage19;
+import net.sf.marineapi.ais.message.AISMessage24;
+import net.sf.marineapi.ais.message.AISPositionReport;
+import net.sf.marineapi.ais.message.AISPositionReportB;
+import net.sf.marineapi.ais.util.SixbitWriter;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.AISSentence;
+import net.sf.marineapi.nmea.sentence.Checksum;
+import net.sf.marineapi.nmea.sentence.Sentence;
+import net.sf.marineapi.nmea.sentence.SentenceId;
+import net.sf.marineapi.nmea.sentence.TalkerId;
+
+/**
+ * <p>
+ * Encodes AIS messages into six-bit armored VDM or VDO sentences, i.e. the
+ * inverse of {@link AISMessageFactory}. Supported message types are 1, 2, 3,
+ * 4, 5, 18, 19 and both parts of 24.</p>
+ * <p>
+ * Payloads longer than the maximum sentence payload are split in multiple
+ * fragments, which share a sequential message ID cycling from 0 to 9. Fill
+ * bits are set in the last fragment only. Fields that are not exposed by the
+ * message interfaces, e.g. radio status and spare bits, are encoded as zero.
+ * </p>
+ * <p>
+ * Encoder instances may be shared between threads.</p>
+ *
+ * @author Kimmo Tuukkanen
+ * @see net.sf.marineapi.ais.util.SixbitWriter
+ */
+public class AISMessageEncoder {
+
+    /** Default maximum payload characters per sentence */
+    public static final int DEFAULT_MAX_PAYLOAD = 60;
+
+    private final String prefix;
+    private final AtomicInteger sequence = new AtomicInteger();
+    private volatile String channel = "A";
+    private volatile int maxPayload = DEFAULT_MAX_PAYLOAD;
+
+    /**
+     * Creates a new encoder producing {@code !AIVDM} sentences.
+     */
+    public AISMessageEncoder() {
+        this(TalkerId.AI, SentenceId.VDM);
+    }
+
+    /**
+     * Creates a new encoder with given talker and sentence ID.
+     *
+     * @param tid Talker ID, e.g. {@link TalkerId#AI}
+     * @param sid Sentence ID, either {@link SentenceId#VDM} or
+     *            {@link SentenceId#VDO}.
+     * @throws IllegalArgumentException If sentence ID is not VDM or VDO.
+     */
+    public AISMessageEncoder(TalkerId tid, SentenceId sid) {
+        if (sid != SentenceId.VDM && sid != SentenceId.VDO) {
+            throw new IllegalArgumentException("Sentence ID must be VDM or VDO");
+        }
+        this.prefix = String.valueOf(Sentence.ALTERNATIVE_BEGIN_CHAR) + tid + sid + ",";
+    }
+
+    /**
+     * Returns the radio channel set in sentences.
+     *
+     * @return Radio channel
+     */
+    public String getRadioChannel() {
+        return channel;
+    }
+
+    /**
+     * Sets the radio channel set in sentences, by default "A".
+     *
+     * @param channel Radio channel, "A", "B" or empty.
+     */
+    public void setRadioChannel(String channel) {
+        this.channel = channel == null ? "" : channel;
+    }
+
+    /**
+     * Returns the maximum number of payload characters per sentence.
+     *
+     * @return Maximum payload length
+     */
+    public int getMaxPayloadLength() {
+        return maxPayload;
+    }
+
+    /**
+     * Sets the maximum number of payload characters per sentence, i.e. when
+     * message is fragmented.
+     *
+     * @param chars Maximum payload length
+     * @throws IllegalArgumentException If length is not positive
+     */
+    public void setMaxPayloadLength(int chars) {
+        if (chars <= 0) {
+            throw new IllegalArgumentException("Payload length must be positive");
+        }
+        this.maxPayload = chars;
+    }
+
+    /**
+     * Encodes the given message into six-bit payload.
+     *
+     * @param msg Message to encode
+     * @return Payload writer containing the encoded message
+     * @throws IllegalArgumentException If message type is not supported, or
+     *             message contains values that cannot be encoded.
+     */
+    public SixbitWriter encodePayload(AISMessage msg) {
+        SixbitWriter out;
+        switch (msg.getMessageType()) {
+            case 1:
+            case 2:
+            case 3:
+                out = new SixbitWriter(168);
+                AISPositionReportParser.encode(cast(msg, AISPositionReport.class), out);
+                break;
+            case 4:
+                out = new SixbitWriter(168);
+                AISUTCParser.encode(cast(msg, AISMessage04.class), out);
+                break;
+            case 5:
+                out = new SixbitWriter(424);
+                AISMessage05Parser.encode(cast(msg, AISMessage05.class), out);
+                break;
+            case 18:
+                out = new SixbitWriter(168);
+                AISPositionReportBParser.encode(cast(msg, AISPositionReportB.class), out);
+                break;
+            case 19:
+                out = new SixbitWriter(312);
+                AISMessage19Parser.encode(cast(msg, AISMessage19.class), out);
+                break;
+            case 24:
+                AISMessage24 m24 = cast(msg, AISMessage24.class);
+                out = new SixbitWriter(m24.getPartNumber() == 0 ? 160 : 168);
+                AISMessage24Parser.encode(m24, out);
+                break;
+            default:
+                String err = String.format("no encoder for message type %d", msg.getMessageType());
+                throw new IllegalArgumentException(err);
+        }
+        return out;
+    }
+
+    /**
+     * Encodes the given message into one or more sentences.
+     *
+     * @param msg Message to encode
+     * @return Sentence Strings in fragment order, with checksums.
+     * @throws IllegalArgumentException If message type is not supported, or
+     *             message contains values that cannot be encoded.
+     */
+    public String[] encode(AISMessage msg) {
+        return encode(encodePayload(msg));
+    }
+
+    /**
+     * Wraps an already encoded payload into one or more sentences, e.g. for
+     * message types without encoder or for generating synthetic traffic.
+     *
+     * @param payload Encoded message payload
+     * @return Sentence Strings in fragment order, with checksums.
+     */
+    public String[] encode(SixbitWriter payload) {
+        String data = payload.getPayload();
+        int max = maxPayload;
+        int count = (data.length() + max - 1) / max;
+        String seq = count > 1 ? Integer.toString(nextSequence()) : "";
+        String ch = channel;
+
+        String[] result = new String[count];
+        StringBuilder sb = new StringBuilder(prefix.length() + max + 20);
+        for (int i = 0; i < count; i++) {
+            int end = Math.min(data.length(), (i + 1) * max);
+            sb.setLength(0);
+            sb.append(prefix).append(count).append(',').append(i + 1).append(',');
+            sb.append(seq).append(',').append(ch).append(',');
+            sb.append(data, i * max, end).append(',');
+            sb.append(i == count - 1 ? payload.getFillBits() : 0);
+            appendChecksum(sb);
+            result[i] = sb.toString();
+        }
+        return result;
+    }
+
+    /**
+     * Encodes the given message into one or more parsed sentences.
+     *
+     * @param msg Message to encode
+     * @return AIS sentences in fragment order
+     * @throws IllegalArgumentException If message type is not supported, or
+     *             message contains values that cannot be encoded.
+     */
+    public AISSentence[] encodeSentences(AISMessage msg) {
+        String[] lines = encode(msg);
+        AISSentence[] result = new AISSentence[lines.length];
+        SentenceFactory sf = SentenceFactory.getInstance();
+        for (int i = 0; i < lines.length; i++) {
+            result[i] = (AISSentence) sf.createParser(lines[i]);
+        }
+        return result;
+    }
+
+    private int nextSequence() {
+        int prev;
+        int next;
+        do {
+            prev = sequence.get();
+            next = (prev + 1) % 10;
+        } while (!sequence.compareAndSet(prev, next));
+        return prev;
+    }
+
+    private static void appendChecksum(StringBuilder sb) {
+        int sum = Checksum.xor(sb, 1, sb.length());
+        sb.append(Sentence.CHECKSUM_DELIMITER);
+        sb.append(Checksum.hexDigit(sum >> 4)).append(Checksum.hexDigit(sum));
+    }
+
+    private static <T extends AISMessage> T cast(AISMessage msg, Class<T> type) {
+        if (!type.isInstance(msg)) {
+            String err = String.format("message type %d does not implement %s",
+                msg.getMessageType(), type.getSimpleName());
+            throw new IllegalArgumentException(err);
+        }
+        return type.cast(msg);
+    }
+}
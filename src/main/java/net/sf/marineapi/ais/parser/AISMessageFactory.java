@@ -37,6 +37,7 @@ public class AISMessageFactory {
 
     private static AISMessageFactory instance;
     private Map<Integer, Class<? extends AISMessage>> parsers;
+    private Map<Integer, Constructor<? extends AISMessage>> constructors;
 
     /**
      * Hidden constructor.
@@ -53,6 +54,15 @@ public class AISMessageFactory {
         parsers.put(19, AISMessage19Parser.class);
         parsers.put(21, AISMessage21Parser.class);
         parsers.put(24, AISMessage24Parser.class);
+
+        constructors = new HashMap<Integer, Constructor<? extends AISMessage>>(parsers.size());
+        for (Map.Entry<Integer, Class<? extends AISMessage>> e : parsers.entrySet()) {
+            try {
+                constructors.put(e.getKey(), e.getValue().getConstructor(Sixbit.class));
+            } catch (NoSuchMethodException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
     }
 
 
@@ -67,19 +77,33 @@ public class AISMessageFactory {
      * @return AISMessage instance
      */
     public AISMessage create(AISSentence... sentences) {
-
         AISMessageParser parser = new AISMessageParser(sentences);
+        return create(parser.getSixbit());
+    }
+
+    /**
+     * Creates a new AIS message parser based on given six-bit content, e.g.
+     * payload decoded by {@link AISLineDecoder}.
+     *
+     * @param content Six-bit decoder of complete message payload.
+     * @throws IllegalArgumentException If given message type is not supported.
+     * @throws IllegalStateException If message parser cannot be constructed
+     *          due to illegal state, e.g. invalid or empty message.
+     * @return AISMessage instance
+     */
+    public AISMessage create(Sixbit content) {
+
+        int type = content.getInt(0, 6);
+        Constructor<? extends AISMessage> co = constructors.get(type);
 
-        if (!parsers.containsKey(parser.getMessageType())) {
-            String msg = String.format("no parser for message type %d", parser.getMessageType());
+        if (co == null) {
+            String msg = String.format("no parser for message type %d", type);
             throw new IllegalArgumentException(msg);
         }
 
         AISMessage result;
-        Class<? extends AISMessage> c = parsers.get(parser.getMessageType());
         try {
-            Constructor<? extends AISMessage> co = c.getConstructor(Sixbit.class);
-            result = co.newInstance(parser.getSixbit());
+            result = co.newInstance(content);
         } catch (Exception e) {
             throw new IllegalStateException(e.getCause());
         }
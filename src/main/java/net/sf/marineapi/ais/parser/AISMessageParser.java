@@ -25,6 +25,7 @@ import java.util.List;
 
 import net.sf.marineapi.ais.message.AISMessage;
 import net.sf.marineapi.ais.util.Sixbit;
+import net.sf.marineapi.ais.util.SixbitWriter;
 import net.sf.marineapi.ais.util.Violation;
 import net.sf.marineapi.nmea.sentence.AISSentence;
 
@@ -166,4 +167,16 @@ public class AISMessageParser implements AISMessage {
         this.message += fragment;
         this.fillBits = fillBits; // we always use the last
     }
+
+    /**
+     * Writes the common message fields; type, repeat indicator and MMSI.
+     *
+     * @param msg Message to encode
+     * @param out Payload writer
+     */
+    static void encode(AISMessage msg, SixbitWriter out) {
+        out.setInt(FROM[MESSAGE_TYPE], TO[MESSAGE_TYPE], msg.getMessageType());
+        out.setInt(FROM[REPEAT_INDICATOR], TO[REPEAT_INDICATOR], msg.getRepeatIndicator());
+        out.setInt(FROM[MMSI], TO[MMSI], msg.getMMSI());
+    }
 }
@@ -27,6 +27,7 @@ import net.sf.marineapi.ais.util.Angle9;
 import net.sf.marineapi.ais.util.Latitude27;
 import net.sf.marineapi.ais.util.Longitude28;
 import net.sf.marineapi.ais.util.Sixbit;
+import net.sf.marineapi.ais.util.SixbitWriter;
 import net.sf.marineapi.ais.util.SpeedOverGround;
 import net.sf.marineapi.ais.util.TimeStamp;
 
@@ -133,7 +134,7 @@ class AISPositionReportBParser extends AISMessageParser implements AISPositionRe
 
 	@Override
 	public boolean hasLongitude() {
-		return Latitude27.isAvailable(fLongitude);
+		return Longitude28.isAvailable(fLongitude);
 	}
 
 	@Override
@@ -155,4 +156,25 @@ class AISPositionReportBParser extends AISMessageParser implements AISPositionRe
 		result += SEPARATOR + "Time:    " + TimeStamp.toString(fTimeStamp);
 		return result;		
 	}
+
+	/**
+	 * Writes the position report fields of message 18 or 19.
+	 *
+	 * @param msg Message to encode
+	 * @param out Payload writer
+	 */
+	static void encode(AISPositionReportB msg, SixbitWriter out) {
+		AISMessageParser.encode(msg, out);
+		out.setInt(FROM[SPEEDOVERGROUND], TO[SPEEDOVERGROUND], msg.hasSpeedOverGround() ?
+				SpeedOverGround.fromKnots(msg.getSpeedOverGround()) : SpeedOverGround.DEFAULT_VALUE);
+		out.setBoolean(FROM[POSITIONACCURACY], msg.isAccurate());
+		out.setInt(FROM[LONGITUDE], TO[LONGITUDE], msg.hasLongitude() ?
+				Longitude28.fromDegrees(msg.getLongitudeInDegrees()) : Longitude28.DEFAULT_VALUE);
+		out.setInt(FROM[LATITUDE], TO[LATITUDE], msg.hasLatitude() ?
+				Latitude27.fromDegrees(msg.getLatitudeInDegrees()) : Latitude27.DEFAULT_VALUE);
+		out.setInt(FROM[COURSEOVERGROUND], TO[COURSEOVERGROUND], msg.hasCourseOverGround() ?
+				Angle12.fromDegrees(msg.getCourseOverGround()) : Angle12.DEFAULTVALUE);
+		out.setInt(FROM[TRUEHEADING], TO[TRUEHEADING], msg.getTrueHeading());
+		out.setInt(FROM[TIMESTAMP], TO[TIMESTAMP], msg.getTimeStamp());
+	}
 }
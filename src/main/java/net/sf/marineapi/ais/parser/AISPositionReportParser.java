@@ -30,6 +30,7 @@ import net.sf.marineapi.ais.util.ManeuverIndicator;
 import net.sf.marineapi.ais.util.NavigationalStatus;
 import net.sf.marineapi.ais.util.RateOfTurn;
 import net.sf.marineapi.ais.util.Sixbit;
+import net.sf.marineapi.ais.util.SixbitWriter;
 import net.sf.marineapi.ais.util.SpeedOverGround;
 import net.sf.marineapi.ais.util.TimeStamp;
 
@@ -212,4 +213,29 @@ class AISPositionReportParser extends AISMessageParser implements AISPositionRep
 		result += SEPARATOR + "Man ind: " + ManeuverIndicator.toString(fManouverIndicator);
 		return result;
 	}
+
+	/**
+	 * Writes the position report fields of message 1, 2 or 3.
+	 *
+	 * @param msg Message to encode
+	 * @param out Payload writer of 168 bits
+	 */
+	static void encode(AISPositionReport msg, SixbitWriter out) {
+		AISMessageParser.encode(msg, out);
+		out.setInt(FROM[NAVIGATIONALSTATUS], TO[NAVIGATIONALSTATUS], msg.getNavigationalStatus());
+		out.setInt(FROM[RATEOFTURN], TO[RATEOFTURN], msg.hasRateOfTurn() ?
+				RateOfTurn.fromDegreesPerMinute(msg.getRateOfTurn()) : RateOfTurn.DEFAULTVALUE);
+		out.setInt(FROM[SPEEDOVERGROUND], TO[SPEEDOVERGROUND], msg.hasSpeedOverGround() ?
+				SpeedOverGround.fromKnots(msg.getSpeedOverGround()) : SpeedOverGround.DEFAULT_VALUE);
+		out.setBoolean(FROM[POSITIONACCURACY], msg.isAccurate());
+		out.setInt(FROM[LONGITUDE], TO[LONGITUDE], msg.hasLongitude() ?
+				Longitude28.fromDegrees(msg.getLongitudeInDegrees()) : Longitude28.DEFAULT_VALUE);
+		out.setInt(FROM[LATITUDE], TO[LATITUDE], msg.hasLatitude() ?
+				Latitude27.fromDegrees(msg.getLatitudeInDegrees()) : Latitude27.DEFAULT_VALUE);
+		out.setInt(FROM[COURSEOVERGROUND], TO[COURSEOVERGROUND], msg.hasCourseOverGround() ?
+				Angle12.fromDegrees(msg.getCourseOverGround()) : Angle12.DEFAULTVALUE);
+		out.setInt(FROM[TRUEHEADING], TO[TRUEHEADING], msg.getTrueHeading());
+		out.setInt(FROM[TIMESTAMP], TO[TIMESTAMP], msg.getTimeStamp());
+		out.setInt(FROM[MANOEUVER], TO[MANOEUVER], msg.getManouverIndicator());
+	}
 }
@@ -20,12 +20,14 @@
  */
 package net.sf.marineapi.ais.parser;
 
+import net.sf.marineapi.ais.message.AISMessage04;
 import net.sf.marineapi.ais.message.AISUTCReport;
 import net.sf.marineapi.ais.util.AISRuleViolation;
 import net.sf.marineapi.ais.util.Latitude27;
 import net.sf.marineapi.ais.util.Longitude28;
 import net.sf.marineapi.ais.util.PositioningDevice;
 import net.sf.marineapi.ais.util.Sixbit;
+import net.sf.marineapi.ais.util.SixbitWriter;
 
 /**
  * AIS Base station and Mobile Station UTC reporting
@@ -153,4 +155,26 @@ class AISUTCParser extends AISMessageParser implements AISUTCReport {
 		result += SEPARATOR + "EPFD:    " + PositioningDevice.toString(fTypeOfEPFD);
 		return result;
 	}
+
+	/**
+	 * Writes the fields of message 4.
+	 *
+	 * @param msg Message to encode
+	 * @param out Payload writer of 168 bits
+	 */
+	static void encode(AISMessage04 msg, SixbitWriter out) {
+		AISMessageParser.encode(msg, out);
+		out.setInt(FROM[UTC_YEAR], TO[UTC_YEAR], msg.getUtcYear());
+		out.setInt(FROM[UTC_MONTH], TO[UTC_MONTH], msg.getUtcMonth());
+		out.setInt(FROM[UTC_DAY], TO[UTC_DAY], msg.getUtcDay());
+		out.setInt(FROM[UTC_HOUR], TO[UTC_HOUR], msg.getUtcHour());
+		out.setInt(FROM[UTC_MINUTE], TO[UTC_MINUTE], msg.getUtcMinute());
+		out.setInt(FROM[UTC_SECOND], TO[UTC_SECOND], msg.getUtcSecond());
+		out.setBoolean(FROM[POSITIONACCURACY], msg.isAccurate());
+		out.setInt(FROM[LONGITUDE], TO[LONGITUDE], msg.hasLongitude() ?
+				Longitude28.fromDegrees(msg.getLongitudeInDegrees()) : Longitude28.DEFAULT_VALUE);
+		out.setInt(FROM[LATITUDE], TO[LATITUDE], msg.hasLatitude() ?
+				Latitude27.fromDegrees(msg.getLatitudeInDegrees()) : Latitude27.DEFAULT_VALUE);
+		out.setInt(FROM[FIXING_DEV_TYPE], TO[FIXING_DEV_TYPE], msg.getTypeOfEPFD());
+	}
 }
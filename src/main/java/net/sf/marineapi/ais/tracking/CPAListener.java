@@ -0,0 +1,42 @@
+/*
+ * CPAListener.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.tracking;
+
+import java.util.EventListener;
+
+/**
+ * Listener interface for collision risk updates.
+ *
+ * @author Kimmo Tuukkanen
+ * @see CollisionMonitor
+ */
+public interface CPAListener extends EventListener {
+
+    /**
+     * Invoked when CPA and TCPA of all targets have been recomputed,
+     * typically once per own ship position update. The result instance is
+     * reused by monitor and must not be retained after this method returns;
+     * use {@link CPAResult#copy()} if needed.
+     *
+     * @param result Computed values for each target in range
+     */
+    void cpaUpdate(CPAResult result);
+}
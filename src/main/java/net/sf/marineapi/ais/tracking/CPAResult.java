@@ -0,0 +1,222 @@
+/*
+ * CPAResult.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.tracking;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Closest point of approach (CPA) and time to CPA (TCPA) of targets relative
+ * to own ship, computed by {@link CollisionMonitor}.</p>
+ * <p>
+ * Values are kept in parallel primitive arrays, one row per target, and
+ * accessed by row index between zero and {@link #size()}. Rows are in no
+ * particular order.</p>
+ *
+ * @author Kimmo Tuukkanen
+ */
+public class CPAResult {
+
+    long time;
+    int size;
+    int[] target = new int[0];
+    boolean[] radar = new boolean[0];
+    double[] range = new double[0];
+    double[] bearing = new double[0];
+    double[] cpa = new double[0];
+    double[] tcpa = new double[0];
+    boolean[] alarm = new boolean[0];
+    boolean[] newAlarm = new boolean[0];
+
+    /**
+     * Creates a new empty result.
+     */
+    public CPAResult() {
+    }
+
+    /**
+     * Returns the time for which values were computed.
+     *
+     * @return Time stamp in milliseconds
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the number of targets.
+     *
+     * @return Number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the target identifier; MMSI of AIS target, or target number of
+     * radar target.
+     *
+     * @param row Row index
+     * @return MMSI or target number
+     * @see #isRadarTarget(int)
+     */
+    public int getTarget(int row) {
+        return target[row];
+    }
+
+    /**
+     * Tells if target was reported by radar (TTM) instead of AIS.
+     *
+     * @param row Row index
+     * @return {@code true} for radar targets, {@code false} for AIS.
+     */
+    public boolean isRadarTarget(int row) {
+        return radar[row];
+    }
+
+    /**
+     * Returns the current distance to target.
+     *
+     * @param row Row index
+     * @return Range in nautical miles
+     */
+    public double getRange(int row) {
+        return range[row];
+    }
+
+    /**
+     * Returns the current true bearing to target.
+     *
+     * @param row Row index
+     * @return Bearing in degrees [0..360)
+     */
+    public double getBearing(int row) {
+        return bearing[row];
+    }
+
+    /**
+     * Returns the distance at closest point of approach. If target is
+     * receding, i.e. TCPA is negative, CPA is in the past.
+     *
+     * @param row Row index
+     * @return CPA in nautical miles
+     */
+    public double getCPA(int row) {
+        return cpa[row];
+    }
+
+    /**
+     * Returns the time to closest point of approach. Negative value means
+     * that CPA has already been passed.
+     *
+     * @param row Row index
+     * @return TCPA in minutes
+     */
+    public double getTCPA(int row) {
+        return tcpa[row];
+    }
+
+    /**
+     * Tells if target violates the CPA and TCPA alarm limits.
+     *
+     * @param row Row index
+     * @return {@code true} if in alarm state, otherwise {@code false}.
+     */
+    public boolean isAlarm(int row) {
+        return alarm[row];
+    }
+
+    /**
+     * Tells if target entered the alarm state in this computation, i.e. was
+     * not in alarm state in the previous one.
+     *
+     * @param row Row index
+     * @return {@code true} if alarm was raised, otherwise {@code false}.
+     */
+    public boolean isNewAlarm(int row) {
+        return newAlarm[row];
+    }
+
+    /**
+     * Returns the number of targets in alarm state.
+     *
+     * @return Number of alarms
+     */
+    public int getAlarmCount() {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (alarm[i]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the row of given target.
+     *
+     * @param id MMSI or radar target number
+     * @param isRadar {@code true} for radar target, {@code false} for AIS.
+     * @return Row index, or -1 if not found.
+     */
+    public int indexOf(int id, boolean isRadar) {
+        for (int i = 0; i < size; i++) {
+            if (target[i] == id && radar[i] == isRadar) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns an independent copy of this result.
+     *
+     * @return New result with same values
+     */
+    public CPAResult copy() {
+        CPAResult c = new CPAResult();
+        c.time = time;
+        c.size = size;
+        c.target = Arrays.copyOf(target, size);
+        c.radar = Arrays.copyOf(radar, size);
+        c.range = Arrays.copyOf(range, size);
+        c.bearing = Arrays.copyOf(bearing, size);
+        c.cpa = Arrays.copyOf(cpa, size);
+        c.tcpa = Arrays.copyOf(tcpa, size);
+        c.alarm = Arrays.copyOf(alarm, size);
+        c.newAlarm = Arrays.copyOf(newAlarm, size);
+        return c;
+    }
+
+    void ensureCapacity(int capacity) {
+        if (target.length < capacity) {
+            int n = Math.max(capacity, target.length << 1);
+            target = Arrays.copyOf(target, n);
+            radar = Arrays.copyOf(radar, n);
+            range = Arrays.copyOf(range, n);
+            bearing = Arrays.copyOf(bearing, n);
+            cpa = Arrays.copyOf(cpa, n);
+            tcpa = Arrays.copyOf(tcpa, n);
+            alarm = Arrays.copyOf(alarm, n);
+            newAlarm = Arrays.copyOf(newAlarm, n);
+        }
+    }
+}
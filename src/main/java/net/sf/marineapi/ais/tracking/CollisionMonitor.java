@@ -0,0 +1,602 @@
+/*
+ * CollisionMonitor.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.tracking;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import net.sf.marineapi.nmea.event.SentenceEvent;
+import net.sf.marineapi.nmea.event.SentenceListener;
+import net.sf.marineapi.nmea.sentence.Sentence;
+import net.sf.marineapi.nmea.sentence.TTMSentence;
+import net.sf.marineapi.nmea.util.Position;
+import net.sf.marineapi.nmea.util.TargetStatus;
+import net.sf.marineapi.nmea.util.Units;
+import net.sf.marineapi.provider.event.PositionEvent;
+import net.sf.marineapi.provider.event.PositionListener;
+import net.sf.marineapi.util.IntIntMap;
+
+/**
+ * <p>
+ * Computes the closest point of approach (CPA) and time to CPA (TCPA) between
+ * own ship and all tracked targets, and raises alarms for targets that come
+ * closer than configured limits.</p>
+ * <p>
+ * Own ship position, speed and course are received from
+ * {@link net.sf.marineapi.provider.PositionProvider} or set directly with
+ * {@link #setOwnShip(double, double, double, double, long)}. AIS targets are
+ * read from a {@link VesselTable}, and radar targets are received in
+ * {@link TTMSentence}s when the monitor is registered as sentence listener.
+ * Each own ship update triggers a new computation, of which the registered
+ * {@link CPAListener}s are notified.</p>
+ * <p>
+ * Targets outside the configured range are pruned with a
+ * {@link SpatialIndex}, if given, before computation. The search radius
+ * allows for targets moving at most the configured maximum target speed
+ * since their last report; faster targets are found only when scanning the
+ * whole table, i.e. without index. Positions of own ship
+ * and targets are dead reckoned to common time, and CPA is solved for all
+ * targets in one pass over primitive arrays, on a local plane centered at
+ * own ship. Targets without course over ground are considered stationary.
+ * </p>
+ *
+ * @author Kimmo Tuukkanen
+ * @see CPAResult
+ */
+public class CollisionMonitor implements PositionListener, SentenceListener {
+
+    /** Default range of monitored targets, in nautical miles. */
+    public static final double DEFAULT_RANGE = 12.0;
+
+    /** Default CPA alarm limit, in nautical miles. */
+    public static final double DEFAULT_CPA_LIMIT = 0.5;
+
+    /** Default TCPA alarm limit, in minutes. */
+    public static final double DEFAULT_TCPA_LIMIT = 12.0;
+
+    /** Default maximum age of target position, in milliseconds. */
+    public static final long DEFAULT_MAX_AGE = 360000L;
+
+    /**
+     * Default maximum speed of targets, in knots. Highest speed over ground
+     * reported by vessel position reports.
+     */
+    public static final double DEFAULT_MAX_TARGET_SPEED = 102.2;
+
+    private static final int RADAR_TARGETS = 100;
+    private static final double MS_PER_HOUR = 3600000.0;
+    private static final double KMH_TO_KNOTS = 1 / 1.852;
+    private static final double MIN_SPEED_SQ = 1e-9;
+
+    private final VesselTable table;
+    private final SpatialIndex index;
+    private final List<CPAListener> listeners = new CopyOnWriteArrayList<>();
+    private final CPAResult result = new CPAResult();
+    private final VesselState state = new VesselState();
+
+    private double range = DEFAULT_RANGE;
+    private double cpaLimit = DEFAULT_CPA_LIMIT;
+    private double tcpaLimit = DEFAULT_TCPA_LIMIT;
+    private long maxAge = DEFAULT_MAX_AGE;
+    private double maxTargetSpeed = DEFAULT_MAX_TARGET_SPEED;
+    private int ownMMSI;
+
+    private boolean hasOwnShip;
+    private double ownLat;
+    private double ownLon;
+    private double ownVx;
+    private double ownVy;
+    private long ownTime;
+
+    private final boolean[] radarActive = new boolean[RADAR_TARGETS];
+    private final double[] radarLat = new double[RADAR_TARGETS];
+    private final double[] radarLon = new double[RADAR_TARGETS];
+    private final double[] radarVx = new double[RADAR_TARGETS];
+    private final double[] radarVy = new double[RADAR_TARGETS];
+    private final long[] radarTime = new long[RADAR_TARGETS];
+
+    // relative position (NM) and velocity (kn) of targets being computed
+    private double[] px = new double[0];
+    private double[] py = new double[0];
+    private double[] vx = new double[0];
+    private double[] vy = new double[0];
+    private int count;
+
+    private IntIntMap alarms = new IntIntMap();
+    private IntIntMap previousAlarms = new IntIntMap();
+
+    /**
+     * Creates a new monitor for targets in given table. All targets are
+     * scanned on each computation; see
+     * {@link #CollisionMonitor(VesselTable, SpatialIndex)} for large tables.
+     *
+     * @param table Table of AIS targets
+     */
+    public CollisionMonitor(VesselTable table) {
+        this(table, null);
+    }
+
+    /**
+     * Creates a new monitor for targets in given table, using the spatial
+     * index to find targets within range.
+     *
+     * @param table Table of AIS targets
+     * @param index Spatial index of same targets, or {@code null} to scan
+     *            all targets.
+     */
+    public CollisionMonitor(VesselTable table, SpatialIndex index) {
+        if (table == null) {
+            throw new IllegalArgumentException("Vessel table cannot be null");
+        }
+        this.table = table;
+        this.index = index;
+    }
+
+    /**
+     * Adds a listener for CPA updates.
+     *
+     * @param listener Listener to add
+     */
+    public void addListener(CPAListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener Listener to remove
+     */
+    public void removeListener(CPAListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns the range of monitored targets.
+     *
+     * @return Range in nautical miles
+     */
+    public synchronized double getRange() {
+        return range;
+    }
+
+    /**
+     * Sets the range of monitored targets; targets further away are not
+     * included in results.
+     *
+     * @param range Range in nautical miles
+     * @throws IllegalArgumentException If range is not positive
+     */
+    public synchronized void setRange(double range) {
+        if (!(range > 0)) {
+            throw new IllegalArgumentException("Range must be positive");
+        }
+        this.range = range;
+    }
+
+    /**
+     * Returns the CPA alarm limit.
+     *
+     * @return CPA limit in nautical miles
+     */
+    public synchronized double getCPALimit() {
+        return cpaLimit;
+    }
+
+    /**
+     * Sets the CPA alarm limit. Target is in alarm state when its CPA is
+     * less than or equal to this limit and its TCPA is within the TCPA limit.
+     *
+     * @param limit CPA limit in nautical miles
+     * @throws IllegalArgumentException If limit is negative
+     */
+    public synchronized void setCPALimit(double limit) {
+        if (!(limit >= 0)) {
+            throw new IllegalArgumentException("CPA limit cannot be negative");
+        }
+        this.cpaLimit = limit;
+    }
+
+    /**
+     * Returns the TCPA alarm limit.
+     *
+     * @return TCPA limit in minutes
+     */
+    public synchronized double getTCPALimit() {
+        return tcpaLimit;
+    }
+
+    /**
+     * Sets the TCPA alarm limit, i.e. how far ahead alarms are raised.
+     *
+     * @param limit TCPA limit in minutes
+     * @throws IllegalArgumentException If limit is negative
+     */
+    public synchronized void setTCPALimit(double limit) {
+        if (!(limit >= 0)) {
+            throw new IllegalArgumentException("TCPA limit cannot be negative");
+        }
+        this.tcpaLimit = limit;
+    }
+
+    /**
+     * Returns the maximum age of target positions.
+     *
+     * @return Age in milliseconds
+     */
+    public synchronized long getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Sets the maximum age of target positions; targets that have not
+     * reported position within this time are ignored.
+     *
+     * @param maxAge Age in milliseconds
+     * @throws IllegalArgumentException If age is not positive
+     */
+    public synchronized void setMaxAge(long maxAge) {
+        if (maxAge <= 0) {
+            throw new IllegalArgumentException("Max age must be positive");
+        }
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Returns the maximum speed of targets.
+     *
+     * @return Speed in knots
+     */
+    public synchronized double getMaxTargetSpeed() {
+        return maxTargetSpeed;
+    }
+
+    /**
+     * Sets the maximum speed of targets, used to find targets that may have
+     * moved in range since their last report when spatial index is used.
+     * Lower speed narrows the search, but faster targets may be missed.
+     *
+     * @param speed Speed in knots
+     * @throws IllegalArgumentException If speed is negative
+     */
+    public synchronized void setMaxTargetSpeed(double speed) {
+        if (!(speed >= 0)) {
+            throw new IllegalArgumentException("Max target speed cannot be negative");
+        }
+        this.maxTargetSpeed = speed;
+    }
+
+    /**
+     * Sets the MMSI of own ship, to exclude own AIS transponder from targets.
+     *
+     * @param mmsi Own MMSI
+     */
+    public synchronized void setOwnMMSI(int mmsi) {
+        this.ownMMSI = mmsi;
+    }
+
+    /**
+     * Sets the own ship position and velocity, without triggering a new
+     * computation.
+     *
+     * @param lat Latitude in degrees
+     * @param lon Longitude in degrees
+     * @param sog Speed over ground in knots
+     * @param cog Course over ground in degrees
+     * @param time Time stamp of position in milliseconds
+     * @throws IllegalArgumentException If position is out of range
+     */
+    public synchronized void setOwnShip(double lat, double lon, double sog, double cog, long time) {
+        if (!(lat >= -90 && lat <= 90 && lon >= -180 && lon <= 180)) {
+            throw new IllegalArgumentException("Position out of range");
+        }
+        ownLat = lat;
+        ownLon = lon;
+        ownVx = sog * Math.sin(Math.toRadians(cog));
+        ownVy = sog * Math.cos(Math.toRadians(cog));
+        ownTime = time;
+        hasOwnShip = true;
+    }
+
+    /**
+     * Updates own ship from position event and computes CPA of all targets.
+     * Course missing from event is handled as stationary own ship.
+     *
+     * @param evt Position event
+     */
+    @Override
+    public void providerUpdate(PositionEvent evt) {
+        Position p = evt.getPosition();
+        Double kmh = evt.getSpeed();
+        Double cog = evt.getCourse();
+        long time = System.currentTimeMillis();
+        boolean moving = kmh != null && cog != null;
+        setOwnShip(p.getLatitude(), p.getLongitude(),
+            moving ? kmh * KMH_TO_KNOTS : 0, moving ? cog : 0, time);
+        update(time);
+    }
+
+    /**
+     * Updates radar targets from TTM sentences; other sentences are ignored.
+     *
+     * @param event Sentence event
+     */
+    @Override
+    public void sentenceRead(SentenceEvent event) {
+        Sentence s = event.getSentence();
+        if (s instanceof TTMSentence) {
+            update((TTMSentence) s, event.getTimeStamp());
+        }
+    }
+
+    @Override
+    public void readingPaused() {
+    }
+
+    @Override
+    public void readingStarted() {
+    }
+
+    @Override
+    public void readingStopped() {
+    }
+
+    /**
+     * Updates a radar target. Target position is resolved from range and
+     * bearing relative to own ship, thus own ship must be known. Lost
+     * targets are removed.
+     *
+     * @param ttm Tracked target message
+     * @param time Time stamp of message in milliseconds
+     * @return {@code true} if target was updated or removed, otherwise
+     *         {@code false}.
+     */
+    public synchronized boolean update(TTMSentence ttm, long time) {
+        try {
+            int n = ttm.getNumber();
+            if (n < 0 || n >= RADAR_TARGETS) {
+                return false;
+            }
+            if (ttm.getStatus() == TargetStatus.LOST) {
+                radarActive[n] = false;
+                return true;
+            }
+            if (!hasOwnShip) {
+                return false;
+            }
+            double factor = unitFactor(ttm);
+            double distance = ttm.getDistance() * factor;
+            double speed = ttm.getSpeed() * factor;
+            double bearing = Math.toRadians(ttm.getBearing());
+            double course = Math.toRadians(ttm.getCourse());
+
+            double dt = (time - ownTime) / MS_PER_HOUR;
+            double x = ownVx * dt + distance * Math.sin(bearing);
+            double y = ownVy * dt + distance * Math.cos(bearing);
+            radarLat[n] = ownLat + y / 60;
+            radarLon[n] = wrap(ownLon + x / (60 * Math.cos(Math.toRadians(ownLat))));
+            radarVx[n] = speed * Math.sin(course);
+            radarVy[n] = speed * Math.cos(course);
+            radarTime[n] = time;
+            radarActive[n] = true;
+            return true;
+        } catch (RuntimeException e) {
+            // missing or malformed field
+            return false;
+        }
+    }
+
+    /**
+     * Computes CPA of all targets at given time and notifies the listeners.
+     *
+     * @param time Time stamp in milliseconds
+     */
+    public synchronized void update(long time) {
+        compute(time, result);
+        for (CPAListener listener : listeners) {
+            listener.cpaUpdate(result);
+        }
+    }
+
+    /**
+     * Computes CPA of all targets at given time.
+     *
+     * @param time Time stamp in milliseconds
+     * @return New result instance
+     */
+    public CPAResult compute(long time) {
+        return compute(time, new CPAResult());
+    }
+
+    /**
+     * Computes CPA of all targets at given time, reusing the given result
+     * instance. Result is empty if own ship is not known.
+     *
+     * @param time Time stamp in milliseconds
+     * @param out Result to overwrite
+     * @return The given result
+     */
+    public synchronized CPAResult compute(long time, CPAResult out) {
+        out.time = time;
+        out.size = 0;
+        if (!hasOwnShip) {
+            return out;
+        }
+
+        // own ship in local plane centered at last known own position
+        final double scale = Math.cos(Math.toRadians(ownLat));
+        final double ownDt = (time - ownTime) / MS_PER_HOUR;
+        final double ownX = ownVx * ownDt;
+        final double ownY = ownVy * ownDt;
+        final double rangeSq = range * range;
+
+        count = 0;
+        ensureCapacity(out, RADAR_TARGETS);
+        if (index != null) {
+            // allow for own ship and targets moved since last reports
+            double margin = Math.sqrt(ownX * ownX + ownY * ownY)
+                + maxTargetSpeed * maxAge / MS_PER_HOUR;
+            int[] candidates = index.withinRadius(ownLat, ownLon, range + margin + 1);
+            for (int mmsi : candidates) {
+                if (table.get(mmsi, state)) {
+                    gather(out, state, time, scale, ownX, ownY, rangeSq);
+                }
+            }
+        } else {
+            table.forEach(s -> gather(out, s, time, scale, ownX, ownY, rangeSq));
+        }
+
+        int n = count;
+        for (int i = 0; i < RADAR_TARGETS; i++) {
+            if (!radarActive[i] || time - radarTime[i] > maxAge) {
+                continue;
+            }
+            double dt = (time - radarTime[i]) / MS_PER_HOUR;
+            double x = wrap(radarLon[i] - ownLon) * 60 * scale + radarVx[i] * dt - ownX;
+            double y = (radarLat[i] - ownLat) * 60 + radarVy[i] * dt - ownY;
+            if (x * x + y * y <= rangeSq) {
+                px[n] = x;
+                py[n] = y;
+                vx[n] = radarVx[i] - ownVx;
+                vy[n] = radarVy[i] - ownVy;
+                out.target[n] = i;
+                out.radar[n] = true;
+                n++;
+            }
+        }
+
+        solve(out, n);
+        updateAlarms(out, n);
+        out.size = n;
+        return out;
+    }
+
+    /**
+     * Adds the given AIS target to computation, if its position is recent
+     * and within range.
+     */
+    private void gather(CPAResult out, VesselState state, long time,
+        double scale, double ownX, double ownY, double rangeSq) {
+
+        if (state.mmsi == ownMMSI || !state.hasPosition()) {
+            return;
+        }
+        long posTime = state.getTimeStamp(VesselField.POSITION);
+        if (time - posTime > maxAge) {
+            return;
+        }
+        double sog = 0;
+        double cog = 0;
+        if (state.hasSpeedOverGround() && state.hasCourseOverGround()) {
+            sog = state.getSpeedOverGround();
+            cog = Math.toRadians(state.getCourseOverGround());
+        }
+        double tvx = sog * Math.sin(cog);
+        double tvy = sog * Math.cos(cog);
+        double dt = (time - posTime) / MS_PER_HOUR;
+        double x = wrap(state.getLongitude() - ownLon) * 60 * scale + tvx * dt - ownX;
+        double y = (state.getLatitude() - ownLat) * 60 + tvy * dt - ownY;
+        if (x * x + y * y > rangeSq) {
+            return;
+        }
+        int n = count++;
+        if (count + RADAR_TARGETS > px.length) {
+            ensureCapacity(out, (count + RADAR_TARGETS) << 1);
+        }
+        px[n] = x;
+        py[n] = y;
+        vx[n] = tvx - ownVx;
+        vy[n] = tvy - ownVy;
+        out.target[n] = state.mmsi;
+        out.radar[n] = false;
+    }
+
+    private void solve(CPAResult out, int n) {
+        final double[] range = out.range;
+        final double[] bearing = out.bearing;
+        final double[] cpa = out.cpa;
+        final double[] tcpa = out.tcpa;
+        final boolean[] alarm = out.alarm;
+
+        for (int i = 0; i < n; i++) {
+            double x = px[i];
+            double y = py[i];
+            double dvx = vx[i];
+            double dvy = vy[i];
+            double v2 = dvx * dvx + dvy * dvy;
+            double t = v2 > MIN_SPEED_SQ ? -(x * dvx + y * dvy) / v2 : 0;
+            double cx = x + dvx * t;
+            double cy = y + dvy * t;
+            double b = Math.toDegrees(Math.atan2(x, y));
+
+            range[i] = Math.sqrt(x * x + y * y);
+            bearing[i] = b < 0 ? b + 360 : b;
+            cpa[i] = Math.sqrt(cx * cx + cy * cy);
+            tcpa[i] = t * 60;
+            alarm[i] = cpa[i] <= cpaLimit && tcpa[i] >= 0 && tcpa[i] <= tcpaLimit;
+        }
+    }
+
+    private void updateAlarms(CPAResult out, int n) {
+        IntIntMap current = previousAlarms;
+        current.clear();
+        for (int i = 0; i < n; i++) {
+            if (out.alarm[i]) {
+                int key = out.radar[i] ? -1 - out.target[i] : out.target[i];
+                out.newAlarm[i] = !alarms.containsKey(key);
+                current.put(key, 1);
+            } else {
+                out.newAlarm[i] = false;
+            }
+        }
+        previousAlarms = alarms;
+        alarms = current;
+    }
+
+    private void ensureCapacity(CPAResult out, int capacity) {
+        if (px.length < capacity) {
+            int size = Math.max(capacity, px.length << 1);
+            px = Arrays.copyOf(px, size);
+            py = Arrays.copyOf(py, size);
+            vx = Arrays.copyOf(vx, size);
+            vy = Arrays.copyOf(vy, size);
+        }
+        out.ensureCapacity(px.length);
+    }
+
+    private static double unitFactor(TTMSentence ttm) {
+        try {
+            return ttm.getUnits() == Units.KMH ? KMH_TO_KNOTS : 1.0;
+        } catch (RuntimeException e) {
+            // units not given, nautical miles and knots by default
+            return 1.0;
+        }
+    }
+
+    private static double wrap(double lon) {
+        if (lon > 180) {
+            return lon - 360;
+        } else if (lon < -180) {
+            return lon + 360;
+        }
+        return lon;
+    }
+}
@@ -0,0 +1,695 @@
+/*
+ * SpatialIndex.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.tracking;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+import net.sf.marineapi.ais.event.AbstractAISMessageListener;
+import net.sf.marineapi.ais.message.AISMessage;
+import net.sf.marineapi.ais.message.AISMessage21;
+import net.sf.marineapi.ais.message.AISPositionReport;
+import net.sf.marineapi.ais.message.AISPositionReportB;
+import net.sf.marineapi.util.IntIntMap;
+
+/**
+ * <p>
+ * Spatial index of AIS targets for radius, bounding box and k-nearest
+ * queries, e.g. "all targets within 12 NM of own ship".</p>
+ * <p>
+ * Targets are kept in a fixed latitude/longitude grid, in the same 1/10000
+ * minute units as used in AIS position reports. Each grid cell holds a linked
+ * list of targets, so a target that moves is only relinked to another cell
+ * and the index never needs to be rebuilt. Register the index in a
+ * {@link net.sf.marineapi.nmea.io.SentenceReader} to have it fed with
+ * position reports (messages 1, 2, 3, 18, 19 and 21), or call the
+ * {@code update} methods directly.</p>
+ * <p>
+ * Distances are computed on a local equirectangular projection centered at
+ * the query position, i.e. longitude differences are scaled by the cosine of
+ * query latitude. This is accurate to well under one percent within a few
+ * tens of nautical miles, which is the intended use.</p>
+ * <p>
+ * Updates are serialized, while any number of queries may run concurrently.
+ * </p>
+ *
+ * @author Kimmo Tuukkanen
+ * @see VesselTable
+ */
+public class SpatialIndex extends AbstractAISMessageListener<AISMessage> {
+
+    /** Default grid cell size, in nautical miles of latitude. */
+    public static final double DEFAULT_CELL_SIZE = 4.0;
+
+    /** Smallest allowed grid cell size, in nautical miles of latitude. */
+    public static final double MIN_CELL_SIZE = 0.5;
+
+    private static final int UNITS_PER_MINUTE = 10000;
+    private static final int UNITS_PER_DEGREE = 60 * UNITS_PER_MINUTE;
+    private static final int LAT_OFFSET = 90 * UNITS_PER_DEGREE;
+    private static final int LON_OFFSET = 180 * UNITS_PER_DEGREE;
+    private static final int NONE = -1;
+
+    private final StampedLock lock = new StampedLock();
+    private final int cellSize;
+    private final int rows;
+    private final int cols;
+
+    // MMSI to slot, and cell key to first slot in cell
+    private final IntIntMap slots = new IntIntMap();
+    private final IntIntMap cells = new IntIntMap();
+
+    private int[] mmsi = new int[0];
+    private int[] latitude = new int[0];
+    private int[] longitude = new int[0];
+    private int[] cell = new int[0];
+    private int[] next = new int[0];
+    private int[] prev = new int[0];
+    private long[] updated = new long[0];
+    private int top;
+    private int free = NONE;
+
+    /**
+     * Creates a new index with default cell size.
+     */
+    public SpatialIndex() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Creates a new index with given grid cell size. Cell size should be in
+     * the same order as the typical query radius; too small cells make large
+     * queries visit many empty cells, too large cells contain many targets
+     * outside the query.
+     *
+     * @param cellSize Cell size in nautical miles of latitude
+     * @throws IllegalArgumentException If cell size is less than
+     *             {@link #MIN_CELL_SIZE} or greater than 60 NM.
+     */
+    public SpatialIndex(double cellSize) {
+        super(AISMessage.class);
+        if (!(cellSize >= MIN_CELL_SIZE && cellSize <= 60)) {
+            throw new IllegalArgumentException(
+                "Cell size out of bounds [" + MIN_CELL_SIZE + ",60]");
+        }
+        this.cellSize = (int) Math.round(cellSize * UNITS_PER_MINUTE);
+        this.rows = 2 * LAT_OFFSET / this.cellSize + 1;
+        this.cols = (2 * LON_OFFSET + this.cellSize - 1) / this.cellSize;
+        grow(64);
+    }
+
+    /**
+     * Updates the index with received message, using the current system time
+     * as time stamp.
+     *
+     * @param msg AIS message
+     */
+    @Override
+    public void onMessage(AISMessage msg) {
+        update(msg, System.currentTimeMillis());
+    }
+
+    /**
+     * Updates the position of target reported in given message. Messages
+     * that contain no position, or where position is not available, are
+     * ignored.
+     *
+     * @param msg AIS message
+     * @param time Time stamp of message in milliseconds
+     * @return {@code true} if index was updated, otherwise {@code false}.
+     */
+    public boolean update(AISMessage msg, long time) {
+        if (msg instanceof AISPositionReport) {
+            AISPositionReport pr = (AISPositionReport) msg;
+            if (pr.hasLatitude() && pr.hasLongitude()) {
+                return update(msg.getMMSI(), pr.getLatitudeInDegrees(),
+                    pr.getLongitudeInDegrees(), time);
+            }
+        } else if (msg instanceof AISPositionReportB) {
+            AISPositionReportB pr = (AISPositionReportB) msg;
+            if (pr.hasLatitude() && pr.hasLongitude()) {
+                return update(msg.getMMSI(), pr.getLatitudeInDegrees(),
+                    pr.getLongitudeInDegrees(), time);
+            }
+        } else if (msg instanceof AISMessage21) {
+            AISMessage21 m21 = (AISMessage21) msg;
+            if (m21.hasLatitude() && m21.hasLongitude()) {
+                return update(msg.getMMSI(), m21.getLatitudeInDegrees(),
+                    m21.getLongitudeInDegrees(), time);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Updates the position of given target.
+     *
+     * @param target MMSI of target
+     * @param lat Latitude in degrees
+     * @param lon Longitude in degrees
+     * @param time Time stamp of position in milliseconds
+     * @return {@code true} if index was updated, {@code false} if position
+     *         is out of range.
+     */
+    public boolean update(int target, double lat, double lon, long time) {
+        if (!isValid(lat, lon)) {
+            return false;
+        }
+        return updateUnits(target, toUnits(lat), toUnits(lon), time);
+    }
+
+    /**
+     * Updates the position of given target, expressed in 1/10000 minutes as
+     * in AIS position reports.
+     *
+     * @param target MMSI of target
+     * @param lat Latitude in 1/10000 minutes
+     * @param lon Longitude in 1/10000 minutes
+     * @param time Time stamp of position in milliseconds
+     * @return {@code true} if index was updated, {@code false} if position
+     *         is out of range or not available.
+     */
+    public boolean updateUnits(int target, int lat, int lon, long time) {
+        if (lat < -LAT_OFFSET || lat > LAT_OFFSET || lon < -LON_OFFSET || lon > LON_OFFSET) {
+            return false;
+        }
+        int key = cellOf(lat, lon);
+        long stamp = lock.writeLock();
+        try {
+            int s = slots.get(target, NONE);
+            if (s == NONE) {
+                s = allocate(target);
+                link(s, key);
+            } else if (cell[s] != key) {
+                unlink(s);
+                link(s, key);
+            }
+            latitude[s] = lat;
+            longitude[s] = lon;
+            updated[s] = time;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the specified target.
+     *
+     * @param target MMSI of target to remove
+     * @return {@code true} if removed, otherwise {@code false}.
+     */
+    public boolean remove(int target) {
+        long stamp = lock.writeLock();
+        try {
+            int s = slots.get(target, NONE);
+            if (s == NONE) {
+                return false;
+            }
+            release(s);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes all targets whose position has not been updated since given
+     * time.
+     *
+     * @param time Time stamp in milliseconds
+     * @return Number of removed targets
+     */
+    public int removeOlderThan(long time) {
+        long stamp = lock.writeLock();
+        try {
+            int removed = 0;
+            for (int s = 0; s < top; s++) {
+                if (cell[s] != NONE && updated[s] < time) {
+                    release(s);
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes all targets.
+     */
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            slots.clear();
+            cells.clear();
+            top = 0;
+            free = NONE;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Tells if the index contains given target.
+     *
+     * @param target MMSI of target
+     * @return {@code true} if found, otherwise {@code false}.
+     */
+    public boolean contains(int target) {
+        long stamp = lock.readLock();
+        try {
+            return slots.containsKey(target);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of targets in index.
+     *
+     * @return Number of targets
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return slots.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns all targets within given distance from specified position.
+     *
+     * @param lat Latitude of center in degrees
+     * @param lon Longitude of center in degrees
+     * @param radius Radius in nautical miles
+     * @return MMSIs of targets in no particular order, empty array if none.
+     * @throws IllegalArgumentException If position is out of range or radius
+     *             is negative.
+     */
+    public int[] withinRadius(double lat, double lon, double radius) {
+        checkPosition(lat, lon);
+        if (!(radius >= 0)) {
+            throw new IllegalArgumentException("Radius cannot be negative");
+        }
+        final int lat0 = toUnits(lat);
+        final int lon0 = toUnits(lon);
+        final double scale = Math.cos(Math.toRadians(lat));
+        final double r = radius * UNITS_PER_MINUTE;
+        final double r2 = r * r;
+        final int latSpan = (int) Math.ceil(r);
+        final double lonSpan = scale > 0 ? r / scale : Double.POSITIVE_INFINITY;
+
+        int rowFrom = rowOf(Math.max(lat0 - latSpan, -LAT_OFFSET));
+        int rowTo = rowOf(Math.min(lat0 + latSpan, LAT_OFFSET));
+        int colFrom = 0;
+        int colCount = cols;
+        if (lonSpan < LON_OFFSET) {
+            int span = (int) Math.ceil(lonSpan);
+            colFrom = colOf(wrap(lon0 - span));
+            colCount = columnsBetween(colFrom, colOf(wrap(lon0 + span)));
+        }
+
+        Hits hits = new Hits();
+        long stamp = lock.readLock();
+        try {
+            for (int row = rowFrom; row <= rowTo; row++) {
+                for (int i = 0; i < colCount; i++) {
+                    int s = cells.get(key(row, (colFrom + i) % cols), NONE);
+                    for (; s != NONE; s = next[s]) {
+                        if (distanceSq(s, lat0, lon0, scale) <= r2) {
+                            hits.add(mmsi[s]);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return hits.toArray();
+    }
+
+    /**
+     * Returns all targets within given bounding box. Box may span over the
+     * 180th meridian, i.e. west boundary may be greater than east boundary.
+     *
+     * @param south Southern boundary latitude in degrees
+     * @param west Western boundary longitude in degrees
+     * @param north Northern boundary latitude in degrees
+     * @param east Eastern boundary longitude in degrees
+     * @return MMSIs of targets in no particular order, empty array if none.
+     * @throws IllegalArgumentException If any of the boundaries is out of
+     *             range, or if south is greater than north.
+     */
+    public int[] withinBounds(double south, double west, double north, double east) {
+        checkPosition(south, west);
+        checkPosition(north, east);
+        if (south > north) {
+            throw new IllegalArgumentException("South is greater than north");
+        }
+        final int s0 = toUnits(south);
+        final int n0 = toUnits(north);
+        final int w0 = toUnits(west);
+        final int e0 = toUnits(east);
+        final boolean wrapped = w0 > e0;
+
+        int colFrom = 0;
+        int colCount = cols;
+        if (e0 - w0 < 2 * LON_OFFSET) {
+            colFrom = colOf(w0);
+            colCount = columnsBetween(colFrom, colOf(e0));
+        }
+
+        Hits hits = new Hits();
+        long stamp = lock.readLock();
+        try {
+            for (int row = rowOf(s0), last = rowOf(n0); row <= last; row++) {
+                for (int i = 0; i < colCount; i++) {
+                    int s = cells.get(key(row, (colFrom + i) % cols), NONE);
+                    for (; s != NONE; s = next[s]) {
+                        int la = latitude[s];
+                        int lo = longitude[s];
+                        if (la >= s0 && la <= n0
+                            && (wrapped ? lo >= w0 || lo <= e0 : lo >= w0 && lo <= e0)) {
+                            hits.add(mmsi[s]);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return hits.toArray();
+    }
+
+    /**
+     * Returns the targets nearest to specified position.
+     *
+     * @param lat Latitude in degrees
+     * @param lon Longitude in degrees
+     * @param k Maximum number of targets to return
+     * @return MMSIs of targets, nearest first. Array length is {@code k}, or
+     *         less if index contains less targets.
+     * @throws IllegalArgumentException If position is out of range or
+     *             {@code k} is not positive.
+     */
+    public int[] nearest(double lat, double lon, int k) {
+        return nearest(lat, lon, k, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Returns the targets nearest to specified position, within given
+     * distance.
+     *
+     * @param lat Latitude in degrees
+     * @param lon Longitude in degrees
+     * @param k Maximum number of targets to return
+     * @param maxRadius Maximum distance in nautical miles
+     * @return MMSIs of targets, nearest first. Array length is {@code k}, or
+     *         less if there are less targets within {@code maxRadius}.
+     * @throws IllegalArgumentException If position is out of range,
+     *             {@code k} is not positive or radius is negative.
+     */
+    public int[] nearest(double lat, double lon, int k, double maxRadius) {
+        checkPosition(lat, lon);
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        if (!(maxRadius >= 0)) {
+            throw new IllegalArgumentException("Radius cannot be negative");
+        }
+        final int lat0 = toUnits(lat);
+        final int lon0 = toUnits(lon);
+        final double scale = Math.cos(Math.toRadians(lat));
+        final double limit = maxRadius * UNITS_PER_MINUTE;
+        final double limitSq = limit * limit;
+        final int row0 = rowOf(lat0);
+        final int col0 = colOf(lon0);
+
+        Heap heap = new Heap(k);
+        long stamp = lock.readLock();
+        try {
+            // expand rings of cells around the center until nothing closer
+            // than the current k:th target may be found, or fall back to
+            // scanning all targets when rings get more expensive than that
+            int visited = 0;
+            for (int ring = 0;; ring++) {
+                // last column may be narrower than others, hence ring - 2
+                double bound = Math.max(0, ring - 2) * (double) cellSize * Math.min(1.0, scale);
+                double boundSq = bound * bound;
+                if (boundSq > limitSq || (heap.size == k && boundSq > heap.max())) {
+                    break;
+                }
+                if (2 * ring + 1 > cols || ring > rows || visited > slots.size()) {
+                    heap.size = 0;
+                    for (int s = 0; s < top; s++) {
+                        if (cell[s] != NONE) {
+                            heap.offer(s, distanceSq(s, lat0, lon0, scale), limitSq);
+                        }
+                    }
+                    break;
+                }
+                for (int dr = -ring; dr <= ring; dr++) {
+                    int row = row0 + dr;
+                    if (row < 0 || row >= rows) {
+                        continue;
+                    }
+                    int step = (dr == -ring || dr == ring) ? 1 : Math.max(1, 2 * ring);
+                    for (int dc = -ring; dc <= ring; dc += step) {
+                        visited++;
+                        int col = Math.floorMod(col0 + dc, cols);
+                        int s = cells.get(key(row, col), NONE);
+                        for (; s != NONE; s = next[s]) {
+                            heap.offer(s, distanceSq(s, lat0, lon0, scale), limitSq);
+                        }
+                    }
+                }
+            }
+            return heap.drain(mmsi);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private double distanceSq(int s, int lat0, int lon0, double scale) {
+        double dy = latitude[s] - lat0;
+        double dx = wrap(longitude[s] - lon0) * scale;
+        return dx * dx + dy * dy;
+    }
+
+    private int rowOf(int lat) {
+        return (lat + LAT_OFFSET) / cellSize;
+    }
+
+    private int colOf(int lon) {
+        return ((lon + LON_OFFSET) / cellSize) % cols;
+    }
+
+    private int cellOf(int lat, int lon) {
+        return key(rowOf(lat), colOf(lon));
+    }
+
+    private int columnsBetween(int from, int to) {
+        return (to - from + cols) % cols + 1;
+    }
+
+    private int allocate(int target) {
+        int s;
+        if (free != NONE) {
+            s = free;
+            free = next[s];
+        } else {
+            if (top == mmsi.length) {
+                grow(top << 1);
+            }
+            s = top++;
+        }
+        mmsi[s] = target;
+        slots.put(target, s);
+        return s;
+    }
+
+    private void release(int s) {
+        unlink(s);
+        slots.remove(mmsi[s]);
+        cell[s] = NONE;
+        next[s] = free;
+        free = s;
+    }
+
+    private void link(int s, int key) {
+        int head = cells.get(key, NONE);
+        next[s] = head;
+        prev[s] = NONE;
+        if (head != NONE) {
+            prev[head] = s;
+        }
+        cells.put(key, s);
+        cell[s] = key;
+    }
+
+    private void unlink(int s) {
+        int p = prev[s];
+        int n = next[s];
+        if (p != NONE) {
+            next[p] = n;
+        } else if (n != NONE) {
+            cells.put(cell[s], n);
+        } else {
+            cells.remove(cell[s]);
+        }
+        if (n != NONE) {
+            prev[n] = p;
+        }
+    }
+
+    private void grow(int capacity) {
+        mmsi = Arrays.copyOf(mmsi, capacity);
+        latitude = Arrays.copyOf(latitude, capacity);
+        longitude = Arrays.copyOf(longitude, capacity);
+        cell = Arrays.copyOf(cell, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        updated = Arrays.copyOf(updated, capacity);
+    }
+
+    private static int key(int row, int col) {
+        return (row << 16) | col;
+    }
+
+    private static int wrap(int lon) {
+        if (lon > LON_OFFSET) {
+            return lon - 2 * LON_OFFSET;
+        } else if (lon < -LON_OFFSET) {
+            return lon + 2 * LON_OFFSET;
+        }
+        return lon;
+    }
+
+    private static int toUnits(double degrees) {
+        return (int) Math.round(degrees * UNITS_PER_DEGREE);
+    }
+
+    private static boolean isValid(double lat, double lon) {
+        return lat >= -90 && lat <= 90 && lon >= -180 && lon <= 180;
+    }
+
+    private static void checkPosition(double lat, double lon) {
+        if (!isValid(lat, lon)) {
+            throw new IllegalArgumentException("Position out of range");
+        }
+    }
+
+    /**
+     * Growable array of query results.
+     */
+    private static final class Hits {
+
+        int[] values = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * Bounded max-heap of slots by distance, for k-nearest search.
+     */
+    private static final class Heap {
+
+        final int[] slot;
+        final double[] dist;
+        int size;
+
+        Heap(int k) {
+            slot = new int[k];
+            dist = new double[k];
+        }
+
+        double max() {
+            return dist[0];
+        }
+
+        void offer(int s, double d, double limit) {
+            if (d > limit) {
+                return;
+            }
+            if (size < slot.length) {
+                int i = size++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (dist[parent] >= d) {
+                        break;
+                    }
+                    slot[i] = slot[parent];
+                    dist[i] = dist[parent];
+                    i = parent;
+                }
+                slot[i] = s;
+                dist[i] = d;
+            } else if (d < dist[0]) {
+                siftDown(s, d);
+            }
+        }
+
+        int[] drain(int[] mmsi) {
+            int[] result = new int[size];
+            while (size > 0) {
+                result[size - 1] = mmsi[slot[0]];
+                int last = --size;
+                if (last > 0) {
+                    siftDown(slot[last], dist[last]);
+                }
+            }
+            return result;
+        }
+
+        private void siftDown(int s, double d) {
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && dist[child + 1] > dist[child]) {
+                    child++;
+                }
+                if (dist[child] <= d) {
+                    break;
+                }
+                slot[i] = slot[child];
+                dist[i] = dist[child];
+                i = child;
+            }
+            slot[i] = s;
+            dist[i] = d;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * TrackPoint.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.tracking;
+
+/**
+ * Position of a vessel at given time, e.g. interpolated from the track
+ * history by {@link TrackStore#interpolate(int, long)}.
+ *
+ * @author Kimmo Tuukkanen
+ */
+public final class TrackPoint {
+
+    private final int mmsi;
+    private final long time;
+    private final double latitude;
+    private final double longitude;
+    private final double speed;
+    private final double course;
+
+    /**
+     * Creates a new track point.
+     *
+     * @param mmsi MMSI of vessel
+     * @param time Time stamp in milliseconds
+     * @param lat Latitude in degrees
+     * @param lon Longitude in degrees
+     * @param sog Speed over ground in knots, {@code Double.NaN} if not
+     *            available.
+     * @param cog Course over ground in degrees, {@code Double.NaN} if not
+     *            available.
+     */
+    public TrackPoint(int mmsi, long time, double lat, double lon, double sog, double cog) {
+        this.mmsi = mmsi;
+        this.time = time;
+        this.latitude = lat;
+        this.longitude = lon;
+        this.speed = sog;
+        this.course = cog;
+    }
+
+    /**
+     * Returns the MMSI of vessel.
+     *
+     * @return MMSI
+     */
+    public int getMMSI() {
+        return mmsi;
+    }
+
+    /**
+     * Returns the time stamp.
+     *
+     * @return Time stamp in milliseconds
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Returns the latitude.
+     *
+     * @return Latitude in degrees
+     */
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * Returns the longitude.
+     *
+     * @return Longitude in degrees
+     */
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * Returns the speed over ground.
+     *
+     * @return Speed in knots, or {@code Double.NaN} if not available.
+     */
+    public double getSpeedOverGround() {
+        return speed;
+    }
+
+    /**
+     * Returns the course over ground.
+     *
+     * @return Course in degrees, or {@code Double.NaN} if not available.
+     */
+    public double getCourseOverGround() {
+        return course;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TrackPoint[mmsi=%d, time=%d, lat=%.6f, lon=%.6f, sog=%.1f, cog=%.1f]",
+            mmsi, time, latitude, longitude, speed, course);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * TrackSegment.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.tracking;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Positions of a single vessel over a time range, as returned by
+ * {@link TrackStore#query(int, long, long, TrackSegment)}.</p>
+ * <p>
+ * Values are kept in parallel primitive arrays, one row per position in
+ * chronological order, and accessed by row index between zero and
+ * {@link #size()}. An instance may be reused for several queries to avoid
+ * allocating new arrays.</p>
+ *
+ * @author Kimmo Tuukkanen
+ */
+public class TrackSegment {
+
+    int mmsi;
+    int size;
+    long[] time = new long[0];
+    int[] latitude = new int[0];
+    int[] longitude = new int[0];
+    int[] speed = new int[0];
+    int[] course = new int[0];
+
+    /**
+     * Creates a new empty segment.
+     */
+    public TrackSegment() {
+    }
+
+    /**
+     * Returns the MMSI of vessel.
+     *
+     * @return MMSI
+     */
+    public int getMMSI() {
+        return mmsi;
+    }
+
+    /**
+     * Returns the number of positions.
+     *
+     * @return Number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Tells if the segment is empty.
+     *
+     * @return {@code true} if there are no positions, otherwise {@code false}.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the time stamp of position.
+     *
+     * @param row Row index
+     * @return Time stamp in milliseconds
+     */
+    public long getTime(int row) {
+        return time[check(row)];
+    }
+
+    /**
+     * Returns the latitude of position.
+     *
+     * @param row Row index
+     * @return Latitude in degrees
+     */
+    public double getLatitude(int row) {
+        return TrackStore.toDegrees(latitude[check(row)]);
+    }
+
+    /**
+     * Returns the longitude of position.
+     *
+     * @param row Row index
+     * @return Longitude in degrees
+     */
+    public double getLongitude(int row) {
+        return TrackStore.toDegrees(longitude[check(row)]);
+    }
+
+    /**
+     * Returns the speed over ground.
+     *
+     * @param row Row index
+     * @return Speed in knots, or {@code Double.NaN} if not available.
+     */
+    public double getSpeedOverGround(int row) {
+        return TrackStore.toSpeed(speed[check(row)]);
+    }
+
+    /**
+     * Returns the course over ground.
+     *
+     * @param row Row index
+     * @return Course in degrees, or {@code Double.NaN} if not available.
+     */
+    public double getCourseOverGround(int row) {
+        return TrackStore.toCourse(course[check(row)]);
+    }
+
+    /**
+     * Removes all positions. Allocated arrays are retained.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    void add(long t, int lat, int lon, int sog, int cog) {
+        if (size == time.length) {
+            int n = Math.max(16, size * 2);
+            time = Arrays.copyOf(time, n);
+            latitude = Arrays.copyOf(latitude, n);
+            longitude = Arrays.copyOf(longitude, n);
+            speed = Arrays.copyOf(speed, n);
+            course = Arrays.copyOf(course, n);
+        }
+        time[size] = t;
+        latitude[size] = lat;
+        longitude[size] = lon;
+        speed[size] = sog;
+        course[size] = cog;
+        size++;
+    }
+
+    private int check(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + ", size " + size);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,736 @@
+/*
+ * TrackStore.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.tracking;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+import net.sf.marineapi.ais.event.AbstractAISMessageListener;
+import net.sf.marineapi.ais.message.AISMessage;
+import net.sf.marineapi.ais.message.AISMessage21;
+import net.sf.marineapi.ais.message.AISPositionReport;
+import net.sf.marineapi.ais.message.AISPositionReportB;
+import net.sf.marineapi.util.IntIntMap;
+
+/**
+ * <p>
+ * Position history of AIS targets, keeping the last hours of positions of
+ * each vessel for track display, replay and analysis. Register the store in
+ * a {@link net.sf.marineapi.nmea.io.SentenceReader} to have it fed with
+ * position reports (messages 1, 2, 3, 18, 19 and 21), or call the
+ * {@code update} methods directly.</p>
+ * <p>
+ * Positions are stored in compact form instead of message objects. Each
+ * point consists of time, latitude and longitude in 1/10000 minutes, speed
+ * in 1/10 knots and course in 1/10 degrees, written as zig-zag variable
+ * length deltas to the previous point. Track of each vessel is a ring of
+ * fixed size byte blocks, each block starting from zero base so that it can
+ * be decoded independently. Typical points take 6-10 bytes, compared to a
+ * few hundred bytes of retained parser objects.</p>
+ * <p>
+ * Points older than the retention time are dropped a block at a time, when
+ * new points are added or by {@link #removeOlderThan(long)}. Points must be
+ * added in chronological order per vessel; older points are ignored.</p>
+ * <p>
+ * Updates are serialized, while any number of queries may run concurrently.
+ * </p>
+ *
+ * @author Kimmo Tuukkanen
+ * @see TrackSegment
+ */
+public class TrackStore extends AbstractAISMessageListener<AISMessage> {
+
+    /** Default retention time, six hours in milliseconds. */
+    public static final long DEFAULT_RETENTION = 6 * 3600 * 1000L;
+
+    static final int SOG_NOT_AVAILABLE = 1023;
+    static final int COG_NOT_AVAILABLE = 3600;
+
+    private static final int UNITS_PER_DEGREE = 600000;
+    private static final int BLOCK_SIZE = 256;
+    // varint time delta (10) + four int deltas (5 each)
+    private static final int MAX_RECORD = 30;
+    private static final int NONE = -1;
+
+    private final StampedLock lock = new StampedLock();
+    private final long retention;
+    private final IntIntMap slots = new IntIntMap();
+    private Track[] tracks = new Track[64];
+    private int top;
+    private int[] free = new int[16];
+    private int freeCount;
+
+    /**
+     * Creates a new store with default retention time.
+     */
+    public TrackStore() {
+        this(DEFAULT_RETENTION);
+    }
+
+    /**
+     * Creates a new store with given retention time.
+     *
+     * @param retention How long positions are kept, in milliseconds
+     * @throws IllegalArgumentException If retention is not positive
+     */
+    public TrackStore(long retention) {
+        super(AISMessage.class);
+        if (retention <= 0) {
+            throw new IllegalArgumentException("Retention must be positive");
+        }
+        this.retention = retention;
+    }
+
+    /**
+     * Returns the retention time.
+     *
+     * @return Retention in milliseconds
+     */
+    public long getRetention() {
+        return retention;
+    }
+
+    /**
+     * Adds the position in received message, using the current system time
+     * as time stamp.
+     *
+     * @param msg AIS message
+     */
+    @Override
+    public void onMessage(AISMessage msg) {
+        update(msg, System.currentTimeMillis());
+    }
+
+    /**
+     * Adds the position reported in given message. Messages that contain no
+     * position, or where position is not available, are ignored.
+     *
+     * @param msg AIS message
+     * @param time Time stamp of message in milliseconds
+     * @return {@code true} if position was added, otherwise {@code false}.
+     */
+    public boolean update(AISMessage msg, long time) {
+        if (msg instanceof AISPositionReport) {
+            AISPositionReport pr = (AISPositionReport) msg;
+            if (pr.hasLatitude() && pr.hasLongitude()) {
+                return add(msg.getMMSI(), time, pr.getLatitudeInDegrees(),
+                    pr.getLongitudeInDegrees(),
+                    pr.hasSpeedOverGround() ? pr.getSpeedOverGround() : Double.NaN,
+                    pr.hasCourseOverGround() ? pr.getCourseOverGround() : Double.NaN);
+            }
+        } else if (msg instanceof AISPositionReportB) {
+            AISPositionReportB pr = (AISPositionReportB) msg;
+            if (pr.hasLatitude() && pr.hasLongitude()) {
+                return add(msg.getMMSI(), time, pr.getLatitudeInDegrees(),
+                    pr.getLongitudeInDegrees(),
+                    pr.hasSpeedOverGround() ? pr.getSpeedOverGround() : Double.NaN,
+                    pr.hasCourseOverGround() ? pr.getCourseOverGround() : Double.NaN);
+            }
+        } else if (msg instanceof AISMessage21) {
+            AISMessage21 m21 = (AISMessage21) msg;
+            if (m21.hasLatitude() && m21.hasLongitude()) {
+                return add(msg.getMMSI(), time, m21.getLatitudeInDegrees(),
+                    m21.getLongitudeInDegrees(), Double.NaN, Double.NaN);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a position to track of given vessel.
+     *
+     * @param mmsi MMSI of vessel
+     * @param time Time stamp in milliseconds
+     * @param lat Latitude in degrees
+     * @param lon Longitude in degrees
+     * @param sog Speed over ground in knots, {@code Double.NaN} if not
+     *            available.
+     * @param cog Course over ground in degrees, {@code Double.NaN} if not
+     *            available.
+     * @return {@code true} if added, {@code false} if position is out of
+     *         range or older than the last position of vessel.
+     */
+    public boolean add(int mmsi, long time, double lat, double lon, double sog, double cog) {
+        if (!(lat >= -90 && lat <= 90 && lon >= -180 && lon <= 180)) {
+            return false;
+        }
+        int sogUnits = Double.isNaN(sog) ? SOG_NOT_AVAILABLE
+            : (int) Math.max(0, Math.min(SOG_NOT_AVAILABLE - 1, Math.round(sog * 10)));
+        int cogUnits = Double.isNaN(cog) ? COG_NOT_AVAILABLE
+            : (int) Math.floorMod(Math.round(cog * 10), (long) COG_NOT_AVAILABLE);
+
+        long stamp = lock.writeLock();
+        try {
+            int s = slots.get(mmsi, NONE);
+            Track t;
+            if (s == NONE) {
+                t = new Track(mmsi);
+                allocate(t);
+            } else {
+                t = tracks[s];
+                if (time < t.lastTime) {
+                    return false;
+                }
+            }
+            t.append(time, toUnits(lat), toUnits(lon), sogUnits, cogUnits, time - retention);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the positions of given vessel within time range.
+     *
+     * @param mmsi MMSI of vessel
+     * @param from Start time in milliseconds (inclusive)
+     * @param to End time in milliseconds (inclusive)
+     * @return Segment with matching positions, empty if none.
+     */
+    public TrackSegment query(int mmsi, long from, long to) {
+        TrackSegment result = new TrackSegment();
+        query(mmsi, from, to, result);
+        return result;
+    }
+
+    /**
+     * Returns the positions of given vessel within time range in existing
+     * segment, replacing its previous content.
+     *
+     * @param mmsi MMSI of vessel
+     * @param from Start time in milliseconds (inclusive)
+     * @param to End time in milliseconds (inclusive)
+     * @param out Segment to fill
+     * @return Number of positions found
+     */
+    public int query(int mmsi, long from, long to, TrackSegment out) {
+        out.clear();
+        out.mmsi = mmsi;
+        long stamp = lock.readLock();
+        try {
+            Track t = find(mmsi);
+            if (t != null) {
+                Cursor c = new Cursor();
+                for (int i = 0; i < t.count; i++) {
+                    Block b = t.block(i);
+                    if (b.lastTime < from) {
+                        continue;
+                    }
+                    if (b.firstTime > to) {
+                        break;
+                    }
+                    c.reset(b);
+                    while (c.next()) {
+                        if (c.time > to) {
+                            break;
+                        }
+                        if (c.time >= from) {
+                            out.add(c.time, c.lat, c.lon, c.sog, c.cog);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return out.size;
+    }
+
+    /**
+     * Returns the position of given vessel at given time, interpolated
+     * linearly between the recorded positions before and after it. Course is
+     * interpolated along the shorter arc and longitude across the
+     * antimeridian when appropriate. Speed or course is not available if it
+     * is missing from either position.
+     *
+     * @param mmsi MMSI of vessel
+     * @param time Time stamp in milliseconds
+     * @return Interpolated position, or {@code null} if vessel is unknown or
+     *         time is outside of its recorded track.
+     */
+    public TrackPoint interpolate(int mmsi, long time) {
+        long stamp = lock.readLock();
+        try {
+            Track t = find(mmsi);
+            if (t == null || t.count == 0 || time < t.block(0).firstTime || time > t.lastTime) {
+                return null;
+            }
+            int k = 0;
+            while (t.block(k).lastTime < time) {
+                k++;
+            }
+            Cursor c = new Cursor();
+            Cursor prev = new Cursor();
+            Block b = t.block(k);
+            if (b.firstTime > time) {
+                // between the blocks; last point of previous block
+                prev.reset(t.block(k - 1));
+                while (prev.next()) {
+                    // skip to last
+                }
+                c.reset(b);
+                c.next();
+            } else {
+                c.reset(b);
+                c.next();
+                while (c.time < time) {
+                    prev.copy(c);
+                    c.next();
+                }
+            }
+            if (c.time == time) {
+                return point(mmsi, time, c.lat, c.lon, c.sog, c.cog);
+            }
+            return interpolate(mmsi, time, prev, c);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the time range of recorded track of given vessel.
+     *
+     * @param mmsi MMSI of vessel
+     * @return Array of first and last time stamp, or {@code null} if vessel
+     *         is unknown.
+     */
+    public long[] getTimeRange(int mmsi) {
+        long stamp = lock.readLock();
+        try {
+            Track t = find(mmsi);
+            if (t == null || t.count == 0) {
+                return null;
+            }
+            return new long[] { t.block(0).firstTime, t.lastTime };
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of positions recorded for given vessel.
+     *
+     * @param mmsi MMSI of vessel
+     * @return Number of positions, zero if vessel is unknown.
+     */
+    public int getPointCount(int mmsi) {
+        long stamp = lock.readLock();
+        try {
+            Track t = find(mmsi);
+            if (t == null) {
+                return 0;
+            }
+            int n = 0;
+            for (int i = 0; i < t.count; i++) {
+                n += t.block(i).points;
+            }
+            return n;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Tells if the store contains track of given vessel.
+     *
+     * @param mmsi MMSI of vessel
+     * @return {@code true} if found, otherwise {@code false}.
+     */
+    public boolean contains(int mmsi) {
+        long stamp = lock.readLock();
+        try {
+            return slots.containsKey(mmsi);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of vessels.
+     *
+     * @return Number of tracks
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return slots.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the approximate memory used by the position data, including
+     * block and track overhead but not the MMSI index.
+     *
+     * @return Size in bytes
+     */
+    public long getMemoryUsage() {
+        long stamp = lock.readLock();
+        try {
+            long bytes = 0;
+            for (int s = 0; s < top; s++) {
+                Track t = tracks[s];
+                if (t != null) {
+                    // object headers, fields and block references
+                    bytes += 64 + 4L * t.blocks.length + t.count * (48L + BLOCK_SIZE);
+                }
+            }
+            return bytes;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Removes the track of given vessel.
+     *
+     * @param mmsi MMSI of vessel
+     * @return {@code true} if removed, otherwise {@code false}.
+     */
+    public boolean remove(int mmsi) {
+        long stamp = lock.writeLock();
+        try {
+            int s = slots.get(mmsi, NONE);
+            if (s == NONE) {
+                return false;
+            }
+            release(s);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the positions older than retention time relative to given
+     * time, and tracks that become empty. Positions are removed a block at a
+     * time, so some older positions may remain.
+     *
+     * @param time Current time in milliseconds
+     * @return Number of removed tracks
+     */
+    public int removeOlderThan(long time) {
+        long limit = time - retention;
+        long stamp = lock.writeLock();
+        try {
+            int removed = 0;
+            for (int s = 0; s < top; s++) {
+                Track t = tracks[s];
+                if (t != null) {
+                    t.expire(limit);
+                    if (t.count == 0) {
+                        release(s);
+                        removed++;
+                    }
+                }
+            }
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes all tracks.
+     */
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            slots.clear();
+            Arrays.fill(tracks, null);
+            top = 0;
+            freeCount = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    static int toUnits(double degrees) {
+        return (int) Math.round(degrees * UNITS_PER_DEGREE);
+    }
+
+    static double toDegrees(int units) {
+        return units / (double) UNITS_PER_DEGREE;
+    }
+
+    static double toSpeed(int units) {
+        return units == SOG_NOT_AVAILABLE ? Double.NaN : units / 10.0;
+    }
+
+    static double toCourse(int units) {
+        return units == COG_NOT_AVAILABLE ? Double.NaN : units / 10.0;
+    }
+
+    private TrackPoint point(int mmsi, long time, int lat, int lon, int sog, int cog) {
+        return new TrackPoint(mmsi, time, toDegrees(lat), toDegrees(lon),
+            toSpeed(sog), toCourse(cog));
+    }
+
+    private TrackPoint interpolate(int mmsi, long time, Cursor a, Cursor b) {
+        double f = (time - a.time) / (double) (b.time - a.time);
+
+        double lat = a.lat + f * (b.lat - a.lat);
+        double dlon = b.lon - a.lon;
+        if (dlon > 180 * UNITS_PER_DEGREE) {
+            dlon -= 360 * UNITS_PER_DEGREE;
+        } else if (dlon < -180 * UNITS_PER_DEGREE) {
+            dlon += 360 * UNITS_PER_DEGREE;
+        }
+        double lon = a.lon + f * dlon;
+        if (lon > 180 * UNITS_PER_DEGREE) {
+            lon -= 360 * UNITS_PER_DEGREE;
+        } else if (lon < -180 * UNITS_PER_DEGREE) {
+            lon += 360 * UNITS_PER_DEGREE;
+        }
+
+        double sog = Double.NaN;
+        if (a.sog != SOG_NOT_AVAILABLE && b.sog != SOG_NOT_AVAILABLE) {
+            sog = (a.sog + f * (b.sog - a.sog)) / 10.0;
+        }
+        double cog = Double.NaN;
+        if (a.cog != COG_NOT_AVAILABLE && b.cog != COG_NOT_AVAILABLE) {
+            int d = b.cog - a.cog;
+            if (d > COG_NOT_AVAILABLE / 2) {
+                d -= COG_NOT_AVAILABLE;
+            } else if (d < -COG_NOT_AVAILABLE / 2) {
+                d += COG_NOT_AVAILABLE;
+            }
+            cog = (a.cog + f * d) / 10.0;
+            if (cog < 0) {
+                cog += 360;
+            } else if (cog >= 360) {
+                cog -= 360;
+            }
+        }
+        return new TrackPoint(mmsi, time, lat / UNITS_PER_DEGREE, lon / UNITS_PER_DEGREE, sog, cog);
+    }
+
+    private Track find(int mmsi) {
+        int s = slots.get(mmsi, NONE);
+        return s == NONE ? null : tracks[s];
+    }
+
+    private void allocate(Track t) {
+        int s;
+        if (freeCount > 0) {
+            s = free[--freeCount];
+        } else {
+            if (top == tracks.length) {
+                tracks = Arrays.copyOf(tracks, top * 2);
+            }
+            s = top++;
+        }
+        tracks[s] = t;
+        slots.put(t.mmsi, s);
+    }
+
+    private void release(int s) {
+        slots.remove(tracks[s].mmsi);
+        tracks[s] = null;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, freeCount * 2);
+        }
+        free[freeCount++] = s;
+    }
+
+    /**
+     * Byte block of delta encoded points.
+     */
+    private static final class Block {
+
+        final byte[] data = new byte[BLOCK_SIZE];
+        int length;
+        int points;
+        long firstTime;
+        long lastTime;
+    }
+
+    /**
+     * Track of single vessel, ring of blocks from oldest to newest.
+     */
+    private static final class Track {
+
+        final int mmsi;
+        Block[] blocks = new Block[4];
+        int head;
+        int count;
+        long lastTime = Long.MIN_VALUE;
+
+        // last point in newest block, base of next delta
+        long baseTime;
+        int baseLat;
+        int baseLon;
+        int baseSog;
+        int baseCog;
+
+        Track(int mmsi) {
+            this.mmsi = mmsi;
+        }
+
+        Block block(int i) {
+            return blocks[(head + i) & (blocks.length - 1)];
+        }
+
+        void append(long time, int lat, int lon, int sog, int cog, long limit) {
+            Block b = count == 0 ? null : block(count - 1);
+            if (b == null || b.length > BLOCK_SIZE - MAX_RECORD) {
+                expire(limit);
+                b = new Block();
+                b.firstTime = time;
+                if (count == blocks.length) {
+                    Block[] grown = new Block[blocks.length * 2];
+                    for (int i = 0; i < count; i++) {
+                        grown[i] = block(i);
+                    }
+                    blocks = grown;
+                    head = 0;
+                }
+                blocks[(head + count) & (blocks.length - 1)] = b;
+                count++;
+                // new block starts from zero base
+                baseTime = 0;
+                baseLat = 0;
+                baseLon = 0;
+                baseSog = 0;
+                baseCog = 0;
+            }
+            int p = b.length;
+            byte[] d = b.data;
+            p = writeLong(d, p, time - baseTime);
+            p = writeInt(d, p, lat - baseLat);
+            p = writeInt(d, p, lon - baseLon);
+            p = writeInt(d, p, sog - baseSog);
+            p = writeInt(d, p, cog - baseCog);
+            b.length = p;
+            b.points++;
+            b.lastTime = time;
+            lastTime = time;
+            baseTime = time;
+            baseLat = lat;
+            baseLon = lon;
+            baseSog = sog;
+            baseCog = cog;
+        }
+
+        /**
+         * Drops the oldest blocks that end before limit, always keeping the
+         * newest block.
+         */
+        void expire(long limit) {
+            while (count > 1 && block(0).lastTime < limit) {
+                blocks[head] = null;
+                head = (head + 1) & (blocks.length - 1);
+                count--;
+            }
+            if (count == 1 && block(0).lastTime < limit) {
+                blocks[head] = null;
+                count = 0;
+                head = 0;
+            }
+        }
+    }
+
+    /**
+     * Sequential decoder of a block.
+     */
+    private static final class Cursor {
+
+        private Block block;
+        private int pos;
+        long time;
+        int lat;
+        int lon;
+        int sog;
+        int cog;
+
+        void reset(Block b) {
+            block = b;
+            pos = 0;
+            time = 0;
+            lat = 0;
+            lon = 0;
+            sog = 0;
+            cog = 0;
+        }
+
+        void copy(Cursor c) {
+            time = c.time;
+            lat = c.lat;
+            lon = c.lon;
+            sog = c.sog;
+            cog = c.cog;
+        }
+
+        boolean next() {
+            if (pos >= block.length) {
+                return false;
+            }
+            byte[] d = block.data;
+            long v = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = d[pos++];
+                v |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            time += (v >>> 1) ^ -(v & 1);
+            lat += readInt(d);
+            lon += readInt(d);
+            sog += readInt(d);
+            cog += readInt(d);
+            return true;
+        }
+
+        private int readInt(byte[] d) {
+            int v = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = d[pos++];
+                v |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return (v >>> 1) ^ -(v & 1);
+        }
+    }
+
+    private static int writeLong(byte[] d, int p, long value) {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0) {
+            d[p++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        d[p++] = (byte) v;
+        return p;
+    }
+
+    private static int writeInt(byte[] d, int p, int value) {
+        int v = (value << 1) ^ (value >> 31);
+        while ((v & ~0x7F) != 0) {
+            d[p++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        d[p++] = (byte) v;
+        return p;
+    }
+}
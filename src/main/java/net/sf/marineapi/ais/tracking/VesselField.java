@@ -0,0 +1,74 @@
+/*
+ * VesselField.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.tracking;
+
+/**
+ * Vessel data fields tracked by {@link VesselTable}. Each field has its own
+ * last-update time stamp, as dynamic and static data are reported in
+ * different messages and at very different rates.
+ *
+ * @author Kimmo Tuukkanen
+ * @see VesselState#getTimeStamp(VesselField)
+ */
+public enum VesselField {
+
+    /** Latitude and longitude */
+    POSITION,
+
+    /** Speed over ground */
+    SPEED,
+
+    /** Course over ground */
+    COURSE,
+
+    /** True heading */
+    HEADING,
+
+    /** Rate of turn */
+    RATE_OF_TURN,
+
+    /** Navigational status */
+    NAVIGATIONAL_STATUS,
+
+    /** Vessel name */
+    NAME,
+
+    /** Radio call sign */
+    CALL_SIGN,
+
+    /** IMO number */
+    IMO_NUMBER,
+
+    /** Type of ship and cargo */
+    SHIP_TYPE,
+
+    /** Dimensions to bow, stern, port and starboard */
+    DIMENSIONS,
+
+    /** Destination */
+    DESTINATION,
+
+    /** Estimated time of arrival */
+    ETA,
+
+    /** Maximum present static draught */
+    DRAUGHT
+}
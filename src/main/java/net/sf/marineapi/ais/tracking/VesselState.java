@@ -0,0 +1,377 @@
+/*
+ * VesselState.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.tracking;
+
+import net.sf.marineapi.ais.util.Angle12;
+import net.sf.marineapi.ais.util.Angle9;
+import net.sf.marineapi.ais.util.Latitude27;
+import net.sf.marineapi.ais.util.Longitude28;
+import net.sf.marineapi.ais.util.SpeedOverGround;
+
+/**
+ * <p>
+ * Merged state of a single vessel, as captured by {@link VesselTable} from the
+ * dynamic (position) and static/voyage related AIS messages.</p>
+ * <p>
+ * Values are stored in the same units and resolution as in AIS messages and
+ * are converted when requested. Each field has a time stamp of last update,
+ * zero meaning the field has not been reported yet.</p>
+ *
+ * @author Kimmo Tuukkanen
+ * @see VesselTable
+ */
+public class VesselState {
+
+    static final int FIELD_COUNT = VesselField.values().length;
+
+    static final int NO_LATITUDE = 91 * 60 * 10000;
+    static final int NO_LONGITUDE = 181 * 60 * 10000;
+    static final int NO_SOG = 1023;
+    static final int NO_COG = 3600;
+    static final int NO_HEADING = 511;
+    static final int NO_NAV_STATUS = 15;
+    static final int NO_ETA = (24 << 6) | 60;
+
+    int mmsi;
+    int messageType;
+    int latitude = NO_LATITUDE;
+    int longitude = NO_LONGITUDE;
+    int sog = NO_SOG;
+    int cog = NO_COG;
+    int heading = NO_HEADING;
+    float rot = Float.NaN;
+    int navStatus = NO_NAV_STATUS;
+    int imo;
+    int shipType;
+    int bow;
+    int stern;
+    int port;
+    int starboard;
+    int eta = NO_ETA;
+    int draught;
+    String name;
+    String callSign;
+    String destination;
+    final long[] updated = new long[FIELD_COUNT];
+
+    /**
+     * Creates a new empty state. Instances are populated by
+     * {@link VesselTable}.
+     */
+    VesselState() {
+    }
+
+    /**
+     * Returns the MMSI of vessel.
+     *
+     * @return MMSI
+     */
+    public int getMMSI() {
+        return mmsi;
+    }
+
+    /**
+     * Returns the type of last message received from the vessel.
+     *
+     * @return AIS message type
+     */
+    public int getLastMessageType() {
+        return messageType;
+    }
+
+    /**
+     * Tells if the position has been reported.
+     *
+     * @return {@code true} if latitude and longitude are available.
+     */
+    public boolean hasPosition() {
+        return Latitude27.isAvailable(latitude) && Longitude28.isAvailable(longitude);
+    }
+
+    /**
+     * Returns the latitude in degrees.
+     *
+     * @return Latitude, in degrees.
+     */
+    public double getLatitude() {
+        return Latitude27.toDegrees(latitude);
+    }
+
+    /**
+     * Returns the longitude in degrees.
+     *
+     * @return Longitude, in degrees.
+     */
+    public double getLongitude() {
+        return Longitude28.toDegrees(longitude);
+    }
+
+    /**
+     * Tells if the speed over ground has been reported.
+     *
+     * @return {@code true} if available, otherwise {@code false}.
+     */
+    public boolean hasSpeedOverGround() {
+        return SpeedOverGround.isAvailable(sog);
+    }
+
+    /**
+     * Returns the speed over ground.
+     *
+     * @return Speed in knots
+     */
+    public double getSpeedOverGround() {
+        return SpeedOverGround.toKnots(sog);
+    }
+
+    /**
+     * Tells if the course over ground has been reported.
+     *
+     * @return {@code true} if available, otherwise {@code false}.
+     */
+    public boolean hasCourseOverGround() {
+        return Angle12.isAvailable(cog);
+    }
+
+    /**
+     * Returns the course over ground.
+     *
+     * @return Course in degrees
+     */
+    public double getCourseOverGround() {
+        return Angle12.toDegrees(cog);
+    }
+
+    /**
+     * Tells if the true heading has been reported.
+     *
+     * @return {@code true} if available, otherwise {@code false}.
+     */
+    public boolean hasTrueHeading() {
+        return Angle9.isAvailable(heading);
+    }
+
+    /**
+     * Returns the true heading.
+     *
+     * @return Degrees (0-359), or 511 if not available.
+     */
+    public int getTrueHeading() {
+        return heading;
+    }
+
+    /**
+     * Tells if the rate of turn has been reported.
+     *
+     * @return {@code true} if available, otherwise {@code false}.
+     */
+    public boolean hasRateOfTurn() {
+        return !Float.isNaN(rot);
+    }
+
+    /**
+     * Returns the rate of turn.
+     *
+     * @return Rate of turn in degrees per minute, {@code NaN} if not available.
+     */
+    public double getRateOfTurn() {
+        return rot;
+    }
+
+    /**
+     * Returns the navigational status.
+     *
+     * @return Status indicator between 0 - 15, 15 meaning "not defined".
+     */
+    public int getNavigationalStatus() {
+        return navStatus;
+    }
+
+    /**
+     * Returns the vessel name.
+     *
+     * @return Name or {@code null} if not reported.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the radio call sign.
+     *
+     * @return Call sign or {@code null} if not reported.
+     */
+    public String getCallSign() {
+        return callSign;
+    }
+
+    /**
+     * Returns the IMO number.
+     *
+     * @return IMO number, or zero if not reported.
+     */
+    public int getIMONumber() {
+        return imo;
+    }
+
+    /**
+     * Returns the type of ship and cargo.
+     *
+     * @return Ship type code, zero if not available.
+     * @see net.sf.marineapi.ais.util.ShipType
+     */
+    public int getShipType() {
+        return shipType;
+    }
+
+    /**
+     * Returns the distance from reference point to bow.
+     *
+     * @return Distance in meters
+     */
+    public int getBow() {
+        return bow;
+    }
+
+    /**
+     * Returns the distance from reference point to stern.
+     *
+     * @return Distance in meters
+     */
+    public int getStern() {
+        return stern;
+    }
+
+    /**
+     * Returns the distance from reference point to port side.
+     *
+     * @return Distance in meters
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Returns the distance from reference point to starboard side.
+     *
+     * @return Distance in meters
+     */
+    public int getStarboard() {
+        return starboard;
+    }
+
+    /**
+     * Returns the destination.
+     *
+     * @return Destination or {@code null} if not reported.
+     */
+    public String getDestination() {
+        return destination;
+    }
+
+    /**
+     * Returns the month of ETA.
+     *
+     * @return Month 1-12, zero if not available.
+     */
+    public int getETAMonth() {
+        return (eta >>> 16) & 0x0F;
+    }
+
+    /**
+     * Returns the day of ETA.
+     *
+     * @return Day 1-31, zero if not available.
+     */
+    public int getETADay() {
+        return (eta >>> 11) & 0x1F;
+    }
+
+    /**
+     * Returns the hour of ETA.
+     *
+     * @return Hour 0-23, 24 if not available.
+     */
+    public int getETAHour() {
+        return (eta >>> 6) & 0x1F;
+    }
+
+    /**
+     * Returns the minute of ETA.
+     *
+     * @return Minute 0-59, 60 if not available.
+     */
+    public int getETAMinute() {
+        return eta & 0x3F;
+    }
+
+    /**
+     * Returns the maximum present static draught.
+     *
+     * @return Draught in meters, zero if not available.
+     */
+    public double getMaximumDraught() {
+        return draught / 10.0;
+    }
+
+    /**
+     * Returns the time of last update for given field.
+     *
+     * @param field Field of interest
+     * @return Time stamp in milliseconds, zero if never updated.
+     */
+    public long getTimeStamp(VesselField field) {
+        return updated[field.ordinal()];
+    }
+
+    /**
+     * Returns the time of most recent update of any field.
+     *
+     * @return Time stamp in milliseconds
+     */
+    public long getLastUpdate() {
+        long max = 0;
+        for (long t : updated) {
+            max = Math.max(max, t);
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("MMSI ").append(mmsi);
+        if (name != null) {
+            sb.append(" [").append(name).append(']');
+        }
+        if (hasPosition()) {
+            sb.append(", ").append(Latitude27.toString(latitude));
+            sb.append(", ").append(Longitude28.toString(longitude));
+        }
+        if (hasSpeedOverGround()) {
+            sb.append(", SOG ").append(SpeedOverGround.toString(sog));
+        }
+        if (hasCourseOverGround()) {
+            sb.append(", COG ").append(Angle12.toString(cog));
+        }
+        return sb.toString();
+    }
+}
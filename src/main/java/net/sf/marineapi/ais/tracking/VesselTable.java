@@ -0,0 +1,672 @@
+/*
+ * VesselTable.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.tracking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+import net.sf.marineapi.ais.event.AbstractAISMessageListener;
+import net.sf.marineapi.ais.message.AISMessage;
+import net.sf.marineapi.ais.message.AISMessage05;
+import net.sf.marineapi.ais.message.AISMessage19;
+import net.sf.marineapi.ais.message.AISMessage21;
+import net.sf.marineapi.ais.message.AISMessage24;
+import net.sf.marineapi.ais.message.AISPositionReport;
+import net.sf.marineapi.ais.message.AISPositionReportB;
+import net.sf.marineapi.util.IntIntMap;
+
+/**
+ * <p>
+ * Live picture of AIS targets, i.e. the latest known state of each vessel
+ * keyed by MMSI. Dynamic data from position reports (messages 1, 2, 3, 18 and
+ * 19) is merged with static and voyage related data (messages 5, 19, 21 and
+ * both parts of 24). Each field keeps its own last-update time stamp, see
+ * {@link VesselField}.</p>
+ * <p>
+ * The table is a listener itself; register it in a
+ * {@link net.sf.marineapi.nmea.io.SentenceReader} to have it populated
+ * automatically, or call {@link #update(AISMessage, long)} directly e.g. when
+ * replaying recorded data.</p>
+ * <p>
+ * Vessel data is stored in primitive columns, indexed by open addressing
+ * hash of MMSI instead of an object per vessel. Table is split in segments
+ * that are locked independently by writers, while readers use optimistic
+ * reads and thus never block the writers. Iteration is weakly consistent;
+ * each returned state is consistent in itself, but vessels updated, added or
+ * removed during the iteration may or may not be included.</p>
+ *
+ * @author Kimmo Tuukkanen
+ * @see VesselState
+ */
+public class VesselTable extends AbstractAISMessageListener<AISMessage> {
+
+    private static final int SEGMENT_BITS = 4;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_BITS;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    /**
+     * Creates a new table with default initial capacity.
+     */
+    public VesselTable() {
+        this(1024);
+    }
+
+    /**
+     * Creates a new table with given initial capacity. Table grows as needed,
+     * but setting the expected number of vessels avoids rehashing.
+     *
+     * @param expectedSize Expected number of vessels
+     */
+    public VesselTable(int expectedSize) {
+        super(AISMessage.class);
+        int perSegment = Math.max(16, expectedSize / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Updates the table with received message, using the current system time
+     * as time stamp.
+     *
+     * @param msg AIS message
+     */
+    @Override
+    public void onMessage(AISMessage msg) {
+        update(msg, System.currentTimeMillis());
+    }
+
+    /**
+     * Updates the table with given message. Messages that carry no vessel
+     * data (e.g. base station reports) are ignored. Values that are marked
+     * not available in the message do not overwrite previously known values.
+     *
+     * @param msg AIS message
+     * @param time Time stamp of message in milliseconds
+     * @return {@code true} if table was updated, otherwise {@code false}.
+     */
+    public boolean update(AISMessage msg, long time) {
+        if (!isSupported(msg)) {
+            return false;
+        }
+        Segment s = segmentFor(msg.getMMSI());
+        long stamp = s.lock.writeLock();
+        try {
+            s.update(msg, time);
+        } finally {
+            s.lock.unlockWrite(stamp);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the current state of specified vessel.
+     *
+     * @param mmsi MMSI of vessel
+     * @return Copy of vessel state, or {@code null} if not found.
+     */
+    public VesselState get(int mmsi) {
+        VesselState state = new VesselState();
+        return segmentFor(mmsi).read(mmsi, state) ? state : null;
+    }
+
+    /**
+     * Copies the current state of specified vessel into given instance, e.g.
+     * one previously returned by {@link #get(int)}. Allows reading many
+     * vessels without creating a new state object for each.
+     *
+     * @param mmsi MMSI of vessel
+     * @param state State to overwrite
+     * @return {@code true} if vessel was found, otherwise {@code false} and
+     *         {@code state} is left unchanged.
+     */
+    public boolean get(int mmsi, VesselState state) {
+        return segmentFor(mmsi).read(mmsi, state);
+    }
+
+    /**
+     * Tells if the table contains given vessel.
+     *
+     * @param mmsi MMSI of vessel
+     * @return {@code true} if found, otherwise {@code false}.
+     */
+    public boolean contains(int mmsi) {
+        Segment s = segmentFor(mmsi);
+        long stamp = s.lock.readLock();
+        try {
+            return s.index.containsKey(mmsi);
+        } finally {
+            s.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the number of vessels in table.
+     *
+     * @return Number of vessels
+     */
+    public int size() {
+        int total = 0;
+        for (Segment s : segments) {
+            total += s.size;
+        }
+        return total;
+    }
+
+    /**
+     * Performs the given action for each vessel in table. For minimal
+     * overhead, the same {@link VesselState} instance is reused for all
+     * vessels and it must not be retained by the action; see
+     * {@link #snapshot()} for independent copies.
+     *
+     * @param action Action to perform
+     */
+    public void forEach(Consumer<? super VesselState> action) {
+        VesselState state = new VesselState();
+        for (Segment s : segments) {
+            for (int row = 0; s.readRow(row, state); row++) {
+                action.accept(state);
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of all vessel states in table.
+     *
+     * @return List of vessel states, empty if table is empty.
+     */
+    public List<VesselState> snapshot() {
+        List<VesselState> result = new ArrayList<>(size());
+        for (Segment s : segments) {
+            VesselState state = new VesselState();
+            for (int row = 0; s.readRow(row, state); row++) {
+                result.add(state);
+                state = new VesselState();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes the specified vessel.
+     *
+     * @param mmsi MMSI of vessel to remove
+     * @return {@code true} if removed, otherwise {@code false}.
+     */
+    public boolean remove(int mmsi) {
+        Segment s = segmentFor(mmsi);
+        long stamp = s.lock.writeLock();
+        try {
+            int row = s.index.get(mmsi, -1);
+            if (row < 0) {
+                return false;
+            }
+            s.removeRow(row);
+            return true;
+        } finally {
+            s.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes all vessels that have not been updated since given time, i.e.
+     * targets that have been lost.
+     *
+     * @param time Time stamp in milliseconds
+     * @return Number of removed vessels
+     */
+    public int removeOlderThan(long time) {
+        int removed = 0;
+        for (Segment s : segments) {
+            long stamp = s.lock.writeLock();
+            try {
+                for (int row = s.size - 1; row >= 0; row--) {
+                    if (s.lastUpdate(row) < time) {
+                        s.removeRow(row);
+                        removed++;
+                    }
+                }
+            } finally {
+                s.lock.unlockWrite(stamp);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all vessels.
+     */
+    public void clear() {
+        for (Segment s : segments) {
+            long stamp = s.lock.writeLock();
+            try {
+                s.clear();
+            } finally {
+                s.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    private static boolean isSupported(AISMessage msg) {
+        return msg instanceof AISPositionReport
+            || msg instanceof AISPositionReportB
+            || msg instanceof AISMessage05
+            || msg instanceof AISMessage21
+            || msg instanceof AISMessage24;
+    }
+
+    private Segment segmentFor(int mmsi) {
+        return segments[(mmsi * 0x9E3779B9) >>> (32 - SEGMENT_BITS)];
+    }
+
+    /**
+     * Independently locked part of the table. Rows are kept dense, i.e. the
+     * last row is moved in place of removed one.
+     */
+    private static final class Segment {
+
+        private static final int FIELDS = VesselState.FIELD_COUNT;
+
+        final StampedLock lock = new StampedLock();
+        final IntIntMap index;
+        volatile int size;
+
+        int[] mmsi;
+        byte[] messageType;
+        int[] latitude;
+        int[] longitude;
+        short[] sog;
+        short[] cog;
+        short[] heading;
+        float[] rot;
+        byte[] navStatus;
+        int[] imo;
+        short[] shipType;
+        short[] bow;
+        short[] stern;
+        byte[] port;
+        byte[] starboard;
+        int[] eta;
+        short[] draught;
+        String[] name;
+        String[] callSign;
+        String[] destination;
+        long[] updated;
+
+        Segment(int capacity) {
+            index = new IntIntMap(capacity);
+            allocate(capacity);
+        }
+
+        void update(AISMessage msg, long time) {
+            int row = rowFor(msg.getMMSI());
+            messageType[row] = (byte) msg.getMessageType();
+
+            if (msg instanceof AISPositionReport) {
+                AISPositionReport pr = (AISPositionReport) msg;
+                if (pr.hasLatitude() && pr.hasLongitude()) {
+                    setPosition(row, pr.getLatitudeInDegrees(), pr.getLongitudeInDegrees(), time);
+                }
+                if (pr.hasSpeedOverGround()) {
+                    sog[row] = (short) Math.round(pr.getSpeedOverGround() * 10);
+                    touch(row, VesselField.SPEED, time);
+                }
+                if (pr.hasCourseOverGround()) {
+                    cog[row] = (short) Math.round(pr.getCourseOverGround() * 10);
+                    touch(row, VesselField.COURSE, time);
+                }
+                if (pr.hasTrueHeading()) {
+                    heading[row] = (short) pr.getTrueHeading();
+                    touch(row, VesselField.HEADING, time);
+                }
+                if (pr.hasRateOfTurn()) {
+                    rot[row] = (float) pr.getRateOfTurn();
+                    touch(row, VesselField.RATE_OF_TURN, time);
+                }
+                navStatus[row] = (byte) pr.getNavigationalStatus();
+                touch(row, VesselField.NAVIGATIONAL_STATUS, time);
+
+            } else if (msg instanceof AISPositionReportB) {
+                AISPositionReportB pr = (AISPositionReportB) msg;
+                if (pr.hasLatitude() && pr.hasLongitude()) {
+                    setPosition(row, pr.getLatitudeInDegrees(), pr.getLongitudeInDegrees(), time);
+                }
+                if (pr.hasSpeedOverGround()) {
+                    sog[row] = (short) Math.round(pr.getSpeedOverGround() * 10);
+                    touch(row, VesselField.SPEED, time);
+                }
+                if (pr.hasCourseOverGround()) {
+                    cog[row] = (short) Math.round(pr.getCourseOverGround() * 10);
+                    touch(row, VesselField.COURSE, time);
+                }
+                if (pr.hasTrueHeading()) {
+                    heading[row] = (short) pr.getTrueHeading();
+                    touch(row, VesselField.HEADING, time);
+                }
+                if (msg instanceof AISMessage19) {
+                    AISMessage19 m19 = (AISMessage19) msg;
+                    setName(row, m19.getName(), time);
+                    setShipType(row, m19.getTypeOfShipAndCargoType(), time);
+                    setDimensions(row, m19.getBow(), m19.getStern(),
+                        m19.getPort(), m19.getStarboard(), time);
+                }
+
+            } else if (msg instanceof AISMessage05) {
+                AISMessage05 m05 = (AISMessage05) msg;
+                imo[row] = m05.getIMONumber();
+                touch(row, VesselField.IMO_NUMBER, time);
+                setCallSign(row, m05.getCallSign(), time);
+                setName(row, m05.getName(), time);
+                setShipType(row, m05.getTypeOfShipAndCargoType(), time);
+                setDimensions(row, m05.getBow(), m05.getStern(),
+                    m05.getPort(), m05.getStarboard(), time);
+                eta[row] = (m05.getETAMonth() << 16) | (m05.getETADay() << 11)
+                    | (m05.getETAHour() << 6) | m05.getETAMinute();
+                touch(row, VesselField.ETA, time);
+                draught[row] = (short) Math.round(m05.getMaximumDraught() * 10);
+                touch(row, VesselField.DRAUGHT, time);
+                String dest = trim(m05.getDestination());
+                if (dest != null) {
+                    destination[row] = dest;
+                    touch(row, VesselField.DESTINATION, time);
+                }
+
+            } else if (msg instanceof AISMessage21) {
+                AISMessage21 m21 = (AISMessage21) msg;
+                if (m21.hasLatitude() && m21.hasLongitude()) {
+                    setPosition(row, m21.getLatitudeInDegrees(), m21.getLongitudeInDegrees(), time);
+                }
+                String aidName = m21.getName();
+                String ext = m21.getNameExtension();
+                if (aidName != null && ext != null && !ext.isEmpty()) {
+                    aidName = aidName.trim() + ext;
+                }
+                setName(row, aidName, time);
+                setDimensions(row, m21.getBow(), m21.getStern(),
+                    m21.getPort(), m21.getStarboard(), time);
+
+            } else if (msg instanceof AISMessage24) {
+                AISMessage24 m24 = (AISMessage24) msg;
+                if (m24.getPartNumber() == 0) {
+                    setName(row, m24.getName(), time);
+                } else {
+                    setShipType(row, m24.getTypeOfShipAndCargoType(), time);
+                    setCallSign(row, m24.getCallSign(), time);
+                    setDimensions(row, m24.getBow(), m24.getStern(),
+                        m24.getPort(), m24.getStarboard(), time);
+                }
+            }
+        }
+
+        boolean read(int key, VesselState target) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0L) {
+                try {
+                    int row = index.get(key, -1);
+                    boolean found = row >= 0 && copyRow(row, target);
+                    if (lock.validate(stamp)) {
+                        return found;
+                    }
+                } catch (RuntimeException e) {
+                    // inconsistent optimistic read, retry with lock
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                int row = index.get(key, -1);
+                return row >= 0 && copyRow(row, target);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        boolean readRow(int row, VesselState target) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0L) {
+                try {
+                    boolean found = copyRow(row, target);
+                    if (lock.validate(stamp)) {
+                        return found;
+                    }
+                } catch (RuntimeException e) {
+                    // inconsistent optimistic read, retry with lock
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return copyRow(row, target);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private boolean copyRow(int row, VesselState t) {
+            if (row >= size) {
+                return false;
+            }
+            t.mmsi = mmsi[row];
+            t.messageType = messageType[row];
+            t.latitude = latitude[row];
+            t.longitude = longitude[row];
+            t.sog = sog[row];
+            t.cog = cog[row];
+            t.heading = heading[row];
+            t.rot = rot[row];
+            t.navStatus = navStatus[row];
+            t.imo = imo[row];
+            t.shipType = shipType[row];
+            t.bow = bow[row];
+            t.stern = stern[row];
+            t.port = port[row];
+            t.starboard = starboard[row];
+            t.eta = eta[row];
+            t.draught = draught[row];
+            t.name = name[row];
+            t.callSign = callSign[row];
+            t.destination = destination[row];
+            System.arraycopy(updated, row * FIELDS, t.updated, 0, FIELDS);
+            return true;
+        }
+
+        long lastUpdate(int row) {
+            long max = 0;
+            for (int i = row * FIELDS, end = i + FIELDS; i < end; i++) {
+                max = Math.max(max, updated[i]);
+            }
+            return max;
+        }
+
+        void removeRow(int row) {
+            int last = size - 1;
+            index.remove(mmsi[row]);
+            if (row != last) {
+                moveRow(last, row);
+                index.put(mmsi[row], row);
+            }
+            name[last] = null;
+            callSign[last] = null;
+            destination[last] = null;
+            size = last;
+        }
+
+        void clear() {
+            index.clear();
+            Arrays.fill(name, null);
+            Arrays.fill(callSign, null);
+            Arrays.fill(destination, null);
+            size = 0;
+        }
+
+        private int rowFor(int key) {
+            int row = index.get(key, -1);
+            if (row >= 0) {
+                return row;
+            }
+            row = size;
+            if (row == mmsi.length) {
+                grow(row << 1);
+            }
+            mmsi[row] = key;
+            latitude[row] = VesselState.NO_LATITUDE;
+            longitude[row] = VesselState.NO_LONGITUDE;
+            sog[row] = VesselState.NO_SOG;
+            cog[row] = VesselState.NO_COG;
+            heading[row] = VesselState.NO_HEADING;
+            rot[row] = Float.NaN;
+            navStatus[row] = VesselState.NO_NAV_STATUS;
+            imo[row] = 0;
+            shipType[row] = 0;
+            bow[row] = 0;
+            stern[row] = 0;
+            port[row] = 0;
+            starboard[row] = 0;
+            eta[row] = VesselState.NO_ETA;
+            draught[row] = 0;
+            Arrays.fill(updated, row * FIELDS, (row + 1) * FIELDS, 0L);
+            index.put(key, row);
+            size = row + 1;
+            return row;
+        }
+
+        private void setPosition(int row, double lat, double lon, long time) {
+            latitude[row] = (int) Math.round(lat * 600000);
+            longitude[row] = (int) Math.round(lon * 600000);
+            touch(row, VesselField.POSITION, time);
+        }
+
+        private void setName(int row, String value, long time) {
+            String s = trim(value);
+            if (s != null) {
+                name[row] = s;
+                touch(row, VesselField.NAME, time);
+            }
+        }
+
+        private void setCallSign(int row, String value, long time) {
+            String s = trim(value);
+            if (s != null) {
+                callSign[row] = s;
+                touch(row, VesselField.CALL_SIGN, time);
+            }
+        }
+
+        private void setShipType(int row, int type, long time) {
+            shipType[row] = (short) type;
+            touch(row, VesselField.SHIP_TYPE, time);
+        }
+
+        private void setDimensions(int row, int b, int s, int p, int sb, long time) {
+            bow[row] = (short) b;
+            stern[row] = (short) s;
+            port[row] = (byte) p;
+            starboard[row] = (byte) sb;
+            touch(row, VesselField.DIMENSIONS, time);
+        }
+
+        private void touch(int row, VesselField field, long time) {
+            updated[row * FIELDS + field.ordinal()] = time;
+        }
+
+        private void moveRow(int from, int to) {
+            mmsi[to] = mmsi[from];
+            messageType[to] = messageType[from];
+            latitude[to] = latitude[from];
+            longitude[to] = longitude[from];
+            sog[to] = sog[from];
+            cog[to] = cog[from];
+            heading[to] = heading[from];
+            rot[to] = rot[from];
+            navStatus[to] = navStatus[from];
+            imo[to] = imo[from];
+            shipType[to] = shipType[from];
+            bow[to] = bow[from];
+            stern[to] = stern[from];
+            port[to] = port[from];
+            starboard[to] = starboard[from];
+            eta[to] = eta[from];
+            draught[to] = draught[from];
+            name[to] = name[from];
+            callSign[to] = callSign[from];
+            destination[to] = destination[from];
+            System.arraycopy(updated, from * FIELDS, updated, to * FIELDS, FIELDS);
+        }
+
+        private void allocate(int capacity) {
+            mmsi = new int[capacity];
+            messageType = new byte[capacity];
+            latitude = new int[capacity];
+            longitude = new int[capacity];
+            sog = new short[capacity];
+            cog = new short[capacity];
+            heading = new short[capacity];
+            rot = new float[capacity];
+            navStatus = new byte[capacity];
+            imo = new int[capacity];
+            shipType = new short[capacity];
+            bow = new short[capacity];
+            stern = new short[capacity];
+            port = new byte[capacity];
+            starboard = new byte[capacity];
+            eta = new int[capacity];
+            draught = new short[capacity];
+            name = new String[capacity];
+            callSign = new String[capacity];
+            destination = new String[capacity];
+            updated = new long[capacity * FIELDS];
+        }
+
+        private void grow(int capacity) {
+            mmsi = Arrays.copyOf(mmsi, capacity);
+            messageType = Arrays.copyOf(messageType, capacity);
+            latitude = Arrays.copyOf(latitude, capacity);
+            longitude = Arrays.copyOf(longitude, capacity);
+            sog = Arrays.copyOf(sog, capacity);
+            cog = Arrays.copyOf(cog, capacity);
+            heading = Arrays.copyOf(heading, capacity);
+            rot = Arrays.copyOf(rot, capacity);
+            navStatus = Arrays.copyOf(navStatus, capacity);
+            imo = Arrays.copyOf(imo, capacity);
+            shipType = Arrays.copyOf(shipType, capacity);
+            bow = Arrays.copyOf(bow, capacity);
+            stern = Arrays.copyOf(stern, capacity);
+            port = Arrays.copyOf(port, capacity);
+            starboard = Arrays.copyOf(starboard, capacity);
+            eta = Arrays.copyOf(eta, capacity);
+            draught = Arrays.copyOf(draught, capacity);
+            name = Arrays.copyOf(name, capacity);
+            callSign = Arrays.copyOf(callSign, capacity);
+            destination = Arrays.copyOf(destination, capacity);
+            updated = Arrays.copyOf(updated, capacity * FIELDS);
+        }
+
+        private static String trim(String s) {
+            if (s == null) {
+                return null;
+            }
+            String t = s.trim();
+            return t.isEmpty() ? null : t;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Tracking of AIS targets; live vessel state, spatial queries and history.
+ */
+package net.sf.marineapi.ais.tracking;
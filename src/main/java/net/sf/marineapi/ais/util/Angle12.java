@@ -29,7 +29,8 @@ import java.text.DecimalFormat;
  */
 public class Angle12 {
 
-	private static final int DEFAULTVALUE	= 3600;
+	/** Value for "not available" */
+	public static final int DEFAULTVALUE	= 3600;
 	private static final int MINVALUE		= 0;
 	private static final int MAXVALUE		= 3599;
 
@@ -68,6 +69,16 @@ public class Angle12 {
 		return value / 10d; 
 	}
 
+	/**
+	 * Converts the angle in degrees to angular value.
+	 *
+	 * @param degrees Angle in degrees
+	 * @return The angular value in 1/10 degrees, 0 to 3599.
+	 */
+	public static int fromDegrees(double degrees) {
+		return (int) Math.floorMod(Math.round(degrees * 10), 3600L);
+	}
+
 	/**
 	 * Returns the String representation of given angular value.
 	 *
@@ -33,7 +33,8 @@ public class Latitude27 {
 	private static final int MINUTE_PART_MULTIPLIER = 60 * 10000;
 	private static final int MIN_VALUE = -90 * MINUTE_PART_MULTIPLIER;
 	private static final int MAX_VALUE = 90 * MINUTE_PART_MULTIPLIER;
-	private static final int DEFAULT_VALUE = 91 * MINUTE_PART_MULTIPLIER;
+	/** Value for "not available" */
+	public static final int DEFAULT_VALUE = 91 * MINUTE_PART_MULTIPLIER;
 
 	/** Valid range with default value for "no value" */
 	public static final String RANGE = "[" + MIN_VALUE + "," + MAX_VALUE + "] + {" + DEFAULT_VALUE + "}";
@@ -48,6 +49,16 @@ public class Latitude27 {
 		return (double)value / (double)MINUTE_PART_MULTIPLIER;
 	}
 
+	/**
+	 * Converts the latitude in degrees to 1/10000 minutes, rounding to nearest.
+	 *
+	 * @param degrees Value to convert
+	 * @return The latitude value in 1/10000 minutes
+	 */
+	public static int fromDegrees(double degrees) {
+		return (int) Math.round(degrees * MINUTE_PART_MULTIPLIER);
+	}
+
 	/**
 	 * Tells if the given latitude is available, i.e. within expected range.
 	 *
@@ -27,7 +27,8 @@ package net.sf.marineapi.ais.util;
  */
 public class RateOfTurn {
 
-	private static final int DEFAULTVALUE = -0x80;
+	/** Value for "no turn information available" */
+	public static final int DEFAULTVALUE = -0x80;
 	private static final int MINVALUE = -126;
 	private static final int MAXVALUE = 126;
 
@@ -69,6 +70,19 @@ public class RateOfTurn {
 		else
 			return 0d;
 	}		
+
+	/**
+	 * Converts the degrees/minute value to rate-of-turn indicator, i.e. the
+	 * inverse of {@link #toDegreesPerMinute(int)}. Values beyond the indicator
+	 * range are limited to 708 degrees per minute.
+	 *
+	 * @param degrees Rate of turn in degrees/minute (positive for right)
+	 * @return Rate-of-turn indicator value
+	 */
+	public static int fromDegreesPerMinute(double degrees) {
+		int value = (int) Math.min(MAXVALUE, Math.round(4.733 * Math.sqrt(Math.abs(degrees))));
+		return degrees < 0 ? -value : value;
+	}
 	
 	/**
 	 * Converts given rate of turn value to String presentation.
@@ -20,6 +20,8 @@
  */
 package net.sf.marineapi.ais.util;
 
+import java.util.BitSet;
+
 /**
  * AIS characters are encoded as 6 bit values concatenated into a bit array.
  * This class implements the higher level access to this bit array, storing
@@ -32,10 +34,31 @@ public class Sixbit {
 	/** Number of bits per character */
 	public static final int BITS_PER_CHAR = 6;
 
-	private final String	fPayload;
+	private String			fPayload;
 	private BitVector		fBitVector;
+	private final int		fChars;
 	private final int	    fFillBits; // Number of padding bits at end
 
+	// decoded string fields shared by all instances
+	private static final SixbitStringCache CACHE = new SixbitStringCache(2048);
+
+	// transport characters reversed bitwise, -1 for invalid characters
+	private static final byte[] REVERSED = new byte[128];
+
+	static {
+		for (int c = 0; c < REVERSED.length; c++) {
+			REVERSED[c] = -1;
+			if ((c >= 0x30 && c <= 0x57) || (c >= 0x60 && c <= 0x77)) {
+				int value = c < 0x60 ? c - 0x30 : c - 0x38;
+				int rev = 0;
+				for (int i = 0; i < BITS_PER_CHAR; i++) {
+					rev |= ((value >> i) & 1) << (BITS_PER_CHAR - 1 - i);
+				}
+				REVERSED[c] = (byte) rev;
+			}
+		}
+	}
+
     /**
      * Constructor.
      *
@@ -50,6 +73,7 @@ public class Sixbit {
             throw new IllegalArgumentException("Fill bits cannot be negative");
         }
 		fPayload = payload;
+		fChars = payload.length();
 		if (!isValidString(fPayload))
 			throw new IllegalArgumentException("Invalid payload characters");
 
@@ -62,6 +86,45 @@ public class Sixbit {
 		fFillBits = fillBits;
 	}
 
+	/**
+	 * Constructs a decoder from raw payload bytes, e.g. straight from the
+	 * sentence buffer of an input stream. The characters are decoded into the
+	 * bit vector without intermediate String; the payload String is created
+	 * only if requested by {@link #getPayload()}.
+	 *
+	 * @param payload Buffer containing 6-bit encoded ASCII characters
+	 * @param offset Index of first payload character in buffer
+	 * @param length Number of payload characters
+	 * @param fillBits Fill bits to be added
+	 */
+	public Sixbit(byte[] payload, int offset, int length, int fillBits) {
+		if (length <= 0) {
+			throw new IllegalArgumentException("Message payload cannot be null or empty");
+		}
+		if (fillBits < 0) {
+			throw new IllegalArgumentException("Fill bits cannot be negative");
+		}
+		// bit n of payload is stored at index n + 1, see convert()
+		final int bits = length * BITS_PER_CHAR + 1;
+		long[] words = new long[(bits + 63) >>> 6];
+		for (int i = 0; i < length; i++) {
+			int c = payload[offset + i];
+			int rev = c < 0 ? -1 : REVERSED[c];
+			if (rev < 0) {
+				throw new IllegalArgumentException("Invalid payload characters");
+			}
+			int index = i * BITS_PER_CHAR + 1;
+			int shift = index & 63;
+			words[index >>> 6] |= (long) rev << shift;
+			if (shift > 64 - BITS_PER_CHAR) {
+				words[(index >>> 6) + 1] |= (long) rev >>> (64 - shift);
+			}
+		}
+		fBitVector = new BitVector(BitSet.valueOf(words), bits - 1);
+		fChars = length;
+		fFillBits = fillBits;
+	}
+
 	private void convert(int value, int from, int length) {
 		int index = from + BITS_PER_CHAR;
 		while (value != 0L && length > 0) {
@@ -107,7 +170,7 @@ public class Sixbit {
 	 * @return Number of payload bits.
 	 */
 	public int length() {
-		return fPayload.length() * BITS_PER_CHAR - fFillBits;
+		return fChars * BITS_PER_CHAR - fFillBits;
 	}
 
 	/**
@@ -231,26 +294,76 @@ public class Sixbit {
 	 * @return String value
 	 */
 	public String getString(int fromIndex, int toIndex) {
-		StringBuilder sb = new StringBuilder();
-		for (int i = fromIndex; i < toIndex; i += BITS_PER_CHAR) {
-			int value = getInt(i, i + BITS_PER_CHAR);
-			sb.append(binaryToContent(value));
-		}
-		return stripAtSigns(sb.toString());
+		return getString(fromIndex, toIndex, false);
 	}
 
 	/**
-	 * Strips the @ characters from specified String.
+	 * Return string from bit vector with trailing @ characters and
+	 * leading/trailing white space removed, equal to
+	 * {@code getString(fromIndex, toIndex).trim()}.
+	 *
+	 * @param fromIndex begin index (inclusive)
+	 * @param toIndex end index (exclusive)
+	 * @return String value
 	 */
-	private String stripAtSigns(String orig) {
-		int end = orig.length() - 1;
-		for (int i = orig.length() - 1; i >= 0; i--) {
-			if (orig.charAt(i) != '@') {
-				end = i;
-				break;
+	public String getTrimmedString(int fromIndex, int toIndex) {
+		return getString(fromIndex, toIndex, true);
+	}
+
+	/**
+	 * Decodes a string field, using the shared cache for fields that fit in
+	 * the cache key.
+	 */
+	private String getString(int fromIndex, int toIndex, boolean trim) {
+		int chars = (toIndex - fromIndex) / BITS_PER_CHAR;
+		if (chars <= 0 || chars > SixbitStringCache.MAX_CHARS
+				|| (toIndex - fromIndex) % BITS_PER_CHAR != 0) {
+			return decodeString(fromIndex, toIndex, trim);
+		}
+
+		// pack the field in two words, reading five characters at a time
+		long hi = 0;
+		long lo = 0;
+		for (int c = 0; c < chars; c += 5) {
+			int n = Math.min(5, chars - c);
+			int i = fromIndex + c * BITS_PER_CHAR;
+			long value = getInt(i, i + n * BITS_PER_CHAR);
+			if (c < SixbitStringCache.CHARS_PER_WORD) {
+				hi = (hi << (n * BITS_PER_CHAR)) | value;
+			} else {
+				lo = (lo << (n * BITS_PER_CHAR)) | value;
 			}
 		}
-		return orig.substring(0, end + 1);
+
+		int meta = chars << 1 | (trim ? 1 : 0);
+		String result = CACHE.get(hi, lo, meta);
+		if (result == null) {
+			result = decodeString(fromIndex, toIndex, trim);
+			CACHE.put(hi, lo, meta, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Decodes a string field and strips the trailing @ characters.
+	 */
+	private String decodeString(int fromIndex, int toIndex, boolean trim) {
+		char[] chars = new char[(toIndex - fromIndex + BITS_PER_CHAR - 1) / BITS_PER_CHAR];
+		int n = 0;
+		for (int i = fromIndex; i < toIndex; i += BITS_PER_CHAR) {
+			int value = getInt(i, i + BITS_PER_CHAR);
+			chars[n++] = binaryToContent(value);
+		}
+		int end = n;
+		while (end > 0 && chars[end - 1] == '@') {
+			end--;
+		}
+		// all @ signs are retained, as before
+		if (end == 0) {
+			end = n;
+		}
+		String result = new String(chars, 0, end);
+		return trim ? result.trim() : result;
 	}
 
     /**
@@ -259,6 +372,14 @@ public class Sixbit {
      * @return Sixbit encoded String.
      */
     public String getPayload() {
+        if (fPayload == null) {
+            char[] chars = new char[fChars];
+            for (int i = 0; i < fChars; i++) {
+                int value = getInt(i * BITS_PER_CHAR, (i + 1) * BITS_PER_CHAR);
+                chars[i] = (char) (value < 0x28 ? value + 0x30 : value + 0x38);
+            }
+            fPayload = new String(chars);
+        }
         return fPayload;
     }
 }
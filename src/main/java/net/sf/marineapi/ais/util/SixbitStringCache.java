@@ -0,0 +1,110 @@
+/*
+ * SixbitStringCache.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.util;
+
+/**
+ * <p>
+ * Bounded cache of decoded six-bit strings, keyed by the packed field value.
+ * Static data messages repeat the same names, call signs and destinations
+ * for each vessel every few minutes, so decoding them through this cache
+ * returns the same String instances instead of allocating new ones.</p>
+ * <p>
+ * The cache is direct-mapped; a colliding key simply replaces the previous
+ * entry, which bounds the memory use without any bookkeeping. Entries are
+ * immutable, so the table may be read and written concurrently without
+ * locking; a lost update only costs a cache miss.</p>
+ *
+ * @author Kimmo Tuukkanen
+ * @see Sixbit#getString(int, int)
+ */
+final class SixbitStringCache {
+
+    /** Maximum number of characters in a cacheable field */
+    static final int MAX_CHARS = 20;
+
+    /** Characters packed in a single key word */
+    static final int CHARS_PER_WORD = 10;
+
+    private final Entry[] table;
+    private final int mask;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param size Number of slots, rounded up to power of two.
+     */
+    SixbitStringCache(int size) {
+        int n = Integer.highestOneBit(Math.max(16, size - 1) << 1);
+        this.table = new Entry[n];
+        this.mask = n - 1;
+    }
+
+    /**
+     * Returns the cached String for given key.
+     *
+     * @param hi Packed value of first ten characters
+     * @param lo Packed value of remaining characters
+     * @param meta Number of characters and decoding flags
+     * @return Cached String or {@code null}
+     */
+    String get(long hi, long lo, int meta) {
+        Entry e = table[index(hi, lo, meta)];
+        if (e != null && e.hi == hi && e.lo == lo && e.meta == meta) {
+            return e.value;
+        }
+        return null;
+    }
+
+    /**
+     * Stores the decoded String for given key, replacing any colliding
+     * entry.
+     *
+     * @param hi Packed value of first ten characters
+     * @param lo Packed value of remaining characters
+     * @param meta Number of characters and decoding flags
+     * @param value Decoded String
+     */
+    void put(long hi, long lo, int meta, String value) {
+        table[index(hi, lo, meta)] = new Entry(hi, lo, meta, value);
+    }
+
+    private int index(long hi, long lo, int meta) {
+        long h = hi * 0x9E3779B97F4A7C15L ^ lo * 0xC2B2AE3D27D4EB4FL ^ meta;
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static final class Entry {
+
+        final long hi;
+        final long lo;
+        final int meta;
+        final String value;
+
+        Entry(long hi, long lo, int meta, String value) {
+            this.hi = hi;
+            this.lo = lo;
+            this.meta = meta;
+            this.value = value;
+        }
+    }
+}
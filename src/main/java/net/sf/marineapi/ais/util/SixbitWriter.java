@@ -0,0 +1,194 @@
+/*
+ * SixbitWriter.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.ais.util;
+
+/**
+ * <p>
+ * Writes integers, flags and strings into a six-bit encoded AIS payload, i.e.
+ * the inverse of {@link Sixbit}. Field indices are used the same way as in
+ * {@code Sixbit}; a field from index {@code from} (inclusive) to {@code to}
+ * (exclusive) written with {@link #setInt(int, int, int)} is read back with
+ * {@link Sixbit#getInt(int, int)} using the same indices.</p>
+ * <p>
+ * All bits are initially zero, so unused and spare fields need not be
+ * written.</p>
+ *
+ * @author Kimmo Tuukkanen
+ * @see Sixbit
+ */
+public class SixbitWriter {
+
+    private final byte[] values;
+    private final int length;
+
+    /**
+     * Creates a new writer for payload of given length.
+     *
+     * @param bits Payload length in bits
+     * @throws IllegalArgumentException If length is not positive
+     */
+    public SixbitWriter(int bits) {
+        if (bits <= 0) {
+            throw new IllegalArgumentException("Payload length must be positive");
+        }
+        this.length = bits;
+        this.values = new byte[(bits + Sixbit.BITS_PER_CHAR - 1) / Sixbit.BITS_PER_CHAR];
+    }
+
+    /**
+     * Writes the given value in specified field, MSB first. Negative values
+     * are written in two's complement, i.e. the value is truncated to field
+     * width.
+     *
+     * @param from Begin index (inclusive)
+     * @param to End index (exclusive)
+     * @param value Value to write
+     * @throws IllegalArgumentException If field is out of bounds or wider
+     *             than 32 bits.
+     */
+    public void setInt(int from, int to, int value) {
+        checkRange(from, to);
+        if (to - from > 32) {
+            throw new IllegalArgumentException("Field wider than 32 bits");
+        }
+        for (int i = from; i < to; i++) {
+            setBit(i, ((value >>> (to - 1 - i)) & 1) != 0);
+        }
+    }
+
+    /**
+     * Writes a single bit flag, equal to {@code setInt(index, index + 1, 1)}
+     * or {@code setInt(index, index + 1, 0)}.
+     *
+     * @param index Bit index
+     * @param value Flag value
+     */
+    public void setBoolean(int index, boolean value) {
+        checkRange(index, index + 1);
+        setBit(index, value);
+    }
+
+    /**
+     * Writes the given string in specified field, six bits per character.
+     * Lower case letters are converted to upper case and the string is padded
+     * with {@code @} characters, which are stripped when decoded.
+     *
+     * @param from Begin index (inclusive)
+     * @param to End index (exclusive)
+     * @param value String to write, {@code null} for empty.
+     * @throws IllegalArgumentException If field is out of bounds, string does
+     *             not fit in field or contains characters that cannot be
+     *             encoded.
+     */
+    public void setString(int from, int to, String value) {
+        checkRange(from, to);
+        int chars = (to - from) / Sixbit.BITS_PER_CHAR;
+        int len = value == null ? 0 : value.length();
+        if (len > chars) {
+            throw new IllegalArgumentException("String too long for field: " + value);
+        }
+        for (int i = 0; i < chars; i++) {
+            int bits = i < len ? contentToBinary(value.charAt(i)) : 0;
+            int index = from + i * Sixbit.BITS_PER_CHAR;
+            setInt(index, index + Sixbit.BITS_PER_CHAR, bits);
+        }
+    }
+
+    /**
+     * Returns the payload length.
+     *
+     * @return Number of payload bits.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the number of fill bits needed to pad the payload to six bit
+     * boundary.
+     *
+     * @return Fill bits, 0 to 5.
+     */
+    public int getFillBits() {
+        return values.length * Sixbit.BITS_PER_CHAR - length;
+    }
+
+    /**
+     * Returns the payload in six-bit armored format.
+     *
+     * @return Payload String, as in AIS sentences.
+     */
+    public String getPayload() {
+        char[] chars = new char[values.length];
+        for (int i = 0; i < values.length; i++) {
+            chars[i] = binaryToTransport(values[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns a decoder of the written payload.
+     *
+     * @return Sixbit decoder
+     */
+    public Sixbit toSixbit() {
+        return new Sixbit(getPayload(), getFillBits());
+    }
+
+    private void setBit(int index, boolean value) {
+        int mask = 1 << (Sixbit.BITS_PER_CHAR - 1 - index % Sixbit.BITS_PER_CHAR);
+        int i = index / Sixbit.BITS_PER_CHAR;
+        if (value) {
+            values[i] |= mask;
+        } else {
+            values[i] &= ~mask;
+        }
+    }
+
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > length || from >= to) {
+            throw new IllegalArgumentException(
+                String.format("Invalid field [%d,%d) for %d bits", from, to, length));
+        }
+    }
+
+    /**
+     * Encodes a binary value to transport character, see
+     * {@link Sixbit#getPayload()}.
+     */
+    private static char binaryToTransport(int value) {
+        return (char) (value < 0x28 ? value + 0x30 : value + 0x38);
+    }
+
+    /**
+     * Encodes a content character to six bit binary value; inverse of table
+     * 44 of Rec. ITU-R M.1371-4.
+     */
+    private static int contentToBinary(char c) {
+        char ch = Character.toUpperCase(c);
+        if (ch >= 0x40 && ch < 0x60) {
+            return ch - 0x40;
+        } else if (ch >= 0x20 && ch < 0x40) {
+            return ch;
+        }
+        throw new IllegalArgumentException("Invalid content character: " + c);
+    }
+}
@@ -31,7 +31,8 @@ public class SpeedOverGround {
 
     private static final int MIN_VALUE = 0;
     private static final int MAX_VALUE = 1022;
-    private static final int DEFAULT_VALUE = 1023;
+    /** Value for "not available" */
+    public static final int DEFAULT_VALUE = 1023;
 
     /**
      * Checks if the speed over ground value is available, i.e. within valid
@@ -65,6 +66,17 @@ public class SpeedOverGround {
         return value / 10d;
     }
 
+    /**
+     * Converts the specified speed in knots to speed over ground value.
+     * Speeds of 102.2 knots or more are encoded as 102.2 knots.
+     *
+     * @param knots Speed in knots
+     * @return SOG value in 1/10 knots
+     */
+    public static int fromKnots(double knots) {
+        return (int) Math.max(MIN_VALUE, Math.min(MAX_VALUE, Math.round(knots * 10)));
+    }
+
     /**
      * Stringify the given SOG value.
      *
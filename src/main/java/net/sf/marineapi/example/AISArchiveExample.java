@@ -0,0 +1,156 @@
+/*
+ * AISArchiveExample.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.example;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import net.sf.marineapi.ais.parser.AISArchive;
+import net.sf.marineapi.ais.parser.AISArchiveDecoder;
+import net.sf.marineapi.ais.parser.AISColumns;
+
+/**
+ * Batch tool that decodes an AIS archive file in parallel and prints the
+ * number of messages per type. If output directory is given, the columns of
+ * each message type are written in binary files, e.g. {@code type01.mmsi}
+ * containing the MMSI values as big-endian 32-bit integers, readable with
+ * {@link java.io.DataInputStream}.
+ *
+ * @author Kimmo Tuukkanen
+ */
+public class AISArchiveExample {
+
+	private final Path outDir;
+	private final Map<String, DataOutputStream> files = new HashMap<>();
+	private final Map<Integer, Long> counts = new TreeMap<>();
+	private long lines;
+	private long errors;
+
+	/**
+	 * Creates a new instance of AISArchiveExample
+	 * 
+	 * @param outDir Output directory or {@code null}
+	 */
+	public AISArchiveExample(Path outDir) {
+		this.outDir = outDir;
+	}
+
+	/**
+	 * Decodes the archive and writes the columns.
+	 * 
+	 * @param archive Archive file
+	 * @throws IOException If reading or writing fails
+	 */
+	public void run(Path archive) throws IOException {
+		long start = System.currentTimeMillis();
+		try {
+			new AISArchiveDecoder().decode(archive, chunk -> {
+				try {
+					write(chunk);
+				} catch (IOException e) {
+					throw new IllegalStateException(e);
+				}
+			});
+		} finally {
+			for (DataOutputStream out : files.values()) {
+				out.close();
+			}
+		}
+		long time = System.currentTimeMillis() - start;
+
+		for (Map.Entry<Integer, Long> e : counts.entrySet()) {
+			System.out.printf("type %2d: %d%n", e.getKey(), e.getValue());
+		}
+		System.out.printf("%d lines, %d errors, %d ms%n", lines, errors, time);
+	}
+
+	private void write(AISArchive chunk) throws IOException {
+		lines += chunk.getLineCount();
+		errors += chunk.getErrorCount();
+		for (int type : chunk.getMessageTypes()) {
+			AISColumns c = chunk.getColumns(type);
+			Long n = counts.get(type);
+			counts.put(type, (n == null ? 0 : n) + c.size());
+			if (outDir == null) {
+				continue;
+			}
+			String prefix = String.format("type%02d.", type);
+			DataOutputStream mmsi = open(prefix + "mmsi");
+			DataOutputStream time = open(prefix + "time");
+			DataOutputStream lat = open(prefix + "lat");
+			DataOutputStream lon = open(prefix + "lon");
+			DataOutputStream sog = open(prefix + "sog");
+			DataOutputStream cog = open(prefix + "cog");
+			for (int i = 0; i < c.size(); i++) {
+				mmsi.writeInt(c.getMMSIColumn()[i]);
+				time.writeLong(c.getTimeColumn()[i]);
+				lat.writeDouble(c.getLatitudeColumn()[i]);
+				lon.writeDouble(c.getLongitudeColumn()[i]);
+				sog.writeDouble(c.getSpeedColumn()[i]);
+				cog.writeDouble(c.getCourseColumn()[i]);
+			}
+		}
+	}
+
+	private DataOutputStream open(String name) throws IOException {
+		DataOutputStream out = files.get(name);
+		if (out == null) {
+			FileOutputStream fos = new FileOutputStream(outDir.resolve(name).toFile());
+			out = new DataOutputStream(new BufferedOutputStream(fos, 1 << 16));
+			files.put(name, out);
+		}
+		return out;
+	}
+
+	/**
+	 * Main method takes the archive file and optional output directory as
+	 * command-line arguments.
+	 * 
+	 * @param args Command-line arguments
+	 */
+	public static void main(String[] args) {
+
+		if (args.length < 1 || args.length > 2) {
+			System.out.println("Example usage:\njava AISArchiveExample ais.log [outdir]");
+			System.exit(1);
+		}
+
+		try {
+			Path out = null;
+			if (args.length == 2) {
+				out = Paths.get(args[1]);
+				Files.createDirectories(out);
+			}
+			new AISArchiveExample(out).run(Paths.get(args[0]));
+		} catch (IOException e) {
+			e.printStackTrace();
+			System.exit(1);
+		}
+	}
+}
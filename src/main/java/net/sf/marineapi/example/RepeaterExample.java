@@ -0,0 +1,95 @@
+/*
+ * RepeaterExample.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.example;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.channels.DatagramChannel;
+
+import net.sf.marineapi.nmea.event.AbstractSentenceListener;
+import net.sf.marineapi.nmea.io.SentenceReader;
+import net.sf.marineapi.nmea.io.SentenceWriter;
+import net.sf.marineapi.nmea.io.SentenceWriter.FlushPolicy;
+import net.sf.marineapi.nmea.sentence.Sentence;
+
+/**
+ * Example of NMEA repeater that receives sentences from a UDP port and sends
+ * them to another host. Sentences are batched in datagrams and delayed at
+ * most 50 milliseconds.
+ *
+ * @author Kimmo Tuukkanen
+ * @see SentenceWriter
+ */
+public class RepeaterExample extends AbstractSentenceListener<Sentence> {
+
+	private final SentenceWriter writer;
+
+	/**
+	 * Creates a new repeater.
+	 *
+	 * @param writer Writer for repeated sentences
+	 */
+	public RepeaterExample(SentenceWriter writer) {
+		this.writer = writer;
+	}
+
+	@Override
+	public void sentenceRead(Sentence sentence) {
+		try {
+			writer.write(sentence);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Main method takes the local port to listen and destination host and
+	 * port as command-line arguments.
+	 *
+	 * @param args Command-line arguments
+	 */
+	public static void main(String[] args) {
+
+		if (args.length != 2) {
+			System.out.println("Example usage:\njava RepeaterExample 10110 192.168.1.10:10110");
+			System.exit(1);
+		}
+
+		try {
+			String[] hp = args[1].split(":");
+			DatagramChannel channel = DatagramChannel.open();
+			SentenceWriter writer = new SentenceWriter(channel,
+				new InetSocketAddress(hp[0], Integer.parseInt(hp[1])));
+			writer.setMaxDelay(50);
+			writer.setFlushPolicy(FlushPolicy.TIME);
+
+			DatagramSocket socket = new DatagramSocket(Integer.parseInt(args[0]));
+			SentenceReader reader = new SentenceReader(socket);
+			reader.addSentenceListener(new RepeaterExample(writer));
+			reader.start();
+			System.out.println("Running, press CTRL-C to stop..");
+		} catch (IOException | RuntimeException e) {
+			e.printStackTrace();
+			System.exit(1);
+		}
+	}
+}
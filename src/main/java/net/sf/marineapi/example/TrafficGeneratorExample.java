@@ -0,0 +1,92 @@
+/*
+ * TrafficGeneratorExample.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.example;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+
+import net.sf.marineapi.nmea.io.TrafficGenerator;
+
+/**
+ * Command-line tool for generating synthetic NMEA traffic, e.g. for measuring
+ * the sustainable throughput of a {@code SentenceReader} before deployment.
+ * Output is written to a file, standard output ({@code -}) or sent to a UDP
+ * port ({@code udp:host:port}). Rate zero generates as fast as possible.
+ *
+ * @author Kimmo Tuukkanen
+ * @see TrafficGenerator
+ */
+public class TrafficGeneratorExample {
+
+	/**
+	 * Main method takes output, rate and optional sentence count as
+	 * command-line arguments. Without count, generates until interrupted.
+	 * 
+	 * @param args Command-line arguments
+	 */
+	public static void main(String[] args) {
+
+		if (args.length < 2 || args.length > 3) {
+			System.out.println("Example usage:\n"
+				+ "java TrafficGeneratorExample udp:localhost:10110 100000\n"
+				+ "java TrafficGeneratorExample traffic.log 0 1000000");
+			System.exit(1);
+		}
+
+		try {
+			String target = args[0];
+			int rate = Integer.parseInt(args[1]);
+			long count = args.length == 3 ? Long.parseLong(args[2]) : Long.MAX_VALUE;
+
+			TrafficGenerator gen;
+			OutputStream out = null;
+			DatagramSocket socket = null;
+			if (target.startsWith("udp:")) {
+				String[] hp = target.split(":");
+				socket = new DatagramSocket();
+				gen = new TrafficGenerator(socket,
+					new InetSocketAddress(hp[1], Integer.parseInt(hp[2])));
+			} else {
+				out = "-".equals(target) ? System.out : new FileOutputStream(target);
+				gen = new TrafficGenerator(out);
+			}
+			gen.setRate(rate);
+
+			long start = System.nanoTime();
+			long n = gen.generate(count);
+			double secs = (System.nanoTime() - start) / 1e9;
+			System.err.printf("%d sentences in %.2f s, %.0f per second%n", n, secs, n / secs);
+
+			if (out != null) {
+				out.close();
+			}
+			if (socket != null) {
+				socket.close();
+			}
+		} catch (IOException | RuntimeException e) {
+			e.printStackTrace();
+			System.exit(1);
+		}
+	}
+}
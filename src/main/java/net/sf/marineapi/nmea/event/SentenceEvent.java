@@ -27,6 +27,13 @@ import net.sf.marineapi.nmea.sentence.Sentence;
 /**
  * Sentence events occur when a valid NMEA 0183 sentence has been read from the
  * data source.
+ * <p>
+ * Events dispatched by {@link net.sf.marineapi.nmea.io.SentenceReader} carry
+ * monotonic timestamps of three stages: when the data was received, when
+ * parsing completed and when dispatching to listeners started. All listeners
+ * of a sentence receive the same event instance, thus the same timestamps.
+ * Subtract the timestamps to measure latency of each stage.
+ * </p>
  * 
  * @author Kimmo Tuukkanen
  * @see SentenceListener
@@ -36,10 +43,14 @@ public class SentenceEvent extends EventObject {
 
 	private static final long serialVersionUID = -2756954014186470514L;
 	private final long timestamp = System.currentTimeMillis();
+	private final long nanoTime = System.nanoTime();
+	private final long receivedNanoTime;
+	private final long parsedNanoTime;
 	private final Sentence sentence;
 
 	/**
-	 * Creates a new SentenceEvent object.
+	 * Creates a new SentenceEvent object. Receive and parse timestamps are
+	 * set equal to creation time.
 	 * 
 	 * @param src Object that fired the event
 	 * @param s Sentence that triggered the event
@@ -51,6 +62,28 @@ public class SentenceEvent extends EventObject {
 			throw new IllegalArgumentException("Sentence cannot be null");
 		}
 		this.sentence = s;
+		this.receivedNanoTime = nanoTime;
+		this.parsedNanoTime = nanoTime;
+	}
+
+	/**
+	 * Creates a new SentenceEvent object with stage timestamps. Creation time
+	 * of the event is considered as start of dispatch.
+	 * 
+	 * @param src Object that fired the event
+	 * @param s Sentence that triggered the event
+	 * @param received {@link System#nanoTime()} when data was received
+	 * @param parsed {@link System#nanoTime()} when parsing completed
+	 * @throws IllegalArgumentException If specified sentence is {@code null}
+	 */
+	public SentenceEvent(Object src, Sentence s, long received, long parsed) {
+		super(src);
+		if (s == null) {
+			throw new IllegalArgumentException("Sentence cannot be null");
+		}
+		this.sentence = s;
+		this.receivedNanoTime = received;
+		this.parsedNanoTime = parsed;
 	}
 
 	/**
@@ -70,4 +103,36 @@ public class SentenceEvent extends EventObject {
 	public long getTimeStamp() {
 		return timestamp;
 	}
+
+	/**
+	 * Get the monotonic time when this event was created, i.e. value of
+	 * {@link System#nanoTime()}. For events dispatched by a reader, this is
+	 * when dispatching to listeners was started. Use for measuring intervals
+	 * between events, not as wall clock time.
+	 * 
+	 * @return Nanoseconds timestamp
+	 */
+	public long getNanoTime() {
+		return nanoTime;
+	}
+
+	/**
+	 * Get the monotonic time when the sentence data was received from data
+	 * source. For UDP this is the time the datagram was received, shared by
+	 * all sentences in the datagram.
+	 * 
+	 * @return Nanoseconds timestamp, see {@link System#nanoTime()}.
+	 */
+	public long getReceivedNanoTime() {
+		return receivedNanoTime;
+	}
+
+	/**
+	 * Get the monotonic time when parsing of the sentence was completed.
+	 * 
+	 * @return Nanoseconds timestamp, see {@link System#nanoTime()}.
+	 */
+	public long getParsedNanoTime() {
+		return parsedNanoTime;
+	}
 }
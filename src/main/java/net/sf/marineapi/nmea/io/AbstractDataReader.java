@@ -20,9 +20,11 @@
  */
 package net.sf.marineapi.nmea.io;
 
+import net.sf.marineapi.nmea.event.SentenceEvent;
 import net.sf.marineapi.nmea.parser.SentenceFactory;
 import net.sf.marineapi.nmea.parser.UnsupportedSentenceException;
 import net.sf.marineapi.nmea.sentence.Sentence;
+import net.sf.marineapi.nmea.sentence.SentenceId;
 import net.sf.marineapi.nmea.sentence.SentenceValidator;
 
 import java.io.InputStream;
@@ -53,6 +55,10 @@ public abstract class AbstractDataReader implements Runnable {
 	private SentenceReader parent;
 	private volatile boolean isRunning = true;
 
+	// receive time of data returned by read(), if provided by implementation
+	private long receivedNanoTime;
+	private boolean hasReceivedNanoTime;
+
 	/**
 	 * Default constructor.
 	 */
@@ -100,6 +106,20 @@ public abstract class AbstractDataReader implements Runnable {
 		return isRunning;
 	}
 
+	/**
+	 * Sets the receive time of the data to be returned by current call of
+	 * {@link #read()}. Implementations that know when data arrived, e.g. as
+	 * part of a larger packet, may call this before returning from
+	 * {@code read()}. Otherwise the time when {@code read()} returns is used.
+	 *
+	 * @param nanoTime Receive time as {@link System#nanoTime()}
+	 * @see SentenceEvent#getReceivedNanoTime()
+	 */
+	protected void setReceivedNanoTime(long nanoTime) {
+		this.receivedNanoTime = nanoTime;
+		this.hasReceivedNanoTime = true;
+	}
+
 	/**
 	 * Read one NMEA-0183 sentence and return it.
 	 *
@@ -117,22 +137,41 @@ public abstract class AbstractDataReader implements Runnable {
 
 		ActivityMonitor monitor = new ActivityMonitor(parent);
 		SentenceFactory factory = SentenceFactory.getInstance();
+		ReaderMetrics metrics = parent.getMetrics();
 
 		while (isRunning) {
+			String data = null;
 			try {
-				String data = read();
+				data = read();
+				long received = hasReceivedNanoTime ? receivedNanoTime : System.nanoTime();
+				hasReceivedNanoTime = false;
 				if (data == null) {
 					Thread.sleep(SLEEP_TIME);
-				} else if (SentenceValidator.isValid(data)) {
+					continue;
+				}
+				metrics.lineRead();
+				if (SentenceValidator.isValid(data)) {
 					monitor.refresh();
+					long start = System.nanoTime();
 					Sentence s = factory.createParser(data);
-					parent.fireSentenceEvent(s);
-				} else if (!SentenceValidator.isSentence(data)) {
+					long parsed = System.nanoTime();
+					metrics.parsed(s.getSentenceId(), parsed - start);
+					SentenceEvent event = new SentenceEvent(parent, s, received, parsed);
+					parent.fireSentenceEvent(event);
+					metrics.dispatched(System.nanoTime() - event.getNanoTime());
+				} else if (SentenceValidator.isSentence(data)) {
+					metrics.checksumError();
+				} else {
+					metrics.dataRead();
 					parent.fireDataEvent(data);
 				}
 			} catch (UnsupportedSentenceException use) {
-				LOGGER.warning(use.getMessage());
+				// log each sentence type once, counts are in metrics
+				if (metrics.unsupported(SentenceId.parseStr(data))) {
+					LOGGER.warning(use.getMessage());
+				}
 			} catch (Exception e) {
+				metrics.readError();
 				parent.handleException("Data read failed", e);
 				try {
 					Thread.sleep(SLEEP_TIME);
@@ -0,0 +1,172 @@
+/*
+ * LatencyHistogram.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.nmea.io;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * Lock-free histogram of durations in nanoseconds. Values are counted in
+ * logarithmic buckets, four per power of two, thus reported percentiles are
+ * within 25% of the recorded values. Recording is safe from any number of
+ * threads and does not allocate once the bucket counters have settled.</p>
+ * <p>
+ * Counts are read without locking, so values read while recording is in
+ * progress may be slightly inconsistent with each other.</p>
+ *
+ * @author Kimmo Tuukkanen
+ * @see ReaderMetrics
+ */
+public final class LatencyHistogram {
+
+	// bucket index for values < 4 is the value itself, larger values get
+	// four sub-buckets per highest bit position 2..62
+	private static final int SUB_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int BUCKETS = SUB_BUCKETS * 63;
+
+	private final LongAdder[] buckets = new LongAdder[BUCKETS];
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Creates a new empty histogram.
+	 */
+	public LatencyHistogram() {
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Records a duration. Negative values, e.g. due to clock adjustments,
+	 * are recorded as zero.
+	 *
+	 * @param nanos Duration in nanoseconds
+	 */
+	public void record(long nanos) {
+		long v = nanos < 0 ? 0 : nanos;
+		buckets[indexOf(v)].increment();
+		count.increment();
+		sum.add(v);
+		max.accumulate(v);
+	}
+
+	/**
+	 * Returns the number of recorded values.
+	 *
+	 * @return Count of values
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Returns the largest recorded value.
+	 *
+	 * @return Maximum in nanoseconds, zero if nothing recorded.
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Returns the arithmetic mean of recorded values.
+	 *
+	 * @return Mean in nanoseconds, zero if nothing recorded.
+	 */
+	public double getMean() {
+		long n = count.sum();
+		return n == 0 ? 0.0 : (double) sum.sum() / n;
+	}
+
+	/**
+	 * Returns the value below which the given percentage of recorded values
+	 * fall. The result is the upper bound of the bucket containing the
+	 * percentile, limited to recorded maximum.
+	 *
+	 * @param percentile Percentile in range 0..100
+	 * @return Percentile value in nanoseconds, zero if nothing recorded.
+	 * @throws IllegalArgumentException If percentile is out of range.
+	 */
+	public long getPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100 || Double.isNaN(percentile)) {
+			throw new IllegalArgumentException("Percentile out of range: " + percentile);
+		}
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets[i].sum();
+			total += counts[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(upperBound(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	/**
+	 * Clears all recorded values.
+	 */
+	public void reset() {
+		for (LongAdder b : buckets) {
+			b.reset();
+		}
+		count.reset();
+		sum.reset();
+		max.reset();
+	}
+
+	/**
+	 * Returns the bucket index for given non-negative value.
+	 */
+	static int indexOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int bit = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (bit - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return SUB_BUCKETS + (bit - SUB_BITS) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * Returns the largest value counted in given bucket.
+	 */
+	static long upperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+		int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+		long lower = (long) (SUB_BUCKETS + sub) << shift;
+		return lower + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,343 @@
+/*
+ * ReaderMetrics.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.nmea.io;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * <p>
+ * Counters and latency histograms of a {@link SentenceReader}. Updates are
+ * lock-free and performed by the reader thread; values may be read at any
+ * time from any thread, or over JMX once registered with {@link
+ * SentenceReader#registerMBean()}.</p>
+ * <p>
+ * Parse latency covers creating the parser for a valid sentence and dispatch
+ * latency covers notifying all listeners of it.</p>
+ *
+ * @author Kimmo Tuukkanen
+ * @see SentenceReader#getMetrics()
+ */
+public final class ReaderMetrics implements ReaderMetricsMXBean {
+
+	/** JMX domain of registered metrics. */
+	public static final String JMX_DOMAIN = "net.sf.marineapi";
+
+	private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+	private final LongAdder lines = new LongAdder();
+	private final LongAdder sentences = new LongAdder();
+	private final LongAdder data = new LongAdder();
+	private final LongAdder checksumErrors = new LongAdder();
+	private final LongAdder unsupported = new LongAdder();
+	private final LongAdder listenerErrors = new LongAdder();
+	private final LongAdder readErrors = new LongAdder();
+	private final ConcurrentMap<String, LongAdder> sentenceCounts = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, LongAdder> unsupportedCounts = new ConcurrentHashMap<>();
+	private final LatencyHistogram parseLatency = new LatencyHistogram();
+	private final LatencyHistogram dispatchLatency = new LatencyHistogram();
+
+	private ObjectName objectName;
+
+	/**
+	 * Creates a new instance with all counters zeroed.
+	 */
+	public ReaderMetrics() {
+	}
+
+	/**
+	 * Counts a line read from data source.
+	 */
+	void lineRead() {
+		lines.increment();
+	}
+
+	/**
+	 * Counts a line that is not NMEA 0183.
+	 */
+	void dataRead() {
+		data.increment();
+	}
+
+	/**
+	 * Counts a sentence with bad checksum.
+	 */
+	void checksumError() {
+		checksumErrors.increment();
+	}
+
+	/**
+	 * Counts an exception thrown by a listener.
+	 */
+	void listenerError() {
+		listenerErrors.increment();
+	}
+
+	/**
+	 * Counts a failed read.
+	 */
+	void readError() {
+		readErrors.increment();
+	}
+
+	/**
+	 * Counts a parsed sentence and records parse duration.
+	 *
+	 * @param sid Sentence ID
+	 * @param nanos Parse duration
+	 */
+	void parsed(String sid, long nanos) {
+		sentences.increment();
+		increment(sentenceCounts, sid);
+		parseLatency.record(nanos);
+	}
+
+	/**
+	 * Records dispatch duration.
+	 *
+	 * @param nanos Dispatch duration
+	 */
+	void dispatched(long nanos) {
+		dispatchLatency.record(nanos);
+	}
+
+	/**
+	 * Counts a sentence without parser.
+	 *
+	 * @param sid Sentence ID
+	 * @return {@code true} if this was the first occurrence of given ID,
+	 *         otherwise {@code false}.
+	 */
+	boolean unsupported(String sid) {
+		unsupported.increment();
+		return increment(unsupportedCounts, sid);
+	}
+
+	@Override
+	public long getLineCount() {
+		return lines.sum();
+	}
+
+	@Override
+	public long getSentenceCount() {
+		return sentences.sum();
+	}
+
+	/**
+	 * Returns the number of dispatched sentences of given type.
+	 *
+	 * @param sid Sentence ID, e.g. "GGA"
+	 * @return Sentence count
+	 */
+	public long getSentenceCount(String sid) {
+		LongAdder n = sentenceCounts.get(sid);
+		return n == null ? 0 : n.sum();
+	}
+
+	@Override
+	public long getDataCount() {
+		return data.sum();
+	}
+
+	@Override
+	public long getChecksumErrorCount() {
+		return checksumErrors.sum();
+	}
+
+	@Override
+	public long getUnsupportedCount() {
+		return unsupported.sum();
+	}
+
+	@Override
+	public long getListenerErrorCount() {
+		return listenerErrors.sum();
+	}
+
+	@Override
+	public long getReadErrorCount() {
+		return readErrors.sum();
+	}
+
+	@Override
+	public Map<String, Long> getSentenceCounts() {
+		return toMap(sentenceCounts);
+	}
+
+	@Override
+	public Map<String, Long> getUnsupportedCounts() {
+		return toMap(unsupportedCounts);
+	}
+
+	/**
+	 * Returns the histogram of parse durations.
+	 *
+	 * @return Parse latency histogram
+	 */
+	public LatencyHistogram getParseLatency() {
+		return parseLatency;
+	}
+
+	/**
+	 * Returns the histogram of dispatch durations.
+	 *
+	 * @return Dispatch latency histogram
+	 */
+	public LatencyHistogram getDispatchLatency() {
+		return dispatchLatency;
+	}
+
+	@Override
+	public double getParseLatencyMean() {
+		return parseLatency.getMean();
+	}
+
+	@Override
+	public long getParseLatencyMedian() {
+		return parseLatency.getPercentile(50);
+	}
+
+	@Override
+	public long getParseLatency99() {
+		return parseLatency.getPercentile(99);
+	}
+
+	@Override
+	public long getParseLatencyMax() {
+		return parseLatency.getMax();
+	}
+
+	@Override
+	public double getDispatchLatencyMean() {
+		return dispatchLatency.getMean();
+	}
+
+	@Override
+	public long getDispatchLatencyMedian() {
+		return dispatchLatency.getPercentile(50);
+	}
+
+	@Override
+	public long getDispatchLatency99() {
+		return dispatchLatency.getPercentile(99);
+	}
+
+	@Override
+	public long getDispatchLatencyMax() {
+		return dispatchLatency.getMax();
+	}
+
+	/**
+	 * Resets all counters and histograms. Unsupported sentence IDs seen so
+	 * far are forgotten, thus they will be logged again on next occurrence.
+	 */
+	@Override
+	public void reset() {
+		lines.reset();
+		sentences.reset();
+		data.reset();
+		checksumErrors.reset();
+		unsupported.reset();
+		listenerErrors.reset();
+		readErrors.reset();
+		sentenceCounts.clear();
+		unsupportedCounts.clear();
+		parseLatency.reset();
+		dispatchLatency.reset();
+	}
+
+	/**
+	 * Registers these metrics to platform MBean server with a unique name,
+	 * unless already registered.
+	 *
+	 * @return Name of the registered MBean
+	 * @throws IllegalStateException If registration fails.
+	 */
+	synchronized ObjectName register() {
+		if (objectName == null) {
+			try {
+				ObjectName name = new ObjectName(JMX_DOMAIN
+					+ ":type=SentenceReader,id=" + INSTANCES.incrementAndGet());
+				ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+				objectName = name;
+			} catch (JMException e) {
+				throw new IllegalStateException("MBean registration failed", e);
+			}
+		}
+		return objectName;
+	}
+
+	/**
+	 * Unregisters these metrics from platform MBean server, if registered.
+	 *
+	 * @throws IllegalStateException If unregistration fails.
+	 */
+	synchronized void unregister() {
+		if (objectName != null) {
+			try {
+				MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+				if (server.isRegistered(objectName)) {
+					server.unregisterMBean(objectName);
+				}
+				objectName = null;
+			} catch (JMException e) {
+				throw new IllegalStateException("MBean unregistration failed", e);
+			}
+		}
+	}
+
+	/**
+	 * Increments the counter of given key, adding it if not present.
+	 *
+	 * @return {@code true} if counter was added, otherwise {@code false}.
+	 */
+	private static boolean increment(ConcurrentMap<String, LongAdder> map, String key) {
+		// plain get first, as computeIfAbsent locks on Java 8 even if present
+		LongAdder n = map.get(key);
+		boolean added = false;
+		if (n == null) {
+			LongAdder created = new LongAdder();
+			n = map.putIfAbsent(key, created);
+			if (n == null) {
+				n = created;
+				added = true;
+			}
+		}
+		n.increment();
+		return added;
+	}
+
+	private static Map<String, Long> toMap(Map<String, LongAdder> counters) {
+		Map<String, Long> result = new TreeMap<>();
+		counters.forEach((k, v) -> result.put(k, v.sum()));
+		return Collections.unmodifiableMap(result);
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * ReaderMetricsMXBean.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.nmea.io;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link ReaderMetrics}, exposed over JMX by
+ * {@link SentenceReader#registerMBean()}. Latencies are in nanoseconds.
+ *
+ * @author Kimmo Tuukkanen
+ */
+public interface ReaderMetricsMXBean {
+
+	/**
+	 * Returns the number of lines read from data source.
+	 *
+	 * @return Line count
+	 */
+	long getLineCount();
+
+	/**
+	 * Returns the number of sentences parsed and dispatched.
+	 *
+	 * @return Sentence count
+	 */
+	long getSentenceCount();
+
+	/**
+	 * Returns the number of lines not recognized as NMEA 0183.
+	 *
+	 * @return Non-NMEA line count
+	 */
+	long getDataCount();
+
+	/**
+	 * Returns the number of sentences discarded due to checksum mismatch.
+	 *
+	 * @return Checksum error count
+	 */
+	long getChecksumErrorCount();
+
+	/**
+	 * Returns the number of sentences discarded for lack of parser.
+	 *
+	 * @return Unsupported sentence count
+	 */
+	long getUnsupportedCount();
+
+	/**
+	 * Returns the number of exceptions thrown by listeners.
+	 *
+	 * @return Listener exception count
+	 */
+	long getListenerErrorCount();
+
+	/**
+	 * Returns the number of failed reads and parses.
+	 *
+	 * @return Read error count
+	 */
+	long getReadErrorCount();
+
+	/**
+	 * Returns the number of dispatched sentences per sentence ID.
+	 *
+	 * @return Map of sentence ID to count
+	 */
+	Map<String, Long> getSentenceCounts();
+
+	/**
+	 * Returns the number of discarded unsupported sentences per sentence ID.
+	 *
+	 * @return Map of sentence ID to count
+	 */
+	Map<String, Long> getUnsupportedCounts();
+
+	/**
+	 * Returns the mean time spent in parsing a sentence.
+	 *
+	 * @return Mean in nanoseconds
+	 */
+	double getParseLatencyMean();
+
+	/**
+	 * Returns the median time spent in parsing a sentence.
+	 *
+	 * @return Median in nanoseconds
+	 */
+	long getParseLatencyMedian();
+
+	/**
+	 * Returns the 99th percentile of time spent in parsing a sentence.
+	 *
+	 * @return Percentile in nanoseconds
+	 */
+	long getParseLatency99();
+
+	/**
+	 * Returns the longest time spent in parsing a sentence.
+	 *
+	 * @return Maximum in nanoseconds
+	 */
+	long getParseLatencyMax();
+
+	/**
+	 * Returns the mean time spent in dispatching a sentence to listeners.
+	 *
+	 * @return Mean in nanoseconds
+	 */
+	double getDispatchLatencyMean();
+
+	/**
+	 * Returns the median time spent in dispatching a sentence to listeners.
+	 *
+	 * @return Median in nanoseconds
+	 */
+	long getDispatchLatencyMedian();
+
+	/**
+	 * Returns the 99th percentile of time spent in dispatching a sentence to
+	 * listeners.
+	 *
+	 * @return Percentile in nanoseconds
+	 */
+	long getDispatchLatency99();
+
+	/**
+	 * Returns the longest time spent in dispatching a sentence to listeners.
+	 *
+	 * @return Maximum in nanoseconds
+	 */
+	long getDispatchLatencyMax();
+
+	/**
+	 * Resets all counters and histograms.
+	 */
+	void reset();
+}
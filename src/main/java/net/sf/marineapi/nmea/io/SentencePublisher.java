@@ -0,0 +1,493 @@
+/*
+ * SentencePublisher.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.nmea.io;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import net.sf.marineapi.nmea.event.SentenceEvent;
+import net.sf.marineapi.nmea.event.SentenceListener;
+import net.sf.marineapi.nmea.sentence.Sentence;
+
+/**
+ * <p>
+ * Publishes the sentences of a {@link SentenceReader} to subscribers that
+ * signal their demand, following the protocol of
+ * {@code java.util.concurrent.Flow} and Reactive Streams. The nested
+ * {@link Subscriber} and {@link Subscription} interfaces have the same
+ * methods as their {@code Flow} counterparts, thus adapting to either API
+ * is a matter of delegation.</p>
+ * <p>
+ * Each subscriber has a bounded buffer of sentences read but not yet
+ * requested. The reader never waits for subscribers; when the buffer of a
+ * slow subscriber is full, the {@link DropPolicy} decides which sentence is
+ * discarded. Subscribers are signalled asynchronously with the given
+ * {@link Executor}, one signal at a time per subscriber.</p>
+ * <p>
+ * Subscribers are completed when the reader is stopped or the publisher is
+ * closed, after delivering the sentences already buffered.</p>
+ * <p>
+ * Example:</p>
+ * <pre>
+ * SentencePublisher publisher = new SentencePublisher(reader);
+ * publisher.subscribe(new Subscriber&lt;Sentence&gt;() {
+ *     private Subscription subscription;
+ *     public void onSubscribe(Subscription s) {
+ *         subscription = s;
+ *         s.request(1);
+ *     }
+ *     public void onNext(Sentence s) {
+ *         // process, then ask for more
+ *         subscription.request(1);
+ *     }
+ *     ...
+ * });
+ * reader.start();
+ * </pre>
+ *
+ * @author Kimmo Tuukkanen
+ * @see SentenceReader
+ */
+public class SentencePublisher implements SentenceListener, AutoCloseable {
+
+	/**
+	 * Receiver of sentences, see {@code java.util.concurrent.Flow.Subscriber}.
+	 *
+	 * @param <T> Type of received items
+	 */
+	public interface Subscriber<T> {
+
+		/**
+		 * Invoked once before any other method, with subscription for
+		 * requesting items.
+		 *
+		 * @param subscription New subscription
+		 */
+		void onSubscribe(Subscription subscription);
+
+		/**
+		 * Invoked with next item, never more times than requested.
+		 *
+		 * @param item Next item
+		 */
+		void onNext(T item);
+
+		/**
+		 * Invoked when the subscription ends in error, e.g. on buffer
+		 * overflow with {@link DropPolicy#ERROR}.
+		 *
+		 * @param throwable Cause of error
+		 */
+		void onError(Throwable throwable);
+
+		/**
+		 * Invoked when there are no more items.
+		 */
+		void onComplete();
+	}
+
+	/**
+	 * Link between publisher and subscriber, see
+	 * {@code java.util.concurrent.Flow.Subscription}.
+	 */
+	public interface Subscription {
+
+		/**
+		 * Adds the given number of items to demand of subscriber.
+		 *
+		 * @param n Number of items, greater than zero.
+		 */
+		void request(long n);
+
+		/**
+		 * Stops receiving items, buffered items are discarded.
+		 */
+		void cancel();
+	}
+
+	/**
+	 * Policy for sentences that do not fit in subscriber's buffer.
+	 */
+	public enum DropPolicy {
+
+		/** Oldest buffered sentence is discarded to make room. */
+		DROP_OLDEST,
+
+		/** The new sentence is discarded. */
+		DROP_NEWEST,
+
+		/** Subscription is cancelled and subscriber receives an error. */
+		ERROR
+	}
+
+	/** Default number of sentences buffered per subscriber. */
+	public static final int DEFAULT_BUFFER_SIZE = 256;
+
+	private static final Logger LOGGER = Logger.getLogger(SentencePublisher.class.getName());
+
+	private final SentenceReader reader;
+	private final int bufferSize;
+	private final DropPolicy policy;
+	private final Executor executor;
+	private final List<SentenceSubscription> subscriptions = new CopyOnWriteArrayList<>();
+	private final LongAdder dropped = new LongAdder();
+	private volatile boolean closed;
+
+	/**
+	 * Creates a new publisher for given reader, with default buffer size,
+	 * {@link DropPolicy#DROP_OLDEST} and the common fork-join pool.
+	 *
+	 * @param reader Reader to publish
+	 */
+	public SentencePublisher(SentenceReader reader) {
+		this(reader, DEFAULT_BUFFER_SIZE, DropPolicy.DROP_OLDEST, defaultExecutor());
+	}
+
+	/**
+	 * Creates a new publisher for given reader. The publisher is registered
+	 * as listener of all sentences.
+	 *
+	 * @param reader Reader to publish
+	 * @param bufferSize Maximum number of sentences buffered per subscriber
+	 * @param policy Policy for sentences exceeding the buffer size
+	 * @param executor Executor for signalling subscribers
+	 */
+	public SentencePublisher(SentenceReader reader, int bufferSize,
+		DropPolicy policy, Executor executor) {
+		if (reader == null || policy == null || executor == null) {
+			throw new IllegalArgumentException("Reader, policy and executor are required");
+		}
+		if (bufferSize < 1) {
+			throw new IllegalArgumentException("Buffer size must be greater than zero");
+		}
+		this.reader = reader;
+		this.bufferSize = bufferSize;
+		this.policy = policy;
+		this.executor = executor;
+		reader.addSentenceListener(this);
+	}
+
+	/**
+	 * Adds a new subscriber. If the publisher is closed, subscriber is
+	 * completed immediately.
+	 *
+	 * @param subscriber Subscriber to add
+	 */
+	public void subscribe(Subscriber<? super Sentence> subscriber) {
+		if (subscriber == null) {
+			throw new IllegalArgumentException("Subscriber cannot be null");
+		}
+		SentenceSubscription s = new SentenceSubscription(subscriber);
+		subscriptions.add(s);
+		s.subscribe();
+		if (closed) {
+			s.complete(null);
+		}
+	}
+
+	/**
+	 * Returns the number of current subscribers.
+	 *
+	 * @return Number of subscribers
+	 */
+	public int getSubscriberCount() {
+		return subscriptions.size();
+	}
+
+	/**
+	 * Returns the number of sentences discarded on buffer overflow, sum of
+	 * all subscribers.
+	 *
+	 * @return Number of dropped sentences
+	 */
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+
+	/**
+	 * Returns the buffer size of subscribers.
+	 *
+	 * @return Maximum number of buffered sentences
+	 */
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	/**
+	 * Returns the policy for sentences exceeding buffer size.
+	 *
+	 * @return Drop policy
+	 */
+	public DropPolicy getDropPolicy() {
+		return policy;
+	}
+
+	/**
+	 * Tells if the publisher has been closed.
+	 *
+	 * @return {@code true} if closed, otherwise {@code false}.
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Stops publishing and completes all subscribers after delivering the
+	 * buffered sentences. Does not stop the reader.
+	 */
+	@Override
+	public void close() {
+		closeExceptionally(null);
+	}
+
+	/**
+	 * Stops publishing and signals the given error to all subscribers,
+	 * after delivering the buffered sentences.
+	 *
+	 * @param error Cause of error, or {@code null} to complete normally.
+	 */
+	public void closeExceptionally(Throwable error) {
+		if (!closed) {
+			closed = true;
+			reader.removeSentenceListener(this);
+			for (SentenceSubscription s : subscriptions) {
+				s.complete(error);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see net.sf.marineapi.nmea.event.SentenceListener#readingPaused()
+	 */
+	@Override
+	public void readingPaused() {
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see net.sf.marineapi.nmea.event.SentenceListener#readingStarted()
+	 */
+	@Override
+	public void readingStarted() {
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see net.sf.marineapi.nmea.event.SentenceListener#readingStopped()
+	 */
+	@Override
+	public void readingStopped() {
+		close();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see net.sf.marineapi.nmea.event.SentenceListener#sentenceRead(net.sf.marineapi.nmea.event.SentenceEvent)
+	 */
+	@Override
+	public void sentenceRead(SentenceEvent event) {
+		if (closed) {
+			return;
+		}
+		Sentence sentence = event.getSentence();
+		for (SentenceSubscription s : subscriptions) {
+			s.offer(sentence);
+		}
+	}
+
+	/**
+	 * Signals in separate threads, like {@code SubmissionPublisher}, unless
+	 * the common pool has enough parallelism.
+	 */
+	private static Executor defaultExecutor() {
+		if (ForkJoinPool.getCommonPoolParallelism() > 1) {
+			return ForkJoinPool.commonPool();
+		}
+		return r -> {
+			Thread t = new Thread(r, "SentencePublisher");
+			t.setDaemon(true);
+			t.start();
+		};
+	}
+
+	/**
+	 * Buffer and demand of a single subscriber. Signals are delivered by a
+	 * drain task that runs in executor while there are requested sentences
+	 * or terminal signal pending; the work counter ensures only one task
+	 * runs at a time.
+	 */
+	private class SentenceSubscription implements Subscription, Runnable {
+
+		private final Subscriber<? super Sentence> subscriber;
+		private final ArrayDeque<Sentence> queue = new ArrayDeque<>();
+		private final AtomicInteger work = new AtomicInteger();
+
+		// guarded by this
+		private long demand;
+		private boolean completed;
+		private Throwable error;
+
+		private volatile boolean cancelled;
+
+		// accessed only by drain task
+		private boolean subscribed;
+
+		SentenceSubscription(Subscriber<? super Sentence> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		void subscribe() {
+			schedule();
+		}
+
+		void offer(Sentence sentence) {
+			synchronized (this) {
+				if (cancelled || completed) {
+					return;
+				}
+				if (queue.size() >= bufferSize) {
+					dropped.increment();
+					switch (policy) {
+					case DROP_OLDEST:
+						queue.poll();
+						break;
+					case DROP_NEWEST:
+						return;
+					default:
+						completed = true;
+						error = new IllegalStateException(
+							"Buffer overflow, subscriber too slow");
+						queue.clear();
+						break;
+					}
+				}
+				if (!completed) {
+					queue.add(sentence);
+				}
+			}
+			schedule();
+		}
+
+		void complete(Throwable cause) {
+			synchronized (this) {
+				if (completed) {
+					return;
+				}
+				completed = true;
+				error = cause;
+			}
+			schedule();
+		}
+
+		@Override
+		public void request(long n) {
+			synchronized (this) {
+				if (n <= 0) {
+					// rule 3.9 of Reactive Streams
+					if (!completed) {
+						completed = true;
+						error = new IllegalArgumentException(
+							"Non-positive request: " + n);
+						queue.clear();
+					}
+				} else {
+					demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+				}
+			}
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			subscriptions.remove(this);
+			synchronized (this) {
+				queue.clear();
+			}
+		}
+
+		private void schedule() {
+			if (work.getAndIncrement() == 0) {
+				try {
+					executor.execute(this);
+				} catch (RuntimeException e) {
+					LOGGER.log(Level.WARNING, "Signalling subscriber failed", e);
+					work.set(0);
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			int missed = 1;
+			do {
+				drain();
+				missed = work.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void drain() {
+			try {
+				if (!subscribed) {
+					subscribed = true;
+					subscriber.onSubscribe(this);
+				}
+				while (!cancelled) {
+					Sentence next;
+					Throwable cause;
+					synchronized (this) {
+						if (demand > 0 && !queue.isEmpty()) {
+							next = queue.poll();
+							demand--;
+						} else if (completed && queue.isEmpty()) {
+							next = null;
+						} else {
+							return;
+						}
+						cause = error;
+					}
+					if (next != null) {
+						subscriber.onNext(next);
+					} else {
+						cancel();
+						if (cause != null) {
+							subscriber.onError(cause);
+						} else {
+							subscriber.onComplete();
+						}
+					}
+				}
+			} catch (RuntimeException e) {
+				// rule 2.13, subscriber must not throw
+				LOGGER.log(Level.WARNING, "Subscriber failed, cancelling subscription", e);
+				cancel();
+			}
+		}
+	}
+}
@@ -32,6 +32,8 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.management.ObjectName;
+
 import net.sf.marineapi.nmea.event.SentenceEvent;
 import net.sf.marineapi.nmea.event.SentenceListener;
 import net.sf.marineapi.nmea.sentence.Sentence;
@@ -51,6 +53,7 @@ import net.sf.marineapi.nmea.sentence.SentenceId;
  * @see net.sf.marineapi.nmea.event.SentenceListener
  * @see net.sf.marineapi.nmea.event.SentenceEvent
  * @see net.sf.marineapi.nmea.parser.SentenceFactory
+ * @see SentencePublisher
  */
 public class SentenceReader {
 
@@ -83,6 +86,9 @@ public class SentenceReader {
 	// Exception listener
 	private ExceptionListener exceptionListener;
 
+	// counters and latencies, shared by successive data readers
+	private final ReaderMetrics metrics = new ReaderMetrics();
+
 	/**
 	 * Creates a SentenceReader for UDP/DatagramSocket.
 	 *
@@ -158,6 +164,7 @@ public class SentenceReader {
 				dataListener.dataRead(data);
 			}
 		} catch (Exception e) {
+			metrics.listenerError();
 			LOGGER.log(Level.WARNING, "Exception thrown by DataListener", e);
 		}
 	}
@@ -170,6 +177,7 @@ public class SentenceReader {
 			try {
 				listener.readingPaused();
 			} catch (Exception e) {
+				metrics.listenerError();
 				LOGGER.log(Level.WARNING, LOG_MSG, e);
 			}
 		}
@@ -184,6 +192,7 @@ public class SentenceReader {
 			try {
 				listener.readingStarted();
 			} catch (Exception e) {
+				metrics.listenerError();
 				LOGGER.log(Level.WARNING, LOG_MSG, e);
 			}
 		}
@@ -197,6 +206,7 @@ public class SentenceReader {
 			try {
 				listener.readingStopped();
 			} catch (Exception e) {
+				metrics.listenerError();
 				LOGGER.log(Level.WARNING, LOG_MSG, e);
 			}
 		}
@@ -208,8 +218,18 @@ public class SentenceReader {
 	 * @param sentence sentence string.
 	 */
 	void fireSentenceEvent(Sentence sentence) {
+		fireSentenceEvent(new SentenceEvent(this, sentence));
+	}
 
-		String type = sentence.getSentenceId();
+	/**
+	 * Dispatch event to all listeners. The same event instance is passed to
+	 * each listener.
+	 *
+	 * @param event Event to dispatch
+	 */
+	void fireSentenceEvent(SentenceEvent event) {
+
+		String type = event.getSentence().getSentenceId();
 		Set<SentenceListener> targets = new HashSet<>();
 
 		if (listeners.containsKey(type)) {
@@ -221,9 +241,9 @@ public class SentenceReader {
 
 		for (SentenceListener listener : targets) {
 			try {
-				SentenceEvent se = new SentenceEvent(this, sentence);
-				listener.sentenceRead(se);
+				listener.sentenceRead(event);
 			} catch (Exception e) {
+				metrics.listenerError();
 				LOGGER.log(Level.WARNING, LOG_MSG, e);
 			}
 		}
@@ -238,6 +258,16 @@ public class SentenceReader {
 		return exceptionListener;
 	}
 
+	/**
+	 * Returns the metrics of this reader. Metrics are kept over changes of
+	 * data source, e.g. {@link #setInputStream(InputStream)}.
+	 *
+	 * @return Reader metrics
+	 */
+	public ReaderMetrics getMetrics() {
+		return metrics;
+	}
+
 	/**
 	 * Returns the current reading paused timeout.
 	 *
@@ -296,6 +326,29 @@ public class SentenceReader {
 		}
 	}
 
+	/**
+	 * Registers the metrics of this reader to platform MBean server, with
+	 * a name like {@code net.sf.marineapi:type=SentenceReader,id=1}. Calling
+	 * this method again returns the existing name.
+	 *
+	 * @return Name of the registered MBean
+	 * @throws IllegalStateException If registration fails.
+	 * @see #getMetrics()
+	 */
+	public ObjectName registerMBean() {
+		return metrics.register();
+	}
+
+	/**
+	 * Removes the metrics of this reader from platform MBean server, if
+	 * registered by {@link #registerMBean()}.
+	 *
+	 * @throws IllegalStateException If unregistration fails.
+	 */
+	public void unregisterMBean() {
+		metrics.unregister();
+	}
+
 	/**
 	 * Removes the specified sentence listener regardless of sentence type(s)
 	 * it was added for.
@@ -0,0 +1,508 @@
+/*
+ * SentenceStreams.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.nmea.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import net.sf.marineapi.ais.message.AISMessage;
+import net.sf.marineapi.ais.parser.AISLineDecoder;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.Sentence;
+import net.sf.marineapi.nmea.sentence.SentenceValidator;
+
+/**
+ * <p>
+ * Factory of {@link Stream}s of sentences and AIS messages, for batch
+ * processing of recorded data without the listeners and worker thread of
+ * {@link SentenceReader}. Streams are lazy; input is read in blocks as
+ * elements are pulled, thus short-circuiting operations such as
+ * {@code findFirst()} or {@code limit()} stop reading early.</p>
+ * <p>
+ * Streams over files are split at line boundaries for {@code parallel()}
+ * processing, each part reading its own range of the file. A multi-sentence
+ * AIS message belongs to the part where its first sentence begins. Streams
+ * over other sources are sequential.</p>
+ * <p>
+ * Only blocking channels are supported, as elements are pulled by reading
+ * the source until a complete line is available.</p>
+ * <p>
+ * Lines that are not valid sentences, unsupported sentences and AIS messages
+ * that cannot be decoded are skipped. Read errors are thrown as
+ * {@link UncheckedIOException}. Closing the stream closes the source, thus
+ * streams should be used in try-with-resources:</p>
+ * <pre>
+ * try (Stream&lt;Sentence&gt; s = SentenceStreams.sentences(path)) {
+ *     long count = s.parallel().filter(GGASentence.class::isInstance).count();
+ * }
+ * </pre>
+ *
+ * @author Kimmo Tuukkanen
+ * @see SentenceReader
+ */
+public final class SentenceStreams {
+
+	// file ranges smaller than this are not split
+	private static final int MIN_SPLIT = 64 * 1024;
+
+	private static final int BLOCK_SIZE = 8192;
+	private static final int MAX_LINE = 1024;
+	private static final int AVERAGE_LINE = 64;
+
+	private SentenceStreams() {
+	}
+
+	/**
+	 * Returns a sequential stream of sentences read from given stream.
+	 *
+	 * @param in Stream to read
+	 * @return Stream of sentences
+	 */
+	public static Stream<Sentence> sentences(InputStream in) {
+		return sentences(channel(in));
+	}
+
+	/**
+	 * Returns a sequential stream of sentences read from given channel.
+	 *
+	 * @param channel Blocking channel to read
+	 * @return Stream of sentences
+	 * @throws IllegalArgumentException If channel is in non-blocking mode.
+	 */
+	public static Stream<Sentence> sentences(ReadableByteChannel channel) {
+		return stream(new SentenceSpliterator(channel), channel);
+	}
+
+	/**
+	 * Returns a splittable stream of sentences read from given file.
+	 *
+	 * @param file File to read
+	 * @return Stream of sentences
+	 * @throws IOException If file cannot be opened.
+	 */
+	public static Stream<Sentence> sentences(Path file) throws IOException {
+		FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+		return stream(new SentenceSpliterator(ch, 0, ch.size()), ch);
+	}
+
+	/**
+	 * Returns a sequential stream of AIS messages decoded from VDM and VDO
+	 * sentences read from given stream.
+	 *
+	 * @param in Stream to read
+	 * @return Stream of AIS messages
+	 */
+	public static Stream<AISMessage> aisMessages(InputStream in) {
+		return aisMessages(channel(in));
+	}
+
+	/**
+	 * Returns a sequential stream of AIS messages decoded from VDM and VDO
+	 * sentences read from given channel.
+	 *
+	 * @param channel Blocking channel to read
+	 * @return Stream of AIS messages
+	 * @throws IllegalArgumentException If channel is in non-blocking mode.
+	 */
+	public static Stream<AISMessage> aisMessages(ReadableByteChannel channel) {
+		return stream(new AISSpliterator(channel), channel);
+	}
+
+	/**
+	 * Returns a splittable stream of AIS messages decoded from VDM and VDO
+	 * sentences read from given file.
+	 *
+	 * @param file File to read
+	 * @return Stream of AIS messages
+	 * @throws IOException If file cannot be opened.
+	 */
+	public static Stream<AISMessage> aisMessages(Path file) throws IOException {
+		FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+		return stream(new AISSpliterator(ch, 0, ch.size()), ch);
+	}
+
+	private static ReadableByteChannel channel(InputStream in) {
+		if (in == null) {
+			throw new IllegalArgumentException("InputStream cannot be null");
+		}
+		return Channels.newChannel(in);
+	}
+
+	private static <T> Stream<T> stream(Spliterator<T> split, ReadableByteChannel source) {
+		if (source == null) {
+			throw new IllegalArgumentException("Source cannot be null");
+		}
+		if (source instanceof SelectableChannel
+			&& !((SelectableChannel) source).isBlocking()) {
+			throw new IllegalArgumentException("Non-blocking channels are not supported");
+		}
+		return StreamSupport.stream(split, false).onClose(() -> {
+			try {
+				source.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
+	/**
+	 * <p>
+	 * Spliterator of lines, converted to elements by subclasses. Reads either
+	 * a sequential channel to its end, or a range of file with positional
+	 * reads, in which case the lines beginning within the range are owned by
+	 * this spliterator. A range not starting at the beginning of file skips
+	 * the partial line at its start, i.e. the line is owned by the
+	 * preceding range.</p>
+	 */
+	abstract static class LineSpliterator<T> implements Spliterator<T> {
+
+		private final ReadableByteChannel channel;
+		private final FileChannel file;
+		private final ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+		private byte[] line = new byte[128];
+
+		// file offset of first byte in buffer, and end of owned range
+		private long offset;
+		private long end;
+		private boolean skipLine;
+		private boolean eof;
+
+		/** Set by subclass to end the traversal. */
+		boolean done;
+
+		LineSpliterator(ReadableByteChannel channel) {
+			this.channel = channel;
+			this.file = null;
+			this.end = Long.MAX_VALUE;
+			buffer.flip();
+		}
+
+		LineSpliterator(FileChannel file, long from, long to) {
+			this.channel = null;
+			this.file = file;
+			buffer.flip();
+			setRange(from, to);
+		}
+
+		/**
+		 * Converts a line to element.
+		 *
+		 * @param line Line without terminator
+		 * @param length Line length
+		 * @param own Whether the line begins within owned range
+		 * @return Element or {@code null} to skip the line.
+		 */
+		abstract T convert(byte[] line, int length, boolean own);
+
+		/**
+		 * Tells if lines after the owned range are needed, e.g. to complete
+		 * a multi-line element. Spliterator is not split while this is
+		 * {@code true}.
+		 */
+		boolean readPastEnd() {
+			return false;
+		}
+
+		/**
+		 * Creates a spliterator for given file range.
+		 */
+		abstract LineSpliterator<T> create(FileChannel file, long from, long to);
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			try {
+				while (!done) {
+					long start = position();
+					if (start >= end && !readPastEnd()) {
+						done = true;
+						break;
+					}
+					int length = readLine();
+					if (length < 0) {
+						done = true;
+						break;
+					}
+					if (skipLine) {
+						skipLine = false;
+						continue;
+					}
+					if (length > MAX_LINE) {
+						continue;
+					}
+					T element = convert(line, length, start < end);
+					if (element != null) {
+						action.accept(element);
+						return true;
+					}
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return false;
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			// an element in progress would be lost from both halves
+			if (file == null || done || readPastEnd()) {
+				return null;
+			}
+			long start = skipLine ? offset + buffer.position() + 1 : position();
+			if (end - start < MIN_SPLIT * 2L) {
+				return null;
+			}
+			// the prefix continues from current position, this one from
+			// the middle
+			long mid = start + (end - start) / 2;
+			LineSpliterator<T> prefix = create(file, start, mid);
+			prefix.skipLine = skipLine;
+			prefix.buffer.clear();
+			prefix.offset = skipLine ? start - 1 : start;
+			prefix.buffer.flip();
+			onSplit(prefix);
+			setRange(mid, end);
+			return prefix;
+		}
+
+		/**
+		 * Invoked when the prefix of this spliterator is split off.
+		 */
+		void onSplit(LineSpliterator<T> prefix) {
+		}
+
+		@Override
+		public long estimateSize() {
+			if (file == null) {
+				return Long.MAX_VALUE;
+			}
+			return Math.max(0, end - position()) / AVERAGE_LINE;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | NONNULL;
+		}
+
+		private void setRange(long from, long to) {
+			// reading from byte before range reveals if it begins at line
+			// start; the line ending there is skipped
+			offset = Math.max(0, from - 1);
+			skipLine = from > 0;
+			end = to;
+			eof = false;
+			buffer.clear();
+			buffer.flip();
+		}
+
+		private long position() {
+			return offset + buffer.position();
+		}
+
+		/**
+		 * Reads next line in line array, returns its length without
+		 * terminator, or -1 at end of input. Length of too long lines is
+		 * returned but only the beginning is copied.
+		 */
+		private int readLine() throws IOException {
+			int n = 0;
+			while (true) {
+				if (!buffer.hasRemaining()) {
+					if (eof || !fill()) {
+						eof = true;
+						return n > 0 ? trim(n) : -1;
+					}
+				}
+				byte b = buffer.get();
+				if (b == '\n') {
+					return trim(n);
+				}
+				if (n < line.length) {
+					line[n] = b;
+				} else if (n < MAX_LINE) {
+					line = Arrays.copyOf(line, MAX_LINE + 1);
+					line[n] = b;
+				}
+				n++;
+			}
+		}
+
+		private int trim(int n) {
+			int length = Math.min(n, line.length);
+			while (length > 0 && line[length - 1] == '\r') {
+				length--;
+			}
+			return n > MAX_LINE ? n : length;
+		}
+
+		/**
+		 * Reads next block in buffer.
+		 */
+		private boolean fill() throws IOException {
+			offset += buffer.limit();
+			buffer.clear();
+			int n;
+			do {
+				n = file != null ? file.read(buffer, offset) : channel.read(buffer);
+			} while (n == 0);
+			buffer.flip();
+			return n > 0;
+		}
+	}
+
+	private static class SentenceSpliterator extends LineSpliterator<Sentence> {
+
+		private final SentenceFactory factory = SentenceFactory.getInstance();
+
+		SentenceSpliterator(ReadableByteChannel channel) {
+			super(channel);
+		}
+
+		SentenceSpliterator(FileChannel file, long from, long to) {
+			super(file, from, to);
+		}
+
+		@Override
+		Sentence convert(byte[] line, int length, boolean own) {
+			String data = new String(line, 0, length, StandardCharsets.ISO_8859_1);
+			if (SentenceValidator.isValid(data)) {
+				try {
+					return factory.createParser(data);
+				} catch (RuntimeException e) {
+					// unsupported or malformed sentence
+				}
+			}
+			return null;
+		}
+
+		@Override
+		LineSpliterator<Sentence> create(FileChannel file, long from, long to) {
+			return new SentenceSpliterator(file, from, to);
+		}
+	}
+
+	private static class AISSpliterator extends LineSpliterator<AISMessage> {
+
+		private final AISLineDecoder decoder = new AISLineDecoder();
+
+		// false until the first sentence of a message in split range
+		private boolean synced;
+
+		AISSpliterator(ReadableByteChannel channel) {
+			super(channel);
+			synced = true;
+		}
+
+		AISSpliterator(FileChannel file, long from, long to) {
+			super(file, from, to);
+			synced = from == 0;
+		}
+
+		@Override
+		AISMessage convert(byte[] line, int length, boolean own) {
+			int begin = sentenceStart(line, length);
+			if (begin < 0) {
+				return null;
+			}
+			int fragment = fragmentNumber(line, begin, length);
+			if (!own && fragment < 2) {
+				// only the rest of pending message is read past range end
+				done = true;
+				return null;
+			}
+			if (!synced && fragment > 1) {
+				// trailing fragments of message owned by preceding range
+				return null;
+			}
+			synced = true;
+			try {
+				return decoder.decode(line, begin, length - begin);
+			} catch (IllegalArgumentException e) {
+				// invalid, out of order or unsupported message type
+				return null;
+			}
+		}
+
+		@Override
+		boolean readPastEnd() {
+			return decoder.hasPendingFragments();
+		}
+
+		@Override
+		void onSplit(LineSpliterator<AISMessage> prefix) {
+			((AISSpliterator) prefix).synced = synced;
+			synced = false;
+		}
+
+		@Override
+		LineSpliterator<AISMessage> create(FileChannel file, long from, long to) {
+			return new AISSpliterator(file, from, to);
+		}
+
+		/**
+		 * Returns the index of VDM or VDO sentence in line, e.g. after a tag
+		 * block or time stamp, or -1 if not found.
+		 */
+		private static int sentenceStart(byte[] line, int length) {
+			for (int i = 0; i + 6 < length; i++) {
+				byte b = line[i];
+				if ((b == '!' || b == '$') && line[i + 3] == 'V' && line[i + 4] == 'D'
+					&& (line[i + 5] == 'M' || line[i + 5] == 'O')) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Returns the fragment number field of sentence, -1 if not numeric.
+		 */
+		private static int fragmentNumber(byte[] line, int begin, int length) {
+			int commas = 0;
+			int i = begin;
+			while (i < length && commas < 2) {
+				if (line[i++] == ',') {
+					commas++;
+				}
+			}
+			int value = 0;
+			int digits = 0;
+			while (i < length && line[i] >= '0' && line[i] <= '9' && digits < 3) {
+				value = value * 10 + (line[i++] - '0');
+				digits++;
+			}
+			return digits == 0 ? -1 : value;
+		}
+	}
+}
@@ -0,0 +1,561 @@
+/*
+ * SentenceWriter.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.nmea.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.SocketAddress;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import net.sf.marineapi.nmea.sentence.Sentence;
+
+/**
+ * <p>
+ * Writes sentences to an {@link OutputStream}, {@link WritableByteChannel} or
+ * {@link DatagramChannel}, e.g. for repeating or simulating NMEA output.
+ * Sentences are encoded directly in a reusable byte buffer, terminated with
+ * {@code <CR><LF>}, and written in batches as determined by
+ * {@link FlushPolicy}. With datagram channels, each batch is sent as one
+ * datagram and sentences are never split between datagrams.</p>
+ * <p>
+ * Writes to streams and blocking channels block until the consumer accepts
+ * the data. With non-blocking channels, a slow consumer is never waited for;
+ * when the buffer is full and the channel does not accept more data, new
+ * sentences are dropped and counted in {@link #getDroppedCount()}.</p>
+ * <p>
+ * All methods are synchronized, thus a single writer may be shared by
+ * several threads, e.g. listeners of different {@link SentenceReader}s.</p>
+ * <p>
+ * Example:</p>
+ * <pre>
+ * SentenceWriter writer = new SentenceWriter(channel, target);
+ * writer.setFlushPolicy(FlushPolicy.TIME);
+ * reader.addSentenceListener(new SentenceListener() {
+ *     public void sentenceRead(SentenceEvent event) {
+ *         try {
+ *             writer.write(event.getSentence());
+ *         } catch (IOException e) {
+ *             // handle error
+ *         }
+ *     }
+ *     ...
+ * });
+ * </pre>
+ *
+ * @author Kimmo Tuukkanen
+ * @see SentenceReader
+ */
+public class SentenceWriter implements Closeable, Flushable {
+
+	/**
+	 * Policy for writing buffered sentences to the output.
+	 */
+	public enum FlushPolicy {
+
+		/** Each sentence is written as soon as it is buffered. */
+		IMMEDIATE,
+
+		/** Sentences are written when the buffer is full. */
+		SIZE,
+
+		/**
+		 * Sentences are written when the buffer is full, or when the first
+		 * buffered sentence has waited for the maximum delay.
+		 */
+		TIME
+	}
+
+	/** Default buffer size for streams and channels, in bytes. */
+	public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+	/** Default maximum size of datagrams, in bytes. */
+	public static final int DEFAULT_DATAGRAM_SIZE = 1024;
+
+	/** Default maximum delay of {@link FlushPolicy#TIME}, in milliseconds. */
+	public static final long DEFAULT_MAX_DELAY = 100;
+
+	private static final Logger LOGGER = Logger.getLogger(SentenceWriter.class.getName());
+
+	// room for a sentence of maximum length and terminator
+	private static final int MIN_BUFFER_SIZE = Sentence.MAX_LENGTH + 2;
+	private static final byte CR = '\r';
+	private static final byte LF = '\n';
+
+	private final Target target;
+	private final ByteBuffer buffer;
+	private FlushPolicy policy = FlushPolicy.SIZE;
+	private long maxDelay = DEFAULT_MAX_DELAY;
+	private long firstBuffered;
+	private long sentences;
+	private long dropped;
+	private boolean closed;
+	private Timer timer;
+
+	/**
+	 * Creates a new writer for given stream, with default buffer size.
+	 *
+	 * @param out Stream to write to
+	 */
+	public SentenceWriter(OutputStream out) {
+		this(out, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Creates a new writer for given stream.
+	 *
+	 * @param out Stream to write to
+	 * @param bufferSize Buffer size in bytes, at least
+	 *            {@link Sentence#MAX_LENGTH} + 2.
+	 */
+	public SentenceWriter(OutputStream out, int bufferSize) {
+		if (out == null) {
+			throw new IllegalArgumentException("OutputStream cannot be null");
+		}
+		this.target = new StreamTarget(out);
+		this.buffer = allocate(bufferSize);
+	}
+
+	/**
+	 * Creates a new writer for given channel, with default buffer size. If
+	 * the channel is a {@link DatagramChannel}, it must be connected and the
+	 * default datagram size is used.
+	 *
+	 * @param channel Channel to write to
+	 */
+	public SentenceWriter(WritableByteChannel channel) {
+		this(channel, channel instanceof DatagramChannel
+			? DEFAULT_DATAGRAM_SIZE : DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Creates a new writer for given channel. If the channel is a
+	 * {@link DatagramChannel}, it must be connected and buffer size is the
+	 * maximum size of datagrams.
+	 *
+	 * @param channel Channel to write to
+	 * @param bufferSize Buffer size in bytes, at least
+	 *            {@link Sentence#MAX_LENGTH} + 2.
+	 */
+	public SentenceWriter(WritableByteChannel channel, int bufferSize) {
+		if (channel == null) {
+			throw new IllegalArgumentException("Channel cannot be null");
+		}
+		if (channel instanceof DatagramChannel) {
+			this.target = new DatagramTarget((DatagramChannel) channel, null);
+		} else {
+			this.target = new ChannelTarget(channel);
+		}
+		this.buffer = allocate(bufferSize);
+	}
+
+	/**
+	 * Creates a new writer sending datagrams of default size to given
+	 * address.
+	 *
+	 * @param channel Channel to send with
+	 * @param address Destination address
+	 */
+	public SentenceWriter(DatagramChannel channel, SocketAddress address) {
+		this(channel, address, DEFAULT_DATAGRAM_SIZE);
+	}
+
+	/**
+	 * Creates a new writer sending datagrams to given address.
+	 *
+	 * @param channel Channel to send with
+	 * @param address Destination address
+	 * @param datagramSize Maximum size of datagrams in bytes, at least
+	 *            {@link Sentence#MAX_LENGTH} + 2.
+	 */
+	public SentenceWriter(DatagramChannel channel, SocketAddress address, int datagramSize) {
+		if (channel == null || address == null) {
+			throw new IllegalArgumentException("Channel and address are required");
+		}
+		this.target = new DatagramTarget(channel, address);
+		this.buffer = allocate(datagramSize);
+	}
+
+	/**
+	 * Returns the current flush policy.
+	 *
+	 * @return Flush policy, {@link FlushPolicy#SIZE} by default.
+	 */
+	public synchronized FlushPolicy getFlushPolicy() {
+		return policy;
+	}
+
+	/**
+	 * Sets the flush policy. With {@link FlushPolicy#TIME}, a background
+	 * timer writes sentences that have waited for maximum delay also when
+	 * no new sentences are written.
+	 *
+	 * @param policy Policy to set
+	 */
+	public synchronized void setFlushPolicy(FlushPolicy policy) {
+		if (policy == null) {
+			throw new IllegalArgumentException("FlushPolicy cannot be null");
+		}
+		this.policy = policy;
+		schedule();
+	}
+
+	/**
+	 * Returns the maximum delay of buffered sentences with
+	 * {@link FlushPolicy#TIME}.
+	 *
+	 * @return Delay in milliseconds
+	 */
+	public synchronized long getMaxDelay() {
+		return maxDelay;
+	}
+
+	/**
+	 * Sets the maximum delay of buffered sentences with
+	 * {@link FlushPolicy#TIME}.
+	 *
+	 * @param millis Delay in milliseconds, greater than zero.
+	 */
+	public synchronized void setMaxDelay(long millis) {
+		if (millis < 1) {
+			throw new IllegalArgumentException("Delay must be greater than zero");
+		}
+		this.maxDelay = millis;
+		schedule();
+	}
+
+	/**
+	 * Returns the number of sentences accepted by this writer, including the
+	 * ones still in buffer.
+	 *
+	 * @return Number of sentences
+	 */
+	public synchronized long getSentenceCount() {
+		return sentences;
+	}
+
+	/**
+	 * Returns the number of sentences dropped because a non-blocking channel
+	 * did not accept data, including the ones discarded on close.
+	 *
+	 * @return Number of dropped sentences
+	 */
+	public synchronized long getDroppedCount() {
+		return dropped;
+	}
+
+	/**
+	 * Returns the number of bytes waiting in buffer.
+	 *
+	 * @return Number of buffered bytes
+	 */
+	public synchronized int getBufferedBytes() {
+		return buffer.position();
+	}
+
+	/**
+	 * Writes the given sentence, followed by {@code <CR><LF>}. Depending on
+	 * flush policy, the sentence is written to output immediately or later
+	 * with other sentences.
+	 *
+	 * @param sentence Sentence to write
+	 * @return {@code true} if sentence was written or buffered,
+	 *         {@code false} if it was dropped.
+	 * @throws IOException If writing to output fails.
+	 * @throws IllegalStateException If writer is closed or sentence is
+	 *             invalid.
+	 * @throws IllegalArgumentException If sentence does not fit in buffer.
+	 */
+	public synchronized boolean write(Sentence sentence) throws IOException {
+		if (closed) {
+			throw new IllegalStateException("Writer is closed");
+		}
+		if (!append(sentence)) {
+			drain();
+			if (!append(sentence)) {
+				if (buffer.position() == 0) {
+					throw new IllegalArgumentException("Sentence does not fit in buffer");
+				}
+				dropped++;
+				return false;
+			}
+		}
+		sentences++;
+
+		if (policy == FlushPolicy.IMMEDIATE) {
+			drain();
+			target.flush();
+		} else if (buffer.remaining() < MIN_BUFFER_SIZE) {
+			drain();
+		} else if (policy == FlushPolicy.TIME && isDue()) {
+			drain();
+			target.flush();
+		}
+		return true;
+	}
+
+	/**
+	 * Writes all buffered sentences to output. With non-blocking channels,
+	 * data not accepted by the channel remains in buffer.
+	 *
+	 * @throws IOException If writing to output fails.
+	 */
+	@Override
+	public synchronized void flush() throws IOException {
+		if (!closed) {
+			drain();
+			target.flush();
+		}
+	}
+
+	/**
+	 * Flushes the buffered sentences and closes the output. Does nothing if
+	 * already closed. Sentences not accepted by a non-blocking channel are
+	 * discarded and counted in {@link #getDroppedCount()}.
+	 *
+	 * @throws IOException If writing or closing the output fails.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		try {
+			flush();
+		} finally {
+			closed = true;
+			schedule();
+			discard();
+			target.close();
+		}
+	}
+
+	/**
+	 * Encodes the sentence at end of buffer, leaves buffer unchanged if it
+	 * does not fit.
+	 */
+	private boolean append(Sentence sentence) {
+		int start = buffer.position();
+		try {
+			sentence.write(buffer);
+			if (buffer.remaining() >= 2) {
+				buffer.put(CR).put(LF);
+				if (start == 0) {
+					firstBuffered = System.nanoTime();
+				}
+				return true;
+			}
+		} catch (BufferOverflowException e) {
+			// not enough room
+		}
+		buffer.position(start);
+		return false;
+	}
+
+	/**
+	 * Clears the buffer, counting the remaining sentences as dropped. A
+	 * partially written sentence is counted as well.
+	 */
+	private void discard() {
+		for (int i = 0; i < buffer.position(); i++) {
+			if (buffer.get(i) == LF) {
+				dropped++;
+			}
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Writes the buffer to output as far as it is accepted.
+	 */
+	private void drain() throws IOException {
+		if (buffer.position() == 0) {
+			return;
+		}
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining() && target.write(buffer) > 0) {
+				// repeat until written or consumer stalls
+			}
+		} finally {
+			buffer.compact();
+			if (buffer.position() > 0) {
+				firstBuffered = System.nanoTime();
+			}
+		}
+	}
+
+	private boolean isDue() {
+		long elapsed = System.nanoTime() - firstBuffered;
+		return elapsed >= TimeUnit.MILLISECONDS.toNanos(maxDelay);
+	}
+
+	/**
+	 * Starts, restarts or stops the timer according to current state.
+	 */
+	private void schedule() {
+		if (timer != null) {
+			timer.cancel();
+			timer = null;
+		}
+		if (policy == FlushPolicy.TIME && !closed) {
+			long period = Math.max(1, maxDelay / 2);
+			timer = new Timer("SentenceWriter", true);
+			timer.schedule(new FlushTask(), period, period);
+		}
+	}
+
+	/**
+	 * Flushes the buffer when due, if there are no new sentences to trigger
+	 * it.
+	 */
+	private class FlushTask extends TimerTask {
+		@Override
+		public void run() {
+			synchronized (SentenceWriter.this) {
+				if (closed || buffer.position() == 0 || !isDue()) {
+					return;
+				}
+				try {
+					drain();
+					target.flush();
+				} catch (IOException e) {
+					LOGGER.log(Level.WARNING, "Timed flush failed", e);
+				}
+			}
+		}
+	}
+
+	private static ByteBuffer allocate(int size) {
+		if (size < MIN_BUFFER_SIZE) {
+			throw new IllegalArgumentException(
+				"Buffer size must be at least " + MIN_BUFFER_SIZE);
+		}
+		return ByteBuffer.allocate(size);
+	}
+
+	/**
+	 * Output of buffered data.
+	 */
+	private interface Target {
+
+		/**
+		 * Writes remaining bytes of buffer, advancing its position.
+		 *
+		 * @return Number of bytes written, zero if consumer is not ready.
+		 */
+		int write(ByteBuffer data) throws IOException;
+
+		void flush() throws IOException;
+
+		void close() throws IOException;
+	}
+
+	private static class StreamTarget implements Target {
+
+		private final OutputStream out;
+
+		StreamTarget(OutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public int write(ByteBuffer data) throws IOException {
+			int length = data.remaining();
+			out.write(data.array(), data.arrayOffset() + data.position(), length);
+			data.position(data.limit());
+			return length;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			out.close();
+		}
+	}
+
+	private static class ChannelTarget implements Target {
+
+		private final WritableByteChannel channel;
+
+		ChannelTarget(WritableByteChannel channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		public int write(ByteBuffer data) throws IOException {
+			return channel.write(data);
+		}
+
+		@Override
+		public void flush() {
+			// channels are not buffered
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+
+	private static class DatagramTarget implements Target {
+
+		private final DatagramChannel channel;
+		private final SocketAddress address;
+
+		DatagramTarget(DatagramChannel channel, SocketAddress address) {
+			this.channel = channel;
+			this.address = address;
+		}
+
+		@Override
+		public int write(ByteBuffer data) throws IOException {
+			// whole buffer is sent as one datagram, or nothing at all
+			if (address == null) {
+				return channel.write(data);
+			}
+			return channel.send(data, address);
+		}
+
+		@Override
+		public void flush() {
+			// datagrams are sent when buffer is drained
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+}
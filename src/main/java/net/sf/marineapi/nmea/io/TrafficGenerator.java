@@ -0,0 +1,597 @@
+/*
+ * TrafficGenerator.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.nmea.io;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.SocketAddress;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import net.sf.marineapi.ais.parser.AISMessageEncoder;
+import net.sf.marineapi.ais.util.Angle12;
+import net.sf.marineapi.ais.util.Latitude27;
+import net.sf.marineapi.ais.util.Longitude28;
+import net.sf.marineapi.ais.util.RateOfTurn;
+import net.sf.marineapi.ais.util.SixbitWriter;
+import net.sf.marineapi.ais.util.SpeedOverGround;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.GGASentence;
+import net.sf.marineapi.nmea.sentence.GLLSentence;
+import net.sf.marineapi.nmea.sentence.GSVSentence;
+import net.sf.marineapi.nmea.sentence.HDTSentence;
+import net.sf.marineapi.nmea.sentence.RMCSentence;
+import net.sf.marineapi.nmea.sentence.SentenceId;
+import net.sf.marineapi.nmea.sentence.TalkerId;
+import net.sf.marineapi.nmea.sentence.VTGSentence;
+import net.sf.marineapi.nmea.util.CompassPoint;
+import net.sf.marineapi.nmea.util.DataStatus;
+import net.sf.marineapi.nmea.util.Date;
+import net.sf.marineapi.nmea.util.FaaMode;
+import net.sf.marineapi.nmea.util.GpsFixQuality;
+import net.sf.marineapi.nmea.util.Position;
+import net.sf.marineapi.nmea.util.SatelliteInfo;
+import net.sf.marineapi.nmea.util.Time;
+import net.sf.marineapi.nmea.util.Units;
+
+/**
+ * <p>
+ * Generator of synthetic NMEA 0183 traffic for load testing. Produces valid,
+ * checksummed sentences of a vessel moving at constant speed and AIS position
+ * reports of surrounding vessels, at configurable mix and rate. Sentences are
+ * written to an {@code OutputStream}, e.g. a file, socket or {@link
+ * java.io.PipedOutputStream} connected to {@link SentenceReader}, or sent
+ * over UDP.</p>
+ * <p>
+ * Supported sentence types are GGA, GLL, GSV, HDT, RMC, VTG and VDM (AIS
+ * message type 1). Each type has a weight, i.e. number of sentences per
+ * simulated second; zero excludes the type. By default the mix contains one
+ * GGA, RMC, VTG, GSV and HDT, and five VDM sentences per second.</p>
+ * <p>
+ * Sentences are built by reusing one parser per type, created with {@link
+ * SentenceFactory#createParser(TalkerId, SentenceId)}. Generation is not
+ * thread-safe, except for {@link #stop()} and {@link #getSentenceCount()}.
+ * </p>
+ * <p>
+ * Example, feeding a reader through a pipe at 100k sentences per second:</p>
+ * <pre>
+ * PipedInputStream in = new PipedInputStream(65536);
+ * TrafficGenerator gen = new TrafficGenerator(new PipedOutputStream(in));
+ * gen.setRate(100000);
+ * new SentenceReader(in).start();
+ * gen.start();
+ * </pre>
+ *
+ * @author Kimmo Tuukkanen
+ * @see net.sf.marineapi.example.TrafficGeneratorExample
+ */
+public class TrafficGenerator implements Runnable {
+
+	/** Maximum size of generated UDP datagrams, in bytes. */
+	public static final int MAX_DATAGRAM = 1024;
+
+	private static final Logger LOGGER = Logger.getLogger(TrafficGenerator.class.getName());
+
+	private static final SentenceId[] SUPPORTED = {
+		SentenceId.GGA, SentenceId.GLL, SentenceId.GSV, SentenceId.HDT,
+		SentenceId.RMC, SentenceId.VTG, SentenceId.VDM };
+
+	// flush output and sleep if ahead of schedule more than this
+	private static final long PARK_THRESHOLD = 200000L;
+	private static final long NANOS_PER_SECOND = 1000000000L;
+	private static final double METERS_PER_DEGREE = 60 * 1852.0;
+	private static final int FIRST_MMSI = 230000000;
+
+	private final Sink sink;
+	private final Map<SentenceId, Integer> weights = new EnumMap<>(SentenceId.class);
+	private final AtomicLong count = new AtomicLong();
+	private volatile boolean stopped;
+	private Thread thread;
+
+	// cycle of sentence types, one cycle per simulated second
+	private SentenceId[] schedule;
+	private int slot;
+	private int rate;
+	private TalkerId talker = TalkerId.GP;
+	private int vessels = 100;
+	private int vessel;
+
+	// own vessel state
+	private double lat = 60.0;
+	private double lon = 25.0;
+	private double speed = 12.0;
+	private double course = 45.0;
+	private long second = 12 * 3600;
+	private LocalDate day = LocalDate.of(2026, 1, 1);
+	private Date date = new Date(2026, 1, 1);
+	private Time time;
+	private Position position;
+
+	private GGASentence gga;
+	private GLLSentence gll;
+	private GSVSentence gsv;
+	private HDTSentence hdt;
+	private RMCSentence rmc;
+	private VTGSentence vtg;
+	private AISMessageEncoder ais;
+	private byte[] line = new byte[128];
+
+	/**
+	 * Creates a generator writing to given stream. Output is buffered and
+	 * flushed whenever the generator is ahead of target rate, or when
+	 * generation ends.
+	 *
+	 * @param out Stream to write to
+	 */
+	public TrafficGenerator(OutputStream out) {
+		if (out == null) {
+			throw new IllegalArgumentException("OutputStream cannot be null");
+		}
+		this.sink = new StreamSink(out);
+		setDefaultMix();
+	}
+
+	/**
+	 * Creates a generator sending datagrams with given socket. Lines are
+	 * packed in datagrams of at most {@link #MAX_DATAGRAM} bytes.
+	 *
+	 * @param socket Socket to send with
+	 * @param target Destination address, e.g. address of a socket read by
+	 *            {@link SentenceReader#SentenceReader(DatagramSocket)}.
+	 */
+	public TrafficGenerator(DatagramSocket socket, SocketAddress target) {
+		if (socket == null || target == null) {
+			throw new IllegalArgumentException("Socket and target address are required");
+		}
+		this.sink = new DatagramSink(socket, target);
+		setDefaultMix();
+	}
+
+	/**
+	 * Returns the weight of given sentence type.
+	 *
+	 * @param id Sentence type
+	 * @return Sentences per simulated second, zero if not generated.
+	 */
+	public int getWeight(SentenceId id) {
+		Integer w = weights.get(id);
+		return w == null ? 0 : w;
+	}
+
+	/**
+	 * Sets the weight of given sentence type, i.e. number of sentences per
+	 * simulated second.
+	 *
+	 * @param id Sentence type
+	 * @param weight Weight to set, zero to exclude type.
+	 * @throws IllegalArgumentException If type is not supported or weight is
+	 *             negative.
+	 */
+	public void setWeight(SentenceId id, int weight) {
+		if (!Arrays.asList(SUPPORTED).contains(id)) {
+			throw new IllegalArgumentException("Unsupported sentence type: " + id);
+		}
+		if (weight < 0) {
+			throw new IllegalArgumentException("Weight cannot be negative");
+		}
+		weights.put(id, weight);
+		// new mix begins from next simulated second
+		schedule = null;
+		slot = 0;
+	}
+
+	/**
+	 * Returns the target rate.
+	 *
+	 * @return Sentences per second, zero if unlimited.
+	 */
+	public int getRate() {
+		return rate;
+	}
+
+	/**
+	 * Sets the target rate. Default is zero, i.e. as fast as possible.
+	 *
+	 * @param sentencesPerSecond Rate to set, zero for unlimited.
+	 * @throws IllegalArgumentException If rate is negative.
+	 */
+	public void setRate(int sentencesPerSecond) {
+		if (sentencesPerSecond < 0) {
+			throw new IllegalArgumentException("Rate cannot be negative");
+		}
+		this.rate = sentencesPerSecond;
+	}
+
+	/**
+	 * Sets the talker ID of generated GNSS and heading sentences. AIS
+	 * sentences are always generated with {@link TalkerId#AI}. Default is
+	 * {@link TalkerId#GP}.
+	 *
+	 * @param id Talker ID to set
+	 */
+	public void setTalkerId(TalkerId id) {
+		if (id == null) {
+			throw new IllegalArgumentException("TalkerId cannot be null");
+		}
+		this.talker = id;
+		this.gga = null;
+	}
+
+	/**
+	 * Sets the number of simulated AIS targets, reported in turns with
+	 * consecutive MMSI numbers. Default is 100.
+	 *
+	 * @param count Number of vessels
+	 * @throws IllegalArgumentException If count is not positive.
+	 */
+	public void setVesselCount(int count) {
+		if (count < 1) {
+			throw new IllegalArgumentException("Vessel count must be positive");
+		}
+		this.vessels = count;
+		this.vessel = 0;
+	}
+
+	/**
+	 * Returns the number of sentences written so far.
+	 *
+	 * @return Sentence count
+	 */
+	public long getSentenceCount() {
+		return count.get();
+	}
+
+	/**
+	 * Generates the next sentence without writing it.
+	 *
+	 * @return Sentence String with checksum, without line terminator.
+	 * @throws IllegalStateException If all weights are zero.
+	 */
+	public String next() {
+		if (schedule == null) {
+			schedule = buildSchedule();
+		}
+		if (slot == 0) {
+			advance();
+		}
+		SentenceId id = schedule[slot];
+		slot = (slot + 1) % schedule.length;
+		return create(id);
+	}
+
+	/**
+	 * Generates and writes given number of sentences at target rate.
+	 *
+	 * @param sentences Number of sentences to write
+	 * @return Number of sentences written
+	 * @throws IOException If writing fails
+	 */
+	public long generate(long sentences) throws IOException {
+		long start = System.nanoTime();
+		long n = 0;
+		try {
+			while (n < sentences) {
+				write(next());
+				pace(start, ++n);
+			}
+		} finally {
+			sink.flush();
+		}
+		return n;
+	}
+
+	/**
+	 * Generates and writes sentences at target rate until stopped or writing
+	 * fails. Write errors are logged.
+	 *
+	 * @see #start()
+	 * @see #stop()
+	 */
+	@Override
+	public void run() {
+		long start = System.nanoTime();
+		long n = 0;
+		try {
+			while (!stopped) {
+				write(next());
+				pace(start, ++n);
+			}
+			sink.flush();
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Traffic generation stopped", e);
+		}
+	}
+
+	/**
+	 * Starts generating in a new daemon thread.
+	 *
+	 * @throws IllegalStateException If already running.
+	 */
+	public void start() {
+		if (thread != null && thread.isAlive()) {
+			throw new IllegalStateException("Generator is already running");
+		}
+		stopped = false;
+		thread = new Thread(this, "TrafficGenerator");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Stops generating. The output stream or socket is not closed.
+	 */
+	public void stop() {
+		stopped = true;
+	}
+
+	private void setDefaultMix() {
+		for (SentenceId id : SUPPORTED) {
+			weights.put(id, 0);
+		}
+		weights.put(SentenceId.GGA, 1);
+		weights.put(SentenceId.RMC, 1);
+		weights.put(SentenceId.VTG, 1);
+		weights.put(SentenceId.GSV, 1);
+		weights.put(SentenceId.HDT, 1);
+		weights.put(SentenceId.VDM, 5);
+	}
+
+	/**
+	 * Interleaves the weighted types, e.g. weights A=1, B=3 give A, B, B, B
+	 * and A=2, B=2 give A, B, A, B.
+	 */
+	private SentenceId[] buildSchedule() {
+		List<SentenceId> result = new ArrayList<>();
+		int max = 0;
+		for (int w : weights.values()) {
+			max = Math.max(max, w);
+		}
+		for (int round = 0; round < max; round++) {
+			for (SentenceId id : SUPPORTED) {
+				if (round < getWeight(id)) {
+					result.add(id);
+				}
+			}
+		}
+		if (result.isEmpty()) {
+			throw new IllegalStateException("No sentence types to generate");
+		}
+		return result.toArray(new SentenceId[result.size()]);
+	}
+
+	/**
+	 * Moves own vessel by one second of time.
+	 */
+	private void advance() {
+		second++;
+		if (second == 24 * 3600) {
+			second = 0;
+			day = day.plusDays(1);
+			date = new Date(day.getYear(), day.getMonthValue(), day.getDayOfMonth());
+		}
+		course = (course + 0.5) % 360;
+		double dist = speed * 1852.0 / 3600.0;
+		double rad = Math.toRadians(course);
+		lat += dist * Math.cos(rad) / METERS_PER_DEGREE;
+		lon += dist * Math.sin(rad) / (METERS_PER_DEGREE * Math.cos(Math.toRadians(lat)));
+		time = new Time((int) (second / 3600), (int) (second / 60 % 60), second % 60);
+		position = new Position(lat, lon);
+	}
+
+	private String create(SentenceId id) {
+		if (gga == null) {
+			createParsers();
+		}
+		switch (id) {
+			case GGA:
+				gga.setTime(time);
+				gga.setPosition(position);
+				return gga.toSentence();
+			case GLL:
+				gll.setTime(time);
+				gll.setPosition(position);
+				return gll.toSentence();
+			case GSV:
+				return gsv.toSentence();
+			case HDT:
+				hdt.setHeading(course);
+				return hdt.toSentence();
+			case RMC:
+				rmc.setTime(time);
+				rmc.setDate(date);
+				rmc.setPosition(position);
+				rmc.setCourse(course);
+				return rmc.toSentence();
+			case VTG:
+				vtg.setTrueCourse(course);
+				vtg.setMagneticCourse((course + 352) % 360);
+				return vtg.toSentence();
+			case VDM:
+				return createVDM();
+			default:
+				throw new IllegalStateException("Unsupported sentence type: " + id);
+		}
+	}
+
+	private void createParsers() {
+		SentenceFactory sf = SentenceFactory.getInstance();
+
+		gga = (GGASentence) sf.createParser(talker, SentenceId.GGA);
+		gga.setFixQuality(GpsFixQuality.NORMAL);
+		gga.setSatelliteCount(8);
+		gga.setHorizontalDOP(1.2);
+		gga.setAltitude(12.0);
+		gga.setAltitudeUnits(Units.METER);
+		gga.setGeoidalHeight(18.5);
+		gga.setGeoidalHeightUnits(Units.METER);
+
+		gll = (GLLSentence) sf.createParser(talker, SentenceId.GLL);
+		gll.setStatus(DataStatus.ACTIVE);
+		gll.setMode(FaaMode.AUTOMATIC);
+
+		gsv = (GSVSentence) sf.createParser(talker, SentenceId.GSV);
+		gsv.setSentenceCount(1);
+		gsv.setSentenceIndex(1);
+		gsv.setSatelliteCount(4);
+		gsv.setSatelliteInfo(Arrays.asList(
+			new SatelliteInfo("05", 62, 120, 44),
+			new SatelliteInfo("12", 35, 231, 40),
+			new SatelliteInfo("17", 20, 310, 36),
+			new SatelliteInfo("24", 48, 58, 42)));
+
+		hdt = (HDTSentence) sf.createParser(talker, SentenceId.HDT);
+
+		rmc = (RMCSentence) sf.createParser(talker, SentenceId.RMC);
+		rmc.setStatus(DataStatus.ACTIVE);
+		rmc.setSpeed(speed);
+		rmc.setVariation(8.0);
+		rmc.setDirectionOfVariation(CompassPoint.EAST);
+		rmc.setMode(FaaMode.AUTOMATIC);
+
+		vtg = (VTGSentence) sf.createParser(talker, SentenceId.VTG);
+		vtg.setSpeedKnots(speed);
+		vtg.setSpeedKmh(speed * 1.852);
+		vtg.setMode(FaaMode.AUTOMATIC);
+
+		ais = new AISMessageEncoder();
+	}
+
+	/**
+	 * Creates a type 1 position report of next AIS target. Targets are laid
+	 * out in a grid around own vessel, each on its own course.
+	 */
+	private String createVDM() {
+		int i = vessel;
+		vessel = (vessel + 1) % vessels;
+		double tlat = lat + (i % 32 - 16) * 0.01;
+		double tlon = lon + (i / 32 % 32 - 16) * 0.02;
+		int cog = (i * 37 + (int) second) % 360;
+
+		SixbitWriter out = new SixbitWriter(168);
+		out.setInt(0, 6, 1);
+		out.setInt(8, 38, FIRST_MMSI + i);
+		out.setInt(42, 50, RateOfTurn.DEFAULTVALUE);
+		out.setInt(50, 60, SpeedOverGround.fromKnots(5 + i % 20));
+		out.setBoolean(60, true);
+		out.setInt(61, 89, Longitude28.fromDegrees(tlon));
+		out.setInt(89, 116, Latitude27.fromDegrees(tlat));
+		out.setInt(116, 128, Angle12.fromDegrees(cog));
+		out.setInt(128, 137, cog);
+		out.setInt(137, 143, (int) (second % 60));
+		return ais.encode(out)[0];
+	}
+
+	private void write(String sentence) throws IOException {
+		int len = sentence.length() + 2;
+		if (line.length < len) {
+			line = new byte[len * 2];
+		}
+		for (int i = 0; i < len - 2; i++) {
+			line[i] = (byte) sentence.charAt(i);
+		}
+		line[len - 2] = '\r';
+		line[len - 1] = '\n';
+		sink.write(line, len);
+		count.incrementAndGet();
+	}
+
+	private void pace(long start, long n) throws IOException {
+		if (rate > 0) {
+			long due = start + n * NANOS_PER_SECOND / rate;
+			long ahead = due - System.nanoTime();
+			if (ahead > PARK_THRESHOLD) {
+				sink.flush();
+				LockSupport.parkNanos(ahead);
+			}
+		}
+	}
+
+	/**
+	 * Output of generated lines.
+	 */
+	private interface Sink {
+
+		void write(byte[] line, int length) throws IOException;
+
+		void flush() throws IOException;
+	}
+
+	private static class StreamSink implements Sink {
+
+		private final OutputStream out;
+
+		StreamSink(OutputStream out) {
+			this.out = new BufferedOutputStream(out, 65536);
+		}
+
+		@Override
+		public void write(byte[] line, int length) throws IOException {
+			out.write(line, 0, length);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			out.flush();
+		}
+	}
+
+	private static class DatagramSink implements Sink {
+
+		private final DatagramSocket socket;
+		private final byte[] buffer = new byte[MAX_DATAGRAM];
+		private final DatagramPacket packet;
+		private int size;
+
+		DatagramSink(DatagramSocket socket, SocketAddress target) {
+			this.socket = socket;
+			this.packet = new DatagramPacket(buffer, 0, target);
+		}
+
+		@Override
+		public void write(byte[] line, int length) throws IOException {
+			if (size + length > buffer.length) {
+				flush();
+			}
+			System.arraycopy(line, 0, buffer, size, length);
+			size += length;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (size > 0) {
+				packet.setData(buffer, 0, size);
+				socket.send(packet);
+				size = 0;
+			}
+		}
+	}
+}
@@ -36,6 +36,7 @@ class UDPDataReader extends AbstractDataReader {
 	private DatagramSocket socket;
 	private byte[] buffer = new byte[1024];
 	private Queue<String> queue = new LinkedList<>();
+	private long received;
 
 	/**
 	 * Creates a new instance of StreamReader.
@@ -52,8 +53,10 @@ class UDPDataReader extends AbstractDataReader {
 	public String read() throws Exception {
 		while (true) {
 			String data = queue.poll();
-			if (data != null)
+			if (data != null) {
+				setReceivedNanoTime(received);
 				return data;
+			}
 
 			data = receive();
 			String[] lines = data.split("\\r?\\n");
@@ -62,11 +65,13 @@ class UDPDataReader extends AbstractDataReader {
 	}
 
 	/**
-	 * Receive UDP packet and return as String
+	 * Receive UDP packet and return as String. Receive time is recorded
+	 * immediately after the packet arrives and applies to all lines in it.
 	 */
 	private String receive() throws Exception {
 		DatagramPacket pkg = new DatagramPacket(buffer, buffer.length);
 		socket.receive(pkg);
+		received = System.nanoTime();
 		return new String(pkg.getData(), 0, pkg.getLength());
 	}
 
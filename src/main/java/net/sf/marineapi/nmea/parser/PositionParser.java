@@ -20,13 +20,11 @@
  */
 package net.sf.marineapi.nmea.parser;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-
 import net.sf.marineapi.nmea.sentence.SentenceId;
 import net.sf.marineapi.nmea.sentence.TalkerId;
 import net.sf.marineapi.nmea.util.CompassPoint;
 import net.sf.marineapi.nmea.util.Position;
+import net.sf.marineapi.util.FixedPointFormat;
 
 /**
  * Abstract base class for sentence parsers that provide geographic position or
@@ -168,13 +166,10 @@ abstract class PositionParser extends SentenceParser {
 		int deg = (int) Math.floor(lat);
 		double min = (lat - deg) * 60;
 
-		DecimalFormat df = new DecimalFormat("00.000");
-		DecimalFormatSymbols dfs = new DecimalFormatSymbols();
-		dfs.setDecimalSeparator('.');
-		df.setDecimalFormatSymbols(dfs);
-
-		String result = String.format("%02d%s", deg, df.format(min));
-		setStringValue(index, result);
+		StringBuilder sb = new StringBuilder(9);
+		FixedPointFormat.append(sb, deg, 2);
+		FixedPointFormat.append(sb, min, 2, 3);
+		setStringValue(index, sb.toString());
 	}
 
 	/**
@@ -190,13 +185,10 @@ abstract class PositionParser extends SentenceParser {
 		int deg = (int) Math.floor(lon);
 		double min = (lon - deg) * 60;
 
-		DecimalFormat nf = new DecimalFormat("00.000");
-		DecimalFormatSymbols dfs = new DecimalFormatSymbols();
-		dfs.setDecimalSeparator('.');
-		nf.setDecimalFormatSymbols(dfs);
-
-		String result = String.format("%03d%s", deg, nf.format(min));
-		setStringValue(index, result);
+		StringBuilder sb = new StringBuilder(10);
+		FixedPointFormat.append(sb, deg, 3);
+		FixedPointFormat.append(sb, min, 2, 3);
+		setStringValue(index, sb.toString());
 	}
 
 	/**
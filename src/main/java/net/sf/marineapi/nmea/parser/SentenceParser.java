@@ -20,8 +20,8 @@
  */
 package net.sf.marineapi.nmea.parser;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -31,6 +31,7 @@ import net.sf.marineapi.nmea.sentence.Sentence;
 import net.sf.marineapi.nmea.sentence.SentenceId;
 import net.sf.marineapi.nmea.sentence.SentenceValidator;
 import net.sf.marineapi.nmea.sentence.TalkerId;
+import net.sf.marineapi.util.FixedPointFormat;
 
 /**
  * <p>
@@ -73,6 +74,15 @@ public class SentenceParser implements Sentence {
 	// actual data fields (sentence id and checksum omitted)
 	private List<String> fields = new ArrayList<String>();
 
+	// reused by write methods
+	private StringBuilder buffer;
+
+	// serialized form, null if modified since last formatting
+	private String cached;
+
+	// tells if cached form has been validated
+	private boolean cachedValid;
+
 	/**
 	 * Creates a new instance of SentenceParser. Validates the input String and
 	 * resolves talker id and sentence type.
@@ -98,6 +108,12 @@ public class SentenceParser implements Sentence {
 		String csv = nmea.substring(begin, end);
 		String[] values = csv.split(String.valueOf(FIELD_DELIMITER), -1);
 		fields.addAll(Arrays.asList(values));
+
+		// retain the original if it equals the formatted sentence
+		if (end == nmea.length() - 3 && isFormattedHeader(nmea, begin - 1)) {
+			cached = nmea;
+			cachedValid = true;
+		}
 	}
 
 	/**
@@ -278,6 +294,9 @@ public class SentenceParser implements Sentence {
 	 * @see net.sf.marineapi.nmea.sentence.Sentence#isValid()
 	 */
 	public boolean isValid() {
+		if (cached != null && cachedValid) {
+			return true;
+		}
 		return SentenceValidator.isValid(toString());
 	}
 
@@ -289,6 +308,7 @@ public class SentenceParser implements Sentence {
 		for (int i = 0; i < fields.size(); i++) {
 			fields.set(i, "");
 		}
+		cached = null;
 	}
 
 	/*
@@ -301,6 +321,7 @@ public class SentenceParser implements Sentence {
 			throw new IllegalArgumentException(msg);
 		}
 		beginChar = ch;
+		cached = null;
 	}
 
 	/*
@@ -311,6 +332,7 @@ public class SentenceParser implements Sentence {
 	 */
 	public final void setTalkerId(TalkerId id) {
 		this.talkerId = id;
+		cached = null;
 	}
 
 	/*
@@ -318,12 +340,11 @@ public class SentenceParser implements Sentence {
 	 * @see net.sf.marineapi.nmea.sentence.Sentence#toSentence()
 	 */
 	public final String toSentence() {
-		String s = toString();
-		if (!SentenceValidator.isValid(s)) {
-			String msg = String.format("Validation failed [%s]", toString());
-			throw new IllegalStateException(msg);
+		if (cached == null || !cachedValid) {
+			cached = encode(new StringBuilder(MAX_LENGTH), true).toString();
+			cachedValid = true;
 		}
-		return s;
+		return cached;
 	}
 
 	/*
@@ -345,22 +366,158 @@ public class SentenceParser implements Sentence {
 	 */
 	@Override
 	public String toString() {
+		if (cached == null) {
+			cached = encode(new StringBuilder(MAX_LENGTH), false).toString();
+			cachedValid = false;
+		}
+		return cached;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see net.sf.marineapi.nmea.sentence.Sentence#appendTo(StringBuilder)
+	 */
+	@Override
+	public final StringBuilder appendTo(StringBuilder sb) {
+		if (cached != null && cachedValid) {
+			return sb.append(cached);
+		}
+		return encode(sb, true);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see net.sf.marineapi.nmea.sentence.Sentence#write(byte[], int)
+	 */
+	@Override
+	public final int write(byte[] dst, int offset) {
+		CharSequence sb = encodeBuffer();
+		int length = sb.length();
+		if (offset < 0 || dst.length - offset < length) {
+			throw new IndexOutOfBoundsException("Sentence does not fit in buffer");
+		}
+		for (int i = 0; i < length; i++) {
+			dst[offset + i] = (byte) sb.charAt(i);
+		}
+		return length;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see net.sf.marineapi.nmea.sentence.Sentence#write(ByteBuffer)
+	 */
+	@Override
+	public final int write(ByteBuffer dst) {
+		CharSequence sb = encodeBuffer();
+		int length = sb.length();
+		if (dst.remaining() < length) {
+			throw new BufferOverflowException();
+		}
+		for (int i = 0; i < length; i++) {
+			dst.put((byte) sb.charAt(i));
+		}
+		return length;
+	}
+
+	/**
+	 * Returns the cached sentence if validated, otherwise formats it in
+	 * reusable buffer of this parser.
+	 */
+	private CharSequence encodeBuffer() {
+		if (cached != null && cachedValid) {
+			return cached;
+		}
+		if (buffer == null) {
+			buffer = new StringBuilder(MAX_LENGTH);
+		} else {
+			buffer.setLength(0);
+		}
+		return encode(buffer, true);
+	}
+
+	/**
+	 * Appends the sentence and its checksum in given builder. Checksum is
+	 * calculated over the appended characters without intermediate Strings.
+	 * If validating, checks the same rules as {@link SentenceValidator}
+	 * while calculating the checksum, instead of matching the result against
+	 * regular expression.
+	 *
+	 * @param sb Builder to append to
+	 * @param validate Whether to validate the result
+	 * @return The given builder
+	 * @throws IllegalStateException If validating and sentence is invalid, in
+	 *             which case the builder is restored to its original length.
+	 */
+	private StringBuilder encode(StringBuilder sb, boolean validate) {
 
-		StringBuilder sb = new StringBuilder(MAX_LENGTH);
+		final int start = sb.length();
+		sb.append(beginChar);
 		sb.append(talkerId.toString());
 		sb.append(sentenceId);
-		
-		for (String field : fields) {
+		final int header = sb.length();
+
+		for (int i = 0; i < fields.size(); i++) {
+			String field = fields.get(i);
 			sb.append(FIELD_DELIMITER);
-			sb.append(field == null ? "" : field);
+			if (field != null) {
+				sb.append(field);
+			}
 		}
-		
-		final String checksum = Checksum.xor(sb.toString());
+
+		int sum = 0;
+		boolean valid = !validate
+			|| (header < sb.length() && isValidHeader(sb, start + 1, header));
+		for (int i = start + 1; i < sb.length(); i++) {
+			char ch = sb.charAt(i);
+			if (validate && (ch < 0x20 || ch > 0x7F || ch == CHECKSUM_DELIMITER)) {
+				valid = false;
+			}
+			sum ^= ch;
+		}
+
+		if (!valid) {
+			sb.setLength(start);
+			String msg = String.format("Validation failed [%s]", toString());
+			throw new IllegalStateException(msg);
+		}
+
 		sb.append(CHECKSUM_DELIMITER);
-		sb.append(checksum);
-		sb.insert(0, beginChar);
+		sb.append(Checksum.hexDigit(sum >> 4));
+		sb.append(Checksum.hexDigit(sum));
+		return sb;
+	}
 
-		return sb.toString();
+	/**
+	 * Tells if the address field of given sentence, ending at given index,
+	 * equals the talker and sentence ID formatted by this parser.
+	 */
+	private boolean isFormattedHeader(String nmea, int end) {
+		String tid = talkerId.toString();
+		int length = tid.length() + sentenceId.length() + 1;
+		return end == length
+			&& nmea.startsWith(tid, 1)
+			&& nmea.startsWith(sentenceId, 1 + tid.length());
+	}
+
+	/**
+	 * Checks the begin char and address field, i.e. talker and sentence ID.
+	 */
+	private boolean isValidHeader(CharSequence seq, int begin, int end) {
+		char ch = seq.charAt(begin - 1);
+		if (ch != BEGIN_CHAR && ch != ALTERNATIVE_BEGIN_CHAR) {
+			return false;
+		}
+		int length = end - begin;
+		if (length < 3 || length > 10) {
+			return false;
+		}
+		for (int i = begin; i < end; i++) {
+			char c = seq.charAt(i);
+			if ((c < 'A' || c > 'Z') && (c < '0' || c > '9')) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -495,27 +652,7 @@ public class SentenceParser implements Sentence {
 	 */
 	protected final void setDoubleValue(int index, double value, int leading,
 		int decimals) {
-
-		StringBuilder pattern = new StringBuilder();
-		for (int i = 0; i < leading; i++) {
-			pattern.append('0');
-		}
-		if (decimals > 0) {
-			pattern.append('.');
-			for (int i = 0; i < decimals; i++) {
-				pattern.append('0');
-			}
-		}
-		if (pattern.length() == 0) {
-			pattern.append('0');
-		}
-
-		DecimalFormat nf = new DecimalFormat(pattern.toString());
-		DecimalFormatSymbols dfs = new DecimalFormatSymbols();
-		dfs.setDecimalSeparator('.');
-		nf.setDecimalFormatSymbols(dfs);
-
-		setStringValue(index, nf.format(value));
+		setStringValue(index, FixedPointFormat.format(value, leading, decimals));
 	}
 
 	/**
@@ -539,6 +676,7 @@ public class SentenceParser implements Sentence {
 				fields.add("");
 			}
 		}
+		cached = null;
 	}
 
 	/**
@@ -560,11 +698,8 @@ public class SentenceParser implements Sentence {
 	 * @param leading Number of digits to use.
 	 */
 	protected final void setIntValue(int index, int value, int leading) {
-		String pattern = "%d";
-		if (leading > 0) {
-			pattern = "%0" + leading + "d";
-		}
-		setStringValue(index, String.format(pattern, value));
+		int width = leading > 0 ? leading : 0;
+		setStringValue(index, FixedPointFormat.format(value, width));
 	}
 
 	/**
@@ -575,6 +710,7 @@ public class SentenceParser implements Sentence {
 	 */
 	protected final void setStringValue(int index, String value) {
 		fields.set(index, value == null ? "" : value);
+		cached = null;
 	}
 
 	/**
@@ -603,6 +739,7 @@ public class SentenceParser implements Sentence {
 		}
 		fields.clear();
 		fields = temp;
+		cached = null;
 	}
 
 	/**
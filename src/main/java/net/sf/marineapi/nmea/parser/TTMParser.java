@@ -20,9 +20,6 @@
  */
 package net.sf.marineapi.nmea.parser;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-
 import net.sf.marineapi.nmea.sentence.SentenceId;
 import net.sf.marineapi.nmea.sentence.TTMSentence;
 import net.sf.marineapi.nmea.sentence.TalkerId;
@@ -30,6 +27,7 @@ import net.sf.marineapi.nmea.util.AcquisitionType;
 import net.sf.marineapi.nmea.util.TargetStatus;
 import net.sf.marineapi.nmea.util.Time;
 import net.sf.marineapi.nmea.util.Units;
+import net.sf.marineapi.util.FixedPointFormat;
 
 /**
  * TTM sentence parser.
@@ -99,15 +97,11 @@ class TTMParser extends SentenceParser implements TTMSentence {
 		 * usual three implemented by the Time.toString(). So we create our own
 		 * string.
 		 */
-		String str = String.format("%02d%02d", t.getHour(), t.getMinutes());
-
-		DecimalFormat nf = new DecimalFormat("00.00");
-		DecimalFormatSymbols dfs = new DecimalFormatSymbols();
-		dfs.setDecimalSeparator('.');
-		nf.setDecimalFormatSymbols(dfs);
-
-		str += nf.format(t.getSeconds());
-		setStringValue(UTC_TIME, str);
+		StringBuilder sb = new StringBuilder(9);
+		FixedPointFormat.append(sb, t.getHour(), 2);
+		FixedPointFormat.append(sb, t.getMinutes(), 2);
+		FixedPointFormat.append(sb, t.getSeconds(), 2, 2);
+		setStringValue(UTC_TIME, sb.toString());
 	}
 
 	/*
@@ -28,6 +28,8 @@ package net.sf.marineapi.nmea.sentence;
  */
 public final class Checksum {
 
+	private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
 	private Checksum() {
 	}
 
@@ -62,11 +64,35 @@ public final class Checksum {
 	 * @return Hexadecimal checksum
 	 */
 	public static String xor(String str) {
+		int sum = xor(str, 0, str.length());
+		return new String(new char[] { hexDigit(sum >> 4), hexDigit(sum) });
+	}
+
+	/**
+	 * Calculates XOR checksum of given range of characters.
+	 * 
+	 * @param seq Characters to calculate checksum for
+	 * @param begin Index of first character (inclusive)
+	 * @param end Index of last character (exclusive)
+	 * @return Checksum value, 0 to 255.
+	 */
+	public static int xor(CharSequence seq, int begin, int end) {
 		int sum = 0;
-		for (int i = 0; i < str.length(); i++) {
-			sum ^= (byte) str.charAt(i);
+		for (int i = begin; i < end; i++) {
+			sum ^= seq.charAt(i);
 		}
-		return String.format("%02X", sum);
+		return sum & 0xFF;
+	}
+
+	/**
+	 * Returns the upper-case hexadecimal digit of the four lowest bits in
+	 * given value, e.g. for writing checksums without formatting.
+	 * 
+	 * @param value Value to convert
+	 * @return Character '0' to 'F'
+	 */
+	public static char hexDigit(int value) {
+		return HEX[value & 0xF];
 	}
 
 	/**
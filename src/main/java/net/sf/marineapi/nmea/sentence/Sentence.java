@@ -20,6 +20,9 @@
  */
 package net.sf.marineapi.nmea.sentence;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
 /**
  * Base interface and constants for NMEA 0183 sentences.
  *
@@ -141,8 +144,8 @@ public interface Sentence {
 
 	/**
 	 * Formats and validates the String representation of sentence. Throws an
-	 * exception if result is not considered a valid sentence. As validation is
-	 * done by {@link net.sf.marineapi.nmea.sentence.SentenceValidator}, notice
+	 * exception if result is not considered a valid sentence. As validation
+	 * follows the rules of {@link net.sf.marineapi.nmea.sentence.SentenceValidator}, notice
 	 * that resulting sentence length is not checked. To also validate the
 	 * length, use {@link #toSentence(int)}.
 	 *
@@ -165,6 +168,61 @@ public interface Sentence {
 	 */
 	String toSentence(int maxLength);
 
+	/**
+	 * Formats and validates the sentence like {@link #toSentence()}, but
+	 * appends it to given builder instead of creating a new String.
+	 *
+	 * @param sb Builder to append to
+	 * @return The given builder
+	 * @throws IllegalStateException If formatting results in invalid sentence,
+	 *             in which case builder is left unchanged.
+	 */
+	default StringBuilder appendTo(StringBuilder sb) {
+		return sb.append(toSentence());
+	}
+
+	/**
+	 * Formats and validates the sentence like {@link #toSentence()}, and
+	 * writes it in given array as ASCII bytes, without line terminator.
+	 *
+	 * @param buffer Array to write to
+	 * @param offset Index of first byte to write
+	 * @return Number of bytes written
+	 * @throws IllegalStateException If formatting results in invalid sentence.
+	 * @throws IndexOutOfBoundsException If sentence does not fit in array.
+	 */
+	default int write(byte[] buffer, int offset) {
+		String s = toSentence();
+		if (offset < 0 || buffer.length - offset < s.length()) {
+			throw new IndexOutOfBoundsException("Sentence does not fit in buffer");
+		}
+		for (int i = 0; i < s.length(); i++) {
+			buffer[offset + i] = (byte) s.charAt(i);
+		}
+		return s.length();
+	}
+
+	/**
+	 * Formats and validates the sentence like {@link #toSentence()}, and
+	 * writes it in given buffer as ASCII bytes, without line terminator.
+	 * Buffer position is advanced by the number of bytes written.
+	 *
+	 * @param buffer Buffer to write to
+	 * @return Number of bytes written
+	 * @throws IllegalStateException If formatting results in invalid sentence.
+	 * @throws BufferOverflowException If sentence does not fit in buffer.
+	 */
+	default int write(ByteBuffer buffer) {
+		String s = toSentence();
+		if (buffer.remaining() < s.length()) {
+			throw new BufferOverflowException();
+		}
+		for (int i = 0; i < s.length(); i++) {
+			buffer.put((byte) s.charAt(i));
+		}
+		return s.length();
+	}
+
 	/**
 	 * Returns the String representation of the sentence, without line
 	 * terminator {@code CR/LR}. Checksum is calculated and appended at the
@@ -23,6 +23,8 @@ package net.sf.marineapi.nmea.util;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 
+import net.sf.marineapi.util.FixedPointFormat;
+
 /**
  * Represents a calendar date (day-month-year) transmitted in sentences that
  * implement {@link net.sf.marineapi.nmea.sentence.DateSentence}.
@@ -211,8 +213,10 @@ public class Date {
 		int y = getYear();
 		String ystr = String.valueOf(y);
 		String year = ystr.substring(2);
-		String date = String.format("%02d%02d%s", getDay(), getMonth(), year);
-		return date;
+		StringBuilder sb = new StringBuilder(6);
+		FixedPointFormat.append(sb, getDay(), 2);
+		FixedPointFormat.append(sb, getMonth(), 2);
+		return sb.append(year).toString();
 	}
 
 	/**
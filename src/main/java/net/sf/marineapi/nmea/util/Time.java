@@ -20,12 +20,12 @@
  */
 package net.sf.marineapi.nmea.util;
 
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
 
+import net.sf.marineapi.util.FixedPointFormat;
+
 /**
  * Represents a time of day in 24-hour clock, i.e. the UTC time used as default
  * in NMEA 0183. Transmitted by
@@ -313,12 +313,11 @@ public class Time {
 	 */
 	@Override
 	public String toString() {
-		String str = String.format("%02d%02d", getHour(), getMinutes());
-		DecimalFormat nf = new DecimalFormat("00.000");
-		DecimalFormatSymbols dfs = new DecimalFormatSymbols();
-		dfs.setDecimalSeparator('.');
-		nf.setDecimalFormatSymbols(dfs);
-		return str.concat(nf.format(getSeconds()));
+		StringBuilder sb = new StringBuilder(10);
+		FixedPointFormat.append(sb, getHour(), 2);
+		FixedPointFormat.append(sb, getMinutes(), 2);
+		FixedPointFormat.append(sb, getSeconds(), 2, 3);
+		return sb.toString();
 	}
 
 	/**
@@ -21,8 +21,9 @@
 package net.sf.marineapi.provider;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
 import net.sf.marineapi.nmea.event.SentenceEvent;
 import net.sf.marineapi.nmea.event.SentenceListener;
@@ -36,9 +37,19 @@ import net.sf.marineapi.provider.event.ProviderListener;
  * <p>Abstract base class for providers. Defines methods that all providers must
  * implement and provides general services for capturing and validating the
  * required sentences.</p>
- * <p>When constructing {@link net.sf.marineapi.provider.event.PositionEvent},
- * the maximum age for all captured sentences is 1000 ms, i.e. all sentences are
- * from within the default NMEA update rate (1/s).</p>
+ * <p>When constructing provider events, the captured sentences must be from
+ * within the fusion window, by default 1000 ms, i.e. the default NMEA update
+ * rate (1/s). The window is measured backwards from the most recent sentence
+ * using the provider's {@link ProviderClock}, by default
+ * {@link ProviderClock#MONOTONIC}. For high-rate receivers, use a shorter
+ * window, and for replaying recorded data, use
+ * {@link ProviderClock#SENTENCE}.</p>
+ * <p>Captured sentences are kept in a fixed slot per sentence ID, holding the
+ * most recent sentence of that type, and the filled slots are tracked in a
+ * bitmask. Thus {@link #hasOne(String...)} and {@link #hasAll(String...)}
+ * take constant time regardless of how many sentences have been received
+ * in current cycle. Sentence handling is synchronized on the provider, so
+ * it may be registered in readers dispatching events concurrently.</p>
  *
  * @author Kimmo Tuukkanen
  * @param <T> The {@link ProviderEvent} to be dispatched.
@@ -46,9 +57,25 @@ import net.sf.marineapi.provider.event.ProviderListener;
 public abstract class AbstractProvider<T extends ProviderEvent> implements
 		SentenceListener {
 
+	/** Default fusion window, in milliseconds */
+	public static final long DEFAULT_FUSION_WINDOW = 1000;
+
+	// max number of slots, i.e. bits in mask
+	private static final int MAX_SLOTS = 64;
+
+	private ProviderClock clock = ProviderClock.MONOTONIC;
+	private long window = TimeUnit.MILLISECONDS.toNanos(DEFAULT_FUSION_WINDOW);
+
 	private SentenceReader reader;
-	private List<SentenceEvent> events = new ArrayList<SentenceEvent>();
-	private List<ProviderListener<T>> listeners = new ArrayList<ProviderListener<T>>();
+	private List<ProviderListener<T>> listeners = new CopyOnWriteArrayList<ProviderListener<T>>();
+
+	// slot per sentence ID, with arrival sequence for ordering
+	private String[] slotIds = new String[0];
+	private SentenceEvent[] slots = new SentenceEvent[0];
+	private long[] sequence = new long[0];
+	private long mask;
+	private long counter;
+	private int latest = -1;
 
 	/**
 	 * Creates a new instance of AbstractProvider.
@@ -59,6 +86,7 @@ public abstract class AbstractProvider<T extends ProviderEvent> implements
 	public AbstractProvider(SentenceReader reader, String... ids) {
 		this.reader = reader;
 		for (String id : ids) {
+			slot(id);
 			reader.addSentenceListener(this, id);
 		}
 	}
@@ -72,10 +100,57 @@ public abstract class AbstractProvider<T extends ProviderEvent> implements
 	public AbstractProvider(SentenceReader reader, SentenceId... ids) {
 		this.reader = reader;
 		for (SentenceId id : ids) {
+			slot(id.name());
 			reader.addSentenceListener(this, id);
 		}
 	}
 
+	/**
+	 * Returns the clock used for validating sentence ages.
+	 * 
+	 * @return Provider clock
+	 */
+	public synchronized ProviderClock getClock() {
+		return clock;
+	}
+
+	/**
+	 * Sets the clock used for validating sentence ages.
+	 * 
+	 * @param clock Clock to set
+	 * @throws IllegalArgumentException If clock is {@code null}
+	 */
+	public synchronized void setClock(ProviderClock clock) {
+		if (clock == null) {
+			throw new IllegalArgumentException("Clock cannot be null");
+		}
+		this.clock = clock;
+	}
+
+	/**
+	 * Returns the fusion window, i.e. the maximum time between the oldest
+	 * and the most recent sentence used for creating a provider event.
+	 * 
+	 * @return Window in milliseconds
+	 */
+	public synchronized long getFusionWindow() {
+		return TimeUnit.NANOSECONDS.toMillis(window);
+	}
+
+	/**
+	 * Sets the fusion window, i.e. the maximum time between the oldest and
+	 * the most recent sentence used for creating a provider event.
+	 * 
+	 * @param millis Window in milliseconds
+	 * @throws IllegalArgumentException If window is negative
+	 */
+	public synchronized void setFusionWindow(long millis) {
+		if (millis < 0) {
+			throw new IllegalArgumentException("Fusion window cannot be negative");
+		}
+		this.window = TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+
 	/**
 	 * Inserts a listener to provider.
 	 * 
@@ -86,7 +161,9 @@ public abstract class AbstractProvider<T extends ProviderEvent> implements
 	}
 
 	/**
-	 * Creates a {@code ProviderEvent} of type {@code T}.
+	 * Creates a {@code ProviderEvent} of type {@code T}. Implementations may
+	 * return {@code null} if there are no listeners, see
+	 * {@link #hasListeners()}.
 	 * 
 	 * @return Created event, or null if failed.
 	 */
@@ -104,27 +181,84 @@ public abstract class AbstractProvider<T extends ProviderEvent> implements
 	}
 
 	/**
-	 * Returns the collected sentences.
+	 * Returns the collected sentences, i.e. the latest sentence of each
+	 * captured type in the order of arrival.
 	 * 
 	 * @return List of sentences.
 	 */
-	protected final List<Sentence> getSentences() {
-		List<Sentence> s = new ArrayList<Sentence>();
-		for (SentenceEvent e : events) {
-			s.add(e.getSentence());
+	protected final synchronized List<Sentence> getSentences() {
+		List<Sentence> s = new ArrayList<Sentence>(Long.bitCount(mask));
+		long pending = mask;
+		while (pending != 0) {
+			// pick the oldest remaining slot; slot count is small
+			int oldest = -1;
+			for (long m = pending; m != 0; m &= m - 1) {
+				int i = Long.numberOfTrailingZeros(m);
+				if (oldest < 0 || sequence[i] < sequence[oldest]) {
+					oldest = i;
+				}
+			}
+			s.add(slots[oldest].getSentence());
+			pending &= ~(1L << oldest);
 		}
 		return s;
 	}
 
+	/**
+	 * Returns the latest captured sentence of given type.
+	 * 
+	 * @param id Sentence type ID
+	 * @return Sentence or {@code null} if not captured in current cycle.
+	 */
+	protected final synchronized Sentence getSentence(String id) {
+		int i = indexOf(id);
+		return i < 0 || (mask & (1L << i)) == 0 ? null : slots[i].getSentence();
+	}
+
+	/**
+	 * Tells if a sentence of given type was captured after the other in
+	 * current cycle.
+	 * 
+	 * @param id Sentence type ID
+	 * @param other Sentence type ID to compare with
+	 * @return True if both are captured and {@code id} arrived later.
+	 */
+	protected final synchronized boolean isCapturedAfter(String id, String other) {
+		int i = indexOf(id);
+		int j = indexOf(other);
+		return i >= 0 && j >= 0 && (mask & (1L << i)) != 0
+				&& (mask & (1L << j)) != 0 && sequence[i] > sequence[j];
+	}
+
+	/**
+	 * Returns the most recently captured sentence event.
+	 * 
+	 * @return Sentence event or {@code null} if none captured in current
+	 *         cycle.
+	 */
+	protected final synchronized SentenceEvent getLatestEvent() {
+		return mask == 0 ? null : slots[latest];
+	}
+
+	/**
+	 * Tells if the provider has any {@code ProviderListener}s registered.
+	 * 
+	 * @return true if listeners exist, otherwise false.
+	 */
+	protected final boolean hasListeners() {
+		return !listeners.isEmpty();
+	}
+
 	/**
 	 * Tells if the provider has captured all the specified sentences.
 	 * 
 	 * @param id Sentence type IDs to look for.
 	 * @return True if all specified IDs match the captured sentences.
 	 */
-	protected final boolean hasAll(String... id) {
+	protected final synchronized boolean hasAll(String... id) {
 		for (String s : id) {
-			if (!hasOne(s)) {
+			int i = indexOf(s);
+			if (i < 0 || (mask & (1L << i)) == 0) {
 				return false;
 			}
 		}
@@ -139,10 +273,10 @@ public abstract class AbstractProvider<T extends ProviderEvent> implements
 	 * @return True if any of the specified IDs matches the type of at least one
 	 *         captured sentences.
 	 */
-	protected final boolean hasOne(String... id) {
-		List<String> ids = Arrays.asList(id);
-		for (Sentence s : getSentences()) {
-			if (ids.contains(s.getSentenceId())) {
+	protected final synchronized boolean hasOne(String... id) {
+		for (String s : id) {
+			int i = indexOf(s);
+			if (i >= 0 && (mask & (1L << i)) != 0) {
 				return true;
 			}
 		}
@@ -200,10 +334,15 @@ public abstract class AbstractProvider<T extends ProviderEvent> implements
 	}
 
 	/**
-	 * Clears the list of collected events.
+	 * Clears the collected events. Providers keeping additional per-cycle
+	 * state may override this method, but must call the super
+	 * implementation.
 	 */
-	private void reset() {
-		events.clear();
+	protected synchronized void reset() {
+		for (int i = 0; i < slots.length; i++) {
+			slots[i] = null;
+		}
+		mask = 0;
 	}
 
 	/*
@@ -211,12 +350,18 @@ public abstract class AbstractProvider<T extends ProviderEvent> implements
 	 * @see net.sf.marineapi.nmea.event.SentenceListener#sentenceRead(
 	 * net.sf.marineapi.nmea.event.SentenceEvent)
 	 */
-	public void sentenceRead(SentenceEvent event) {
-		events.add(event);
+	public synchronized void sentenceRead(SentenceEvent event) {
+		int i = slot(event.getSentence().getSentenceId());
+		slots[i] = event;
+		sequence[i] = counter++;
+		mask |= 1L << i;
+		latest = i;
 		if (isReady()) {
 			if (validate()) {
 				T pEvent = createProviderEvent();
-				fireProviderEvent(pEvent);
+				if (pEvent != null) {
+					fireProviderEvent(pEvent);
+				}
 			}
 			reset();
 		}
@@ -224,19 +369,75 @@ public abstract class AbstractProvider<T extends ProviderEvent> implements
 
 	/**
 	 * Validates the collected sentences by checking the ages of each sentence
-	 * and then by calling {@link #isValid()}. If extending implementation has
-	 * no validation criteria, it should return always {@code true}.
+	 * relative to the most recently received one and then by calling {@link #isValid()}.
+	 * If extending implementation has no validation criteria, it should
+	 * return always {@code true}.
 	 * 
 	 * @return true if valid, otherwise false
 	 */
 	private boolean validate() {
-		long now = System.currentTimeMillis();
-		for (SentenceEvent se : events) {
-			long age = now - se.getTimeStamp();
-			if (age > 1000) {
-				return false;
+
+		// most recent sentence with known time is the reference
+		long ref = ProviderClock.UNKNOWN;
+		long refSeq = Long.MIN_VALUE;
+		for (long m = mask; m != 0; m &= m - 1) {
+			int i = Long.numberOfTrailingZeros(m);
+			if (sequence[i] > refSeq) {
+				long t = clock.timeOf(slots[i]);
+				if (t != ProviderClock.UNKNOWN) {
+					ref = t;
+					refSeq = sequence[i];
+				}
+			}
+		}
+
+		if (ref != ProviderClock.UNKNOWN) {
+			for (long m = mask; m != 0; m &= m - 1) {
+				long t = clock.timeOf(slots[Long.numberOfTrailingZeros(m)]);
+				// sentence clock may report earlier arrivals as later
+				if (t != ProviderClock.UNKNOWN && Math.abs(clock.elapsed(t, ref)) > window) {
+					return false;
+				}
 			}
 		}
 		return isValid();
 	}
+
+	/**
+	 * Returns the slot index of given sentence ID, or -1 if none.
+	 */
+	private int indexOf(String id) {
+		for (int i = 0; i < slotIds.length; i++) {
+			if (slotIds[i].equals(id)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the slot index of given sentence ID, adding a new slot if
+	 * needed.
+	 */
+	private int slot(String id) {
+		int i = indexOf(id);
+		if (i >= 0) {
+			return i;
+		}
+		i = slotIds.length;
+		if (i == MAX_SLOTS) {
+			throw new IllegalStateException("Too many sentence types: " + id);
+		}
+		String[] ids = new String[i + 1];
+		SentenceEvent[] s = new SentenceEvent[i + 1];
+		long[] seq = new long[i + 1];
+		System.arraycopy(slotIds, 0, ids, 0, i);
+		System.arraycopy(slots, 0, s, 0, i);
+		System.arraycopy(sequence, 0, seq, 0, i);
+		ids[i] = id;
+		slotIds = ids;
+		slots = s;
+		sequence = seq;
+		return i;
+	}
 }
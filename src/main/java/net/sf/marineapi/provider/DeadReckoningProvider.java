@@ -0,0 +1,742 @@
+/*
+ * DeadReckoningProvider.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.provider;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.marineapi.nmea.event.SentenceEvent;
+import net.sf.marineapi.nmea.event.SentenceListener;
+import net.sf.marineapi.nmea.io.SentenceReader;
+import net.sf.marineapi.nmea.parser.DataNotAvailableException;
+import net.sf.marineapi.nmea.sentence.GGASentence;
+import net.sf.marineapi.nmea.sentence.GLLSentence;
+import net.sf.marineapi.nmea.sentence.HDGSentence;
+import net.sf.marineapi.nmea.sentence.HeadingSentence;
+import net.sf.marineapi.nmea.sentence.RMCSentence;
+import net.sf.marineapi.nmea.sentence.ROTSentence;
+import net.sf.marineapi.nmea.sentence.Sentence;
+import net.sf.marineapi.nmea.sentence.SentenceId;
+import net.sf.marineapi.nmea.sentence.VTGSentence;
+import net.sf.marineapi.nmea.util.DataStatus;
+import net.sf.marineapi.nmea.util.Date;
+import net.sf.marineapi.nmea.util.GpsFixQuality;
+import net.sf.marineapi.nmea.util.Position;
+import net.sf.marineapi.provider.event.PositionFix;
+import net.sf.marineapi.provider.event.PositionFixListener;
+
+/**
+ * <p>
+ * Provides smoothed own-ship positions at a fixed output rate, extrapolated
+ * between the fixes reported by GNSS receiver. Positions from GGA, RMC and
+ * GLL and velocities from RMC and VTG are fused in a constant-velocity Kalman
+ * filter. Rate of turn from ROT sentences is applied as a known turn when
+ * propagating the velocity, and true heading is used as the direction of
+ * velocity when course over ground is not available. Heading is taken from
+ * HDT, or from HDG converted to true heading with magnetic variation and
+ * deviation; HDG without variation is ignored.</p>
+ * <p>
+ * The filter state is kept in local east/north coordinates in meters, with a
+ * fixed-size covariance matrix. Measurements are applied one component at a
+ * time, so each sentence is processed in constant time without matrix
+ * inversion. Sentence times are taken from
+ * {@link SentenceEvent#getReceivedNanoTime()}.</p>
+ * <p>
+ * Call {@link #start()} to begin dispatching {@link PositionFix} updates to
+ * listeners at the configured output rate, e.g. 50 Hz for displays, or use
+ * {@link #getFix(long, PositionFix)} to query the estimate on demand.</p>
+ *
+ * @author Kimmo Tuukkanen
+ * @see PositionProvider
+ */
+public class DeadReckoningProvider implements SentenceListener {
+
+	/** Default output rate, in Hz */
+	public static final double DEFAULT_OUTPUT_RATE = 10.0;
+
+	/** Default position accuracy at HDOP 1.0, in meters */
+	public static final double DEFAULT_POSITION_ACCURACY = 5.0;
+
+	/** Default speed accuracy, in meters per second */
+	public static final double DEFAULT_SPEED_ACCURACY = 0.2;
+
+	/** Default process noise, i.e. acceleration deviation in m/s^2 */
+	public static final double DEFAULT_PROCESS_NOISE = 0.5;
+
+	/** Maximum time without position fix before the estimate is dropped */
+	public static final long MAX_GAP = TimeUnit.SECONDS.toNanos(10);
+
+	private static final double EARTH_RADIUS = 6371008.8;
+	private static final double KNOT = 1852.0 / 3600.0;
+	private static final double INITIAL_SPEED_SIGMA = 10.0;
+	private static final double REBASE_DISTANCE = 10000.0;
+	private static final long ROT_TIMEOUT = TimeUnit.SECONDS.toNanos(5);
+	private static final long VELOCITY_INTERVAL = TimeUnit.MILLISECONDS.toNanos(40);
+
+	private final SentenceReader reader;
+	private final List<PositionFixListener> listeners = new CopyOnWriteArrayList<PositionFixListener>();
+
+	// state [x, y, vx, vy] in meters and m/s, x east, y north
+	private final double[] x = new double[4];
+	private final double[] p = new double[16];
+	private final double[] tmp = new double[16];
+	private boolean initialized;
+	private long time;
+
+	// local projection origin
+	private double lat0;
+	private double lon0;
+	private double metersPerDegLon;
+
+	private double altitude = Double.NaN;
+	private GpsFixQuality fixQuality;
+	private long lastPositionTimeOfDay = -1;
+	private long lastVelocityTime;
+	private double heading = Double.NaN;
+	private double turnRate;
+	private long turnRateTime;
+	private long utcNanos = PositionFix.UNKNOWN_TIME;
+	private long utcNanoTime;
+	private long utcTimeOfDay = -1;
+
+	private double positionAccuracy = DEFAULT_POSITION_ACCURACY;
+	private double speedAccuracy = DEFAULT_SPEED_ACCURACY;
+	private double processNoise = DEFAULT_PROCESS_NOISE;
+	private double outputRate = DEFAULT_OUTPUT_RATE;
+
+	private ScheduledExecutorService executor;
+	private final PositionFix output = new PositionFix();
+
+	/**
+	 * Creates a new instance of DeadReckoningProvider.
+	 *
+	 * @param reader SentenceReader that provides the required sentences.
+	 */
+	public DeadReckoningProvider(SentenceReader reader) {
+		this.reader = reader;
+		reader.addSentenceListener(this, SentenceId.GGA);
+		reader.addSentenceListener(this, SentenceId.RMC);
+		reader.addSentenceListener(this, SentenceId.GLL);
+		reader.addSentenceListener(this, SentenceId.VTG);
+		reader.addSentenceListener(this, SentenceId.HDT);
+		reader.addSentenceListener(this, SentenceId.HDG);
+		reader.addSentenceListener(this, SentenceId.ROT);
+	}
+
+	/**
+	 * Adds a position fix listener.
+	 *
+	 * @param listener Listener to add
+	 */
+	public void addListener(PositionFixListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Removes a position fix listener.
+	 *
+	 * @param listener Listener to remove
+	 */
+	public void removeListener(PositionFixListener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * Returns the output rate.
+	 *
+	 * @return Updates per second
+	 */
+	public synchronized double getOutputRate() {
+		return outputRate;
+	}
+
+	/**
+	 * Sets the output rate. If output is running, it is restarted with new
+	 * rate.
+	 *
+	 * @param hz Updates per second
+	 * @throws IllegalArgumentException If rate is not positive
+	 */
+	public synchronized void setOutputRate(double hz) {
+		if (!(hz > 0)) {
+			throw new IllegalArgumentException("Output rate must be positive");
+		}
+		this.outputRate = hz;
+		if (executor != null) {
+			stop();
+			start();
+		}
+	}
+
+	/**
+	 * Returns the position accuracy at HDOP 1.0.
+	 *
+	 * @return Standard deviation in meters
+	 */
+	public synchronized double getPositionAccuracy() {
+		return positionAccuracy;
+	}
+
+	/**
+	 * Sets the position accuracy at HDOP 1.0, i.e. the user equivalent range
+	 * error. When GGA reports HDOP, the accuracy is scaled accordingly.
+	 *
+	 * @param meters Standard deviation in meters
+	 * @throws IllegalArgumentException If value is not positive
+	 */
+	public synchronized void setPositionAccuracy(double meters) {
+		if (!(meters > 0)) {
+			throw new IllegalArgumentException("Accuracy must be positive");
+		}
+		this.positionAccuracy = meters;
+	}
+
+	/**
+	 * Returns the speed measurement accuracy.
+	 *
+	 * @return Standard deviation in meters per second
+	 */
+	public synchronized double getSpeedAccuracy() {
+		return speedAccuracy;
+	}
+
+	/**
+	 * Sets the speed measurement accuracy, applied to both velocity
+	 * components.
+	 *
+	 * @param mps Standard deviation in meters per second
+	 * @throws IllegalArgumentException If value is not positive
+	 */
+	public synchronized void setSpeedAccuracy(double mps) {
+		if (!(mps > 0)) {
+			throw new IllegalArgumentException("Accuracy must be positive");
+		}
+		this.speedAccuracy = mps;
+	}
+
+	/**
+	 * Returns the process noise.
+	 *
+	 * @return Acceleration standard deviation in m/s^2
+	 */
+	public synchronized double getProcessNoise() {
+		return processNoise;
+	}
+
+	/**
+	 * Sets the process noise, i.e. how much the vessel is expected to
+	 * accelerate between updates. Higher values follow maneuvers faster,
+	 * lower values give smoother output.
+	 *
+	 * @param accel Acceleration standard deviation in m/s^2
+	 * @throws IllegalArgumentException If value is negative
+	 */
+	public synchronized void setProcessNoise(double accel) {
+		if (!(accel >= 0)) {
+			throw new IllegalArgumentException("Process noise cannot be negative");
+		}
+		this.processNoise = accel;
+	}
+
+	/**
+	 * Tells if the filter has been initialized with a position fix.
+	 *
+	 * @return true if estimate is available, otherwise false.
+	 */
+	public synchronized boolean isInitialized() {
+		return initialized;
+	}
+
+	/**
+	 * Estimates the position at given time. The estimate is extrapolated
+	 * from the latest filter state without modifying it.
+	 *
+	 * @param nanoTime Time as {@code System.nanoTime()}
+	 * @param fix Fix to overwrite with estimate
+	 * @return true if estimate was written, false if not initialized or the
+	 *         latest fix is older than {@link #MAX_GAP}.
+	 */
+	public synchronized boolean getFix(long nanoTime, PositionFix fix) {
+
+		long dtn = nanoTime - time;
+		if (!initialized || dtn > MAX_GAP) {
+			return false;
+		}
+		double dt = Math.max(0, dtn) / 1e9;
+		double theta = turnRate(nanoTime) * dt;
+		double ch = Math.cos(theta / 2);
+		double sh = Math.sin(theta / 2);
+		double c = Math.cos(theta);
+		double s = Math.sin(theta);
+
+		double px = x[0] + dt * (ch * x[2] + sh * x[3]);
+		double py = x[1] + dt * (-sh * x[2] + ch * x[3]);
+		double vx = c * x[2] + s * x[3];
+		double vy = -s * x[2] + c * x[3];
+
+		fix.clear();
+		fix.setPosition(lat0 + Math.toDegrees(py / EARTH_RADIUS),
+				normalizeLon(lon0 + px / metersPerDegLon));
+		fix.setAltitude(altitude);
+		fix.setSpeed(Math.hypot(vx, vy) / KNOT);
+		double cog = Math.toDegrees(Math.atan2(vx, vy));
+		fix.setCourse(cog < 0 ? cog + 360 : cog);
+		fix.setFixQuality(fixQuality);
+		fix.setNanoTime(nanoTime);
+		if (utcNanos != PositionFix.UNKNOWN_TIME) {
+			fix.setEpochNanos(utcNanos + (nanoTime - utcNanoTime));
+		}
+		return true;
+	}
+
+	/**
+	 * Starts dispatching position fixes to listeners at the output rate,
+	 * using a daemon thread. Does nothing if already started.
+	 */
+	public synchronized void start() {
+		if (executor != null) {
+			return;
+		}
+		executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "DeadReckoningProvider");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+		long period = Math.max(1, (long) (1e9 / outputRate));
+		executor.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				dispatch(System.nanoTime());
+			}
+		}, 0, period, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Stops dispatching position fixes.
+	 */
+	public synchronized void stop() {
+		if (executor != null) {
+			executor.shutdown();
+			executor = null;
+		}
+	}
+
+	/**
+	 * Resets the filter, discarding current estimate.
+	 */
+	public synchronized void reset() {
+		initialized = false;
+		lastPositionTimeOfDay = -1;
+		heading = Double.NaN;
+		turnRate = 0;
+		utcNanos = PositionFix.UNKNOWN_TIME;
+		utcTimeOfDay = -1;
+		altitude = Double.NaN;
+		fixQuality = null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see net.sf.marineapi.nmea.event.SentenceListener#readingPaused()
+	 */
+	@Override
+	public void readingPaused() {
+		// nothing
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see net.sf.marineapi.nmea.event.SentenceListener#readingStarted()
+	 */
+	@Override
+	public void readingStarted() {
+		reset();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see net.sf.marineapi.nmea.event.SentenceListener#readingStopped()
+	 */
+	@Override
+	public void readingStopped() {
+		stop();
+		reset();
+		reader.removeSentenceListener(this);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see net.sf.marineapi.nmea.event.SentenceListener#sentenceRead(
+	 * net.sf.marineapi.nmea.event.SentenceEvent)
+	 */
+	@Override
+	public synchronized void sentenceRead(SentenceEvent event) {
+		Sentence s = event.getSentence();
+		long t = event.getReceivedNanoTime();
+		// fields are read before updating any state, so that a sentence with
+		// missing data is skipped as a whole
+		try {
+			if (s instanceof GGASentence) {
+				onGGA((GGASentence) s, t);
+			} else if (s instanceof RMCSentence) {
+				onRMC((RMCSentence) s, t);
+			} else if (s instanceof GLLSentence) {
+				GLLSentence gll = (GLLSentence) s;
+				if (gll.getStatus() != DataStatus.VOID) {
+					onPosition(gll.getPosition(), positionAccuracy,
+							gll.getTime().getMilliseconds(), t);
+				}
+			} else if (s instanceof VTGSentence) {
+				VTGSentence vtg = (VTGSentence) s;
+				onVelocity(vtg.getSpeedKnots(), trueCourse(vtg), t);
+			} else if (s instanceof HDGSentence) {
+				double h = trueHeading((HDGSentence) s);
+				if (!Double.isNaN(h)) {
+					heading = h;
+				}
+			} else if (s instanceof HeadingSentence) {
+				HeadingSentence hs = (HeadingSentence) s;
+				if (hs.isTrue()) {
+					heading = hs.getHeading();
+				}
+			} else if (s instanceof ROTSentence) {
+				ROTSentence rot = (ROTSentence) s;
+				if (rot.getStatus() == DataStatus.ACTIVE) {
+					turnRate = Math.toRadians(rot.getRateOfTurn() / 60.0);
+					turnRateTime = t;
+				}
+			}
+		} catch (DataNotAvailableException e) {
+			// incomplete or malformed sentence, skip
+		}
+	}
+
+	private void onGGA(GGASentence gga, long t) {
+		GpsFixQuality quality = gga.getFixQuality();
+		if (quality == GpsFixQuality.INVALID) {
+			fixQuality = quality;
+			return;
+		}
+		double sigma = positionAccuracy;
+		try {
+			double hdop = gga.getHorizontalDOP();
+			if (hdop > 0) {
+				sigma *= hdop;
+			}
+		} catch (DataNotAvailableException e) {
+			// use default accuracy
+		}
+		Position pos = gga.getPosition();
+		long tod = gga.getTime().getMilliseconds();
+		fixQuality = quality;
+		altitude = pos.getAltitude();
+		setUtcTime(null, tod, t);
+		onPosition(pos, sigma, tod, t);
+	}
+
+	private void onRMC(RMCSentence rmc, long t) {
+		if (rmc.getStatus() == DataStatus.VOID) {
+			return;
+		}
+		long tod = rmc.getTime().getMilliseconds();
+		Date date = null;
+		try {
+			date = rmc.getDate();
+		} catch (DataNotAvailableException e) {
+			// time of day only
+		}
+		Position pos = rmc.getPosition();
+		double sog = rmc.getSpeed();
+		double cog;
+		try {
+			cog = rmc.getCourse();
+		} catch (DataNotAvailableException e) {
+			cog = Double.NaN;
+		}
+		setUtcTime(date, tod, t);
+		onPosition(pos, positionAccuracy, tod, t);
+		onVelocity(sog, cog, t);
+	}
+
+	/**
+	 * Converts magnetic heading to true, NaN if variation is not known.
+	 */
+	private static double trueHeading(HDGSentence hdg) {
+		double variation;
+		double deviation;
+		try {
+			variation = hdg.getVariation();
+		} catch (DataNotAvailableException e) {
+			return Double.NaN;
+		}
+		try {
+			deviation = hdg.getDeviation();
+		} catch (DataNotAvailableException e) {
+			deviation = 0;
+		}
+		double h = (hdg.getHeading() + deviation + variation) % 360;
+		return h < 0 ? h + 360 : h;
+	}
+
+	private static double trueCourse(VTGSentence vtg) {
+		try {
+			return vtg.getTrueCourse();
+		} catch (DataNotAvailableException e) {
+			return Double.NaN;
+		}
+	}
+
+	/**
+	 * Updates the UTC time reference. The first sentence of each receiver
+	 * epoch is used as the reference point, as it is received closest to the
+	 * actual time of fix.
+	 */
+	private void setUtcTime(Date date, long timeOfDay, long t) {
+		long now;
+		if (utcNanos == PositionFix.UNKNOWN_TIME) {
+			now = System.currentTimeMillis();
+		} else {
+			// date is carried over from previous fix
+			now = TimeUnit.NANOSECONDS.toMillis(utcNanos + (t - utcNanoTime));
+		}
+		long ms = PositionProvider.epochMillis(date, timeOfDay, now);
+		if (utcNanos == PositionFix.UNKNOWN_TIME || timeOfDay != utcTimeOfDay) {
+			utcNanoTime = t;
+			utcTimeOfDay = timeOfDay;
+		}
+		utcNanos = TimeUnit.MILLISECONDS.toNanos(ms);
+	}
+
+	/**
+	 * Applies a position measurement, initializing the filter if needed.
+	 * Each receiver epoch is applied only once, although reported by
+	 * several sentences.
+	 */
+	private void onPosition(Position pos, double sigma, long timeOfDay, long t) {
+
+		if (initialized && timeOfDay == lastPositionTimeOfDay) {
+			return;
+		}
+		lastPositionTimeOfDay = timeOfDay;
+
+		if (initialized && t - time > MAX_GAP) {
+			initialized = false;
+		}
+
+		if (!initialized) {
+			lat0 = pos.getLatitude();
+			lon0 = pos.getLongitude();
+			metersPerDegLon = Math.toRadians(EARTH_RADIUS) * Math.cos(Math.toRadians(lat0));
+			x[0] = 0;
+			x[1] = 0;
+			x[2] = 0;
+			x[3] = 0;
+			double r = sigma * sigma;
+			double v = INITIAL_SPEED_SIGMA * INITIAL_SPEED_SIGMA;
+			for (int i = 0; i < 16; i++) {
+				p[i] = 0;
+			}
+			p[0] = r;
+			p[5] = r;
+			p[10] = v;
+			p[15] = v;
+			time = t;
+			lastVelocityTime = t - VELOCITY_INTERVAL;
+			initialized = true;
+			return;
+		}
+
+		predict(t);
+		double dLon = normalizeLon(pos.getLongitude() - lon0);
+		double mx = dLon * metersPerDegLon;
+		double my = Math.toRadians(pos.getLatitude() - lat0) * EARTH_RADIUS;
+		double r = sigma * sigma;
+		update(0, mx, r);
+		update(1, my, r);
+
+		if (Math.hypot(x[0], x[1]) > REBASE_DISTANCE) {
+			rebase();
+		}
+	}
+
+	/**
+	 * Applies a velocity measurement.
+	 */
+	private void onVelocity(double sog, double cog, long t) {
+
+		if (!initialized || t - lastVelocityTime < VELOCITY_INTERVAL) {
+			// RMC and VTG of the same epoch are applied once
+			return;
+		}
+
+		double speed = sog * KNOT;
+		double dir = Double.isNaN(cog) ? heading : cog;
+		double vx;
+		double vy;
+		if (!Double.isNaN(dir)) {
+			vx = speed * Math.sin(Math.toRadians(dir));
+			vy = speed * Math.cos(Math.toRadians(dir));
+		} else if (speed < 0.05) {
+			vx = 0;
+			vy = 0;
+		} else {
+			return;
+		}
+
+		lastVelocityTime = t;
+		predict(t);
+		double r = speedAccuracy * speedAccuracy;
+		update(2, vx, r);
+		update(3, vy, r);
+	}
+
+	/**
+	 * Propagates the state and covariance to given time.
+	 */
+	private void predict(long t) {
+
+		double dt = (t - time) / 1e9;
+		if (dt <= 0) {
+			return;
+		}
+		time = t;
+
+		double theta = turnRate(t) * dt;
+		double ch = Math.cos(theta / 2);
+		double sh = Math.sin(theta / 2);
+		double c = Math.cos(theta);
+		double s = Math.sin(theta);
+
+		double[] f = {
+			1, 0, dt * ch, dt * sh,
+			0, 1, -dt * sh, dt * ch,
+			0, 0, c, s,
+			0, 0, -s, c
+		};
+
+		double vx = x[2];
+		double vy = x[3];
+		x[0] += f[2] * vx + f[3] * vy;
+		x[1] += f[6] * vx + f[7] * vy;
+		x[2] = c * vx + s * vy;
+		x[3] = -s * vx + c * vy;
+
+		// P = F P F' + Q
+		for (int i = 0; i < 4; i++) {
+			for (int j = 0; j < 4; j++) {
+				double sum = 0;
+				for (int k = 0; k < 4; k++) {
+					sum += f[i * 4 + k] * p[k * 4 + j];
+				}
+				tmp[i * 4 + j] = sum;
+			}
+		}
+		for (int i = 0; i < 4; i++) {
+			for (int j = 0; j < 4; j++) {
+				double sum = 0;
+				for (int k = 0; k < 4; k++) {
+					sum += tmp[i * 4 + k] * f[j * 4 + k];
+				}
+				p[i * 4 + j] = sum;
+			}
+		}
+
+		// discrete white noise acceleration, per axis
+		double q = processNoise * processNoise;
+		double dt2 = dt * dt;
+		double qpp = dt2 * dt2 / 4 * q;
+		double qpv = dt2 * dt / 2 * q;
+		double qvv = dt2 * q;
+		p[0] += qpp;
+		p[2] += qpv;
+		p[8] += qpv;
+		p[10] += qvv;
+		p[5] += qpp;
+		p[7] += qpv;
+		p[13] += qpv;
+		p[15] += qvv;
+	}
+
+	/**
+	 * Scalar Kalman update of state component {@code i} with measurement
+	 * {@code z} of variance {@code r}.
+	 */
+	private void update(int i, double z, double r) {
+		double s = p[i * 4 + i] + r;
+		double y = z - x[i];
+		double k0 = p[i] / s;
+		double k1 = p[4 + i] / s;
+		double k2 = p[8 + i] / s;
+		double k3 = p[12 + i] / s;
+		x[0] += k0 * y;
+		x[1] += k1 * y;
+		x[2] += k2 * y;
+		x[3] += k3 * y;
+		for (int j = 0; j < 4; j++) {
+			double pij = p[i * 4 + j];
+			p[j] -= k0 * pij;
+			p[4 + j] -= k1 * pij;
+			p[8 + j] -= k2 * pij;
+			p[12 + j] -= k3 * pij;
+		}
+	}
+
+	/**
+	 * Moves the projection origin to current position estimate.
+	 */
+	private void rebase() {
+		lat0 += Math.toDegrees(x[1] / EARTH_RADIUS);
+		lon0 = normalizeLon(lon0 + x[0] / metersPerDegLon);
+		metersPerDegLon = Math.toRadians(EARTH_RADIUS) * Math.cos(Math.toRadians(lat0));
+		x[0] = 0;
+		x[1] = 0;
+	}
+
+	private double turnRate(long t) {
+		return t - turnRateTime > ROT_TIMEOUT ? 0 : turnRate;
+	}
+
+	private void dispatch(long nanoTime) {
+		if (listeners.isEmpty() || !getFix(nanoTime, output)) {
+			return;
+		}
+		for (PositionFixListener listener : listeners) {
+			listener.positionFix(output);
+		}
+	}
+
+	private static double normalizeLon(double lon) {
+		if (lon > 180) {
+			return lon - 360;
+		}
+		if (lon < -180) {
+			return lon + 360;
+		}
+		return lon;
+	}
+}
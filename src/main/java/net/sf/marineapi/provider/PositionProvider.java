@@ -20,6 +20,10 @@
  */
 package net.sf.marineapi.provider;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
 import net.sf.marineapi.nmea.io.SentenceReader;
 import net.sf.marineapi.nmea.parser.DataNotAvailableException;
 import net.sf.marineapi.nmea.sentence.GGASentence;
@@ -35,11 +39,15 @@ import net.sf.marineapi.nmea.util.GpsFixQuality;
 import net.sf.marineapi.nmea.util.Position;
 import net.sf.marineapi.nmea.util.Time;
 import net.sf.marineapi.provider.event.PositionEvent;
+import net.sf.marineapi.provider.event.PositionFix;
+import net.sf.marineapi.provider.event.PositionFixListener;
 
 /**
  * <p>
  * Provides Time, Position and Velocity reports from GPS. Data is captured from
- * RMC, GGA and GLL sentences. RMC is used for date/time, speed and course. GGA
+ * RMC, GGA, GLL and VTG sentences. RMC is used for date/time, speed and course.
+ * When both RMC and VTG are captured, speed and course are taken from the one
+ * received last. GGA
  * is used as primary source for position as it contains also the altitude. When
  * GGA is not available, position may be taken from GLL or RMC. If this is the
  * case, there is no altitude included in the
@@ -48,6 +56,14 @@ import net.sf.marineapi.provider.event.PositionEvent;
  * {@link net.sf.marineapi.nmea.util.DataStatus#ACTIVE}. FAA mode transmitted in
  * RMC is also checked and captured when available, but may be {@code null}
  * depending on used NMEA version.
+ * </p>
+ * <p>
+ * For high update rates, register a {@link PositionFixListener} instead of
+ * {@link net.sf.marineapi.provider.event.PositionListener}. Fix listeners
+ * receive a single reused {@link PositionFix} holding primitive values, and
+ * no {@code PositionEvent} is created unless there are also position
+ * listeners registered.
+ * </p>
  *  
  * @author Kimmo Tuukkanen
  * @see net.sf.marineapi.provider.event.PositionListener
@@ -56,6 +72,11 @@ import net.sf.marineapi.provider.event.PositionEvent;
  */
 public class PositionProvider extends AbstractProvider<PositionEvent> {
 
+	private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+	private final PositionFix fix = new PositionFix();
+	private final List<PositionFixListener> fixListeners = new CopyOnWriteArrayList<PositionFixListener>();
+
 	/**
 	 * Creates a new instance of PositionProvider.
 	 * 
@@ -65,12 +86,148 @@ public class PositionProvider extends AbstractProvider<PositionEvent> {
 		super(reader, SentenceId.RMC, SentenceId.GGA, SentenceId.GLL, SentenceId.VTG);
 	}
 
+	/**
+	 * Adds a low-allocation position fix listener.
+	 * 
+	 * @param listener Listener to add
+	 */
+	public void addFixListener(PositionFixListener listener) {
+		fixListeners.add(listener);
+	}
+
+	/**
+	 * Removes a position fix listener.
+	 * 
+	 * @param listener Listener to remove
+	 */
+	public void removeFixListener(PositionFixListener listener) {
+		fixListeners.remove(listener);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see net.sf.marineapi.provider.AbstractProvider#createProviderEvent()
 	 */
 	@Override
 	protected PositionEvent createProviderEvent() {
+		if (!fixListeners.isEmpty()) {
+			updateFix();
+			for (PositionFixListener listener : fixListeners) {
+				listener.positionFix(fix);
+			}
+		}
+		return hasListeners() ? createPositionEvent() : null;
+	}
+
+	/**
+	 * Fills the reused fix from captured sentences, without creating the
+	 * date, time and boxed values of {@code PositionEvent}.
+	 */
+	private void updateFix() {
+
+		RMCSentence rmc = (RMCSentence) getSentence("RMC");
+		GGASentence gga = (GGASentence) getSentence("GGA");
+		GLLSentence gll = (GLLSentence) getSentence("GLL");
+		VTGSentence vtg = (VTGSentence) getSentence("VTG");
+
+		fix.clear();
+		fix.setNanoTime(getLatestEvent().getReceivedNanoTime());
+
+		// position priority as in createPositionEvent()
+		Position p;
+		if (gga != null) {
+			p = gga.getPosition();
+			fix.setAltitude(p.getAltitude());
+			fix.setFixQuality(gga.getFixQuality());
+		} else if (rmc != null) {
+			p = rmc.getPosition();
+		} else {
+			p = gll.getPosition();
+		}
+		fix.setPosition(p.getLatitude(), p.getLongitude());
+
+		// velocity of the latest sentence wins, as in createPositionEvent()
+		boolean vtgFirst = vtg != null && isCapturedAfter("RMC", "VTG");
+		if (vtgFirst) {
+			setVelocity(vtg);
+		}
+		long timeOfDay = -1;
+		if (rmc != null) {
+			fix.setSpeed(rmc.getSpeed());
+			try {
+				fix.setCourse(rmc.getCourse());
+			} catch (DataNotAvailableException e) {
+				// not moving, course undefined
+			}
+			if (rmc.getFieldCount() > 11) {
+				fix.setMode(rmc.getMode());
+			}
+			timeOfDay = rmc.getTime().getMilliseconds();
+		} else if (gga != null) {
+			timeOfDay = gga.getTime().getMilliseconds();
+		}
+		if (vtg != null && !vtgFirst) {
+			setVelocity(vtg);
+		}
+
+		if (timeOfDay >= 0) {
+			Date d = rmc == null ? null : rmc.getDate();
+			long ms = epochMillis(d, timeOfDay, System.currentTimeMillis());
+			fix.setEpochNanos(TimeUnit.MILLISECONDS.toNanos(ms));
+		}
+	}
+
+	private void setVelocity(VTGSentence vtg) {
+		fix.setSpeed(vtg.getSpeedKnots());
+		try {
+			fix.setCourse(vtg.getTrueCourse());
+		} catch (DataNotAvailableException e) {
+			// not moving, course undefined
+		}
+	}
+
+	/**
+	 * Returns the UTC time in milliseconds since epoch for given date and
+	 * time of day. If date is not available, the date that results in time
+	 * closest to current time is used.
+	 *
+	 * @param date Date or {@code null}
+	 * @param timeOfDay Milliseconds since midnight
+	 * @param now Current time in milliseconds
+	 */
+	static long epochMillis(Date date, long timeOfDay, long now) {
+		long day;
+		if (date != null) {
+			day = epochDay(date.getYear(), date.getMonth(), date.getDay());
+		} else {
+			day = Math.floorDiv(now, DAY);
+			long diff = day * DAY + timeOfDay - now;
+			if (diff > DAY / 2) {
+				day--;
+			} else if (diff < -DAY / 2) {
+				day++;
+			}
+		}
+		return day * DAY + timeOfDay;
+	}
+
+	/**
+	 * Returns the number of days since 1970-01-01 for given date in
+	 * proleptic Gregorian calendar.
+	 */
+	static long epochDay(int year, int month, int day) {
+		long y = month <= 2 ? year - 1 : year;
+		long era = Math.floorDiv(y, 400);
+		long yoe = y - era * 400;
+		long doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+		long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+		return era * 146097 + doe - 719468;
+	}
+
+	/**
+	 * Creates a position event of captured sentences.
+	 */
+	private PositionEvent createPositionEvent() {
 		Position p = null;
 		Double sog = null;
 		Double cog = null;
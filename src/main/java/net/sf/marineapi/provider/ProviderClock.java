@@ -0,0 +1,119 @@
+/*
+ * ProviderClock.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.provider;
+
+import java.util.concurrent.TimeUnit;
+
+import net.sf.marineapi.nmea.event.SentenceEvent;
+import net.sf.marineapi.nmea.sentence.Sentence;
+import net.sf.marineapi.nmea.sentence.TimeSentence;
+
+/**
+ * <p>
+ * Time source used by providers to decide whether the captured sentences
+ * belong to the same epoch, i.e. fit within the fusion window. The clock
+ * maps each sentence event to a point in time; the elapsed time from each
+ * captured sentence to the most recent one is then compared against the
+ * window.</p>
+ * <p>
+ * Available clocks are {@link #WALL} for system time,
+ * {@link #MONOTONIC} for {@code System.nanoTime()} based event timestamps
+ * and {@link #SENTENCE} for the UTC time reported by the sentences
+ * themselves, which works also when replaying recorded data faster or
+ * slower than real time.</p>
+ *
+ * @author Kimmo Tuukkanen
+ * @see AbstractProvider#setClock(ProviderClock)
+ * @see AbstractProvider#setFusionWindow(long)
+ */
+public interface ProviderClock {
+
+	/** Returned by {@link #timeOf(SentenceEvent)} when time is unknown. */
+	long UNKNOWN = Long.MIN_VALUE;
+
+	/** System wall clock time, i.e. {@link SentenceEvent#getTimeStamp()}. */
+	ProviderClock WALL = new ProviderClock() {
+		@Override
+		public long timeOf(SentenceEvent event) {
+			return TimeUnit.MILLISECONDS.toNanos(event.getTimeStamp());
+		}
+	};
+
+	/** Monotonic clock, i.e. {@link SentenceEvent#getReceivedNanoTime()}. */
+	ProviderClock MONOTONIC = new ProviderClock() {
+		@Override
+		public long timeOf(SentenceEvent event) {
+			return event.getReceivedNanoTime();
+		}
+	};
+
+	/**
+	 * UTC time of day embedded in {@link TimeSentence}s. Sentences without
+	 * time, or with empty time field, are not considered in validation.
+	 */
+	ProviderClock SENTENCE = new ProviderClock() {
+
+		private final long day = TimeUnit.DAYS.toNanos(1);
+
+		@Override
+		public long timeOf(SentenceEvent event) {
+			Sentence s = event.getSentence();
+			if (!(s instanceof TimeSentence)) {
+				return UNKNOWN;
+			}
+			try {
+				long ms = ((TimeSentence) s).getTime().getMilliseconds();
+				return TimeUnit.MILLISECONDS.toNanos(ms);
+			} catch (RuntimeException e) {
+				return UNKNOWN;
+			}
+		}
+
+		@Override
+		public long elapsed(long from, long to) {
+			// time of day wraps at midnight
+			long d = Math.floorMod(to - from, day);
+			return d > day / 2 ? d - day : d;
+		}
+	};
+
+	/**
+	 * Returns the time of given sentence event.
+	 *
+	 * @param event Sentence event
+	 * @return Time in nanoseconds, or {@link #UNKNOWN}.
+	 */
+	long timeOf(SentenceEvent event);
+
+	/**
+	 * Returns the time elapsed between two points in time returned by
+	 * {@link #timeOf(SentenceEvent)}. Default implementation returns the
+	 * plain difference.
+	 *
+	 * @param from Earlier time in nanoseconds
+	 * @param to Later time in nanoseconds
+	 * @return Elapsed time in nanoseconds, negative if {@code from} is
+	 *         later than {@code to}.
+	 */
+	default long elapsed(long from, long to) {
+		return to - from;
+	}
+}
@@ -20,24 +20,47 @@
  */
 package net.sf.marineapi.provider;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import net.sf.marineapi.nmea.event.SentenceEvent;
 import net.sf.marineapi.nmea.io.SentenceReader;
 import net.sf.marineapi.nmea.sentence.GSASentence;
 import net.sf.marineapi.nmea.sentence.GSVSentence;
 import net.sf.marineapi.nmea.sentence.Sentence;
+import net.sf.marineapi.nmea.sentence.TalkerId;
 import net.sf.marineapi.nmea.util.SatelliteInfo;
 import net.sf.marineapi.provider.event.SatelliteInfoEvent;
 
 /**
- * SatelliteInfoProvider collects GPS satellite information from sequence of GSV sentences
- * and reports all the information in a single event.
+ * <p>
+ * SatelliteInfoProvider collects satellite information from sequences of GSV
+ * sentences and reports all the information in a single event.</p>
+ * <p>
+ * Multi-constellation receivers report each system with its own talker ID,
+ * e.g. GPGSV, GLGSV, GAGSV and GBGSV, and the sequences may be interleaved.
+ * Each talker's GSV sequence is framed separately, and the completed
+ * sequences are merged into one event per update cycle. The cycle is
+ * complete when all talkers of previous cycle have reported and no other
+ * sequence is in progress. If a talker starts a new sequence before the
+ * cycle is complete, the cycle is dispatched without the missing talkers.
+ * </p>
  * 
  * @author Kimmo Tuukkanen
  */
 public class SatelliteInfoProvider extends AbstractProvider<SatelliteInfoEvent> {
 
+	// GSV framing state per talker
+	private final Map<TalkerId, Cycle> cycles = new EnumMap<TalkerId, Cycle>(TalkerId.class);
+	// talkers in previous cycle, and talkers completed in current cycle
+	private Set<TalkerId> known = EnumSet.noneOf(TalkerId.class);
+	private final Set<TalkerId> completed = EnumSet.noneOf(TalkerId.class);
+	private boolean cycleReady;
+
 	/**
 	 * Creates a new instance of SatelliteInfoProvider with specified reader.
 	 * 
@@ -54,19 +77,38 @@ public class SatelliteInfoProvider extends AbstractProvider<SatelliteInfoEvent>
 	@Override
 	protected SatelliteInfoEvent createProviderEvent() {
 
-		GSASentence gsa = null;
-		List<SatelliteInfo> info = new ArrayList<SatelliteInfo>();
+		GSASentence gsa = (GSASentence) getSentence("GSA");
+		known = EnumSet.copyOf(completed);
+		if (!hasListeners()) {
+			return null;
+		}
+
+		int count = 0;
+		for (TalkerId t : completed) {
+			count += cycles.get(t).size;
+		}
 
-		for (Sentence sentence : getSentences()) {
-			if ("GSA".equals(sentence.getSentenceId())) {
-				gsa = (GSASentence) sentence;
-			} else if ("GSV".equals(sentence.getSentenceId())) {
-				GSVSentence gsv = (GSVSentence) sentence;
-				info.addAll(gsv.getSatelliteInfo());
+		TalkerId[] talkers = new TalkerId[count];
+		String[] ids = new String[count];
+		int[] prn = new int[count];
+		int[] elevation = new int[count];
+		int[] azimuth = new int[count];
+		int[] noise = new int[count];
+
+		int n = 0;
+		for (TalkerId t : completed) {
+			Cycle c = cycles.get(t);
+			for (int i = 0; i < c.size; i++, n++) {
+				talkers[n] = t;
+				ids[n] = c.ids[i];
+				prn[n] = c.prn[i];
+				elevation[n] = c.elevation[i];
+				azimuth[n] = c.azimuth[i];
+				noise[n] = c.noise[i];
 			}
 		}
 
-		return new SatelliteInfoEvent(this, gsa, info);
+		return new SatelliteInfoEvent(this, gsa, talkers, ids, prn, elevation, azimuth, noise);
 	}
 
 	/*
@@ -75,26 +117,7 @@ public class SatelliteInfoProvider extends AbstractProvider<SatelliteInfoEvent>
 	 */
 	@Override
 	protected boolean isReady() {
-
-		boolean hasFirstGSV = false;
-		boolean hasLastGSV = false;
-		boolean hasAllGSV = false;
-		int count = 0;
-		
-		for (Sentence s : getSentences()) {
-			if ("GSV".equals(s.getSentenceId())) {
-				GSVSentence gsv = (GSVSentence) s;
-				if (!hasFirstGSV) {
-					hasFirstGSV = gsv.isFirst();
-				}
-				if (!hasLastGSV) {
-					hasLastGSV = gsv.isLast();
-				}
-				hasAllGSV = (gsv.getSentenceCount() == ++count);
-			}
-		}
-
-		return hasOne("GSA") && hasAllGSV && hasFirstGSV && hasLastGSV;
+		return cycleReady && hasOne("GSA");
 	}
 
 	/*
@@ -105,4 +128,168 @@ public class SatelliteInfoProvider extends AbstractProvider<SatelliteInfoEvent>
 	protected boolean isValid() {
 		return true;
 	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see net.sf.marineapi.provider.AbstractProvider#reset()
+	 */
+	@Override
+	protected synchronized void reset() {
+		super.reset();
+		completed.clear();
+		cycleReady = false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see net.sf.marineapi.provider.AbstractProvider#sentenceRead(
+	 * net.sf.marineapi.nmea.event.SentenceEvent)
+	 */
+	@Override
+	public synchronized void sentenceRead(SentenceEvent event) {
+
+		Sentence s = event.getSentence();
+		if (!"GSV".equals(s.getSentenceId())) {
+			super.sentenceRead(event);
+			return;
+		}
+
+		GSVSentence gsv = (GSVSentence) s;
+		TalkerId talker = gsv.getTalkerId();
+		Cycle c = cycles.get(talker);
+		if (c == null) {
+			c = new Cycle();
+			cycles.put(talker, c);
+		}
+
+		boolean restart = gsv.isFirst() && completed.contains(talker);
+		if (restart) {
+			// new cycle started before all talkers reported
+			cycleReady = true;
+		} else if (c.add(gsv)) {
+			completed.add(talker);
+			cycleReady = isCycleComplete();
+		}
+
+		super.sentenceRead(event);
+
+		if (restart) {
+			if (cycleReady) {
+				// could not dispatch, e.g. GSA missing
+				known = EnumSet.copyOf(completed);
+				completed.clear();
+				cycleReady = false;
+			}
+			if (c.add(gsv)) {
+				completed.add(talker);
+				cycleReady = isCycleComplete();
+			}
+		}
+	}
+
+	private boolean isCycleComplete() {
+		if (!completed.containsAll(known)) {
+			return false;
+		}
+		for (Cycle c : cycles.values()) {
+			if (c.isInProgress()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * GSV sequence of one talker. Satellites are collected in pending arrays
+	 * and published to the completed arrays when the sequence is complete.
+	 */
+	private static final class Cycle {
+
+		// sequence being received
+		private int expected;
+		private int next;
+		private int pending;
+		private String[] pendingIds = new String[16];
+		private int[] pendingData = new int[64];
+
+		// last complete sequence
+		private int size;
+		private String[] ids = new String[0];
+		private int[] prn = new int[0];
+		private int[] elevation = new int[0];
+		private int[] azimuth = new int[0];
+		private int[] noise = new int[0];
+
+		boolean isInProgress() {
+			return next > 1;
+		}
+
+		/**
+		 * Adds a GSV sentence.
+		 *
+		 * @return true if sequence was completed, otherwise false.
+		 */
+		boolean add(GSVSentence gsv) {
+
+			if (gsv.isFirst()) {
+				expected = gsv.getSentenceCount();
+				next = 1;
+				pending = 0;
+			} else if (next <= 1 || gsv.getSentenceIndex() != next
+					|| gsv.getSentenceCount() != expected) {
+				// missed the first or a sentence in between
+				next = 0;
+				return false;
+			}
+
+			List<SatelliteInfo> info = gsv.getSatelliteInfo();
+			for (SatelliteInfo si : info) {
+				if (pending == pendingIds.length) {
+					pendingIds = Arrays.copyOf(pendingIds, pending * 2);
+					pendingData = Arrays.copyOf(pendingData, pending * 8);
+				}
+				pendingIds[pending] = si.getId();
+				int j = pending * 4;
+				pendingData[j] = prn(si.getId());
+				pendingData[j + 1] = si.getElevation();
+				pendingData[j + 2] = si.getAzimuth();
+				pendingData[j + 3] = si.getNoise();
+				pending++;
+			}
+			next++;
+
+			if (!gsv.isLast()) {
+				return false;
+			}
+			publish();
+			next = 0;
+			return true;
+		}
+
+		private void publish() {
+			if (prn.length < pending) {
+				ids = new String[pending];
+				prn = new int[pending];
+				elevation = new int[pending];
+				azimuth = new int[pending];
+				noise = new int[pending];
+			}
+			for (int i = 0; i < pending; i++) {
+				ids[i] = pendingIds[i];
+				prn[i] = pendingData[i * 4];
+				elevation[i] = pendingData[i * 4 + 1];
+				azimuth[i] = pendingData[i * 4 + 2];
+				noise[i] = pendingData[i * 4 + 3];
+			}
+			size = pending;
+		}
+
+		private static int prn(String id) {
+			try {
+				return Integer.parseInt(id.trim());
+			} catch (NumberFormatException e) {
+				return -1;
+			}
+		}
+	}
 }
@@ -0,0 +1,280 @@
+/*
+ * PositionFix.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.provider.event;
+
+import net.sf.marineapi.nmea.util.FaaMode;
+import net.sf.marineapi.nmea.util.GpsFixQuality;
+import net.sf.marineapi.nmea.util.Position;
+
+/**
+ * <p>
+ * Mutable, primitive-backed snapshot of a position fix. Intended for high
+ * update rates, where creating a {@link PositionEvent} with its position,
+ * date, time and boxed values on each fix would be a measurable cost.
+ * Providers reuse the same instance for every update, see
+ * {@link PositionFixListener}.</p>
+ * <p>
+ * Values that are not available are {@code Double.NaN}, {@code null} or
+ * {@link #UNKNOWN_TIME}, depending on type.</p>
+ * 
+ * @author Kimmo Tuukkanen
+ */
+public class PositionFix {
+
+	/** Indicates unknown UTC time. */
+	public static final long UNKNOWN_TIME = Long.MIN_VALUE;
+
+	private double latitude;
+	private double longitude;
+	private double altitude;
+	private double speed;
+	private double course;
+	private long epochNanos;
+	private long nanoTime;
+	private GpsFixQuality fixQuality;
+	private FaaMode mode;
+
+	/**
+	 * Creates a new empty fix.
+	 */
+	public PositionFix() {
+		clear();
+	}
+
+	/**
+	 * Resets all values to not available.
+	 */
+	public void clear() {
+		latitude = Double.NaN;
+		longitude = Double.NaN;
+		altitude = Double.NaN;
+		speed = Double.NaN;
+		course = Double.NaN;
+		epochNanos = UNKNOWN_TIME;
+		nanoTime = 0;
+		fixQuality = null;
+		mode = null;
+	}
+
+	/**
+	 * Copies all values of this fix to another instance.
+	 * 
+	 * @param target Fix to overwrite
+	 */
+	public void copyTo(PositionFix target) {
+		target.latitude = latitude;
+		target.longitude = longitude;
+		target.altitude = altitude;
+		target.speed = speed;
+		target.course = course;
+		target.epochNanos = epochNanos;
+		target.nanoTime = nanoTime;
+		target.fixQuality = fixQuality;
+		target.mode = mode;
+	}
+
+	/**
+	 * Returns a copy of this fix.
+	 * 
+	 * @return New PositionFix instance
+	 */
+	public PositionFix copy() {
+		PositionFix f = new PositionFix();
+		copyTo(f);
+		return f;
+	}
+
+	/**
+	 * Returns the latitude.
+	 * 
+	 * @return Latitude in degrees, negative values are south.
+	 */
+	public double getLatitude() {
+		return latitude;
+	}
+
+	/**
+	 * Returns the longitude.
+	 * 
+	 * @return Longitude in degrees, negative values are west.
+	 */
+	public double getLongitude() {
+		return longitude;
+	}
+
+	/**
+	 * Returns the altitude above mean sea level.
+	 * 
+	 * @return Altitude in meters, or {@code Double.NaN}.
+	 */
+	public double getAltitude() {
+		return altitude;
+	}
+
+	/**
+	 * Returns the speed over ground.
+	 * 
+	 * @return Speed in knots, or {@code Double.NaN}.
+	 */
+	public double getSpeed() {
+		return speed;
+	}
+
+	/**
+	 * Returns the course over ground.
+	 * 
+	 * @return True course in degrees, or {@code Double.NaN}.
+	 */
+	public double getCourse() {
+		return course;
+	}
+
+	/**
+	 * Returns the UTC time of fix. If the date was not reported, the date
+	 * closest to current system time is assumed.
+	 * 
+	 * @return Nanoseconds since 1970-01-01T00:00Z, or {@link #UNKNOWN_TIME}.
+	 */
+	public long getEpochNanos() {
+		return epochNanos;
+	}
+
+	/**
+	 * Returns the monotonic time when the last sentence of this fix was
+	 * received, see
+	 * {@link net.sf.marineapi.nmea.event.SentenceEvent#getReceivedNanoTime()}.
+	 * 
+	 * @return Value of {@code System.nanoTime()}
+	 */
+	public long getNanoTime() {
+		return nanoTime;
+	}
+
+	/**
+	 * Returns the GPS fix quality.
+	 * 
+	 * @return Fix quality, or {@code null} if not reported.
+	 */
+	public GpsFixQuality getFixQuality() {
+		return fixQuality;
+	}
+
+	/**
+	 * Returns the FAA operating mode.
+	 * 
+	 * @return Mode, or {@code null} if not reported.
+	 */
+	public FaaMode getMode() {
+		return mode;
+	}
+
+	/**
+	 * Sets the latitude and longitude.
+	 * 
+	 * @param lat Latitude in degrees
+	 * @param lon Longitude in degrees
+	 */
+	public void setPosition(double lat, double lon) {
+		this.latitude = lat;
+		this.longitude = lon;
+	}
+
+	/**
+	 * Sets the altitude.
+	 * 
+	 * @param alt Altitude in meters, or {@code Double.NaN}.
+	 */
+	public void setAltitude(double alt) {
+		this.altitude = alt;
+	}
+
+	/**
+	 * Sets the speed over ground.
+	 * 
+	 * @param sog Speed in knots, or {@code Double.NaN}.
+	 */
+	public void setSpeed(double sog) {
+		this.speed = sog;
+	}
+
+	/**
+	 * Sets the course over ground.
+	 * 
+	 * @param cog Course in degrees, or {@code Double.NaN}.
+	 */
+	public void setCourse(double cog) {
+		this.course = cog;
+	}
+
+	/**
+	 * Sets the UTC time of fix.
+	 * 
+	 * @param nanos Nanoseconds since epoch, or {@link #UNKNOWN_TIME}.
+	 */
+	public void setEpochNanos(long nanos) {
+		this.epochNanos = nanos;
+	}
+
+	/**
+	 * Sets the monotonic receive time.
+	 * 
+	 * @param nanos Value of {@code System.nanoTime()}
+	 */
+	public void setNanoTime(long nanos) {
+		this.nanoTime = nanos;
+	}
+
+	/**
+	 * Sets the GPS fix quality.
+	 * 
+	 * @param fq Fix quality or {@code null}
+	 */
+	public void setFixQuality(GpsFixQuality fq) {
+		this.fixQuality = fq;
+	}
+
+	/**
+	 * Sets the FAA operating mode.
+	 * 
+	 * @param mode Mode or {@code null}
+	 */
+	public void setMode(FaaMode mode) {
+		this.mode = mode;
+	}
+
+	/**
+	 * Creates a {@link Position} of current values.
+	 * 
+	 * @return New Position instance
+	 */
+	public Position toPosition() {
+		if (Double.isNaN(altitude)) {
+			return new Position(latitude, longitude);
+		}
+		return new Position(latitude, longitude, altitude);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%.7f, %.7f, alt %.1f, sog %.1f, cog %.1f, t %d",
+				latitude, longitude, altitude, speed, course, epochNanos);
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * PositionFixListener.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.provider.event;
+
+/**
+ * Listener interface for low-allocation position updates. Unlike
+ * {@link PositionListener}, the provider notifies this listener with a
+ * single {@link PositionFix} instance that is overwritten on each update.
+ * 
+ * @author Kimmo Tuukkanen
+ * @see net.sf.marineapi.provider.PositionProvider#addFixListener(PositionFixListener)
+ */
+public interface PositionFixListener {
+
+	/**
+	 * Invoked when fresh position fix is available. The fix is valid only
+	 * for the duration of this call; use {@link PositionFix#copy()} or
+	 * {@link PositionFix#copyTo(PositionFix)} to retain the values.
+	 * 
+	 * @param fix Reused position fix
+	 */
+	void positionFix(PositionFix fix);
+}
@@ -20,16 +20,22 @@
  */
 package net.sf.marineapi.provider.event;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import net.sf.marineapi.nmea.sentence.GSASentence;
+import net.sf.marineapi.nmea.sentence.TalkerId;
 import net.sf.marineapi.nmea.util.FaaMode;
 import net.sf.marineapi.nmea.util.GpsFixStatus;
 import net.sf.marineapi.nmea.util.SatelliteInfo;
 
 /**
  * SatelliteInfoEvent contains the satellite information collected by
- * {@link net.sf.marineapi.provider.SatelliteInfoProvider}.
+ * {@link net.sf.marineapi.provider.SatelliteInfoProvider}. Satellite details
+ * are available by index from primitive arrays, along with the talker ID
+ * denoting the satellite system, or as list of {@link SatelliteInfo}
+ * objects.
  * 
  * @author Kimmo Tuukkanen
  * @see net.sf.marineapi.nmea.sentence.GSASentence
@@ -43,6 +49,13 @@ public class SatelliteInfoEvent extends ProviderEvent {
 	private GSASentence gsa;
 	private List<SatelliteInfo> info;
 
+	private final TalkerId[] talkers;
+	private final String[] ids;
+	private final int[] prn;
+	private final int[] elevation;
+	private final int[] azimuth;
+	private final int[] noise;
+
 	/**
 	 * Creates a new satellite info event. GSA and GSV satellite info assumed
 	 * to be from same NMEA update sequence/cycle.
@@ -56,6 +69,58 @@ public class SatelliteInfoEvent extends ProviderEvent {
 		super(source);
 		this.gsa = gsa;
 		this.info = info;
+		int n = info.size();
+		this.talkers = new TalkerId[n];
+		this.ids = new String[n];
+		this.prn = new int[n];
+		this.elevation = new int[n];
+		this.azimuth = new int[n];
+		this.noise = new int[n];
+		for (int i = 0; i < n; i++) {
+			SatelliteInfo si = info.get(i);
+			ids[i] = si.getId();
+			try {
+				prn[i] = Integer.parseInt(si.getId().trim());
+			} catch (NumberFormatException e) {
+				prn[i] = -1;
+			}
+			elevation[i] = si.getElevation();
+			azimuth[i] = si.getAzimuth();
+			noise[i] = si.getNoise();
+		}
+	}
+
+	/**
+	 * Creates a new satellite info event of satellites from one or more
+	 * satellite systems. All arrays must be of equal length, and they are
+	 * not copied.
+	 *
+	 * @param source The object that sends the event.
+	 * @param gsa GSA sentence
+	 * @param talkers Talker ID of each satellite
+	 * @param ids Satellite IDs as reported by GSV
+	 * @param prn Satellite PRN numbers, -1 if not numeric
+	 * @param elevation Elevations in degrees
+	 * @param azimuth Azimuths in degrees
+	 * @param noise Signal-to-noise ratios in dB
+	 * @throws IllegalArgumentException If array lengths differ
+	 */
+	public SatelliteInfoEvent(Object source, GSASentence gsa,
+			TalkerId[] talkers, String[] ids, int[] prn, int[] elevation,
+			int[] azimuth, int[] noise) {
+		super(source);
+		int n = talkers.length;
+		if (ids.length != n || prn.length != n || elevation.length != n
+				|| azimuth.length != n || noise.length != n) {
+			throw new IllegalArgumentException("Array lengths differ");
+		}
+		this.gsa = gsa;
+		this.talkers = talkers;
+		this.ids = ids;
+		this.prn = prn;
+		this.elevation = elevation;
+		this.azimuth = azimuth;
+		this.noise = noise;
 	}
 
 	/**
@@ -73,9 +138,96 @@ public class SatelliteInfoEvent extends ProviderEvent {
 	 * @return List of SatelliteInfo objects from latest GSV sequence.
 	 */
 	public List<SatelliteInfo> getSatelliteInfo() {
+		if (info == null) {
+			List<SatelliteInfo> list = new ArrayList<SatelliteInfo>(ids.length);
+			for (int i = 0; i < ids.length; i++) {
+				list.add(new SatelliteInfo(ids[i], elevation[i], azimuth[i], noise[i]));
+			}
+			info = Collections.unmodifiableList(list);
+		}
 		return this.info;
 	}
 
+	/**
+	 * Returns the number of satellites in view.
+	 *
+	 * @return Number of satellites
+	 */
+	public int getSatelliteCount() {
+		return prn.length;
+	}
+
+	/**
+	 * Returns the number of satellites in view of given satellite system.
+	 *
+	 * @param talker Talker ID, e.g. {@link TalkerId#GL} for GLONASS
+	 * @return Number of satellites
+	 */
+	public int getSatelliteCount(TalkerId talker) {
+		int n = 0;
+		for (TalkerId t : talkers) {
+			if (t == talker) {
+				n++;
+			}
+		}
+		return n;
+	}
+
+	/**
+	 * Returns the talker ID of satellite, i.e. the satellite system.
+	 *
+	 * @param index Satellite index
+	 * @return Talker ID, or {@code null} if not known.
+	 * @throws IndexOutOfBoundsException If index is out of bounds
+	 */
+	public TalkerId getTalkerId(int index) {
+		return talkers[index];
+	}
+
+	/**
+	 * Returns the PRN number of satellite.
+	 *
+	 * @param index Satellite index
+	 * @return PRN, or -1 if the ID is not numeric.
+	 * @throws IndexOutOfBoundsException If index is out of bounds
+	 */
+	public int getPrn(int index) {
+		return prn[index];
+	}
+
+	/**
+	 * Returns the elevation of satellite.
+	 *
+	 * @param index Satellite index
+	 * @return Elevation in degrees
+	 * @throws IndexOutOfBoundsException If index is out of bounds
+	 */
+	public int getElevation(int index) {
+		return elevation[index];
+	}
+
+	/**
+	 * Returns the azimuth of satellite.
+	 *
+	 * @param index Satellite index
+	 * @return Azimuth in degrees
+	 * @throws IndexOutOfBoundsException If index is out of bounds
+	 */
+	public int getAzimuth(int index) {
+		return azimuth[index];
+	}
+
+	/**
+	 * Returns the signal-to-noise ratio of satellite.
+	 *
+	 * @param index Satellite index
+	 * @return SNR in dB, 0 if not tracked.
+	 * @throws IndexOutOfBoundsException If index is out of bounds
+	 */
+	public int getNoise(int index) {
+		return noise[index];
+	}
+
 	/**
 	 * Returns the horizontal precision of GPS fix.
 	 *	
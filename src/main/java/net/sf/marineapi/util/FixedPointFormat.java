@@ -0,0 +1,210 @@
+/*
+ * FixedPointFormat.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.util;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * <p>
+ * Formatter of fixed-point numbers for NMEA sentence fields, producing the
+ * same output as {@link DecimalFormat} with pattern of zeros such as
+ * {@code "000.00"} and {@link String#format(String, Object...)} with
+ * {@code "%03d"}, but without creating formatter objects or parsing patterns
+ * on each call.</p>
+ * <p>
+ * Like {@code DecimalFormat}, doubles are rounded half-even based on their
+ * exact binary value, e.g. 0.15 is formatted as {@code "0.1"} with one
+ * decimal, and negative values rounding to zero retain the minus sign.
+ * Output always uses ASCII digits, minus sign and '.' as decimal separator,
+ * regardless of default locale.</p>
+ *
+ * @author Kimmo Tuukkanen
+ */
+public final class FixedPointFormat {
+
+    // largest scaled value formatted without DecimalFormat, must fit in long
+    // and have ulp well below 0.5
+    private static final double FAST_LIMIT = 1e15;
+    private static final int MAX_FAST_DECIMALS = 15;
+
+    private static final double[] POW10 = new double[MAX_FAST_DECIMALS + 1];
+    private static final long[] LONG_POW10 = new long[19];
+
+    static {
+        long p = 1;
+        for (int i = 0; i < LONG_POW10.length; i++) {
+            LONG_POW10[i] = p;
+            if (i < POW10.length) {
+                POW10[i] = p;
+            }
+            p *= 10;
+        }
+    }
+
+    private FixedPointFormat() {
+    }
+
+    /**
+     * Formats the given double with fixed number of decimals, equal to
+     * {@code DecimalFormat} pattern with {@code leading} zeros before and
+     * {@code decimals} zeros after the decimal point.
+     *
+     * @param value Value to format
+     * @param leading Minimum number of integer digits
+     * @param decimals Number of decimals
+     * @return Formatted value
+     * @throws IllegalArgumentException If leading or decimals is negative.
+     */
+    public static String format(double value, int leading, int decimals) {
+        return append(new StringBuilder(24), value, leading, decimals).toString();
+    }
+
+    /**
+     * Formats the given integer padded with zeros, equal to
+     * {@code String.format("%0" + width + "d", value)}. Width includes the
+     * minus sign of negative values.
+     *
+     * @param value Value to format
+     * @param width Minimum width, zero for no padding
+     * @return Formatted value
+     * @throws IllegalArgumentException If width is negative.
+     */
+    public static String format(int value, int width) {
+        return append(new StringBuilder(12), value, width).toString();
+    }
+
+    /**
+     * Appends the given double with fixed number of decimals, see {@link
+     * #format(double, int, int)}.
+     *
+     * @param sb Builder to append to
+     * @param value Value to format
+     * @param leading Minimum number of integer digits
+     * @param decimals Number of decimals
+     * @return The given builder
+     * @throws IllegalArgumentException If leading or decimals is negative.
+     */
+    public static StringBuilder append(StringBuilder sb, double value, int leading, int decimals) {
+        if (leading < 0 || decimals < 0) {
+            throw new IllegalArgumentException("Number of digits cannot be negative");
+        }
+        if (leading == 0 && decimals == 0) {
+            // pattern "0" is used for empty pattern
+            leading = 1;
+        }
+
+        boolean negative = Double.doubleToRawLongBits(value) < 0;
+        double abs = Math.abs(value);
+
+        if (decimals <= MAX_FAST_DECIMALS && !Double.isNaN(value)) {
+            double scaled = abs * POW10[decimals];
+            if (scaled < FAST_LIMIT) {
+                // scaled differs from exact product by half ulp at most, thus
+                // rounding is exact unless fraction is close to one half
+                double floor = Math.floor(scaled);
+                double fraction = scaled - floor;
+                if (Math.abs(fraction - 0.5) > 2 * Math.ulp(scaled)) {
+                    long n = (long) floor + (fraction > 0.5 ? 1 : 0);
+                    long pow = LONG_POW10[decimals];
+                    return appendDigits(sb, negative, n / pow, n % pow, leading, decimals);
+                }
+            }
+        }
+
+        // large values, many decimals or close to a tie
+        return sb.append(legacyFormat(value, leading, decimals));
+    }
+
+    /**
+     * Appends the given integer padded with zeros, see {@link
+     * #format(int, int)}.
+     *
+     * @param sb Builder to append to
+     * @param value Value to format
+     * @param width Minimum width, zero for no padding
+     * @return The given builder
+     * @throws IllegalArgumentException If width is negative.
+     */
+    public static StringBuilder append(StringBuilder sb, int value, int width) {
+        if (width < 0) {
+            throw new IllegalArgumentException("Width cannot be negative");
+        }
+        long abs = Math.abs((long) value);
+        int length = digitCount(abs);
+        if (value < 0) {
+            sb.append('-');
+            length++;
+        }
+        pad(sb, length, width);
+        return sb.append(abs);
+    }
+
+    private static StringBuilder appendDigits(StringBuilder sb, boolean negative,
+            long integer, long fraction, int leading, int decimals) {
+        if (negative) {
+            sb.append('-');
+        }
+        if (integer != 0 || leading > 0) {
+            pad(sb, digitCount(integer), leading);
+            sb.append(integer);
+        }
+        if (decimals > 0) {
+            sb.append('.');
+            pad(sb, digitCount(fraction), decimals);
+            sb.append(fraction);
+        }
+        return sb;
+    }
+
+    private static void pad(StringBuilder sb, int length, int width) {
+        for (int i = length; i < width; i++) {
+            sb.append('0');
+        }
+    }
+
+    private static int digitCount(long value) {
+        int n = 1;
+        while (n < LONG_POW10.length && value >= LONG_POW10[n]) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Formats with {@code DecimalFormat}, for values where its rounding
+     * depends on internals of binary to decimal conversion. Also NaN and
+     * infinite values are formatted with symbols of default locale.
+     */
+    private static String legacyFormat(double value, int leading, int decimals) {
+        StringBuilder pattern = new StringBuilder(leading + decimals + 1);
+        pad(pattern, 0, leading);
+        if (decimals > 0) {
+            pattern.append('.');
+            pad(pattern, 0, decimals);
+        }
+        DecimalFormat df = new DecimalFormat(pattern.toString());
+        DecimalFormatSymbols dfs = new DecimalFormatSymbols();
+        dfs.setDecimalSeparator('.');
+        df.setDecimalFormatSymbols(dfs);
+        return df.format(value);
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * IntIntMap.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.util;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Hash map of primitive {@code int} keys and values, implemented with open
+ * addressing and linear probing. Intended for large tables keyed by MMSI or
+ * similar identifiers, where {@code HashMap<Integer, ...>} would box every
+ * key and allocate an entry object per mapping.</p>
+ * <p>
+ * This class is not thread-safe; callers must provide their own locking.</p>
+ *
+ * @author Kimmo Tuukkanen
+ */
+public final class IntIntMap {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    // zero marks a free slot, thus key zero is kept aside
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int threshold;
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    /**
+     * Creates a new map with default initial capacity.
+     */
+    public IntIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a new map sized for the given number of mappings.
+     *
+     * @param expected Expected number of mappings.
+     */
+    public IntIntMap(int expected) {
+        if (expected < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+        allocate(tableSize(expected));
+    }
+
+    /**
+     * Tells if the map contains a mapping for given key.
+     *
+     * @param key Key to look for
+     * @return {@code true} if mapping exists, otherwise {@code false}.
+     */
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return hasZeroKey;
+        }
+        return keys[indexOf(key)] == key;
+    }
+
+    /**
+     * Returns the value mapped to given key.
+     *
+     * @param key Key to look for
+     * @param defaultValue Value to return if key is not mapped
+     * @return Mapped value or {@code defaultValue}
+     */
+    public int get(int key, int defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int i = indexOf(key);
+        return keys[i] == key ? values[i] : defaultValue;
+    }
+
+    /**
+     * Maps the given value to specified key, replacing any previous value.
+     *
+     * @param key Key to set
+     * @param value Value to set
+     */
+    public void put(int key, int value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int i = indexOf(key);
+        if (keys[i] == key) {
+            values[i] = value;
+            return;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Removes the mapping of given key.
+     *
+     * @param key Key to remove
+     * @return {@code true} if mapping was removed, otherwise {@code false}.
+     */
+    public boolean remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                return false;
+            }
+            hasZeroKey = false;
+            size--;
+            return true;
+        }
+        int i = indexOf(key);
+        if (keys[i] != key) {
+            return false;
+        }
+        // backward shift deletion keeps probe sequences intact without
+        // tombstones
+        int free = i;
+        int j = (i + 1) & mask;
+        while (keys[j] != 0) {
+            int home = hash(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - free) & mask)) {
+                keys[free] = keys[j];
+                values[free] = values[j];
+                free = j;
+            }
+            j = (j + 1) & mask;
+        }
+        keys[free] = 0;
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the number of mappings.
+     *
+     * @return Map size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Tells if the map is empty.
+     *
+     * @return {@code true} if empty, otherwise {@code false}.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all mappings.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    /**
+     * Returns all keys currently in the map, in no particular order.
+     *
+     * @return Array of keys, empty array if map is empty.
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int n = 0;
+        if (hasZeroKey) {
+            result[n++] = 0;
+        }
+        for (int k : keys) {
+            if (k != 0) {
+                result[n++] = k;
+            }
+        }
+        return result;
+    }
+
+    private int indexOf(int key) {
+        int i = hash(key) & mask;
+        while (keys[i] != 0 && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int k = oldKeys[i];
+            if (k != 0) {
+                int j = indexOf(k);
+                keys[j] = k;
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSize(int expected) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * LOAD_FACTOR < expected) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
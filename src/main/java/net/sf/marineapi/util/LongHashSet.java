@@ -0,0 +1,172 @@
+/*
+ * LongHashSet.java
+ * Copyright (C) 2026 Kimmo Tuukkanen
+ *
+ * This file is part of Java Marine API.
+ * <http://ktuukkan.github.io/marine-api/>
+ *
+ * Java Marine API is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by the
+ * Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * Java Marine API is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java Marine API. If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.sf.marineapi.util;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Hash set of primitive {@code long} values, implemented with open addressing
+ * and linear probing like {@link IntIntMap}. Intended for large sets of
+ * message keys or hashes, where {@code HashSet<Long>} would box every value
+ * and allocate an entry object per element.</p>
+ * <p>
+ * This class is not thread-safe; callers must provide their own locking.</p>
+ *
+ * @author Kimmo Tuukkanen
+ */
+public final class LongHashSet {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    // zero marks a free slot, thus value zero is kept aside
+    private long[] values;
+    private int mask;
+    private int size;
+    private int threshold;
+    private boolean hasZero;
+
+    /**
+     * Creates a new set with default initial capacity.
+     */
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a new set sized for the given number of elements.
+     *
+     * @param expected Expected number of elements.
+     */
+    public LongHashSet(int expected) {
+        if (expected < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+        allocate(tableSize(expected));
+    }
+
+    /**
+     * Tells if the set contains given value.
+     *
+     * @param value Value to look for
+     * @return {@code true} if value exists, otherwise {@code false}.
+     */
+    public boolean contains(long value) {
+        if (value == 0) {
+            return hasZero;
+        }
+        return values[indexOf(value)] == value;
+    }
+
+    /**
+     * Adds the given value in set.
+     *
+     * @param value Value to add
+     * @return {@code true} if value was added, {@code false} if it already
+     *         existed.
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int i = indexOf(value);
+        if (values[i] == value) {
+            return false;
+        }
+        values[i] = value;
+        if (++size > threshold) {
+            rehash(values.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of elements.
+     *
+     * @return Set size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Tells if the set is empty.
+     *
+     * @return {@code true} if empty, otherwise {@code false}.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements. The table capacity is retained.
+     */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(values, 0L);
+            hasZero = false;
+            size = 0;
+        }
+    }
+
+    private int indexOf(long value) {
+        int i = hash(value) & mask;
+        while (values[i] != 0 && values[i] != value) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = values;
+        allocate(capacity);
+        for (long v : old) {
+            if (v != 0) {
+                values[indexOf(v)] = v;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        values = new long[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int tableSize(int expected) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * LOAD_FACTOR < expected) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,148 @@
+package net.sf.marineapi.ais.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.marineapi.ais.message.AISMessage05;
+import net.sf.marineapi.nmea.event.SentenceEvent;
+import net.sf.marineapi.nmea.event.SentenceListener;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.Sentence;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class AISDuplicateFilterTest {
+
+    private static final String MSG_1 = "!AIVDM,1,1,,A,13aEOK?P00PD2wVMdLDRhgvL289?,0*26";
+    private static final String MSG_2 = "!AIVDM,1,1,,A,15RTgt0PAso;90TKcjM8h6g208CQ,0*4A";
+    private static final String PART_1 = "!AIVDM,2,1,9,B,53nFBv01SJ<thHp6220H4heHTf2222222222221?50:454o<`9QSlUDp,0*09";
+    private static final String PART_2 = "!AIVDM,2,2,9,B,888888888888880,2*2E";
+
+    private final Object stationA = "A";
+    private final Object stationB = "B";
+    private final List<SentenceEvent> received = new ArrayList<>();
+    private AISDuplicateFilter filter;
+
+    @Before
+    public void setUp() {
+        filter = new AISDuplicateFilter(new SentenceListener() {
+            public void readingPaused() {
+            }
+            public void readingStarted() {
+            }
+            public void readingStopped() {
+            }
+            public void sentenceRead(SentenceEvent event) {
+                received.add(event);
+            }
+        }, 10000);
+    }
+
+    @Test
+    public void testDuplicateSuppressed() {
+        SentenceEvent e = event(stationA, MSG_1, 1000);
+        filter.sentenceRead(e);
+        filter.sentenceRead(event(stationB, MSG_1, 1500));
+        filter.sentenceRead(event(stationB, MSG_2, 1600));
+
+        assertEquals(2, received.size());
+        assertSame(e, received.get(0));
+        assertEquals(3, filter.getMessageCount());
+        assertEquals(1, filter.getDuplicateCount());
+        assertEquals(1.0 / 3, filter.getDuplicateRate(), 1e-9);
+        assertEquals(1, filter.getMessageCount(stationA));
+        assertEquals(0, filter.getDuplicateCount(stationA));
+        assertEquals(2, filter.getMessageCount(stationB));
+        assertEquals(1, filter.getDuplicateCount(stationB));
+        assertEquals(0.5, filter.getDuplicateRate(stationB), 1e-9);
+        assertEquals(2, filter.getSources().size());
+    }
+
+    @Test
+    public void testWindowExpiry() {
+        filter.sentenceRead(event(stationA, MSG_1, 1000));
+        filter.sentenceRead(event(stationB, MSG_1, 10999));
+        assertEquals(1, received.size());
+
+        filter.sentenceRead(event(stationB, MSG_1, 20000));
+        assertEquals(2, received.size());
+        assertEquals(1, filter.getDuplicateCount());
+    }
+
+    @Test
+    public void testMultiSentenceMessage() {
+        filter.sentenceRead(event(stationA, PART_1, 1000));
+        filter.sentenceRead(event(stationB, PART_1, 1001));
+        assertEquals(0, received.size());
+
+        filter.sentenceRead(event(stationA, PART_2, 1002));
+        assertEquals(2, received.size());
+        filter.sentenceRead(event(stationB, PART_2, 1003));
+        assertEquals(2, received.size());
+        assertEquals(2, filter.getMessageCount());
+        assertEquals(1, filter.getDuplicateCount(stationB));
+    }
+
+    @Test
+    public void testIncompleteMessageDropped() {
+        filter.sentenceRead(event(stationA, PART_2, 1000));
+        assertEquals(0, received.size());
+        assertEquals(0, filter.getMessageCount());
+    }
+
+    @Test
+    public void testWithMessageListener() {
+        final List<AISMessage05> messages = new ArrayList<>();
+        AISDuplicateFilter f = new AISDuplicateFilter(new AbstractAISMessageListener<AISMessage05>() {
+            @Override
+            public void onMessage(AISMessage05 msg) {
+                messages.add(msg);
+            }
+        });
+        // interleaved fragments of two stations
+        f.sentenceRead(event(stationA, PART_1, 1000));
+        f.sentenceRead(event(stationB, PART_1, 1000));
+        f.sentenceRead(event(stationB, PART_2, 1000));
+        f.sentenceRead(event(stationA, PART_2, 1000));
+        assertEquals(1, messages.size());
+    }
+
+    @Test
+    public void testNonAISForwarded() {
+        String gll = "$GPGLL,6011.552,N,02501.941,E,120045,A*26";
+        filter.sentenceRead(event(stationA, gll, 1000));
+        filter.sentenceRead(event(stationB, gll, 1000));
+        assertEquals(2, received.size());
+        assertEquals(0, filter.getMessageCount());
+    }
+
+    @Test
+    public void testResetAndClear() {
+        filter.sentenceRead(event(stationA, MSG_1, 1000));
+        filter.sentenceRead(event(stationA, MSG_1, 1000));
+        filter.resetStatistics();
+        assertEquals(0, filter.getMessageCount());
+        assertTrue(filter.getSources().isEmpty());
+
+        filter.clear();
+        filter.sentenceRead(event(stationA, MSG_1, 1000));
+        assertEquals(2, received.size());
+    }
+
+    private static SentenceEvent event(Object source, String nmea, final long time) {
+        Sentence s = SentenceFactory.getInstance().createParser(nmea);
+        return new SentenceEvent(source, s) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public long getTimeStamp() {
+                return time;
+            }
+        };
+    }
+}
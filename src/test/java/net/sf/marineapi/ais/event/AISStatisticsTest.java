@@ -0,0 +1,181 @@
+package net.sf.marineapi.ais.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import net.sf.marineapi.ais.parser.AISMessageFactory;
+import net.sf.marineapi.ais.parser.AISMessageParser;
+import net.sf.marineapi.nmea.event.SentenceEvent;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.AISSentence;
+import net.sf.marineapi.nmea.sentence.TalkerId;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class AISStatisticsTest {
+
+    private static final String MSG_1 = "!AIVDM,1,1,,A,13aEOK?P00PD2wVMdLDRhgvL289?,0*26";
+    private static final String MSG_2 = "!AIVDM,1,1,,B,15RTgt0PAso;90TKcjM8h6g208CQ,0*49";
+    private static final String MSG_18 = "!AIVDM,1,1,,A,B6CdCm0t3`tba35f@V9faHi7kP06,0*58";
+    private static final String PART_1 = "!AIVDM,2,1,9,B,53nFBv01SJ<thHp6220H4heHTf2222222222221?50:454o<`9QSlUDp,0*09";
+    private static final String PART_2 = "!AIVDM,2,2,9,B,888888888888880,2*2E";
+    private static final String BAD_HEADING = "!AIVDM,1,1,,A,B6CdCm0t3`tba35f@V9fc8A7kP06,0*02";
+    private static final String BASE = "!ABVDM,1,1,,1,400TcdiuiT7VDR>3nIfr6>i00000,0*03";
+
+    private final SentenceFactory sf = SentenceFactory.getInstance();
+    private final Object source = "A";
+    private AISStatistics stats;
+
+    @Before
+    public void setUp() {
+        stats = new AISStatistics();
+    }
+
+    @Test
+    public void testCounts() {
+        read(source, MSG_1);
+        read(source, MSG_2);
+        read(source, MSG_18);
+        read(source, PART_1);
+        read(source, PART_2);
+        read(source, BASE);
+
+        AISStatistics.Snapshot s = stats.snapshot();
+        assertEquals(6, s.getSentenceCount());
+        assertEquals(5, s.getMessageCount());
+        assertEquals(2, s.getMessageCount(1));
+        assertEquals(1, s.getMessageCount(4));
+        assertEquals(1, s.getMessageCount(5));
+        assertEquals(1, s.getMessageCount(18));
+        assertEquals(0, s.getMessageCount(24));
+        assertEquals(3, s.getChannelCount('A'));
+        assertEquals(2, s.getChannelCount('B'));
+        assertEquals(3, s.getChannelCount('1'));
+        assertEquals(4, s.getTalkerCount(TalkerId.AI));
+        assertEquals(1, s.getTalkerCount(TalkerId.AB));
+        assertEquals(0, s.getTalkerCount(TalkerId.BS));
+        assertEquals(5, s.getMMSIs().size());
+        assertEquals(0, s.getFragmentErrorCount());
+        assertEquals(0, s.getDecodeErrorCount());
+    }
+
+    @Test
+    public void testMMSICount() {
+        read(source, MSG_1);
+        read(source, MSG_1);
+        int mmsi = AISMessageFactory.getInstance().create((AISSentence) sf.createParser(MSG_1)).getMMSI();
+        AISStatistics.Snapshot s = stats.snapshot();
+        assertEquals(1, s.getMMSIs().size());
+        assertEquals(2, s.getMMSICount(mmsi));
+        assertEquals(0, s.getMMSICount(123));
+    }
+
+    @Test
+    public void testFragmentErrors() {
+        read(source, PART_2);
+        read(source, PART_1);
+        read(source, PART_1);
+        read(source, PART_2);
+
+        AISStatistics.Snapshot s = stats.snapshot();
+        assertEquals(4, s.getSentenceCount());
+        assertEquals(1, s.getMessageCount());
+        assertEquals(2, s.getFragmentErrorCount());
+    }
+
+    @Test
+    public void testFragmentsPerSource() {
+        read("X", PART_1);
+        read("Y", PART_1);
+        read("X", PART_2);
+        read("Y", PART_2);
+        assertEquals(2, stats.snapshot().getMessageCount(5));
+    }
+
+    @Test
+    public void testDecodeError() {
+        read(source, "!AIVDM,1,1,,B,>>M4fWA<59B1@E=@,0*17");
+        AISStatistics.Snapshot s = stats.snapshot();
+        assertEquals(0, s.getMessageCount());
+        assertEquals(1, s.getDecodeErrorCount());
+    }
+
+    @Test
+    public void testTruncatedPayload() {
+        read(source, "!AIVDM,1,1,,A,55?MbV02;H;s<HtKR20EHE,0*0A");
+        AISStatistics.Snapshot s = stats.snapshot();
+        assertEquals(1, s.getSentenceCount());
+        assertEquals(0, s.getMessageCount());
+        assertEquals(1, s.getDecodeErrorCount());
+    }
+
+    @Test
+    public void testViolations() {
+        String[] lines = { MSG_1, MSG_2, MSG_18, BAD_HEADING, BASE };
+        int messages = 0;
+        int violations = 0;
+        for (String line : lines) {
+            read(source, line);
+            AISMessageParser p = (AISMessageParser) AISMessageFactory.getInstance().create((AISSentence) sf.createParser(line));
+            if (p.getNrOfViolations() > 0) {
+                messages++;
+                violations += p.getNrOfViolations();
+            }
+        }
+        AISStatistics.Snapshot s = stats.snapshot();
+        assertEquals(1, messages);
+        assertEquals(messages, s.getViolatingMessageCount());
+        assertEquals(violations, s.getViolationCount());
+    }
+
+    @Test
+    public void testRates() {
+        AISStatistics.Snapshot s0 = stats.snapshot(1000);
+        read(source, MSG_1);
+        read(source, MSG_2);
+        AISStatistics.Snapshot s1 = stats.snapshot(3000);
+        read(source, MSG_1);
+        AISStatistics.Snapshot s2 = stats.snapshot(4000);
+
+        assertEquals(1000, s0.getTime());
+        assertEquals(2000, s1.getInterval());
+        assertEquals(1.0, s1.getMessageRate(), 1e-9);
+        assertEquals(1.0, s1.getMessageRate(1), 1e-9);
+        assertEquals(0.5, s1.getChannelRate('A'), 1e-9);
+        assertEquals(0.5, s1.getChannelBalance(), 1e-9);
+        assertEquals(3, s2.getMessageCount());
+        assertEquals(1.0, s2.getMessageRate(), 1e-9);
+        assertEquals(1.0, s2.getChannelBalance(), 1e-9);
+        assertEquals(1.0, s2.getTalkerRate(TalkerId.AI), 1e-9);
+        assertEquals(2, s2.getMMSIs().size());
+    }
+
+    @Test
+    public void testReset() {
+        read(source, MSG_1);
+        read(source, PART_1);
+        stats.reset();
+        read(source, PART_2);
+        AISStatistics.Snapshot s = stats.snapshot();
+        assertEquals(1, s.getSentenceCount());
+        assertEquals(0, s.getMessageCount());
+        assertEquals(1, s.getFragmentErrorCount());
+        assertTrue(s.getMMSIs().isEmpty());
+        assertTrue(Double.isNaN(s.getChannelBalance()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidType() {
+        stats.snapshot().getMessageCount(64);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidChannel() {
+        stats.snapshot().getChannelCount('C');
+    }
+
+    private void read(Object src, String nmea) {
+        stats.sentenceRead(new SentenceEvent(src, sf.createParser(nmea)));
+    }
+}
@@ -0,0 +1,198 @@
+package net.sf.marineapi.ais.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.marineapi.ais.message.AISPositionReportB;
+import net.sf.marineapi.ais.util.Sixbit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AISArchiveDecoderTest {
+
+    private static final String TEST_DATA = "src/test/resources/data/AIS-VDM-VDO.txt";
+    private static final int REPEAT = 200;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<String> sample;
+    private File archive;
+
+    @Before
+    public void setUp() throws IOException {
+        sample = new ArrayList<>();
+        try (BufferedReader r = new BufferedReader(new FileReader(TEST_DATA))) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                sample.add(line);
+            }
+        }
+        archive = folder.newFile("archive.txt");
+        try (PrintWriter w = new PrintWriter(archive, "US-ASCII")) {
+            for (int i = 0; i < REPEAT; i++) {
+                for (int j = 0; j < sample.size(); j++) {
+                    // mix of line endings and time stamp formats
+                    String line = sample.get(j);
+                    if (j % 3 == 1) {
+                        line = (1500000000L + i) + " " + line;
+                    } else if (j % 3 == 2) {
+                        line = "\\s:test,c:" + (1500000000L + i) + "*00\\" + line;
+                    }
+                    w.print(line);
+                    w.print(j % 2 == 0 ? "\r\n" : "\n");
+                }
+            }
+            w.print("# comment\n");
+        }
+    }
+
+    @Test
+    public void testDecodeSequential() throws IOException {
+        AISArchiveDecoder decoder = new AISArchiveDecoder();
+        decoder.setThreads(1);
+        verify(decoder.decode(archive.toPath()));
+    }
+
+    @Test
+    public void testDecodeParallelSmallChunks() throws IOException {
+        AISArchiveDecoder decoder = new AISArchiveDecoder();
+        decoder.setThreads(4);
+        // chunk boundaries fall between fragments
+        for (int size = 1024; size < 1200; size += 37) {
+            decoder.setChunkSize(size);
+            verify(decoder.decode(archive.toPath()));
+        }
+    }
+
+    @Test
+    public void testColumnsMatchParser() throws IOException {
+        AISArchive result = new AISArchiveDecoder().decode(archive.toPath());
+        AISColumns c = result.getColumns(18);
+        AISPositionReportB msg = (AISPositionReportB) new AISLineDecoder().decode(sample.get(9));
+
+        assertEquals(REPEAT, c.size());
+        assertEquals(msg.getMMSI(), c.getMMSIColumn()[0]);
+        assertEquals(msg.getLatitudeInDegrees(), c.getLatitudeColumn()[REPEAT - 1], 0.0);
+        assertEquals(msg.getLongitudeInDegrees(), c.getLongitudeColumn()[0], 0.0);
+        assertEquals(msg.getSpeedOverGround(), c.getSpeedColumn()[0], 0.0);
+        assertEquals(msg.getCourseOverGround(), c.getCourseColumn()[0], 0.0);
+        assertEquals(msg.getTrueHeading(), c.getHeadingColumn()[0]);
+        assertEquals(-1L, c.getTimeColumn()[0]);
+
+        AISColumns c4 = result.getColumns(4);
+        assertEquals(1500000000000L, c4.getTimeColumn()[0]);
+        assertEquals(1500000000000L + (REPEAT - 1) * 1000L, c4.getTimeColumn()[REPEAT - 1]);
+        assertEquals(sample.get(0).length() + 2, c4.getOffsetColumn()[0]);
+        assertTrue(Double.isNaN(c4.getSpeedColumn()[0]));
+
+        // message 5 begins on a line with tag block
+        AISColumns c5 = result.getColumns(5);
+        assertEquals(1500000000000L, c5.getTimeColumn()[0]);
+        assertTrue(Double.isNaN(c5.getLatitudeColumn()[0]));
+
+        // incorrect checksum in sample data
+        assertNull(result.getColumns(1));
+    }
+
+    @Test
+    public void testOtherSentencesSkipped() throws IOException {
+        File plain = folder.newFile("plain.txt");
+        File mixed = folder.newFile("mixed.txt");
+        try (PrintWriter p = new PrintWriter(plain, "US-ASCII");
+            PrintWriter m = new PrintWriter(mixed, "US-ASCII")) {
+            for (String line : sample) {
+                p.print(line + "\n");
+                m.print("$GPGGA,120044,6011.552,N,02501.941,E,1,00,2.0,28.0,M,19.6,M,,*79\n");
+                m.print("1500000000 $HCHDT,90.1,T*2C\n");
+                m.print(line + "\n");
+            }
+        }
+        AISArchiveDecoder decoder = new AISArchiveDecoder();
+        AISArchive expected = decoder.decode(plain.toPath());
+        AISArchive actual = decoder.decode(mixed.toPath());
+        assertEquals(expected.getMessageCount(), actual.getMessageCount());
+        assertEquals(expected.getErrorCount(), actual.getErrorCount());
+        assertEquals(sample.size() * 3, actual.getLineCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testChunkSizeTooLarge() {
+        new AISArchiveDecoder().setChunkSize(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testTimestamp() {
+        assertEquals(1500000000000L, AISArchiveDecoder.timestamp(bytes("1500000000 !AIVDM"), 11));
+        assertEquals(1500000000250L, AISArchiveDecoder.timestamp(bytes("1500000000.25;!AIVDM"), 14));
+        assertEquals(1500000000123L, AISArchiveDecoder.timestamp(bytes("1500000000123,!AIVDM"), 14));
+        assertEquals(1500000000000L, AISArchiveDecoder.timestamp(bytes("\\c:1500000000*5A\\!AIVDM"), 17));
+        assertEquals(-1L, AISArchiveDecoder.timestamp(bytes("\\s:r1*5A\\!AIVDM"), 9));
+        assertEquals(-1L, AISArchiveDecoder.timestamp(bytes("!AIVDM"), 0));
+    }
+
+    private void verify(AISArchive result) {
+        // reference decoding of one round of sample data
+        AISLineDecoder reference = new AISLineDecoder();
+        List<Integer> types = new ArrayList<>();
+        int messages = 0;
+        int errors = 0;
+        for (String line : sample) {
+            byte[] b = bytes(line);
+            try {
+                Sixbit content = reference.decodePayload(b, 0, b.length);
+                if (content != null) {
+                    messages++;
+                    if (!types.contains(content.getInt(0, 6))) {
+                        types.add(content.getInt(0, 6));
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                // first sample line has incorrect checksum
+                errors++;
+            }
+        }
+        assertEquals((long) messages * REPEAT, result.getMessageCount());
+        assertEquals((long) errors * REPEAT, result.getErrorCount());
+        assertEquals(sample.size() * REPEAT + 1, result.getLineCount());
+
+        long rows = 0;
+        int[] found = result.getMessageTypes();
+        assertEquals(types.size(), found.length);
+        for (int type : found) {
+            assertTrue(types.contains(type));
+            AISColumns c = result.getColumns(type);
+            assertEquals(type, c.getMessageType());
+            assertEquals(0, c.size() % REPEAT);
+            rows += c.size();
+            // file order is retained
+            long[] offset = c.getOffsetColumn();
+            for (int i = 1; i < offset.length; i++) {
+                assertTrue(offset[i] > offset[i - 1]);
+            }
+            int per = c.size() / REPEAT;
+            int[] ids = c.getMMSIColumn();
+            for (int i = per; i < ids.length; i++) {
+                assertEquals(ids[i - per], ids[i]);
+            }
+        }
+        assertEquals(result.getMessageCount(), rows);
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,152 @@
+package net.sf.marineapi.ais.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+
+import net.sf.marineapi.ais.message.AISMessage;
+import net.sf.marineapi.ais.message.AISMessage01;
+import net.sf.marineapi.ais.message.AISMessage05;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.AISSentence;
+
+import org.junit.Test;
+
+public class AISLineDecoderTest {
+
+    private static final String SINGLE = "!AIVDM,1,1,,A,13aEOK?P00PD2wVMdLDRhgvL289?,0*26";
+    private static final String PART1 = "!AIVDM,2,1,9,B,53nFBv01SJ<thHp6220H4heHTf2222222222221?50:454o<`9QSlUDp,0*09";
+    private static final String PART2 = "!AIVDM,2,2,9,B,888888888888880,2*2E";
+
+    private final AISLineDecoder decoder = new AISLineDecoder();
+
+    @Test
+    public void testDecodeSingle() {
+        AISMessage msg = decoder.decode(SINGLE);
+        assertTrue(msg instanceof AISMessage01);
+        AISMessage01 expected = (AISMessage01) create(SINGLE);
+        AISMessage01 actual = (AISMessage01) msg;
+        assertEquals(expected.getMMSI(), actual.getMMSI());
+        assertEquals(expected.getLatitudeInDegrees(), actual.getLatitudeInDegrees(), 0.0);
+        assertEquals(expected.getLongitudeInDegrees(), actual.getLongitudeInDegrees(), 0.0);
+        assertEquals(expected.getSpeedOverGround(), actual.getSpeedOverGround(), 0.0);
+        assertEquals(expected.getCourseOverGround(), actual.getCourseOverGround(), 0.0);
+    }
+
+    @Test
+    public void testDecodeFragments() {
+        assertNull(decoder.decode(PART1));
+        AISMessage msg = decoder.decode(PART2);
+        assertTrue(msg instanceof AISMessage05);
+        AISMessage05 expected = (AISMessage05) create(PART1, PART2);
+        AISMessage05 actual = (AISMessage05) msg;
+        assertEquals(expected.getMMSI(), actual.getMMSI());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getCallSign(), actual.getCallSign());
+        assertEquals(expected.getDestination(), actual.getDestination());
+        assertEquals(expected.getIMONumber(), actual.getIMONumber());
+        assertEquals(expected.getMaximumDraught(), actual.getMaximumDraught(), 0.0);
+        assertEquals(((AISMessageParser) expected).getSixbit().getPayload(),
+            ((AISMessageParser) actual).getSixbit().getPayload());
+    }
+
+    @Test
+    public void testDecodeFromBuffer() {
+        byte[] buf = ("junk" + SINGLE + "\r\n" + "more").getBytes(StandardCharsets.US_ASCII);
+        AISMessage msg = decoder.decode(buf, 4, SINGLE.length() + 2);
+        assertNotNull(msg);
+        assertEquals(create(SINGLE).getMMSI(), msg.getMMSI());
+    }
+
+    @Test
+    public void testDecodeWithoutChecksum() {
+        String s = SINGLE.substring(0, SINGLE.indexOf('*'));
+        assertNotNull(decoder.decode(s));
+    }
+
+    @Test
+    public void testDecodeVDO() {
+        String s = "!AIVDO,1,1,,,13aEOK?P00PD2wVMdLDRhgvL289?,0";
+        assertEquals(1, decoder.decode(s).getMessageType());
+    }
+
+    @Test
+    public void testDecodeInvalidChecksum() {
+        try {
+            decoder.decode(SINGLE.replace("*26", "*27"));
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Checksum mismatch"));
+        }
+    }
+
+    @Test
+    public void testDecodeNonAISSentence() {
+        try {
+            decoder.decode("$GPGLL,6011.552,N,02501.941,E,120045,A*26");
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Not a VDM/VDO sentence"));
+        }
+    }
+
+    @Test
+    public void testDecodeMissingFields() {
+        try {
+            decoder.decode("!AIVDM,1,1,,A");
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Not a VDM/VDO sentence"));
+        }
+    }
+
+    @Test
+    public void testDecodeIncorrectOrder() {
+        try {
+            decoder.decode(PART2);
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Incorrect order of AIS sentences", e.getMessage());
+        }
+        // decoder recovers on next complete sequence
+        assertNull(decoder.decode(PART1));
+        assertNotNull(decoder.decode(PART2));
+    }
+
+    @Test
+    public void testDecodeInterruptedSequence() {
+        assertNull(decoder.decode(PART1));
+        assertNotNull(decoder.decode(SINGLE));
+        try {
+            decoder.decode(PART2);
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Incorrect order of AIS sentences", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testReset() {
+        assertNull(decoder.decode(PART1));
+        decoder.reset();
+        try {
+            decoder.decode(PART2);
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Incorrect order of AIS sentences", e.getMessage());
+        }
+    }
+
+    private static AISMessage create(String... lines) {
+        SentenceFactory sf = SentenceFactory.getInstance();
+        AISSentence[] sentences = new AISSentence[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            sentences[i] = (AISSentence) sf.createParser(lines[i]);
+        }
+        return AISMessageFactory.getInstance().create(sentences);
+    }
+}
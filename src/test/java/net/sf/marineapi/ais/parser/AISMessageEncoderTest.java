@@ -0,0 +1,242 @@
+package net.sf.marineapi.ais.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import net.sf.marineapi.ais.message.AISMessage;
+import net.sf.marineapi.ais.message.AISMessage04;
+import net.sf.marineapi.ais.message.AISMessage05;
+import net.sf.marineapi.ais.message.AISMessage19;
+import net.sf.marineapi.ais.message.AISMessage24;
+import net.sf.marineapi.ais.message.AISPositionReport;
+import net.sf.marineapi.ais.message.AISPositionReportB;
+import net.sf.marineapi.ais.util.Sixbit;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.AISSentence;
+import net.sf.marineapi.nmea.sentence.SentenceId;
+import net.sf.marineapi.nmea.sentence.SentenceValidator;
+import net.sf.marineapi.nmea.sentence.TalkerId;
+
+import org.junit.Test;
+
+public class AISMessageEncoderTest {
+
+    private static final double DELTA = 0.000001;
+
+    private final AISMessageEncoder encoder = new AISMessageEncoder();
+    private final AISMessageFactory factory = AISMessageFactory.getInstance();
+
+    @Test
+    public void testPositionReport() {
+        AISPositionReport orig = new AISPositionReportParser(new Sixbit("13u?etPv2;0n:dDPwUM1U1Cb069D", 0));
+        AISPositionReport msg = (AISPositionReport) roundTrip(orig);
+
+        assertEquals(1, msg.getMessageType());
+        assertEquals(orig.getMMSI(), msg.getMMSI());
+        assertEquals(orig.getNavigationalStatus(), msg.getNavigationalStatus());
+        assertEquals(orig.getRateOfTurn(), msg.getRateOfTurn(), DELTA);
+        assertEquals(orig.getSpeedOverGround(), msg.getSpeedOverGround(), DELTA);
+        assertEquals(orig.getLatitudeInDegrees(), msg.getLatitudeInDegrees(), DELTA);
+        assertEquals(orig.getLongitudeInDegrees(), msg.getLongitudeInDegrees(), DELTA);
+        assertEquals(orig.getCourseOverGround(), msg.getCourseOverGround(), DELTA);
+        assertEquals(orig.getTrueHeading(), msg.getTrueHeading());
+        assertEquals(orig.getTimeStamp(), msg.getTimeStamp());
+        assertEquals(orig.getManouverIndicator(), msg.getManouverIndicator());
+    }
+
+    @Test
+    public void testUTCReport() {
+        AISMessage04 orig = new AISMessage04Parser(new Sixbit("400TcdiuiT7VDR>3nIfr6>i00000", 0));
+        AISMessage04 msg = (AISMessage04) roundTrip(orig);
+
+        assertEquals(4, msg.getMessageType());
+        assertEquals(orig.getMMSI(), msg.getMMSI());
+        assertEquals(orig.getUtcYear(), msg.getUtcYear());
+        assertEquals(orig.getUtcMonth(), msg.getUtcMonth());
+        assertEquals(orig.getUtcDay(), msg.getUtcDay());
+        assertEquals(orig.getUtcHour(), msg.getUtcHour());
+        assertEquals(orig.getUtcMinute(), msg.getUtcMinute());
+        assertEquals(orig.getUtcSecond(), msg.getUtcSecond());
+        assertEquals(orig.getLatitudeInDegrees(), msg.getLatitudeInDegrees(), DELTA);
+        assertEquals(orig.getLongitudeInDegrees(), msg.getLongitudeInDegrees(), DELTA);
+        assertEquals(orig.getTypeOfEPFD(), msg.getTypeOfEPFD());
+    }
+
+    @Test
+    public void testMessage05() {
+        String payload = "58wt8Ui`g??r21`7S=:22058<v05Htp000000015>8OA;0skeQ8823mDm3kP00000000000";
+        AISMessage05 orig = new AISMessage05Parser(new Sixbit(payload, 2));
+
+        // trailing spaces of text fields are trimmed by parser and padded
+        // with '@' on encoding, thus only the length is retained
+        assertEquals(payload.length(), encoder.encodePayload(orig).getPayload().length());
+        assertEquals(2, encoder.encodePayload(orig).getFillBits());
+
+        AISMessage05 msg = (AISMessage05) roundTrip(orig);
+        assertEquals("ARCO AVON", msg.getName());
+        assertEquals("ZA83R", msg.getCallSign());
+        assertEquals("HOUSTON", msg.getDestination());
+        assertEquals(orig.getIMONumber(), msg.getIMONumber());
+        assertEquals(orig.getTypeOfShipAndCargoType(), msg.getTypeOfShipAndCargoType());
+        assertEquals(orig.getBow(), msg.getBow());
+        assertEquals(orig.getStern(), msg.getStern());
+        assertEquals(orig.getPort(), msg.getPort());
+        assertEquals(orig.getStarboard(), msg.getStarboard());
+        assertEquals(orig.getETAMonth(), msg.getETAMonth());
+        assertEquals(orig.getETADay(), msg.getETADay());
+        assertEquals(orig.getETAHour(), msg.getETAHour());
+        assertEquals(orig.getETAMinute(), msg.getETAMinute());
+        assertEquals(orig.getMaximumDraught(), msg.getMaximumDraught(), DELTA);
+    }
+
+    @Test
+    public void testPositionReportB() {
+        AISPositionReportB orig = new AISPositionReportBParser(new Sixbit("B6CdCm0t3`tba35f@V9faHi7kP06", 0));
+        AISPositionReportB msg = (AISPositionReportB) roundTrip(orig);
+
+        assertEquals(18, msg.getMessageType());
+        assertEquals(orig.getMMSI(), msg.getMMSI());
+        assertEquals(orig.getSpeedOverGround(), msg.getSpeedOverGround(), DELTA);
+        assertEquals(orig.getLatitudeInDegrees(), msg.getLatitudeInDegrees(), DELTA);
+        assertEquals(orig.getLongitudeInDegrees(), msg.getLongitudeInDegrees(), DELTA);
+        assertEquals(orig.getCourseOverGround(), msg.getCourseOverGround(), DELTA);
+        assertEquals(orig.getTrueHeading(), msg.getTrueHeading());
+        assertEquals(orig.getTimeStamp(), msg.getTimeStamp());
+    }
+
+    @Test
+    public void testMessage19() {
+        AISMessage19 orig = new Message19();
+        AISMessage19 msg = (AISMessage19) roundTrip(orig);
+
+        assertEquals(19, msg.getMessageType());
+        assertEquals(230123456, msg.getMMSI());
+        assertEquals(7.5, msg.getSpeedOverGround(), DELTA);
+        assertEquals(60.123, msg.getLatitudeInDegrees(), DELTA);
+        assertEquals(-150.5, msg.getLongitudeInDegrees(), DELTA);
+        assertEquals(359.9, msg.getCourseOverGround(), DELTA);
+        assertEquals(10, msg.getTrueHeading());
+        assertEquals("SAILOR", msg.getName());
+        assertEquals(37, msg.getTypeOfShipAndCargoType());
+        assertEquals(5, msg.getBow());
+        assertEquals(7, msg.getStern());
+        assertEquals(2, msg.getPort());
+        assertEquals(1, msg.getStarboard());
+        assertEquals(1, msg.getTypeOfEPFD());
+    }
+
+    @Test
+    public void testMessage24() {
+        String payloadA = "H1c2;qA@PU>0U>060<h5=>0:1Dp";
+        AISMessage24 partA = new AISMessage24Parser(new Sixbit(payloadA, 2));
+        assertEquals(payloadA, encoder.encodePayload(partA).getPayload());
+        assertEquals(2, encoder.encodePayload(partA).getFillBits());
+
+        AISMessage24 orig = new AISMessage24Parser(new Sixbit("H1c2;qDTijklmno31<<C970`43<1", 0));
+        AISMessage24 partB = (AISMessage24) roundTrip(orig);
+        assertEquals(1, partB.getPartNumber());
+        assertEquals(36, partB.getTypeOfShipAndCargoType());
+        assertEquals(orig.getVendorId(), partB.getVendorId());
+        assertEquals(orig.getUnitModelCode(), partB.getUnitModelCode());
+        assertEquals(orig.getSerialNumber(), partB.getSerialNumber());
+        assertEquals("CALLSIG", partB.getCallSign());
+        assertEquals(orig.getBow(), partB.getBow());
+        assertEquals(orig.getStern(), partB.getStern());
+        assertEquals(orig.getPort(), partB.getPort());
+        assertEquals(orig.getStarboard(), partB.getStarboard());
+    }
+
+    @Test
+    public void testSingleSentence() {
+        AISPositionReport orig = new AISPositionReportParser(new Sixbit("13u?etPv2;0n:dDPwUM1U1Cb069D", 0));
+        String[] lines = encoder.encode(orig);
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].startsWith("!AIVDM,1,1,,A,"));
+        assertTrue(lines[0].endsWith(",0*" + lines[0].substring(lines[0].length() - 2)));
+        assertTrue(SentenceValidator.isValid(lines[0]));
+    }
+
+    @Test
+    public void testFragmentation() {
+        AISMessage05 orig = new AISMessage05Parser(new Sixbit(
+            "58wt8Ui`g??r21`7S=:22058<v05Htp000000015>8OA;0skeQ8823mDm3kP00000000000", 2));
+
+        AISMessageEncoder vdo = new AISMessageEncoder(TalkerId.AI, SentenceId.VDO);
+        vdo.setRadioChannel("B");
+        AISSentence[] first = vdo.encodeSentences(orig);
+        AISSentence[] second = vdo.encodeSentences(orig);
+
+        assertEquals(2, first.length);
+        assertEquals("VDO", first[0].getSentenceId());
+        assertEquals(2, first[0].getNumberOfFragments());
+        assertEquals(1, first[0].getFragmentNumber());
+        assertEquals(2, first[1].getFragmentNumber());
+        assertEquals("0", first[0].getMessageId());
+        assertEquals("0", first[1].getMessageId());
+        assertEquals("1", second[0].getMessageId());
+        assertEquals("B", first[1].getRadioChannel());
+        assertEquals(0, first[0].getFillBits());
+        assertEquals(2, first[1].getFillBits());
+        assertEquals(60, first[0].getPayload().length());
+        assertTrue(first[0].isPartOfMessage(first[1]));
+
+        AISMessage05 msg = (AISMessage05) factory.create(first);
+        assertEquals(orig.getMMSI(), msg.getMMSI());
+        assertEquals("ARCO AVON", msg.getName());
+    }
+
+    @Test
+    public void testMaxPayloadLength() {
+        AISPositionReport orig = new AISPositionReportParser(new Sixbit("13u?etPv2;0n:dDPwUM1U1Cb069D", 0));
+        encoder.setMaxPayloadLength(10);
+        String[] lines = encoder.encode(orig);
+        assertEquals(3, lines.length);
+        AISSentence[] sentences = new AISSentence[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            sentences[i] = (AISSentence) SentenceFactory.getInstance().createParser(lines[i]);
+        }
+        assertEquals(orig.getMMSI(), factory.create(sentences).getMMSI());
+    }
+
+    @Test
+    public void testUnsupportedType() {
+        AISMessage msg = new AISMessage09Parser(new Sixbit("95M2oQ@41Tr4L4H@eRvQ;2h20000", 0));
+        try {
+            encoder.encode(msg);
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("no encoder for message type 9", e.getMessage());
+        }
+    }
+
+    private AISMessage roundTrip(AISMessage msg) {
+        return factory.create(encoder.encodeSentences(msg));
+    }
+
+    private static class Message19 implements AISMessage19 {
+        public int getMessageType() { return 19; }
+        public int getRepeatIndicator() { return 0; }
+        public int getMMSI() { return 230123456; }
+        public double getSpeedOverGround() { return 7.5; }
+        public boolean isAccurate() { return false; }
+        public double getLongitudeInDegrees() { return -150.5; }
+        public double getLatitudeInDegrees() { return 60.123; }
+        public double getCourseOverGround() { return 359.9; }
+        public int getTrueHeading() { return 10; }
+        public int getTimeStamp() { return 30; }
+        public boolean hasSpeedOverGround() { return true; }
+        public boolean hasCourseOverGround() { return true; }
+        public boolean hasTrueHeading() { return true; }
+        public boolean hasTimeStamp() { return true; }
+        public boolean hasLongitude() { return true; }
+        public boolean hasLatitude() { return true; }
+        public String getName() { return "Sailor"; }
+        public int getTypeOfShipAndCargoType() { return 37; }
+        public int getBow() { return 5; }
+        public int getStern() { return 7; }
+        public int getPort() { return 2; }
+        public int getStarboard() { return 1; }
+        public int getTypeOfEPFD() { return 1; }
+    }
+}
@@ -3,6 +3,7 @@ package net.sf.marineapi.ais.parser;
 import net.sf.marineapi.ais.message.AISMessage;
 import net.sf.marineapi.ais.message.AISMessage01;
 import net.sf.marineapi.ais.message.AISMessage05;
+import net.sf.marineapi.ais.util.Sixbit;
 import net.sf.marineapi.nmea.parser.SentenceFactory;
 import net.sf.marineapi.nmea.sentence.AISSentence;
 
@@ -39,6 +40,23 @@ public class AISMessageFactoryTest {
         assertEquals(5, msg.getMessageType());
     }
 
+    @Test
+    public void testCreateWithSixbit() {
+        AISMessage msg = amf.create(new Sixbit("13aEOK?P00PD2wVMdLDRhgvL289?", 0));
+        assertTrue(msg instanceof AISMessage01);
+        assertEquals(single.getPayload(), ((AISMessageParser) msg).getSixbit().getPayload());
+    }
+
+    @Test
+    public void testCreateWithUnsupportedType() {
+        try {
+            amf.create(new Sixbit("P00000000000", 0));
+            fail("AISMessageFactory didn't throw on unsupported type");
+        } catch (IllegalArgumentException iae) {
+            assertEquals("no parser for message type 32", iae.getMessage());
+        }
+    }
+
     @Test
     public void testCreateWithIncorrectOrder() {
         try {
@@ -0,0 +1,287 @@
+package net.sf.marineapi.ais.tracking;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.marineapi.ais.tracking.VesselTableTest.Report;
+import net.sf.marineapi.nmea.event.SentenceEvent;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.TTMSentence;
+import net.sf.marineapi.nmea.sentence.TalkerId;
+import net.sf.marineapi.nmea.util.Position;
+import net.sf.marineapi.nmea.util.TargetStatus;
+import net.sf.marineapi.provider.event.PositionEvent;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CollisionMonitorTest {
+
+    private static final double DELTA = 1e-3;
+    private static final long T0 = 1000000L;
+
+    // own ship position, and size of one nautical mile in degrees there
+    private static final double LAT = 60.0;
+    private static final double LON = 25.0;
+    private static final double NM_LAT = 1.0 / 60;
+    private static final double NM_LON = 1.0 / 30;
+
+    private VesselTable table;
+    private SpatialIndex index;
+    private CollisionMonitor monitor;
+
+    @Before
+    public void setUp() {
+        table = new VesselTable();
+        index = new SpatialIndex();
+        monitor = new CollisionMonitor(table, index);
+        monitor.setOwnShip(LAT, LON, 10, 0, T0);
+    }
+
+    @Test
+    public void testNoOwnShip() {
+        CollisionMonitor m = new CollisionMonitor(table, index);
+        add(1, LAT, LON, 0, 0, T0);
+        assertEquals(0, m.compute(T0).size());
+    }
+
+    @Test
+    public void testHeadOn() {
+        add(1, LAT + 6 * NM_LAT, LON, 10, 180, T0);
+        CPAResult r = monitor.compute(T0);
+        assertEquals(1, r.size());
+        assertEquals(1, r.getTarget(0));
+        assertFalse(r.isRadarTarget(0));
+        assertEquals(6.0, r.getRange(0), DELTA);
+        assertEquals(0.0, r.getBearing(0), DELTA);
+        assertEquals(0.0, r.getCPA(0), DELTA);
+        assertEquals(18.0, r.getTCPA(0), DELTA);
+        assertFalse(r.isAlarm(0));
+    }
+
+    @Test
+    public void testDeadReckoning() {
+        // both vessels advance one mile in six minutes
+        monitor.setTCPALimit(15);
+        add(1, LAT + 6 * NM_LAT, LON, 10, 180, T0);
+        CPAResult r = monitor.compute(T0 + 360000L);
+        assertEquals(4.0, r.getRange(0), DELTA);
+        assertEquals(12.0, r.getTCPA(0), DELTA);
+        assertTrue(r.isAlarm(0));
+    }
+
+    @Test
+    public void testCrossing() {
+        add(1, LAT, LON + 3 * NM_LON, 10, 270, T0);
+        CPAResult r = monitor.compute(T0);
+        assertEquals(3.0, r.getRange(0), DELTA);
+        assertEquals(90.0, r.getBearing(0), DELTA);
+        assertEquals(Math.sqrt(4.5), r.getCPA(0), DELTA);
+        assertEquals(9.0, r.getTCPA(0), DELTA);
+        assertFalse(r.isAlarm(0));
+
+        monitor.setCPALimit(2.5);
+        assertTrue(monitor.compute(T0).isAlarm(0));
+    }
+
+    @Test
+    public void testReceding() {
+        add(1, LAT - 1 * NM_LAT, LON, 5, 180, T0);
+        CPAResult r = monitor.compute(T0);
+        assertEquals(180.0, r.getBearing(0), DELTA);
+        assertTrue(r.getTCPA(0) < 0);
+        assertFalse(r.isAlarm(0));
+    }
+
+    @Test
+    public void testStationaryTargetWithoutCourse() {
+        monitor.setOwnShip(LAT, LON, 0, 0, T0);
+        add(1, LAT, LON + 0.2 * NM_LON, 0, 0, T0);
+        CPAResult r = monitor.compute(T0);
+        assertEquals(0.2, r.getCPA(0), DELTA);
+        assertEquals(0.0, r.getTCPA(0), DELTA);
+        assertTrue(r.isAlarm(0));
+    }
+
+    @Test
+    public void testRangeAndAge() {
+        add(1, LAT + 13 * NM_LAT, LON, 0, 0, T0);
+        add(2, LAT + 11 * NM_LAT, LON, 0, 0, T0);
+        add(3, LAT + 1 * NM_LAT, LON, 0, 0, T0 - CollisionMonitor.DEFAULT_MAX_AGE - 1);
+        CPAResult r = monitor.compute(T0);
+        assertEquals(1, r.size());
+        assertEquals(2, r.getTarget(0));
+
+        monitor.setRange(20);
+        assertEquals(2, monitor.compute(T0).size());
+        monitor.setMaxAge(CollisionMonitor.DEFAULT_MAX_AGE * 2);
+        assertEquals(3, monitor.compute(T0).size());
+    }
+
+    @Test
+    public void testOwnMMSIExcluded() {
+        add(1, LAT, LON, 10, 0, T0);
+        assertEquals(1, monitor.compute(T0).size());
+        monitor.setOwnMMSI(1);
+        assertEquals(0, monitor.compute(T0).size());
+    }
+
+    @Test
+    public void testWithoutSpatialIndex() {
+        CollisionMonitor m = new CollisionMonitor(table);
+        m.setOwnShip(LAT, LON, 10, 0, T0);
+        for (int i = 1; i <= 1000; i++) {
+            add(i, LAT + (i % 40) * NM_LAT, LON + (i / 40) * 0.1 * NM_LON, 10, i % 360, T0);
+        }
+        CPAResult expected = monitor.compute(T0);
+        CPAResult actual = m.compute(T0);
+        assertTrue(expected.size() > 100);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            int j = actual.indexOf(expected.getTarget(i), false);
+            assertTrue(j >= 0);
+            assertEquals(expected.getCPA(i), actual.getCPA(j), 1e-9);
+            assertEquals(expected.getTCPA(i), actual.getTCPA(j), 1e-9);
+        }
+    }
+
+    @Test
+    public void testFastTargetMovedInRange() {
+        // 14 miles away five minutes ago, 2.5 miles closer now
+        monitor.setOwnShip(LAT, LON, 0, 0, T0);
+        add(1, LAT + 14 * NM_LAT, LON, 30, 180, T0 - 300000L);
+        CollisionMonitor m = new CollisionMonitor(table);
+        m.setOwnShip(LAT, LON, 0, 0, T0);
+
+        CPAResult actual = monitor.compute(T0);
+        CPAResult expected = m.compute(T0);
+        assertEquals(1, expected.size());
+        assertEquals(1, actual.size());
+        assertEquals(expected.getRange(0), actual.getRange(0), 1e-9);
+        assertEquals(11.5, actual.getRange(0), DELTA);
+
+        // without margin for target movement the index misses it
+        monitor.setMaxTargetSpeed(0);
+        assertEquals(0, monitor.compute(T0).size());
+    }
+
+    @Test
+    public void testAlarmRaised() {
+        monitor.setTCPALimit(20);
+        add(1, LAT + 6 * NM_LAT, LON, 10, 180, T0);
+        CPAResult r = monitor.compute(T0);
+        assertTrue(r.isAlarm(0));
+        assertTrue(r.isNewAlarm(0));
+        assertEquals(1, r.getAlarmCount());
+
+        r = monitor.compute(T0 + 1000);
+        assertTrue(r.isAlarm(0));
+        assertFalse(r.isNewAlarm(0));
+
+        // alarm is raised again after being cleared
+        monitor.setCPALimit(0);
+        monitor.setTCPALimit(0);
+        assertFalse(monitor.compute(T0 + 2000).isAlarm(0));
+        monitor.setCPALimit(1);
+        monitor.setTCPALimit(20);
+        assertTrue(monitor.compute(T0 + 3000).isNewAlarm(0));
+    }
+
+    @Test
+    public void testRadarTarget() {
+        TTMSentence ttm = createTTM(1, 2.0, 90.0, 10.0, 270.0, TargetStatus.TRACKING);
+        assertTrue(monitor.update(ttm, T0));
+        CPAResult r = monitor.compute(T0);
+        assertEquals(1, r.size());
+        assertEquals(1, r.getTarget(0));
+        assertTrue(r.isRadarTarget(0));
+        assertEquals(2.0, r.getRange(0), DELTA);
+        assertEquals(90.0, r.getBearing(0), DELTA);
+        assertEquals(Math.sqrt(2), r.getCPA(0), DELTA);
+        assertEquals(6.0, r.getTCPA(0), DELTA);
+
+        monitor.sentenceRead(new SentenceEvent(this,
+            createTTM(1, 2.0, 90.0, 10.0, 270.0, TargetStatus.LOST)));
+        assertEquals(0, monitor.compute(T0).size());
+    }
+
+    @Test
+    public void testRadarTargetWithoutOwnShip() {
+        CollisionMonitor m = new CollisionMonitor(table);
+        TTMSentence ttm = createTTM(1, 2.0, 90.0, 10.0, 270.0, TargetStatus.TRACKING);
+        assertFalse(m.update(ttm, T0));
+    }
+
+    @Test
+    public void testProviderUpdate() {
+        final List<CPAResult> results = new ArrayList<>();
+        monitor.addListener(new CPAListener() {
+            @Override
+            public void cpaUpdate(CPAResult result) {
+                results.add(result.copy());
+            }
+        });
+        long now = System.currentTimeMillis();
+        add(1, LAT + 6 * NM_LAT, LON, 10, 180, now);
+        monitor.providerUpdate(new PositionEvent(this, new Position(LAT, LON),
+            10.0, 0.0, null, null, null, null));
+        assertEquals(1, results.size());
+        assertEquals(1, results.get(0).size());
+        assertEquals(18.0, results.get(0).getTCPA(0), 0.1);
+    }
+
+    @Test
+    public void testResultReused() {
+        add(1, LAT + 6 * NM_LAT, LON, 10, 180, T0);
+        CPAResult r = new CPAResult();
+        assertSame(r, monitor.compute(T0, r));
+        assertEquals(1, r.size());
+        assertEquals(T0, r.getTime());
+    }
+
+    @Test
+    public void testInvalidLimits() {
+        try {
+            monitor.setRange(0);
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            // pass
+        }
+        try {
+            monitor.setCPALimit(-1);
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            // pass
+        }
+        try {
+            monitor.setMaxTargetSpeed(-1);
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            // pass
+        }
+    }
+
+    private void add(int mmsi, double lat, double lon, double sog, double cog, long time) {
+        Report r = new Report(mmsi, lat, lon, sog, cog);
+        table.update(r, time);
+        index.update(r, time);
+    }
+
+    private static TTMSentence createTTM(int number, double distance,
+        double bearing, double speed, double course, TargetStatus status) {
+        TTMSentence ttm = (TTMSentence) SentenceFactory.getInstance().createParser(TalkerId.RA, "TTM");
+        ttm.setNumber(number);
+        ttm.setDistance(distance);
+        ttm.setBearing(bearing);
+        ttm.setSpeed(speed);
+        ttm.setCourse(course);
+        ttm.setStatus(status);
+        return ttm;
+    }
+}
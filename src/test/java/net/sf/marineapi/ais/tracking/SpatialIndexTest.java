@@ -0,0 +1,247 @@
+package net.sf.marineapi.ais.tracking;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import net.sf.marineapi.ais.message.AISMessage;
+import net.sf.marineapi.ais.parser.AISMessageFactory;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.AISSentence;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SpatialIndexTest {
+
+    private static final int COUNT = 5000;
+
+    private SpatialIndex index;
+    private double[] lat;
+    private double[] lon;
+
+    @Before
+    public void setUp() {
+        index = new SpatialIndex(2.0);
+        lat = new double[COUNT];
+        lon = new double[COUNT];
+        Random rnd = new Random(7);
+        for (int i = 0; i < COUNT; i++) {
+            // half of targets in Gulf of Finland, rest around 180th meridian
+            if (i % 2 == 0) {
+                lat[i] = 59.5 + rnd.nextDouble();
+                lon[i] = 23.0 + rnd.nextDouble() * 4;
+            } else {
+                lat[i] = -17.0 - rnd.nextDouble();
+                lon[i] = rnd.nextBoolean() ? 179.0 + rnd.nextDouble() : -180.0 + rnd.nextDouble();
+            }
+            assertTrue(index.update(i + 1, lat[i], lon[i], 1000L));
+        }
+    }
+
+    @Test
+    public void testConstructorWithInvalidCellSize() {
+        try {
+            new SpatialIndex(0.1);
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testSize() {
+        assertEquals(COUNT, index.size());
+        assertTrue(index.contains(1));
+        assertFalse(index.contains(COUNT + 1));
+    }
+
+    @Test
+    public void testUpdateOutOfRange() {
+        assertFalse(index.update(999999, 91.0, 0.0, 0L));
+        assertFalse(index.updateUnits(999999, 91 * 600000, 181 * 600000, 0L));
+        assertFalse(index.contains(999999));
+    }
+
+    @Test
+    public void testWithinRadius() {
+        assertRadius(60.0, 25.0, 12.0);
+        assertRadius(59.8, 24.1, 0.5);
+        assertRadius(-17.5, 179.95, 12.0);
+        assertRadius(-17.5, -179.95, 30.0);
+        assertRadius(0.0, 0.0, 100.0);
+    }
+
+    @Test
+    public void testWithinRadiusInvalidArgs() {
+        try {
+            index.withinRadius(60.0, 25.0, -1.0);
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            // pass
+        }
+        try {
+            index.withinRadius(60.0, 190.0, 1.0);
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testWithinBounds() {
+        assertBounds(59.8, 24.0, 60.0, 24.5);
+        assertBounds(-17.5, 179.5, -17.0, -179.5);
+        assertBounds(-90.0, -180.0, 90.0, 180.0);
+        assertEquals(COUNT, index.withinBounds(-90.0, -180.0, 90.0, 180.0).length);
+    }
+
+    @Test
+    public void testNearest() {
+        assertNearest(60.0, 25.0, 1);
+        assertNearest(60.0, 25.0, 25);
+        assertNearest(-17.2, 179.99, 10);
+        assertNearest(0.0, 0.0, 5);
+        assertEquals(COUNT, index.nearest(60.0, 25.0, COUNT * 2).length);
+    }
+
+    @Test
+    public void testNearestWithMaxRadius() {
+        int[] result = index.nearest(60.0, 25.0, 100, 3.0);
+        int[] expected = bruteForceRadius(60.0, 25.0, 3.0);
+        assertTrue(result.length <= 100);
+        assertEquals(Math.min(100, expected.length), result.length);
+        assertEquals(0, index.nearest(0.0, 0.0, 10, 100.0).length);
+    }
+
+    @Test
+    public void testMove() {
+        index.update(1, 10.0, 10.0, 2000L);
+        assertEquals(COUNT, index.size());
+        assertTrue(Arrays.equals(new int[] { 1 }, index.withinRadius(10.0, 10.0, 1.0)));
+        assertEquals(1, index.nearest(10.01, 10.01, 1)[0]);
+        assertFalse(contains(index.withinRadius(lat[0], lon[0], 0.01), 1));
+
+        // move within same cell
+        index.update(1, 10.001, 10.001, 3000L);
+        assertTrue(Arrays.equals(new int[] { 1 }, index.withinRadius(10.0, 10.0, 1.0)));
+    }
+
+    @Test
+    public void testRemove() {
+        assertTrue(index.remove(1));
+        assertFalse(index.remove(1));
+        assertFalse(index.contains(1));
+        assertEquals(COUNT - 1, index.size());
+        assertFalse(contains(index.withinRadius(lat[0], lon[0], 1.0), 1));
+        lat[0] = -90;
+        assertRadius(60.0, 25.0, 12.0);
+
+        // removed slot is reused
+        index.update(COUNT + 1, lat[2], lon[2], 0L);
+        assertTrue(contains(index.withinRadius(lat[2], lon[2], 0.01), COUNT + 1));
+    }
+
+    @Test
+    public void testRemoveOlderThan() {
+        for (int i = 1; i <= 10; i++) {
+            index.update(i, lat[i - 1], lon[i - 1], 5000L);
+        }
+        assertEquals(COUNT - 10, index.removeOlderThan(2000L));
+        assertEquals(10, index.size());
+        assertEquals(10, index.nearest(60.0, 25.0, 100).length);
+    }
+
+    @Test
+    public void testClear() {
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(0, index.withinRadius(60.0, 25.0, 60.0).length);
+        assertEquals(0, index.nearest(60.0, 25.0, 10).length);
+        index.update(1, 60.0, 25.0, 0L);
+        assertEquals(1, index.nearest(60.0, 25.0, 10).length);
+    }
+
+    @Test
+    public void testOnMessage() throws Exception {
+        SentenceFactory sf = SentenceFactory.getInstance();
+        AISSentence s = (AISSentence) sf.createParser(
+            "!AIVDM,1,1,,A,15RTgt0PAso;90TKcjM8h6g208CQ,0*4A");
+        AISMessage msg = AISMessageFactory.getInstance().create(s);
+        index.onMessage(msg);
+        assertTrue(index.contains(371798000));
+        int[] near = index.nearest(48.38, -123.39, 1);
+        assertEquals(371798000, near[0]);
+    }
+
+    private void assertRadius(double la, double lo, double radius) {
+        int[] result = index.withinRadius(la, lo, radius);
+        Arrays.sort(result);
+        assertTrue(Arrays.equals(bruteForceRadius(la, lo, radius), result));
+    }
+
+    private void assertBounds(double s, double w, double n, double e) {
+        int[] result = index.withinBounds(s, w, n, e);
+        Arrays.sort(result);
+        int[] expected = new int[COUNT];
+        int count = 0;
+        for (int i = 0; i < COUNT; i++) {
+            boolean inLon = w <= e ? lon[i] >= w && lon[i] <= e : lon[i] >= w || lon[i] <= e;
+            if (lat[i] >= s && lat[i] <= n && inLon) {
+                expected[count++] = i + 1;
+            }
+        }
+        assertTrue(Arrays.equals(Arrays.copyOf(expected, count), result));
+    }
+
+    private void assertNearest(double la, double lo, int k) {
+        int[] result = index.nearest(la, lo, k);
+        assertEquals(k, result.length);
+        double[] d = new double[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            d[i] = distance(la, lo, lat[i], lon[i]);
+        }
+        double[] sorted = d.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < k; i++) {
+            assertEquals(sorted[i], d[result[i] - 1], 1e-6);
+        }
+    }
+
+    private int[] bruteForceRadius(double la, double lo, double radius) {
+        int[] expected = new int[COUNT];
+        int count = 0;
+        for (int i = 0; i < COUNT; i++) {
+            if (distance(la, lo, lat[i], lon[i]) <= radius) {
+                expected[count++] = i + 1;
+            }
+        }
+        return Arrays.copyOf(expected, count);
+    }
+
+    // local equirectangular distance in NM
+    private static double distance(double lat0, double lon0, double lat1, double lon1) {
+        double dLon = lon1 - lon0;
+        if (dLon > 180) {
+            dLon -= 360;
+        } else if (dLon < -180) {
+            dLon += 360;
+        }
+        double dx = dLon * 60 * Math.cos(Math.toRadians(lat0));
+        double dy = (lat1 - lat0) * 60;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
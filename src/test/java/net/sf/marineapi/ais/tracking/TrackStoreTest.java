@@ -0,0 +1,205 @@
+package net.sf.marineapi.ais.tracking;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import net.sf.marineapi.ais.message.AISMessage;
+import net.sf.marineapi.ais.parser.AISMessageFactory;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.AISSentence;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TrackStoreTest {
+
+    private static final long HOUR = 3600 * 1000L;
+    private static final double UNIT = 1.0 / 600000;
+
+    private TrackStore store;
+
+    @Before
+    public void setUp() {
+        store = new TrackStore(2 * HOUR);
+    }
+
+    @Test
+    public void testConstructorWithInvalidRetention() {
+        try {
+            new TrackStore(0);
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testUpdateWithMessage() {
+        AISSentence s = (AISSentence) SentenceFactory.getInstance().createParser(
+            "!AIVDM,1,1,,A,15RTgt0PAso;90TKcjM8h6g208CQ,0*4A");
+        AISMessage msg = AISMessageFactory.getInstance().create(s);
+        assertTrue(store.update(msg, 1000L));
+
+        TrackSegment seg = store.query(371798000, 0, 2000);
+        assertEquals(1, seg.size());
+        assertEquals(371798000, seg.getMMSI());
+        assertEquals(1000L, seg.getTime(0));
+        assertEquals(48.38163333333333, seg.getLatitude(0), UNIT);
+        assertEquals(-123.39538333333333, seg.getLongitude(0), UNIT);
+        assertEquals(12.3, seg.getSpeedOverGround(0), 1e-9);
+        assertEquals(224.0, seg.getCourseOverGround(0), 1e-9);
+    }
+
+    @Test
+    public void testRoundTrip() {
+        Random rnd = new Random(3);
+        long[] time = new long[1000];
+        double[] lat = new double[time.length];
+        double[] lon = new double[time.length];
+        double[] sog = new double[time.length];
+        double[] cog = new double[time.length];
+        long t = 1000000L;
+        double la = 60.0;
+        double lo = 179.99;
+        for (int i = 0; i < time.length; i++) {
+            t += 2000 + rnd.nextInt(10000);
+            la += rnd.nextGaussian() * 0.0005;
+            lo += 0.0005;
+            if (lo > 180) {
+                lo -= 360;
+            }
+            time[i] = t;
+            lat[i] = la;
+            lon[i] = lo;
+            sog[i] = i % 50 == 0 ? Double.NaN : rnd.nextInt(300) / 10.0;
+            cog[i] = i % 70 == 0 ? Double.NaN : rnd.nextInt(3600) / 10.0;
+            assertTrue(store.add(1, t, la, lo, sog[i], cog[i]));
+        }
+
+        TrackSegment seg = store.query(1, Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(time.length, seg.size());
+        assertEquals(time.length, store.getPointCount(1));
+        for (int i = 0; i < time.length; i++) {
+            assertEquals(time[i], seg.getTime(i));
+            assertEquals(lat[i], seg.getLatitude(i), UNIT);
+            assertEquals(lon[i], seg.getLongitude(i), UNIT);
+            assertEquals(sog[i], seg.getSpeedOverGround(i), 1e-9);
+            assertEquals(cog[i], seg.getCourseOverGround(i), 1e-9);
+        }
+
+        // range query hits block boundaries
+        TrackSegment part = new TrackSegment();
+        assertEquals(301, store.query(1, time[100], time[400], part));
+        assertEquals(time[100], part.getTime(0));
+        assertEquals(time[400], part.getTime(300));
+        assertEquals(0, store.query(1, 0, time[0] - 1, part));
+        assertArrayEquals(new long[] { time[0], time[time.length - 1] }, store.getTimeRange(1));
+    }
+
+    @Test
+    public void testCompactness() {
+        for (int v = 0; v < 100; v++) {
+            for (int i = 0; i < 360; i++) {
+                store.add(200000000 + v, i * 10000L, 59.0 + i * 0.0003, 24.0 + v * 0.01 + i * 0.0004,
+                    10.0 + (i % 5) * 0.1, 45.0 + (i % 3) * 0.5);
+            }
+        }
+        long bytesPerPoint = store.getMemoryUsage() / (100 * 360);
+        // retained parser objects take several hundred bytes per point
+        assertTrue("bytes per point " + bytesPerPoint, bytesPerPoint <= 20);
+    }
+
+    @Test
+    public void testOutOfOrderIgnored() {
+        assertTrue(store.add(1, 2000, 60.0, 25.0, 5.0, 90.0));
+        assertFalse(store.add(1, 1000, 60.1, 25.0, 5.0, 90.0));
+        assertTrue(store.add(1, 2000, 60.2, 25.0, 5.0, 90.0));
+        assertFalse(store.add(2, 3000, 91.0, 25.0, 5.0, 90.0));
+        assertEquals(2, store.getPointCount(1));
+        assertFalse(store.contains(2));
+    }
+
+    @Test
+    public void testInterpolate() {
+        store.add(1, 0, 60.0, 25.0, 10.0, 350.0);
+        store.add(1, 10000, 60.1, 25.2, 20.0, 10.0);
+        store.add(1, 20000, 60.2, 25.4, Double.NaN, 20.0);
+
+        TrackPoint p = store.interpolate(1, 2500);
+        assertEquals(60.025, p.getLatitude(), UNIT);
+        assertEquals(25.05, p.getLongitude(), UNIT);
+        assertEquals(12.5, p.getSpeedOverGround(), 1e-9);
+        assertEquals(355.0, p.getCourseOverGround(), 1e-9);
+
+        p = store.interpolate(1, 7500);
+        assertEquals(5.0, p.getCourseOverGround(), 1e-9);
+
+        p = store.interpolate(1, 10000);
+        assertEquals(60.1, p.getLatitude(), UNIT);
+        assertEquals(20.0, p.getSpeedOverGround(), 1e-9);
+
+        p = store.interpolate(1, 15000);
+        assertTrue(Double.isNaN(p.getSpeedOverGround()));
+        assertEquals(15.0, p.getCourseOverGround(), 1e-9);
+
+        assertNull(store.interpolate(1, -1));
+        assertNull(store.interpolate(1, 20001));
+        assertNull(store.interpolate(2, 0));
+    }
+
+    @Test
+    public void testInterpolateAntimeridian() {
+        store.add(1, 0, 0.0, 179.9, 10.0, 90.0);
+        store.add(1, 1000, 0.0, -179.9, 10.0, 90.0);
+        assertEquals(180.0, Math.abs(store.interpolate(1, 500).getLongitude()), UNIT);
+        assertEquals(-179.95, store.interpolate(1, 750).getLongitude(), UNIT);
+    }
+
+    @Test
+    public void testInterpolateAcrossBlocks() {
+        for (int i = 0; i < 200; i++) {
+            store.add(1, i * 1000L, 60.0 + i * 0.001, 25.0, 10.0, 0.0);
+        }
+        for (int i = 0; i < 199; i++) {
+            TrackPoint p = store.interpolate(1, i * 1000L + 500);
+            assertEquals(60.0005 + i * 0.001, p.getLatitude(), UNIT);
+        }
+    }
+
+    @Test
+    public void testRetention() {
+        for (int i = 0; i <= 300; i++) {
+            store.add(1, i * 60000L, 60.0, 25.0, 0.0, 0.0);
+        }
+        // five hours of one minute points, two hours retained
+        long[] range = store.getTimeRange(1);
+        assertEquals(300 * 60000L, range[1]);
+        assertTrue(range[0] > 0);
+        assertTrue(range[0] <= 180 * 60000L);
+
+        assertEquals(0, store.removeOlderThan(300 * 60000L));
+        assertEquals(1, store.removeOlderThan(300 * 60000L + 2 * HOUR + 1));
+        assertFalse(store.contains(1));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        store.add(1, 0, 60.0, 25.0, 0.0, 0.0);
+        store.add(2, 0, 60.0, 25.0, 0.0, 0.0);
+        assertTrue(store.remove(1));
+        assertFalse(store.remove(1));
+        assertEquals(1, store.size());
+        store.add(3, 0, 60.0, 25.0, 0.0, 0.0);
+        assertEquals(1, store.getPointCount(3));
+        store.clear();
+        assertEquals(0, store.size());
+        assertNull(store.getTimeRange(2));
+    }
+}
@@ -0,0 +1,261 @@
+package net.sf.marineapi.ais.tracking;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.sf.marineapi.ais.message.AISMessage;
+import net.sf.marineapi.ais.message.AISMessage01;
+import net.sf.marineapi.ais.parser.AISMessageFactory;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.AISSentence;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class VesselTableTest {
+
+    private static final SentenceFactory sf = SentenceFactory.getInstance();
+    private static final AISMessageFactory mf = AISMessageFactory.getInstance();
+
+    // MMSI 371798000
+    private static final String MSG_01 = "!AIVDM,1,1,,A,15RTgt0PAso;90TKcjM8h6g208CQ,0*4A";
+    // MMSI 338087471
+    private static final String MSG_18 = "!AIVDM,1,1,,A,B52K>;h00Fc>jpUlNV@ikwpUoP06,0*4C";
+    // MMSI 601011, base station
+    private static final String MSG_04 = "!AIVDM,1,1,,A,400TcdiuiT7VDR>3nIfr6>i00000,0*78";
+    // MMSI 603916439
+    private static final String MSG_05_1 = "!AIVDM,2,1,0,A,58wt8Ui`g??r21`7S=:22058<v05Htp000000015>8OA;0sk,0*7B";
+    private static final String MSG_05_2 = "!AIVDM,2,2,0,A,eQ8823mDm3kP00000000000,2*5D";
+    // MMSI 112233445
+    private static final String MSG_24_A = "!AIVDO,1,1,,B,H1c2;qA@PU>0U>060<h5=>0:1Dp,2*7D";
+    private static final String MSG_24_B = "!AIVDO,1,1,,B,H1c2;qDTijklmno31<<C970`43<1,0*28";
+
+    private VesselTable table;
+
+    @Before
+    public void setUp() {
+        table = new VesselTable();
+    }
+
+    @Test
+    public void testUpdateWithPositionReport() {
+        assertTrue(table.update(create(MSG_01), 1000L));
+
+        VesselState s = table.get(371798000);
+        assertNotNull(s);
+        assertEquals(371798000, s.getMMSI());
+        assertEquals(1, s.getLastMessageType());
+        assertTrue(s.hasPosition());
+        assertEquals(48.38163333, s.getLatitude(), 0.000001);
+        assertEquals(-123.39538333, s.getLongitude(), 0.000001);
+        assertEquals(12.3, s.getSpeedOverGround(), 0.01);
+        assertEquals(224.0, s.getCourseOverGround(), 0.01);
+        assertEquals(215, s.getTrueHeading());
+        assertEquals(0, s.getNavigationalStatus());
+        assertNull(s.getName());
+        assertEquals(1000L, s.getTimeStamp(VesselField.POSITION));
+        assertEquals(0L, s.getTimeStamp(VesselField.NAME));
+        assertEquals(1000L, s.getLastUpdate());
+    }
+
+    @Test
+    public void testUpdateWithClassBReport() {
+        assertTrue(table.update(create(MSG_18), 1000L));
+        VesselState s = table.get(338087471);
+        assertNotNull(s);
+        assertTrue(s.hasPosition());
+        assertEquals(18, s.getLastMessageType());
+        assertFalse(s.hasRateOfTurn());
+    }
+
+    @Test
+    public void testUpdateWithStaticData() {
+        assertTrue(table.update(create(MSG_05_1, MSG_05_2), 2000L));
+        VesselState s = table.get(603916439);
+        assertNotNull(s);
+        assertFalse(s.hasPosition());
+        assertEquals("ARCO AVON", s.getName());
+        assertEquals("ZA83R", s.getCallSign());
+        assertEquals(439303422, s.getIMONumber());
+        assertEquals(69, s.getShipType());
+        assertEquals(113, s.getBow());
+        assertEquals(31, s.getStern());
+        assertEquals(17, s.getPort());
+        assertEquals(11, s.getStarboard());
+        assertEquals("HOUSTON", s.getDestination());
+        assertEquals(2000L, s.getTimeStamp(VesselField.DESTINATION));
+        assertEquals(0L, s.getTimeStamp(VesselField.POSITION));
+    }
+
+    @Test
+    public void testMergeMessage24Parts() {
+        table.update(create(MSG_24_A), 1000L);
+        table.update(create(MSG_24_B), 2000L);
+
+        assertEquals(1, table.size());
+        VesselState s = table.get(112233445);
+        assertEquals("THIS IS A CLASS B UN", s.getName());
+        assertEquals("CALLSIG", s.getCallSign());
+        assertEquals(36, s.getShipType());
+        assertEquals(1000L, s.getTimeStamp(VesselField.NAME));
+        assertEquals(2000L, s.getTimeStamp(VesselField.CALL_SIGN));
+        assertEquals(2000L, s.getTimeStamp(VesselField.DIMENSIONS));
+    }
+
+    @Test
+    public void testUnsupportedMessageIsIgnored() {
+        assertFalse(table.update(create(MSG_04), 1000L));
+        assertEquals(0, table.size());
+        assertFalse(table.contains(601011));
+    }
+
+    @Test
+    public void testOnMessage() {
+        AISSentence s = (AISSentence) sf.createParser(MSG_01);
+        table.sentenceRead(s);
+        assertTrue(table.contains(371798000));
+        assertTrue(table.get(371798000).getLastUpdate() > 0);
+    }
+
+    @Test
+    public void testRemove() {
+        table.update(create(MSG_01), 1000L);
+        table.update(create(MSG_18), 1000L);
+        assertTrue(table.remove(371798000));
+        assertFalse(table.remove(371798000));
+        assertNull(table.get(371798000));
+        assertNotNull(table.get(338087471));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void testRemoveOlderThan() {
+        table.update(create(MSG_01), 1000L);
+        table.update(create(MSG_18), 3000L);
+        assertEquals(1, table.removeOlderThan(2000L));
+        assertFalse(table.contains(371798000));
+        assertTrue(table.contains(338087471));
+    }
+
+    @Test
+    public void testManyVessels() {
+        final int count = 20000;
+        for (int i = 1; i <= count; i++) {
+            table.update(new Report(i, (i % 900) / 10.0, (i % 1800) / 10.0), i);
+        }
+        assertEquals(count, table.size());
+
+        for (int i = 1; i <= count; i += 2) {
+            assertTrue(table.remove(i));
+        }
+        assertEquals(count / 2, table.size());
+
+        for (int i = 2; i <= count; i += 2) {
+            VesselState s = table.get(i);
+            assertNotNull(s);
+            assertEquals((i % 900) / 10.0, s.getLatitude(), 0.000001);
+            assertEquals((i % 1800) / 10.0, s.getLongitude(), 0.000001);
+            assertEquals(i, s.getTimeStamp(VesselField.POSITION));
+        }
+    }
+
+    @Test
+    public void testSnapshotAndForEach() {
+        for (int i = 1; i <= 100; i++) {
+            table.update(new Report(i, 10.0, 20.0), 1000L);
+        }
+        List<VesselState> all = table.snapshot();
+        assertEquals(100, all.size());
+        assertEquals(100, all.stream().mapToInt(VesselState::getMMSI).distinct().count());
+
+        AtomicInteger n = new AtomicInteger();
+        table.forEach(s -> n.incrementAndGet());
+        assertEquals(100, n.get());
+
+        table.clear();
+        assertEquals(0, table.size());
+        assertTrue(table.snapshot().isEmpty());
+    }
+
+    @Test
+    public void testConcurrentReadsAndWrites() throws Exception {
+        final int count = 5000;
+        Thread writer = new Thread(() -> {
+            for (int round = 0; round < 20; round++) {
+                for (int i = 1; i <= count; i++) {
+                    table.update(new Report(i, 45.0, round), round + 1);
+                }
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            table.forEach(s -> {
+                // each state must be internally consistent
+                assertEquals(45.0, s.getLatitude(), 0.000001);
+                assertEquals(s.getTimeStamp(VesselField.POSITION) - 1,
+                    s.getLongitude(), 0.000001);
+            });
+        }
+        writer.join();
+        assertEquals(count, table.size());
+    }
+
+    private static AISMessage create(String... nmea) {
+        AISSentence[] sentences = new AISSentence[nmea.length];
+        for (int i = 0; i < nmea.length; i++) {
+            sentences[i] = (AISSentence) sf.createParser(nmea[i]);
+        }
+        return mf.create(sentences);
+    }
+
+    /**
+     * Minimal position report stub for generating lots of targets.
+     */
+    static class Report implements AISMessage01 {
+
+        private final int mmsi;
+        private final double lat;
+        private final double lon;
+        private final double sog;
+        private final double cog;
+
+        Report(int mmsi, double lat, double lon) {
+            this(mmsi, lat, lon, 10, 90);
+        }
+
+        Report(int mmsi, double lat, double lon, double sog, double cog) {
+            this.mmsi = mmsi;
+            this.lat = lat;
+            this.lon = lon;
+            this.sog = sog;
+            this.cog = cog;
+        }
+
+        public int getMessageType() { return 1; }
+        public int getRepeatIndicator() { return 0; }
+        public int getMMSI() { return mmsi; }
+        public boolean isAccurate() { return true; }
+        public double getLongitudeInDegrees() { return lon; }
+        public double getLatitudeInDegrees() { return lat; }
+        public boolean hasLongitude() { return true; }
+        public boolean hasLatitude() { return true; }
+        public int getNavigationalStatus() { return 0; }
+        public double getRateOfTurn() { return 0; }
+        public double getSpeedOverGround() { return sog; }
+        public double getCourseOverGround() { return cog; }
+        public int getTrueHeading() { return 90; }
+        public int getTimeStamp() { return 0; }
+        public int getManouverIndicator() { return 0; }
+        public boolean hasRateOfTurn() { return false; }
+        public boolean hasSpeedOverGround() { return true; }
+        public boolean hasCourseOverGround() { return true; }
+        public boolean hasTrueHeading() { return true; }
+        public boolean hasTimeStamp() { return false; }
+    }
+}
@@ -0,0 +1,112 @@
+package net.sf.marineapi.ais.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class SixbitTest {
+
+    private static final String PAYLOAD =
+        "58wt8Ui`g??r21`7S=:22058<v05Htp000000015>8OA;0skeQ8823mDm3kP00000000000";
+
+    @Test
+    public void testByteConstructor() {
+        byte[] buf = ("xx," + PAYLOAD + ",2").getBytes(StandardCharsets.US_ASCII);
+        Sixbit expected = new Sixbit(PAYLOAD, 2);
+        Sixbit actual = new Sixbit(buf, 3, PAYLOAD.length(), 2);
+
+        assertEquals(expected.length(), actual.length());
+        for (int i = 0; i < expected.length(); i++) {
+            assertEquals(expected.getInt(i, i + 1), actual.getInt(i, i + 1));
+        }
+        assertEquals(expected.getInt(8, 38), actual.getInt(8, 38));
+        assertEquals("ARCO AVON", actual.getString(112, 232).trim());
+        assertEquals(PAYLOAD, actual.getPayload());
+    }
+
+    @Test
+    public void testByteConstructorAllCharacters() {
+        StringBuilder sb = new StringBuilder();
+        for (char c = '0'; c <= 'W'; c++) {
+            sb.append(c);
+        }
+        for (char c = '`'; c <= 'w'; c++) {
+            sb.append(c);
+        }
+        String payload = sb.toString();
+        Sixbit s = new Sixbit(payload.getBytes(StandardCharsets.US_ASCII), 0, payload.length(), 0);
+        for (int i = 0; i < 64; i++) {
+            assertEquals(i, s.getInt(i * 6, i * 6 + 6));
+        }
+        assertEquals(payload, s.getPayload());
+    }
+
+    @Test
+    public void testByteConstructorInvalidCharacter() {
+        byte[] buf = "13aEOK?P00PD2wVMdLDRhgvL289X".getBytes(StandardCharsets.US_ASCII);
+        try {
+            new Sixbit(buf, 0, buf.length, 0);
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Invalid payload characters", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testByteConstructorEmpty() {
+        try {
+            new Sixbit(new byte[0], 0, 0, 0);
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testGetStringCached() {
+        Sixbit a = new Sixbit(PAYLOAD, 2);
+        Sixbit b = new Sixbit(PAYLOAD, 2);
+        String name = a.getString(112, 232);
+        assertEquals("ARCO AVON", name.trim());
+        assertSame(name, b.getString(112, 232));
+        assertSame(a.getTrimmedString(112, 232), b.getTrimmedString(112, 232));
+        assertEquals("ARCO AVON", b.getTrimmedString(112, 232));
+    }
+
+    @Test
+    public void testGetStringDistinctFields() {
+        SixbitWriter w = new SixbitWriter(246);
+        w.setString(0, 120, "ALPHA");
+        w.setString(120, 240, "ALPHB");
+        Sixbit s = w.toSixbit();
+        assertEquals("ALPHA", s.getString(0, 120));
+        assertEquals("ALPHB", s.getString(120, 240));
+        // same characters, different length
+        assertEquals("ALPH", s.getString(0, 24));
+        assertEquals("ALPHA", s.getString(0, 42));
+    }
+
+    @Test
+    public void testGetStringPadding() {
+        SixbitWriter w = new SixbitWriter(120);
+        w.setString(0, 60, "  CALL  ");
+        Sixbit s = w.toSixbit();
+        assertEquals("  CALL  ", s.getString(0, 60));
+        assertEquals("CALL", s.getTrimmedString(0, 60));
+        // empty field keeps the @ signs
+        assertEquals("@@@@@@@@@@", s.getString(60, 120));
+    }
+
+    @Test
+    public void testGetStringLongField() {
+        SixbitWriter w = new SixbitWriter(132);
+        w.setString(0, 132, "ABCDEFGHIJKLMNOPQRSTU");
+        Sixbit s = w.toSixbit();
+        assertEquals("ABCDEFGHIJKLMNOPQRSTU", s.getString(0, 132));
+        assertEquals("ABCDEFGHIJKLMNOPQRST", s.getString(0, 120));
+    }
+}
@@ -0,0 +1,121 @@
+package net.sf.marineapi.ais.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class SixbitWriterTest {
+
+    @Test
+    public void testEmptyPayload() {
+        SixbitWriter w = new SixbitWriter(168);
+        assertEquals(168, w.length());
+        assertEquals(0, w.getFillBits());
+        assertEquals("0000000000000000000000000000", w.getPayload());
+    }
+
+    @Test
+    public void testFillBits() {
+        SixbitWriter w = new SixbitWriter(424);
+        assertEquals(2, w.getFillBits());
+        assertEquals(71, w.getPayload().length());
+        assertEquals(424, w.toSixbit().length());
+    }
+
+    @Test
+    public void testSetInt() {
+        SixbitWriter w = new SixbitWriter(168);
+        w.setInt(0, 6, 1);
+        w.setInt(8, 38, 371798000);
+        w.setInt(61, 89, -123 * 600000);
+        Sixbit s = w.toSixbit();
+        assertEquals(1, s.getInt(0, 6));
+        assertEquals(371798000, s.getInt(8, 38));
+        assertEquals(-123 * 600000, s.getAs28BitInt(61, 89));
+        assertEquals(0, s.getInt(38, 61));
+    }
+
+    @Test
+    public void testSetIntOverwrites() {
+        SixbitWriter w = new SixbitWriter(12);
+        w.setInt(0, 12, 0xFFF);
+        w.setInt(3, 9, 0);
+        assertEquals(0xE07, w.toSixbit().getInt(0, 12));
+    }
+
+    @Test
+    public void testSetBoolean() {
+        SixbitWriter w = new SixbitWriter(12);
+        w.setBoolean(5, true);
+        assertEquals(1, w.toSixbit().getInt(5, 6));
+        assertEquals("10", w.getPayload());
+        w.setBoolean(5, false);
+        assertEquals("00", w.getPayload());
+    }
+
+    @Test
+    public void testSetString() {
+        SixbitWriter w = new SixbitWriter(120);
+        w.setString(0, 120, "Arco Avon");
+        assertEquals("ARCO AVON", w.toSixbit().getString(0, 120));
+        w.setString(0, 42, "X");
+        assertEquals("X", w.toSixbit().getString(0, 42));
+        assertEquals("ON", w.toSixbit().getString(42, 120));
+    }
+
+    @Test
+    public void testSetStringTooLong() {
+        try {
+            new SixbitWriter(42).setString(0, 42, "ABCDEFGH");
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testSetStringInvalidChar() {
+        try {
+            new SixbitWriter(42).setString(0, 42, "Ä");
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testOutOfBounds() {
+        SixbitWriter w = new SixbitWriter(168);
+        try {
+            w.setInt(160, 169, 1);
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            // pass
+        }
+        try {
+            w.setInt(0, 33, 1);
+            fail("Did not throw exception");
+        } catch (IllegalArgumentException e) {
+            // pass
+        }
+    }
+
+    @Test
+    public void testTransportCharacters() {
+        // all 64 values, encoded and decoded back
+        SixbitWriter w = new SixbitWriter(64 * 6);
+        for (int i = 0; i < 64; i++) {
+            w.setInt(i * 6, i * 6 + 6, i);
+        }
+        String payload = w.getPayload();
+        Sixbit s = new Sixbit(payload, 0);
+        for (int i = 0; i < 64; i++) {
+            assertEquals(i, s.getInt(i * 6, i * 6 + 6));
+        }
+        assertEquals('0', payload.charAt(0));
+        assertEquals('W', payload.charAt(39));
+        assertEquals('`', payload.charAt(40));
+        assertEquals('w', payload.charAt(63));
+    }
+}
@@ -0,0 +1,77 @@
+package net.sf.marineapi.nmea.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	private LatencyHistogram histogram;
+
+	@Before
+	public void setUp() {
+		histogram = new LatencyHistogram();
+	}
+
+	@Test
+	public void testEmpty() {
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0.0, histogram.getMean(), 0.0);
+		assertEquals(0, histogram.getPercentile(99));
+	}
+
+	@Test
+	public void testBucketBounds() {
+		long[] values = { 0, 1, 3, 4, 7, 8, 9, 10, 1000, 123456789L, Long.MAX_VALUE };
+		for (long v : values) {
+			int i = LatencyHistogram.indexOf(v);
+			long upper = LatencyHistogram.upperBound(i);
+			assertTrue(v + " <= " + upper, v <= upper);
+			assertTrue(v + " within 25%", upper - v <= v / 4);
+			if (i > 0) {
+				assertTrue(LatencyHistogram.upperBound(i - 1) < v);
+			}
+		}
+	}
+
+	@Test
+	public void testPercentiles() {
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L);
+		}
+		assertEquals(1000, histogram.getCount());
+		assertEquals(1000000, histogram.getMax());
+		assertEquals(500500.0, histogram.getMean(), 0.001);
+
+		long median = histogram.getPercentile(50);
+		assertTrue(median >= 500000 && median <= 625000);
+		long p99 = histogram.getPercentile(99);
+		assertTrue(p99 >= 990000 && p99 <= 1000000);
+		assertEquals(1000000, histogram.getPercentile(100));
+		assertEquals(1023, histogram.getPercentile(0));
+	}
+
+	@Test
+	public void testNegativeRecordedAsZero() {
+		histogram.record(-5);
+		assertEquals(1, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+	}
+
+	@Test
+	public void testReset() {
+		histogram.record(100);
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getPercentile(50));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPercentileOutOfRange() {
+		histogram.getPercentile(100.1);
+	}
+}
@@ -0,0 +1,200 @@
+package net.sf.marineapi.nmea.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import net.sf.marineapi.nmea.event.AbstractSentenceListener;
+import net.sf.marineapi.nmea.parser.BODTest;
+import net.sf.marineapi.nmea.parser.GGATest;
+import net.sf.marineapi.nmea.sentence.BODSentence;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReaderMetricsTest {
+
+	// valid format, wrong checksum
+	private static final String BAD_CHECKSUM = GGATest.EXAMPLE.replace("*63", "*64");
+	// valid sentence without parser
+	private static final String UNSUPPORTED = "$GPXYZ,1,2,3*50";
+
+	private Level level;
+	private SentenceReader reader;
+
+	@Before
+	public void setUp() {
+		// unsupported sentence and listener errors are logged
+		Logger logger = Logger.getLogger("net.sf.marineapi.nmea.io");
+		level = logger.getLevel();
+		logger.setLevel(Level.OFF);
+	}
+
+	@After
+	public void tearDown() {
+		if (reader != null) {
+			reader.stop();
+			reader.unregisterMBean();
+		}
+		Logger.getLogger("net.sf.marineapi.nmea.io").setLevel(level);
+	}
+
+	@Test
+	public void testCounters() throws Exception {
+		LineReader lines = new LineReader(
+			GGATest.EXAMPLE, BODTest.EXAMPLE, GGATest.EXAMPLE, "foobar",
+			BAD_CHECKSUM, UNSUPPORTED, UNSUPPORTED);
+		reader = new SentenceReader(lines);
+		reader.addSentenceListener(new AbstractSentenceListener<BODSentence>() {
+			@Override
+			public void sentenceRead(BODSentence sentence) {
+				throw new IllegalStateException("test");
+			}
+		});
+		ReaderMetrics m = run(reader, lines);
+
+		assertEquals(7, m.getLineCount());
+		assertEquals(3, m.getSentenceCount());
+		assertEquals(2, m.getSentenceCount("GGA"));
+		assertEquals(1, m.getSentenceCount("BOD"));
+		assertEquals(0, m.getSentenceCount("GLL"));
+		assertEquals(1, m.getDataCount());
+		assertEquals(1, m.getChecksumErrorCount());
+		assertEquals(2, m.getUnsupportedCount());
+		assertEquals(Long.valueOf(2), m.getUnsupportedCounts().get("XYZ"));
+		assertEquals(1, m.getListenerErrorCount());
+		assertEquals(0, m.getReadErrorCount());
+
+		Map<String, Long> counts = m.getSentenceCounts();
+		assertEquals(2, counts.size());
+		assertEquals(Long.valueOf(2), counts.get("GGA"));
+
+		assertEquals(3, m.getParseLatency().getCount());
+		assertEquals(3, m.getDispatchLatency().getCount());
+		assertTrue(m.getParseLatencyMax() >= m.getParseLatencyMedian());
+		assertTrue(m.getParseLatencyMean() > 0);
+	}
+
+	@Test
+	public void testUnsupportedFirstOccurrence() {
+		ReaderMetrics m = new ReaderMetrics();
+		assertTrue(m.unsupported("XYZ"));
+		assertFalse(m.unsupported("XYZ"));
+		assertTrue(m.unsupported("ABC"));
+		m.reset();
+		assertTrue(m.unsupported("XYZ"));
+		assertEquals(1, m.getUnsupportedCount());
+	}
+
+	@Test
+	public void testReadErrors() throws Exception {
+		reader = new SentenceReader(new AbstractDataReader() {
+			@Override
+			public String read() throws Exception {
+				throw new java.io.IOException("test");
+			}
+		});
+		reader.setExceptionListener(e -> { });
+		reader.start();
+		Thread.sleep(150);
+		reader.stop();
+		assertTrue(reader.getMetrics().getReadErrorCount() > 0);
+		assertEquals(0, reader.getMetrics().getLineCount());
+	}
+
+	@Test
+	public void testReset() throws Exception {
+		LineReader lines = new LineReader(GGATest.EXAMPLE, "foobar");
+		reader = new SentenceReader(lines);
+		ReaderMetrics m = run(reader, lines);
+		assertEquals(2, m.getLineCount());
+		m.reset();
+		assertEquals(0, m.getLineCount());
+		assertEquals(0, m.getSentenceCount());
+		assertEquals(0, m.getDataCount());
+		assertTrue(m.getSentenceCounts().isEmpty());
+		assertEquals(0, m.getParseLatency().getCount());
+	}
+
+	@Test
+	public void testRegisterMBean() throws Exception {
+		LineReader lines = new LineReader(GGATest.EXAMPLE);
+		reader = new SentenceReader(lines);
+		run(reader, lines);
+
+		ObjectName name = reader.registerMBean();
+		assertEquals(ReaderMetrics.JMX_DOMAIN, name.getDomain());
+		assertEquals(name, reader.registerMBean());
+
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		assertTrue(server.isRegistered(name));
+		assertEquals(1L, server.getAttribute(name, "LineCount"));
+		assertEquals(1L, server.getAttribute(name, "SentenceCount"));
+
+		reader.unregisterMBean();
+		assertFalse(server.isRegistered(name));
+		reader.unregisterMBean();
+	}
+
+	@Test
+	public void testRegisterMBeanUniqueNames() {
+		SentenceReader other = new SentenceReader(new LineReader());
+		reader = new SentenceReader(new LineReader());
+		try {
+			assertFalse(reader.registerMBean().equals(other.registerMBean()));
+		} finally {
+			other.unregisterMBean();
+		}
+	}
+
+	/**
+	 * Runs the reader until all lines have been read.
+	 */
+	private static ReaderMetrics run(SentenceReader reader, LineReader lines)
+		throws InterruptedException {
+		reader.start();
+		long timeout = System.currentTimeMillis() + 2000;
+		while (!lines.isDone() && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		reader.stop();
+		return reader.getMetrics();
+	}
+
+	/**
+	 * Data reader returning given lines once.
+	 */
+	private static class LineReader extends AbstractDataReader {
+
+		private final Iterator<String> lines;
+		private volatile boolean done;
+
+		LineReader(String... lines) {
+			this.lines = Arrays.asList(lines).iterator();
+		}
+
+		@Override
+		public String read() throws Exception {
+			if (lines.hasNext()) {
+				return lines.next();
+			}
+			done = true;
+			return null;
+		}
+
+		boolean isDone() {
+			return done;
+		}
+	}
+}
@@ -0,0 +1,224 @@
+package net.sf.marineapi.nmea.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.marineapi.nmea.event.SentenceEvent;
+import net.sf.marineapi.nmea.io.SentencePublisher.DropPolicy;
+import net.sf.marineapi.nmea.io.SentencePublisher.Subscriber;
+import net.sf.marineapi.nmea.io.SentencePublisher.Subscription;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.Sentence;
+import net.sf.marineapi.nmea.sentence.TalkerId;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SentencePublisherTest {
+
+	private SentenceReader reader;
+	private Sentence[] sentences;
+
+	@Before
+	public void setUp() {
+		reader = new SentenceReader(new ByteArrayInputStream(new byte[0]));
+		sentences = new Sentence[5];
+		for (int i = 0; i < sentences.length; i++) {
+			sentences[i] = SentenceFactory.getInstance().createParser(TalkerId.GP, "HDT");
+		}
+	}
+
+	@Test
+	public void testDemand() {
+		SentencePublisher publisher = create(10, DropPolicy.DROP_OLDEST);
+		TestSubscriber sub = new TestSubscriber(2);
+		publisher.subscribe(sub);
+		assertEquals(1, publisher.getSubscriberCount());
+
+		publish(publisher, 5);
+		assertEquals(2, sub.received.size());
+		sub.subscription.request(3);
+		assertEquals(5, sub.received.size());
+		for (int i = 0; i < 5; i++) {
+			assertTrue(sentences[i] == sub.received.get(i));
+		}
+		assertEquals(0, publisher.getDroppedCount());
+	}
+
+	@Test
+	public void testDropOldest() {
+		SentencePublisher publisher = create(2, DropPolicy.DROP_OLDEST);
+		TestSubscriber sub = new TestSubscriber(0);
+		publisher.subscribe(sub);
+		publish(publisher, 5);
+		assertEquals(3, publisher.getDroppedCount());
+
+		sub.subscription.request(10);
+		assertEquals(2, sub.received.size());
+		assertTrue(sentences[3] == sub.received.get(0));
+		assertTrue(sentences[4] == sub.received.get(1));
+	}
+
+	@Test
+	public void testDropNewest() {
+		SentencePublisher publisher = create(2, DropPolicy.DROP_NEWEST);
+		TestSubscriber sub = new TestSubscriber(0);
+		publisher.subscribe(sub);
+		publish(publisher, 5);
+		assertEquals(3, publisher.getDroppedCount());
+
+		sub.subscription.request(10);
+		assertEquals(2, sub.received.size());
+		assertTrue(sentences[0] == sub.received.get(0));
+		assertTrue(sentences[1] == sub.received.get(1));
+	}
+
+	@Test
+	public void testOverflowError() {
+		SentencePublisher publisher = create(2, DropPolicy.ERROR);
+		TestSubscriber sub = new TestSubscriber(0);
+		publisher.subscribe(sub);
+		publish(publisher, 3);
+		assertTrue(sub.error instanceof IllegalStateException);
+		assertEquals(0, publisher.getSubscriberCount());
+		assertTrue(sub.received.isEmpty());
+	}
+
+	@Test
+	public void testCloseCompletesAfterBuffered() {
+		SentencePublisher publisher = create(10, DropPolicy.DROP_OLDEST);
+		TestSubscriber sub = new TestSubscriber(0);
+		publisher.subscribe(sub);
+		publish(publisher, 2);
+		publisher.close();
+		assertTrue(publisher.isClosed());
+		assertFalse(sub.completed);
+
+		sub.subscription.request(2);
+		assertEquals(2, sub.received.size());
+		assertTrue(sub.completed);
+		assertEquals(0, publisher.getSubscriberCount());
+
+		// late subscriber is completed immediately
+		TestSubscriber late = new TestSubscriber(1);
+		publisher.subscribe(late);
+		assertTrue(late.completed);
+	}
+
+	@Test
+	public void testInvalidRequest() {
+		SentencePublisher publisher = create(10, DropPolicy.DROP_OLDEST);
+		TestSubscriber sub = new TestSubscriber(0);
+		publisher.subscribe(sub);
+		sub.subscription.request(0);
+		assertTrue(sub.error instanceof IllegalArgumentException);
+	}
+
+	@Test
+	public void testCancel() {
+		SentencePublisher publisher = create(10, DropPolicy.DROP_OLDEST);
+		TestSubscriber sub = new TestSubscriber(10);
+		publisher.subscribe(sub);
+		publish(publisher, 1);
+		sub.subscription.cancel();
+		publish(publisher, 2);
+		assertEquals(1, sub.received.size());
+		assertEquals(0, publisher.getSubscriberCount());
+	}
+
+	@Test
+	public void testSubscriberFailure() {
+		SentencePublisher publisher = create(10, DropPolicy.DROP_OLDEST);
+		TestSubscriber sub = new TestSubscriber(10) {
+			@Override
+			public void onNext(Sentence item) {
+				throw new IllegalStateException("test");
+			}
+		};
+		publisher.subscribe(sub);
+		publish(publisher, 1);
+		assertEquals(0, publisher.getSubscriberCount());
+	}
+
+	@Test
+	public void testPublishReader() throws Exception {
+		reader = new SentenceReader(new FileInputStream(SentenceReaderTest.TEST_DATA));
+		SentencePublisher publisher = new SentencePublisher(reader);
+		final CountDownLatch first = new CountDownLatch(10);
+		final CountDownLatch done = new CountDownLatch(1);
+		TestSubscriber sub = new TestSubscriber(Long.MAX_VALUE) {
+			@Override
+			public void onNext(Sentence item) {
+				super.onNext(item);
+				first.countDown();
+			}
+
+			@Override
+			public void onComplete() {
+				super.onComplete();
+				done.countDown();
+			}
+		};
+		publisher.subscribe(sub);
+		reader.start();
+		assertTrue(first.await(5, TimeUnit.SECONDS));
+		reader.stop();
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		assertTrue(publisher.isClosed());
+	}
+
+	private SentencePublisher create(int size, DropPolicy policy) {
+		// signals in calling thread for deterministic tests
+		return new SentencePublisher(reader, size, policy, Runnable::run);
+	}
+
+	private void publish(SentencePublisher publisher, int count) {
+		for (int i = 0; i < count; i++) {
+			publisher.sentenceRead(new SentenceEvent(reader, sentences[i]));
+		}
+	}
+
+	private static class TestSubscriber implements Subscriber<Sentence> {
+
+		final List<Sentence> received = new ArrayList<>();
+		final long initial;
+		Subscription subscription;
+		Throwable error;
+		boolean completed;
+
+		TestSubscriber(long initial) {
+			this.initial = initial;
+		}
+
+		@Override
+		public void onSubscribe(Subscription s) {
+			subscription = s;
+			if (initial > 0) {
+				s.request(initial);
+			}
+		}
+
+		@Override
+		public synchronized void onNext(Sentence item) {
+			received.add(item);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+		}
+	}
+}
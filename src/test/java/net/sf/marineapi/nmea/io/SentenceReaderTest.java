@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -188,6 +189,88 @@ public class SentenceReaderTest {
 		assertNull(sentence);
 	}
 
+	@Test
+	public void testFireSentenceEventSharedByListeners() {
+		final List<SentenceEvent> events = new ArrayList<>();
+		SentenceListener first = new DummySentenceListener() {
+			@Override
+			public void sentenceRead(SentenceEvent event) {
+				events.add(event);
+			}
+		};
+		SentenceListener second = new DummySentenceListener() {
+			@Override
+			public void sentenceRead(SentenceEvent event) {
+				events.add(event);
+			}
+		};
+		reader.addSentenceListener(first);
+		reader.addSentenceListener(second, SentenceId.GGA);
+
+		Sentence s = SentenceFactory.getInstance().createParser(GGATest.EXAMPLE);
+		reader.fireSentenceEvent(s);
+
+		assertEquals(2, events.size());
+		assertSame(events.get(0), events.get(1));
+	}
+
+	@Test
+	public void testSentenceEventTimestamps() throws Exception {
+		final long received = System.nanoTime() - 1000000L;
+		final List<SentenceEvent> events = new ArrayList<>();
+		SentenceReader reader = new SentenceReader(new DummyDataReader(GGATest.EXAMPLE) {
+			@Override
+			public String read() throws Exception {
+				setReceivedNanoTime(received);
+				return super.read();
+			}
+		});
+		reader.addSentenceListener(new DummySentenceListener() {
+			@Override
+			public void sentenceRead(SentenceEvent event) {
+				synchronized (events) {
+					events.add(event);
+				}
+			}
+		});
+		reader.start();
+		Thread.sleep(100);
+		reader.stop();
+
+		synchronized (events) {
+			assertFalse(events.isEmpty());
+			SentenceEvent event = events.get(0);
+			assertEquals(received, event.getReceivedNanoTime());
+			assertTrue(event.getParsedNanoTime() > received);
+			assertTrue(event.getNanoTime() >= event.getParsedNanoTime());
+		}
+	}
+
+	@Test
+	public void testSentenceEventDefaultReceiveTime() throws Exception {
+		final List<SentenceEvent> events = new ArrayList<>();
+		SentenceReader reader = new SentenceReader(new DummyDataReader(GGATest.EXAMPLE));
+		reader.addSentenceListener(new DummySentenceListener() {
+			@Override
+			public void sentenceRead(SentenceEvent event) {
+				synchronized (events) {
+					events.add(event);
+				}
+			}
+		});
+		long before = System.nanoTime();
+		reader.start();
+		Thread.sleep(100);
+		reader.stop();
+
+		synchronized (events) {
+			assertFalse(events.isEmpty());
+			SentenceEvent event = events.get(0);
+			assertTrue(event.getReceivedNanoTime() - before >= 0);
+			assertTrue(event.getParsedNanoTime() - event.getReceivedNanoTime() >= 0);
+		}
+	}
+
 	@Test
 	public void testStartAndStop() {
 		try {
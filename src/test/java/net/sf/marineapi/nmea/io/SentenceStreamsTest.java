@@ -0,0 +1,254 @@
+package net.sf.marineapi.nmea.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import net.sf.marineapi.ais.message.AISMessage;
+import net.sf.marineapi.ais.parser.AISLineDecoder;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.GGASentence;
+import net.sf.marineapi.nmea.sentence.Sentence;
+import net.sf.marineapi.nmea.sentence.SentenceValidator;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SentenceStreamsTest {
+
+	private static final String NMEA_DATA = "src/test/resources/data/Navibe-GM720.txt";
+	private static final String AIS_DATA = "src/test/resources/data/AIS-VDM-VDO.txt";
+	private static final int REPEAT = 100;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private List<String> nmea;
+	private List<String> ais;
+
+	@Before
+	public void setUp() throws IOException {
+		nmea = Files.readAllLines(new File(NMEA_DATA).toPath(), StandardCharsets.ISO_8859_1);
+		ais = Files.readAllLines(new File(AIS_DATA).toPath(), StandardCharsets.ISO_8859_1);
+	}
+
+	@Test
+	public void testSentencesFromStream() throws IOException {
+		List<String> expected = new ArrayList<>();
+		for (String line : nmea) {
+			if (SentenceValidator.isValid(line)) {
+				try {
+					expected.add(SentenceFactory.getInstance().createParser(line).toString());
+				} catch (RuntimeException e) {
+					// unsupported
+				}
+			}
+		}
+		assertTrue(expected.size() > 100);
+
+		try (Stream<Sentence> s = SentenceStreams.sentences(new ByteArrayInputStream(
+			String.join("\r\n", nmea).getBytes(StandardCharsets.ISO_8859_1)))) {
+			assertEquals(expected, s.map(Sentence::toString).collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void testFindFirstStopsReading() throws IOException {
+		byte[] data = repeat(nmea, REPEAT).getBytes(StandardCharsets.ISO_8859_1);
+		AtomicLong read = new AtomicLong();
+		InputStream in = new FilterInputStream(new ByteArrayInputStream(data)) {
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				int n = super.read(b, off, len);
+				read.addAndGet(Math.max(0, n));
+				return n;
+			}
+		};
+		try (Stream<Sentence> s = SentenceStreams.sentences(in)) {
+			Optional<Sentence> gga = s.filter(GGASentence.class::isInstance).findFirst();
+			assertTrue(gga.isPresent());
+		}
+		assertTrue(read.get() < data.length / 10);
+	}
+
+	@Test
+	public void testCloseClosesSource() throws IOException {
+		AtomicBoolean closed = new AtomicBoolean();
+		InputStream in = new ByteArrayInputStream(new byte[0]) {
+			@Override
+			public void close() {
+				closed.set(true);
+			}
+		};
+		try (Stream<Sentence> s = SentenceStreams.sentences(in)) {
+			assertEquals(0, s.count());
+		}
+		assertTrue(closed.get());
+	}
+
+	@Test
+	public void testNonBlockingChannel() throws IOException {
+		Pipe pipe = Pipe.open();
+		try {
+			pipe.source().configureBlocking(false);
+			try {
+				SentenceStreams.sentences(pipe.source());
+				fail("didn't throw exception");
+			} catch (IllegalArgumentException e) {
+				// pass
+			}
+			try {
+				SentenceStreams.aisMessages(pipe.source());
+				fail("didn't throw exception");
+			} catch (IllegalArgumentException e) {
+				// pass
+			}
+		} finally {
+			pipe.source().close();
+			pipe.sink().close();
+		}
+	}
+
+	@Test
+	public void testSentencesFromFileParallel() throws IOException {
+		File file = write(repeat(nmea, REPEAT) + "garbage\n$GPGGA,broken*00");
+		List<String> sequential;
+		try (Stream<Sentence> s = SentenceStreams.sentences(file.toPath())) {
+			sequential = s.map(Sentence::toString).collect(Collectors.toList());
+		}
+		assertTrue(sequential.size() > 1000);
+		try (Stream<Sentence> s = SentenceStreams.sentences(file.toPath())) {
+			List<String> parallel = s.parallel().map(Sentence::toString).collect(Collectors.toList());
+			assertEquals(sequential, parallel);
+		}
+		try (Stream<Sentence> s = SentenceStreams.sentences(file.toPath())) {
+			assertEquals(sequential, traverseSplits(s.spliterator()).stream()
+				.map(Sentence::toString).collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void testAISMessagesFromStream() throws IOException {
+		List<String> expected = new ArrayList<>();
+		AISLineDecoder decoder = new AISLineDecoder();
+		for (String line : ais) {
+			try {
+				AISMessage msg = decoder.decode(line);
+				if (msg != null) {
+					expected.add(msg.toString());
+				}
+			} catch (IllegalArgumentException e) {
+				// unsupported message type
+			}
+		}
+		assertTrue(expected.size() > 5);
+
+		try (Stream<AISMessage> s = SentenceStreams.aisMessages(new ByteArrayInputStream(
+			repeat(ais, 1).getBytes(StandardCharsets.ISO_8859_1)))) {
+			assertEquals(expected, s.map(AISMessage::toString).collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void testAISMessagesFromFileSplits() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < REPEAT * 20; i++) {
+			for (int j = 0; j < ais.size(); j++) {
+				// time stamps and tag blocks before sentence
+				if (j % 3 == 1) {
+					sb.append(1500000000L + i).append(' ');
+				} else if (j % 3 == 2) {
+					sb.append("\\s:test,c:").append(1500000000L + i).append("*00\\");
+				}
+				sb.append(ais.get(j)).append(j % 2 == 0 ? "\r\n" : "\n");
+			}
+		}
+		File file = write(sb.toString());
+		assertTrue(file.length() > 1024 * 1024);
+
+		List<String> sequential;
+		try (Stream<AISMessage> s = SentenceStreams.aisMessages(file.toPath())) {
+			sequential = s.map(AISMessage::toString).collect(Collectors.toList());
+		}
+		try (Stream<AISMessage> s = SentenceStreams.aisMessages(file.toPath())) {
+			assertNotNull(s.spliterator().trySplit());
+		}
+		try (Stream<AISMessage> s = SentenceStreams.aisMessages(file.toPath())) {
+			List<AISMessage> split = traverseSplits(s.spliterator());
+			assertEquals(sequential.size(), split.size());
+			assertEquals(sequential, split.stream()
+				.map(AISMessage::toString).collect(Collectors.toList()));
+		}
+		try (Stream<AISMessage> s = SentenceStreams.aisMessages(file.toPath())) {
+			assertEquals(sequential.size(), s.parallel().count());
+		}
+		// split after traversal has begun, across multi-sentence messages
+		for (int n = 1; n <= 5; n++) {
+			try (Stream<AISMessage> s = SentenceStreams.aisMessages(file.toPath())) {
+				Spliterator<AISMessage> split = s.spliterator();
+				List<AISMessage> result = new ArrayList<>();
+				for (int i = 0; i < n; i++) {
+					assertTrue(split.tryAdvance(result::add));
+				}
+				result.addAll(traverseSplits(split));
+				assertEquals(sequential, result.stream()
+					.map(AISMessage::toString).collect(Collectors.toList()));
+			}
+		}
+	}
+
+	/**
+	 * Splits recursively as far as possible and traverses the parts in
+	 * order.
+	 */
+	private static <T> List<T> traverseSplits(Spliterator<T> split) {
+		List<T> result = new ArrayList<>();
+		Spliterator<T> prefix = split.trySplit();
+		if (prefix != null) {
+			result.addAll(traverseSplits(prefix));
+			result.addAll(traverseSplits(split));
+		} else {
+			split.forEachRemaining(result::add);
+		}
+		return result;
+	}
+
+	private static String repeat(List<String> lines, int times) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < times; i++) {
+			for (String line : lines) {
+				sb.append(line).append("\r\n");
+			}
+		}
+		return sb.toString();
+	}
+
+	private File write(String content) throws IOException {
+		File file = folder.newFile();
+		try (PrintWriter w = new PrintWriter(file, "ISO-8859-1")) {
+			w.print(content);
+		}
+		return file;
+	}
+}
@@ -0,0 +1,181 @@
+package net.sf.marineapi.nmea.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+
+import net.sf.marineapi.nmea.io.SentenceWriter.FlushPolicy;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.Sentence;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SentenceWriterTest {
+
+	private static final String GGA = "$GPGGA,120044.567,6011.552,N,02501.941,E,1,00,2.0,28.0,M,19.6,M,,*63";
+	private static final String RMC = "$GPRMC,120044.567,A,6011.552,N,02501.941,E,000.0,360.0,160705,006.1,E,A*0B";
+
+	private ByteArrayOutputStream out;
+	private SentenceWriter writer;
+	private Sentence gga;
+	private Sentence rmc;
+
+	@Before
+	public void setUp() {
+		out = new ByteArrayOutputStream();
+		writer = new SentenceWriter(out);
+		gga = SentenceFactory.getInstance().createParser(GGA);
+		rmc = SentenceFactory.getInstance().createParser(RMC);
+	}
+
+	@Test
+	public void testDefaultPolicyBuffers() throws IOException {
+		assertEquals(FlushPolicy.SIZE, writer.getFlushPolicy());
+		assertTrue(writer.write(gga));
+		assertTrue(writer.write(rmc));
+		assertEquals(0, out.size());
+		assertEquals(GGA.length() + RMC.length() + 4, writer.getBufferedBytes());
+
+		writer.flush();
+		assertEquals(GGA + "\r\n" + RMC + "\r\n", out.toString("US-ASCII"));
+		assertEquals(0, writer.getBufferedBytes());
+		assertEquals(2, writer.getSentenceCount());
+	}
+
+	@Test
+	public void testImmediate() throws IOException {
+		writer.setFlushPolicy(FlushPolicy.IMMEDIATE);
+		writer.write(gga);
+		assertEquals(GGA + "\r\n", out.toString("US-ASCII"));
+		writer.write(rmc);
+		assertEquals(GGA + "\r\n" + RMC + "\r\n", out.toString("US-ASCII"));
+	}
+
+	@Test
+	public void testSizeWritesWholeSentences() throws IOException {
+		writer = new SentenceWriter(out, 200);
+		for (int i = 0; i < 10; i++) {
+			writer.write(i % 2 == 0 ? gga : rmc);
+			String written = out.toString("US-ASCII");
+			assertTrue(written.isEmpty() || written.endsWith("\r\n"));
+		}
+		assertTrue(out.size() > 0);
+		assertTrue(writer.getBufferedBytes() < 200);
+		writer.close();
+		String[] lines = out.toString("US-ASCII").split("\r\n");
+		assertEquals(10, lines.length);
+		assertEquals(GGA, lines[0]);
+		assertEquals(RMC, lines[9]);
+	}
+
+	@Test
+	public void testTimedFlush() throws Exception {
+		writer.setMaxDelay(10);
+		writer.setFlushPolicy(FlushPolicy.TIME);
+		assertEquals(10, writer.getMaxDelay());
+		writer.write(gga);
+		long deadline = System.currentTimeMillis() + 5000;
+		while (out.size() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+		assertEquals(GGA + "\r\n", out.toString("US-ASCII"));
+		writer.close();
+	}
+
+	@Test
+	public void testDatagrams() throws IOException {
+		try (DatagramChannel receiver = DatagramChannel.open();
+			DatagramChannel sender = DatagramChannel.open()) {
+
+			receiver.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+			writer = new SentenceWriter(sender, receiver.getLocalAddress(), 200);
+			for (int i = 0; i < 10; i++) {
+				writer.write(gga);
+			}
+			writer.flush();
+
+			ByteBuffer packet = ByteBuffer.allocate(1024);
+			int lines = 0;
+			while (lines < 10) {
+				packet.clear();
+				receiver.receive(packet);
+				packet.flip();
+				assertTrue(packet.remaining() <= 200);
+				String data = StandardCharsets.US_ASCII.decode(packet).toString();
+				assertTrue(data.endsWith("\r\n"));
+				for (String line : data.split("\r\n")) {
+					assertEquals(GGA, line);
+					lines++;
+				}
+			}
+			assertEquals(10, lines);
+		}
+	}
+
+	@Test
+	public void testSlowConsumerDropsSentences() throws IOException {
+		Pipe pipe = Pipe.open();
+		pipe.sink().configureBlocking(false);
+		writer = new SentenceWriter(pipe.sink());
+
+		// nobody reads the pipe, thus it fills up eventually
+		boolean accepted = true;
+		for (int i = 0; i < 100000 && accepted; i++) {
+			accepted = writer.write(gga);
+		}
+		assertFalse(accepted);
+		assertEquals(1, writer.getDroppedCount());
+
+		// reading frees room for buffered data and new sentences
+		ByteBuffer dst = ByteBuffer.allocate(1 << 20);
+		pipe.source().configureBlocking(false);
+		while (pipe.source().read(dst) > 0) {
+			dst.clear();
+		}
+		assertTrue(writer.write(gga));
+
+		// sentences left in buffer are dropped on close
+		accepted = true;
+		for (int i = 0; i < 100000 && accepted; i++) {
+			accepted = writer.write(gga);
+		}
+		assertFalse(accepted);
+		assertEquals(2, writer.getDroppedCount());
+		int length = GGA.length() + 2;
+		int buffered = (writer.getBufferedBytes() + length - 1) / length;
+		assertTrue(buffered > 0);
+		writer.close();
+		assertEquals(2 + buffered, writer.getDroppedCount());
+		assertEquals(0, writer.getBufferedBytes());
+		pipe.source().close();
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testWriteAfterClose() throws IOException {
+		writer.write(gga);
+		writer.close();
+		writer.close();
+		assertEquals(GGA + "\r\n", out.toString("US-ASCII"));
+		writer.write(gga);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBufferTooSmall() {
+		new SentenceWriter(out, Sentence.MAX_LENGTH);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidDelay() {
+		writer.setMaxDelay(0);
+	}
+}
@@ -0,0 +1,224 @@
+package net.sf.marineapi.nmea.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.StringReader;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.sf.marineapi.ais.message.AISPositionReport;
+import net.sf.marineapi.ais.parser.AISMessageFactory;
+import net.sf.marineapi.ais.parser.AISMessageParser;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.AISSentence;
+import net.sf.marineapi.nmea.sentence.RMCSentence;
+import net.sf.marineapi.nmea.sentence.Sentence;
+import net.sf.marineapi.nmea.sentence.SentenceId;
+import net.sf.marineapi.nmea.sentence.SentenceValidator;
+import net.sf.marineapi.nmea.sentence.TalkerId;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TrafficGeneratorTest {
+
+	private ByteArrayOutputStream out;
+	private TrafficGenerator gen;
+
+	@Before
+	public void setUp() {
+		out = new ByteArrayOutputStream();
+		gen = new TrafficGenerator(out);
+	}
+
+	@Test
+	public void testDefaultMix() {
+		Map<String, Integer> counts = new HashMap<>();
+		for (int i = 0; i < 100; i++) {
+			String s = gen.next();
+			assertTrue(s, SentenceValidator.isValid(s));
+			Sentence parsed = SentenceFactory.getInstance().createParser(s);
+			counts.merge(parsed.getSentenceId(), 1, Integer::sum);
+		}
+		assertEquals(Integer.valueOf(10), counts.get("GGA"));
+		assertEquals(Integer.valueOf(10), counts.get("RMC"));
+		assertEquals(Integer.valueOf(10), counts.get("VTG"));
+		assertEquals(Integer.valueOf(10), counts.get("GSV"));
+		assertEquals(Integer.valueOf(10), counts.get("HDT"));
+		assertEquals(Integer.valueOf(50), counts.get("VDM"));
+		assertEquals(6, counts.size());
+	}
+
+	@Test
+	public void testWeights() {
+		for (SentenceId id : new SentenceId[] { SentenceId.GGA, SentenceId.RMC,
+			SentenceId.VTG, SentenceId.GSV, SentenceId.HDT, SentenceId.VDM }) {
+			gen.setWeight(id, 0);
+		}
+		gen.setWeight(SentenceId.GLL, 2);
+		gen.setTalkerId(TalkerId.GN);
+		assertEquals(2, gen.getWeight(SentenceId.GLL));
+		String s = gen.next();
+		assertTrue(s, s.startsWith("$GNGLL,"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnsupportedWeight() {
+		gen.setWeight(SentenceId.MWV, 1);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testEmptyMix() {
+		for (SentenceId id : SentenceId.values()) {
+			try {
+				gen.setWeight(id, 0);
+			} catch (IllegalArgumentException e) {
+				// unsupported type
+			}
+		}
+		gen.next();
+	}
+
+	@Test
+	public void testTimeAdvances() {
+		gen.setWeight(SentenceId.VDM, 0);
+		gen.setWeight(SentenceId.GGA, 0);
+		gen.setWeight(SentenceId.VTG, 0);
+		gen.setWeight(SentenceId.GSV, 0);
+		gen.setWeight(SentenceId.HDT, 0);
+		RMCSentence first = (RMCSentence) SentenceFactory.getInstance().createParser(gen.next());
+		RMCSentence second = (RMCSentence) SentenceFactory.getInstance().createParser(gen.next());
+		assertEquals(1000, second.getTime().getMilliseconds() - first.getTime().getMilliseconds());
+		assertTrue(first.getPosition().distanceTo(second.getPosition()) > 5);
+	}
+
+	@Test
+	public void testVesselReports() {
+		gen.setVesselCount(3);
+		AISMessageFactory factory = AISMessageFactory.getInstance();
+		int[] mmsi = new int[6];
+		int n = 0;
+		while (n < mmsi.length) {
+			Sentence s = SentenceFactory.getInstance().createParser(gen.next());
+			if (s.isAISSentence()) {
+				AISPositionReport msg = (AISPositionReport) factory.create((AISSentence) s);
+				assertEquals(1, msg.getMessageType());
+				assertTrue(msg.hasLatitude() && msg.hasLongitude());
+				assertEquals(0, ((AISMessageParser) msg).getNrOfViolations());
+				mmsi[n++] = msg.getMMSI();
+			}
+		}
+		assertEquals(mmsi[0], mmsi[3]);
+		assertEquals(mmsi[1], mmsi[4]);
+		assertEquals(mmsi[0] + 1, mmsi[1]);
+	}
+
+	@Test
+	public void testGenerate() throws Exception {
+		assertEquals(1000, gen.generate(1000));
+		assertEquals(1000, gen.getSentenceCount());
+		BufferedReader r = new BufferedReader(new StringReader(out.toString("US-ASCII")));
+		String line;
+		int lines = 0;
+		while ((line = r.readLine()) != null) {
+			assertTrue(line, SentenceValidator.isValid(line));
+			lines++;
+		}
+		assertEquals(1000, lines);
+	}
+
+	@Test
+	public void testWeightChangedWhileGenerating() throws Exception {
+		assertEquals(7, gen.generate(7));
+		gen.setWeight(SentenceId.VDM, 0);
+		out.reset();
+		assertEquals(20, gen.generate(20));
+
+		Map<String, Integer> counts = new HashMap<>();
+		BufferedReader r = new BufferedReader(new StringReader(out.toString("US-ASCII")));
+		String line;
+		while ((line = r.readLine()) != null) {
+			Sentence parsed = SentenceFactory.getInstance().createParser(line);
+			counts.merge(parsed.getSentenceId(), 1, Integer::sum);
+		}
+		assertEquals(Integer.valueOf(4), counts.get("GGA"));
+		assertEquals(Integer.valueOf(4), counts.get("HDT"));
+		assertEquals(5, counts.size());
+	}
+
+	@Test
+	public void testRate() throws Exception {
+		gen.setRate(2000);
+		long start = System.nanoTime();
+		gen.generate(200);
+		long elapsed = (System.nanoTime() - start) / 1000000;
+		assertTrue("elapsed " + elapsed, elapsed >= 90);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeRate() {
+		gen.setRate(-1);
+	}
+
+	@Test
+	public void testPipeToReader() throws Exception {
+		PipedInputStream in = new PipedInputStream(65536);
+		TrafficGenerator piped = new TrafficGenerator(new PipedOutputStream(in));
+		SentenceReader reader = new SentenceReader(in);
+		reader.start();
+		piped.generate(5000);
+		long timeout = System.currentTimeMillis() + 5000;
+		while (reader.getMetrics().getSentenceCount() < 5000
+			&& System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		reader.stop();
+		assertEquals(5000, reader.getMetrics().getSentenceCount());
+		assertEquals(0, reader.getMetrics().getChecksumErrorCount());
+	}
+
+	@Test
+	public void testDatagrams() throws Exception {
+		DatagramSocket receiver = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+		DatagramSocket sender = new DatagramSocket();
+		try {
+			TrafficGenerator udp = new TrafficGenerator(sender,
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), receiver.getLocalPort()));
+			udp.generate(20);
+
+			receiver.setSoTimeout(2000);
+			byte[] buf = new byte[TrafficGenerator.MAX_DATAGRAM];
+			DatagramPacket p = new DatagramPacket(buf, buf.length);
+			receiver.receive(p);
+			String[] lines = new String(buf, 0, p.getLength(), "US-ASCII").split("\r\n");
+			assertTrue(lines.length > 1);
+			for (String line : lines) {
+				assertTrue(line, SentenceValidator.isValid(line));
+			}
+		} finally {
+			sender.close();
+			receiver.close();
+		}
+	}
+
+	@Test
+	public void testStartStop() throws Exception {
+		gen.start();
+		Thread.sleep(50);
+		gen.stop();
+		Thread.sleep(50);
+		long n = gen.getSentenceCount();
+		assertTrue(n > 0);
+		Thread.sleep(50);
+		assertEquals(n, gen.getSentenceCount());
+	}
+}
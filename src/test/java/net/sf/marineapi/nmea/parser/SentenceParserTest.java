@@ -2,10 +2,18 @@ package net.sf.marineapi.nmea.parser;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+
 import net.sf.marineapi.nmea.sentence.Sentence;
 import net.sf.marineapi.nmea.sentence.SentenceId;
+import net.sf.marineapi.nmea.sentence.SentenceValidator;
 import net.sf.marineapi.nmea.sentence.TalkerId;
 import net.sf.marineapi.test.util.FOOParser;
 import net.sf.marineapi.test.util.FOOSentence;
@@ -522,6 +530,124 @@ public class SentenceParserTest {
 		}
 	}
 
+	/**
+	 * Test method for
+	 * {@link net.sf.marineapi.nmea.parser.SentenceParser#appendTo(StringBuilder)}.
+	 */
+	@Test
+	public void testAppendTo() {
+		StringBuilder sb = new StringBuilder("prefix ");
+		assertSame(sb, instance.appendTo(sb));
+		assertEquals("prefix " + RMCTest.EXAMPLE, sb.toString());
+		instance.appendTo(sb.append('\n'));
+		assertEquals("prefix " + RMCTest.EXAMPLE + "\n" + RMCTest.EXAMPLE, sb.toString());
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.marineapi.nmea.parser.SentenceParser#appendTo(StringBuilder)}.
+	 */
+	@Test
+	public void testAppendToInvalidLeavesBuilderUnchanged() {
+		instance.setStringValue(0, "12*34");
+		StringBuilder sb = new StringBuilder("prefix");
+		try {
+			instance.appendTo(sb);
+			fail("didn't throw exception");
+		} catch (IllegalStateException e) {
+			assertEquals("prefix", sb.toString());
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.marineapi.nmea.parser.SentenceParser#toSentence()}.
+	 */
+	@Test
+	public void testToSentenceInvalid() {
+		String[] invalid = { "\t", "ä", "*" };
+		for (String value : invalid) {
+			instance.setStringValue(1, value);
+			assertFalse(SentenceValidator.isValid(instance.toString()));
+			try {
+				instance.toSentence();
+				fail("didn't throw exception for " + value);
+			} catch (IllegalStateException e) {
+				// pass
+			}
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.marineapi.nmea.parser.SentenceParser#toSentence()}.
+	 */
+	@Test
+	public void testToSentenceMatchesValidator() {
+		String[] values = { "", " ", "~", "$!,", "\u007f", "ABC.123" };
+		for (String value : values) {
+			instance.setStringValue(2, value);
+			String s = instance.toString();
+			assertTrue(s, SentenceValidator.isValid(s));
+			assertEquals(s, instance.toSentence());
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.marineapi.nmea.parser.SentenceParser#write(byte[], int)}.
+	 */
+	@Test
+	public void testWriteByteArray() throws Exception {
+		byte[] buf = new byte[100];
+		int n = instance.write(buf, 3);
+		assertEquals(RMCTest.EXAMPLE.length(), n);
+		assertEquals(RMCTest.EXAMPLE, new String(buf, 3, n, "US-ASCII"));
+		assertEquals(0, buf[2]);
+		assertEquals(0, buf[3 + n]);
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.marineapi.nmea.parser.SentenceParser#write(byte[], int)}.
+	 */
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testWriteByteArrayTooSmall() {
+		instance.write(new byte[RMCTest.EXAMPLE.length() + 2], 3);
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.marineapi.nmea.parser.SentenceParser#write(ByteBuffer)}.
+	 */
+	@Test
+	public void testWriteByteBuffer() throws Exception {
+		ByteBuffer buf = ByteBuffer.allocateDirect(200);
+		assertEquals(RMCTest.EXAMPLE.length(), instance.write(buf));
+		instance.write(buf);
+		assertEquals(2 * RMCTest.EXAMPLE.length(), buf.position());
+
+		buf.flip();
+		byte[] data = new byte[buf.remaining()];
+		buf.get(data);
+		assertEquals(RMCTest.EXAMPLE + RMCTest.EXAMPLE, new String(data, "US-ASCII"));
+	}
+
+	/**
+	 * Test method for
+	 * {@link net.sf.marineapi.nmea.parser.SentenceParser#write(ByteBuffer)}.
+	 */
+	@Test
+	public void testWriteByteBufferOverflow() {
+		ByteBuffer buf = ByteBuffer.allocate(RMCTest.EXAMPLE.length() - 1);
+		try {
+			instance.write(buf);
+			fail("didn't throw exception");
+		} catch (BufferOverflowException e) {
+			assertEquals(0, buf.position());
+		}
+	}
+
 	/**
 	 * Test method for
 	 * {@link net.sf.marineapi.nmea.parser.SentenceParser#equals(Object)
@@ -558,6 +684,77 @@ public class SentenceParserTest {
 		assertTrue(instance.equals(instance));
 	}
 
+	@Test
+	public void testHashCode() {
+		SentenceParser other = new SentenceParser(RMCTest.EXAMPLE);
+		assertEquals(instance.hashCode(), other.hashCode());
+		assertEquals(RMCTest.EXAMPLE.hashCode(), instance.hashCode());
+
+		Set<Sentence> set = new HashSet<Sentence>();
+		set.add(instance);
+		set.add(other);
+		set.add(new SentenceParser(RMBTest.EXAMPLE));
+		assertEquals(2, set.size());
+	}
+
+	@Test
+	public void testOriginalRetained() {
+		assertSame(RMCTest.EXAMPLE, instance.toString());
+		assertSame(RMCTest.EXAMPLE, instance.toSentence());
+		assertTrue(instance.isValid());
+	}
+
+	@Test
+	public void testOriginalWithoutChecksum() {
+		SentenceParser parser = new SentenceParser("$GPGGA,1,2,3,4");
+		assertEquals("$GPGGA,1,2,3,4*52", parser.toSentence());
+		assertSame(parser.toSentence(), parser.toString());
+	}
+
+	@Test
+	public void testCacheInvalidatedBySetters() {
+		String before = instance.toString();
+		int hash = instance.hashCode();
+
+		instance.setStringValue(0, "120045.000");
+		String after = instance.toSentence();
+		assertTrue(after.startsWith("$GPRMC,120045.000,"));
+		assertTrue(SentenceValidator.isValid(after));
+		assertFalse(hash == instance.hashCode());
+		assertFalse(instance.equals(new SentenceParser(before)));
+		assertEquals(instance, new SentenceParser(after));
+
+		instance.setTalkerId(TalkerId.GN);
+		assertTrue(instance.toString().startsWith("$GNRMC,"));
+		instance.setBeginChar('!');
+		assertTrue(instance.toString().startsWith("!GNRMC,"));
+		instance.setFieldCount(2);
+		assertEquals("!GNRMC,120045.000,A*", instance.toString().substring(0, 20));
+		instance.setStringValues(1, new String[] { "V", "X" });
+		assertTrue(instance.toString().startsWith("!GNRMC,120045.000,V,X*"));
+		instance.reset();
+		assertTrue(instance.toString().startsWith("!GNRMC,,,*"));
+	}
+
+	@Test
+	public void testInvalidAfterToString() {
+		instance.setStringValue(0, "12*00");
+		assertTrue(instance.toString().contains("12*00"));
+		assertFalse(instance.isValid());
+		try {
+			instance.toSentence();
+			fail("didn't throw exception");
+		} catch (IllegalStateException e) {
+			// pass
+		}
+		try {
+			instance.appendTo(new StringBuilder());
+			fail("didn't throw exception");
+		} catch (IllegalStateException e) {
+			// pass
+		}
+	}
+
 	@Test
 	public void testSetFieldCountLowerByOne() {
 
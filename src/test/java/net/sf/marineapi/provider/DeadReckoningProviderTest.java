@@ -0,0 +1,293 @@
+package net.sf.marineapi.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.marineapi.nmea.event.SentenceEvent;
+import net.sf.marineapi.nmea.io.SentenceReader;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.GGASentence;
+import net.sf.marineapi.nmea.sentence.HDGSentence;
+import net.sf.marineapi.nmea.sentence.RMCSentence;
+import net.sf.marineapi.nmea.sentence.ROTSentence;
+import net.sf.marineapi.nmea.sentence.Sentence;
+import net.sf.marineapi.nmea.sentence.SentenceId;
+import net.sf.marineapi.nmea.sentence.TalkerId;
+import net.sf.marineapi.nmea.util.DataStatus;
+import net.sf.marineapi.nmea.util.Date;
+import net.sf.marineapi.nmea.util.GpsFixQuality;
+import net.sf.marineapi.nmea.util.Position;
+import net.sf.marineapi.nmea.util.Time;
+import net.sf.marineapi.provider.event.PositionFix;
+import net.sf.marineapi.provider.event.PositionFixListener;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DeadReckoningProviderTest {
+
+	private static final double R = 6371008.8;
+	private static final double LAT = 60.0;
+	private static final double LON = 25.0;
+	private static final double KNOT = 1852.0 / 3600.0;
+	private static final long BASE = 1000000000000L;
+
+	private final SentenceFactory sf = SentenceFactory.getInstance();
+	private SentenceReader reader;
+	private DeadReckoningProvider instance;
+
+	@Before
+	public void setUp() {
+		reader = new SentenceReader(new ByteArrayInputStream(new byte[0]));
+		instance = new DeadReckoningProvider(reader);
+	}
+
+	@After
+	public void tearDown() {
+		instance.stop();
+	}
+
+	@Test
+	public void testNotInitialized() {
+		assertFalse(instance.isInitialized());
+		assertFalse(instance.getFix(BASE, new PositionFix()));
+	}
+
+	@Test
+	public void testStraightCourse() {
+
+		double speed = 10.0;
+		double course = 45.0;
+		for (int k = 0; k <= 30; k++) {
+			double[] e = straight(speed, course, k);
+			fix(instance, BASE + k * 1000000000L, e[0], e[1], k, speed, course);
+		}
+		assertTrue(instance.isInitialized());
+
+		PositionFix fix = new PositionFix();
+		assertTrue(instance.getFix(BASE + 30500000000L, fix));
+		double[] e = straight(speed, course, 30.5);
+		assertEquals(0.0, distance(fix, e), 3.0);
+		assertEquals(speed, fix.getSpeed(), 0.3);
+		assertEquals(course, fix.getCourse(), 2.0);
+		assertEquals(GpsFixQuality.NORMAL, fix.getFixQuality());
+		assertEquals(BASE + 30500000000L, fix.getNanoTime());
+
+		// 2026-10-19T12:00:30.500Z
+		long epoch = TimeUnit.MILLISECONDS.toNanos(PositionProvider.epochDay(2026, 10, 19) * 86400000L + 43230500L);
+		assertEquals(epoch, fix.getEpochNanos());
+	}
+
+	@Test
+	public void testTurnWithRateOfTurn() {
+
+		DeadReckoningProvider noRot = new DeadReckoningProvider(reader);
+		double speed = 10.0;
+		double rate = 3.0;
+
+		for (int k = 0; k <= 20; k++) {
+			long t = BASE + k * 1000000000L;
+			double[] e = turning(speed, rate, k);
+			double cog = (90 + rate * k) % 360;
+			fix(instance, t, e[0], e[1], k, speed, cog);
+			fix(noRot, t, e[0], e[1], k, speed, cog);
+			ROTSentence rot = (ROTSentence) sf.createParser(TalkerId.HE, SentenceId.ROT);
+			rot.setRateOfTurn(rate * 60);
+			rot.setStatus(DataStatus.ACTIVE);
+			instance.sentenceRead(event(rot, t + 1000000L));
+		}
+
+		long t = BASE + 22000000000L;
+		double[] e = turning(speed, rate, 22);
+		PositionFix a = new PositionFix();
+		PositionFix b = new PositionFix();
+		assertTrue(instance.getFix(t, a));
+		assertTrue(noRot.getFix(t, b));
+
+		double withRot = distance(a, e);
+		double withoutRot = distance(b, e);
+		assertTrue("error " + withRot, withRot < 5.0);
+		assertTrue(withRot < withoutRot);
+		assertEquals((90 + rate * 22) % 360, a.getCourse(), 3.0);
+	}
+
+	@Test
+	public void testMagneticHeadingWithoutCourse() {
+
+		DeadReckoningProvider noVariation = new DeadReckoningProvider(reader);
+		double speed = 10.0;
+		double course = 45.0;
+		for (int k = 0; k <= 2; k++) {
+			long t = BASE + k * 1000000000L;
+			double[] e = straight(speed, course, k);
+			fix(instance, t, e[0], e[1], k, speed, Double.NaN);
+			fix(noVariation, t, e[0], e[1], k, speed, Double.NaN);
+
+			// 46.0 magnetic, 2.0 W deviation and 1.0 E variation
+			HDGSentence hdg = (HDGSentence) sf.createParser(TalkerId.HC, SentenceId.HDG);
+			hdg.setHeading(46.0);
+			hdg.setDeviation(-2.0);
+			hdg.setVariation(1.0);
+			instance.sentenceRead(event(hdg, t + 2000000L));
+
+			// without variation, magnetic heading is not used
+			HDGSentence mag = (HDGSentence) sf.createParser(TalkerId.HC, SentenceId.HDG);
+			mag.setHeading(135.0);
+			noVariation.sentenceRead(event(mag, t + 2000000L));
+		}
+
+		long t = BASE + 7000000000L;
+		double[] e = straight(speed, course, 7);
+		PositionFix fix = new PositionFix();
+		assertTrue(instance.getFix(t, fix));
+		assertEquals(0.0, distance(fix, e), 1.0);
+		assertEquals(speed, fix.getSpeed(), 0.3);
+		assertEquals(course, fix.getCourse(), 2.0);
+
+		// velocity from positions only
+		PositionFix other = new PositionFix();
+		assertTrue(noVariation.getFix(t, other));
+		assertEquals(course, other.getCourse(), 5.0);
+		assertTrue(distance(other, e) > distance(fix, e));
+	}
+
+	@Test
+	public void testEmptyFieldsIgnored() {
+
+		for (int k = 0; k <= 2; k++) {
+			double[] e = straight(10.0, 45.0, k);
+			fix(instance, BASE + k * 1000000000L, e[0], e[1], k, 10.0, 45.0);
+		}
+		long t = BASE + 3000000000L;
+		PositionFix before = new PositionFix();
+		assertTrue(instance.getFix(t, before));
+
+		// receiver without fix
+		instance.sentenceRead(event(sf.createParser("$GPVTG,,T,,M,,N,,K,N*2C"), t));
+
+		// new time and position, but no speed
+		RMCSentence rmc = (RMCSentence) sf.createParser(TalkerId.GP, SentenceId.RMC);
+		rmc.setPosition(new Position(LAT + 1, LON + 1));
+		rmc.setTime(new Time(12, 0, 3));
+		rmc.setStatus(DataStatus.ACTIVE);
+		instance.sentenceRead(event(rmc, t));
+
+		// no time
+		GGASentence gga = (GGASentence) sf.createParser(TalkerId.GP, SentenceId.GGA);
+		gga.setPosition(new Position(LAT + 1, LON + 1, 100.0));
+		gga.setFixQuality(GpsFixQuality.DGPS);
+		instance.sentenceRead(event(gga, t));
+
+		// no heading
+		instance.sentenceRead(event(sf.createParser(TalkerId.HC, SentenceId.HDG), t));
+
+		PositionFix after = new PositionFix();
+		assertTrue(instance.getFix(t, after));
+		assertEquals(before.getLatitude(), after.getLatitude(), 0.0);
+		assertEquals(before.getLongitude(), after.getLongitude(), 0.0);
+		assertEquals(before.getSpeed(), after.getSpeed(), 0.0);
+		assertEquals(before.getCourse(), after.getCourse(), 0.0);
+		assertEquals(before.getAltitude(), after.getAltitude(), 0.0);
+		assertEquals(GpsFixQuality.NORMAL, after.getFixQuality());
+		assertEquals(before.getEpochNanos(), after.getEpochNanos());
+	}
+
+	@Test
+	public void testStaleEstimate() {
+		fix(instance, BASE, LAT, LON, 0, 0, 0);
+		// latest update is the RMC velocity
+		long t = BASE + 1000000L + DeadReckoningProvider.MAX_GAP;
+		PositionFix fix = new PositionFix();
+		assertTrue(instance.getFix(t, fix));
+		assertFalse(instance.getFix(t + 1, fix));
+		instance.reset();
+		assertFalse(instance.isInitialized());
+	}
+
+	@Test
+	public void testOutput() throws InterruptedException {
+
+		final CountDownLatch latch = new CountDownLatch(5);
+		instance.addListener(new PositionFixListener() {
+			public void positionFix(PositionFix fix) {
+				latch.countDown();
+			}
+		});
+		fix(instance, System.nanoTime(), LAT, LON, 0, 0, 0);
+		instance.setOutputRate(50);
+		instance.start();
+		assertTrue(latch.await(2, TimeUnit.SECONDS));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidOutputRate() {
+		instance.setOutputRate(0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPositionAccuracy() {
+		instance.setPositionAccuracy(-1);
+	}
+
+	private double[] straight(double speed, double course, double t) {
+		double d = speed * KNOT * t;
+		double east = d * Math.sin(Math.toRadians(course));
+		double north = d * Math.cos(Math.toRadians(course));
+		return toLatLon(east, north);
+	}
+
+	private double[] turning(double speed, double rate, double t) {
+		double v = speed * KNOT;
+		double w = Math.toRadians(rate);
+		double h0 = Math.toRadians(90);
+		double h = h0 + w * t;
+		double east = v / w * (Math.cos(h0) - Math.cos(h));
+		double north = v / w * (Math.sin(h) - Math.sin(h0));
+		return toLatLon(east, north);
+	}
+
+	private double[] toLatLon(double east, double north) {
+		double lat = LAT + Math.toDegrees(north / R);
+		double lon = LON + Math.toDegrees(east / (R * Math.cos(Math.toRadians(LAT))));
+		return new double[] { lat, lon };
+	}
+
+	private double distance(PositionFix fix, double[] e) {
+		double north = Math.toRadians(fix.getLatitude() - e[0]) * R;
+		double east = Math.toRadians(fix.getLongitude() - e[1]) * R * Math.cos(Math.toRadians(LAT));
+		return Math.hypot(east, north);
+	}
+
+	private void fix(DeadReckoningProvider p, long t, double lat, double lon,
+			double sec, double sog, double cog) {
+
+		Time time = new Time(12, 0, sec);
+		GGASentence gga = (GGASentence) sf.createParser(TalkerId.GP, SentenceId.GGA);
+		gga.setPosition(new Position(lat, lon));
+		gga.setTime(time);
+		gga.setFixQuality(GpsFixQuality.NORMAL);
+		gga.setHorizontalDOP(1.0);
+		p.sentenceRead(event(gga, t));
+
+		RMCSentence rmc = (RMCSentence) sf.createParser(TalkerId.GP, SentenceId.RMC);
+		rmc.setPosition(new Position(lat, lon));
+		rmc.setTime(time);
+		rmc.setDate(new Date(2026, 10, 19));
+		rmc.setStatus(DataStatus.ACTIVE);
+		rmc.setSpeed(sog);
+		if (!Double.isNaN(cog)) {
+			rmc.setCourse(cog);
+		}
+		p.sentenceRead(event(rmc, t + 1000000L));
+	}
+
+	private SentenceEvent event(Sentence s, long nanoTime) {
+		return new SentenceEvent(this, s, nanoTime, nanoTime);
+	}
+}
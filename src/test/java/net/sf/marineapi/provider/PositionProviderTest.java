@@ -20,11 +20,16 @@
  */
 package net.sf.marineapi.provider;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import net.sf.marineapi.nmea.event.SentenceEvent;
 import net.sf.marineapi.nmea.io.SentenceReader;
@@ -32,8 +37,13 @@ import net.sf.marineapi.nmea.parser.GGATest;
 import net.sf.marineapi.nmea.parser.GLLTest;
 import net.sf.marineapi.nmea.parser.RMCTest;
 import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.parser.VTGTest;
 import net.sf.marineapi.nmea.sentence.Sentence;
+import net.sf.marineapi.nmea.util.FaaMode;
+import net.sf.marineapi.nmea.util.GpsFixQuality;
 import net.sf.marineapi.provider.event.PositionEvent;
+import net.sf.marineapi.provider.event.PositionFix;
+import net.sf.marineapi.provider.event.PositionFixListener;
 import net.sf.marineapi.provider.event.PositionListener;
 
 import org.junit.After;
@@ -128,6 +138,168 @@ public class PositionProviderTest implements PositionListener {
 
 	}
 
+	@Test
+	public void testDefaultClockAndWindow() {
+		assertSame(ProviderClock.MONOTONIC, instance.getClock());
+		assertEquals(AbstractProvider.DEFAULT_FUSION_WINDOW, instance.getFusionWindow());
+	}
+
+	@Test
+	public void testStaleSentenceRejected() {
+
+		SentenceFactory sf = SentenceFactory.getInstance();
+		final Sentence gga = sf.createParser(GGATest.EXAMPLE);
+		long past = System.nanoTime() - 2000000000L;
+
+		instance.sentenceRead(new SentenceEvent(this, gga, past, past));
+		instance.sentenceRead(new SentenceEvent(this, sf.createParser(RMCTest.EXAMPLE)));
+		assertNull(event);
+
+		instance.setFusionWindow(3000);
+		instance.sentenceRead(new SentenceEvent(this, gga, past, past));
+		instance.sentenceRead(new SentenceEvent(this, sf.createParser(RMCTest.EXAMPLE)));
+		assertNotNull(event);
+	}
+
+	@Test
+	public void testSentenceClock() {
+
+		SentenceFactory sf = SentenceFactory.getInstance();
+		Sentence gll = sf.createParser(GLLTest.EXAMPLE);
+		Sentence rmc = sf.createParser(RMCTest.EXAMPLE);
+
+		// GLL is 433 ms after RMC
+		instance.setClock(ProviderClock.SENTENCE);
+		instance.setFusionWindow(400);
+		instance.sentenceRead(new SentenceEvent(this, gll));
+		instance.sentenceRead(new SentenceEvent(this, rmc));
+		assertNull(event);
+
+		instance.setFusionWindow(500);
+		instance.sentenceRead(new SentenceEvent(this, gll));
+		instance.sentenceRead(new SentenceEvent(this, rmc));
+		assertNotNull(event);
+	}
+
+	@Test
+	public void testSentenceClockMidnight() {
+		ProviderClock c = ProviderClock.SENTENCE;
+		long day = 24L * 3600 * 1000000000L;
+		assertEquals(200000000L, c.elapsed(day - 100000000L, 100000000L));
+		assertEquals(-200000000L, c.elapsed(100000000L, day - 100000000L));
+		assertEquals(5, ProviderClock.MONOTONIC.elapsed(10, 15));
+	}
+
+	@Test
+	public void testPositionFix() {
+
+		final List<PositionFix> fixes = new ArrayList<PositionFix>();
+		final List<PositionFix> instances = new ArrayList<PositionFix>();
+		instance.addFixListener(new PositionFixListener() {
+			public void positionFix(PositionFix fix) {
+				instances.add(fix);
+				fixes.add(fix.copy());
+			}
+		});
+
+		SentenceFactory sf = SentenceFactory.getInstance();
+		for (int i = 0; i < 2; i++) {
+			instance.sentenceRead(new SentenceEvent(this, sf.createParser(GGATest.EXAMPLE)));
+			instance.sentenceRead(new SentenceEvent(this, sf.createParser(RMCTest.EXAMPLE)));
+		}
+
+		assertEquals(2, fixes.size());
+		assertSame(instances.get(0), instances.get(1));
+		assertNotNull(event);
+
+		PositionFix fix = fixes.get(0);
+		assertEquals(event.getPosition().getLatitude(), fix.getLatitude(), 1e-9);
+		assertEquals(event.getPosition().getLongitude(), fix.getLongitude(), 1e-9);
+		assertEquals(28.0, fix.getAltitude(), 1e-9);
+		assertEquals(0.0, fix.getSpeed(), 1e-9);
+		assertEquals(360.0, fix.getCourse(), 1e-9);
+		assertEquals(GpsFixQuality.NORMAL, fix.getFixQuality());
+		assertEquals(FaaMode.AUTOMATIC, fix.getMode());
+		// 2005-07-16T12:00:44.567Z
+		assertEquals(1121515244567000000L, fix.getEpochNanos());
+		assertTrue(fix.getNanoTime() != 0);
+	}
+
+	@Test
+	public void testPositionFixWithoutDate() {
+
+		final List<PositionFix> fixes = new ArrayList<PositionFix>();
+		instance.removeListener(this);
+		instance.addFixListener(new PositionFixListener() {
+			public void positionFix(PositionFix fix) {
+				fixes.add(fix.copy());
+			}
+		});
+
+		SentenceFactory sf = SentenceFactory.getInstance();
+		instance.sentenceRead(new SentenceEvent(this, sf.createParser(GGATest.EXAMPLE)));
+		instance.sentenceRead(new SentenceEvent(this, sf.createParser(GLLTest.EXAMPLE)));
+		assertNull(event);
+		assertEquals(0, fixes.size());
+
+		instance.sentenceRead(new SentenceEvent(this, sf.createParser(
+				"$GPVTG,360.0,T,348.7,M,000.0,N,000.0,K*43")));
+		assertEquals(1, fixes.size());
+		assertNull(event);
+
+		long day = 24L * 3600 * 1000;
+		long nanos = fixes.get(0).getEpochNanos();
+		long millis = nanos / 1000000L;
+		assertEquals((12 * 3600 + 44) * 1000 + 567, Math.floorMod(millis, day));
+		assertTrue(Math.abs(millis - System.currentTimeMillis()) <= day / 2 + 1000);
+	}
+
+	@Test
+	public void testVelocityOfLatestSentence() {
+
+		final List<PositionFix> fixes = new ArrayList<PositionFix>();
+		instance.addFixListener(new PositionFixListener() {
+			public void positionFix(PositionFix fix) {
+				fixes.add(fix.copy());
+			}
+		});
+
+		SentenceFactory sf = SentenceFactory.getInstance();
+		Sentence rmc = sf.createParser(RMCTest.EXAMPLE);
+		Sentence vtg = sf.createParser(VTGTest.EXAMPLE);
+		Sentence gga = sf.createParser(GGATest.EXAMPLE);
+
+		instance.sentenceRead(new SentenceEvent(this, vtg));
+		instance.sentenceRead(new SentenceEvent(this, rmc));
+		instance.sentenceRead(new SentenceEvent(this, gga));
+		assertEquals(1, fixes.size());
+		// event speed is in km/h
+		assertEquals(0.0, fixes.get(0).getSpeed(), 1e-9);
+		assertEquals(event.getSpeed(), fixes.get(0).getSpeed() * 1.852, 1e-9);
+
+		instance.sentenceRead(new SentenceEvent(this, rmc));
+		instance.sentenceRead(new SentenceEvent(this, vtg));
+		instance.sentenceRead(new SentenceEvent(this, gga));
+		assertEquals(2, fixes.size());
+		assertEquals(16.89, fixes.get(1).getSpeed(), 1e-9);
+		assertEquals(event.getSpeed(), fixes.get(1).getSpeed() * 1.852, 1e-9);
+		assertEquals(event.getCourse(), fixes.get(1).getCourse(), 1e-9);
+	}
+
+	@Test
+	public void testEpochDay() {
+		assertEquals(0, PositionProvider.epochDay(1970, 1, 1));
+		assertEquals(-1, PositionProvider.epochDay(1969, 12, 31));
+		assertEquals(10999, PositionProvider.epochDay(2000, 2, 12));
+		assertEquals(11016, PositionProvider.epochDay(2000, 2, 28) + 1);
+		assertEquals(20745, PositionProvider.epochDay(2026, 10, 19));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeFusionWindow() {
+		instance.setFusionWindow(-1);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see
@@ -0,0 +1,186 @@
+package net.sf.marineapi.provider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+
+import net.sf.marineapi.nmea.event.SentenceEvent;
+import net.sf.marineapi.nmea.io.SentenceReader;
+import net.sf.marineapi.nmea.parser.SentenceFactory;
+import net.sf.marineapi.nmea.sentence.GSVSentence;
+import net.sf.marineapi.nmea.sentence.TalkerId;
+import net.sf.marineapi.provider.event.SatelliteInfoEvent;
+import net.sf.marineapi.provider.event.SatelliteInfoListener;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SatelliteInfoProviderTest implements SatelliteInfoListener {
+
+	private static final String GSA = "$GPGSA,A,3,14,19,22,26,,,,,,,,,04.6,03.4,03.1*0C";
+	private static final String GSV_1 = "$GPGSV,2,1,08,03,,,00,19,25,189,51,22,22,075,51,14,52,083,45*44";
+	private static final String GSV_2 = "$GPGSV,2,2,08,07,,,00,24,,,00,26,30,047,48,06,,,26*4A";
+
+	private static final String GNGSA = "$GNGSA,A,3,14,19,22,26,65,66,,,,,,,1.6,1.0,1.2*23";
+	private static final String GLGSV_1 = "$GLGSV,2,1,06,65,45,120,40,66,30,200,35,72,10,300,20,73,60,010,45*65";
+	private static final String GLGSV_2 = "$GLGSV,2,2,06,74,15,090,30,80,50,250,38*6F";
+
+	private final SentenceFactory factory = SentenceFactory.getInstance();
+	private SatelliteInfoProvider instance;
+	private SatelliteInfoEvent event;
+	private int count;
+
+	@Before
+	public void setUp() {
+		SentenceReader r = new SentenceReader(new ByteArrayInputStream(new byte[0]));
+		instance = new SatelliteInfoProvider(r);
+		instance.addListener(this);
+	}
+
+	@After
+	public void tearDown() {
+		instance.removeListener(this);
+	}
+
+	@Test
+	public void testCompleteCycle() {
+		read(GSA);
+		read(GSV_1);
+		assertNull(event);
+		read(GSV_2);
+		assertNotNull(event);
+		assertEquals(satellites(), event.getSatelliteInfo().size());
+		assertEquals(4, event.getSatelliteIds().length);
+		assertEquals(1, count);
+	}
+
+	@Test
+	public void testGSAAfterGSV() {
+		read(GSV_1);
+		read(GSV_2);
+		assertNull(event);
+		read(GSA);
+		assertNotNull(event);
+		assertEquals(satellites(), event.getSatelliteInfo().size());
+	}
+
+	@Test
+	public void testMissingFirstGSV() {
+		read(GSA);
+		read(GSV_2);
+		assertNull(event);
+	}
+
+	@Test
+	public void testRestartedSequence() {
+		read(GSA);
+		read(GSV_1);
+		read(GSV_1);
+		assertNull(event);
+		read(GSV_2);
+		assertNotNull(event);
+		assertEquals(satellites(), event.getSatelliteInfo().size());
+	}
+
+	@Test
+	public void testConsecutiveCycles() {
+		for (int i = 0; i < 3; i++) {
+			read(GSA);
+			read(GSV_1);
+			read(GSV_2);
+		}
+		assertEquals(3, count);
+	}
+
+	@Test
+	public void testInterleavedTalkers() {
+		for (int i = 0; i < 3; i++) {
+			read(GNGSA);
+			read(GSV_1);
+			read(GLGSV_1);
+			read(GSV_2);
+			assertEquals(i, count);
+			read(GLGSV_2);
+			assertEquals(i + 1, count);
+			assertEquals(satellites() + 6, event.getSatelliteCount());
+			assertEquals(satellites(), event.getSatelliteCount(TalkerId.GP));
+			assertEquals(6, event.getSatelliteCount(TalkerId.GL));
+		}
+	}
+
+	@Test
+	public void testSequentialTalkers() {
+		for (int i = 0; i < 4; i++) {
+			read(GNGSA);
+			read(GSV_1);
+			read(GSV_2);
+			read(GLGSV_1);
+			read(GLGSV_2);
+		}
+		// first cycle is dispatched before GLONASS is known
+		assertEquals(4, count);
+		assertEquals(satellites() + 6, event.getSatelliteCount());
+	}
+
+	@Test
+	public void testTalkerDropout() {
+		for (int i = 0; i < 2; i++) {
+			read(GNGSA);
+			read(GSV_1);
+			read(GLGSV_1);
+			read(GSV_2);
+			read(GLGSV_2);
+		}
+		assertEquals(2, count);
+
+		// GLONASS missing, dispatched when GPS restarts
+		read(GNGSA);
+		read(GSV_1);
+		read(GSV_2);
+		assertEquals(2, count);
+		read(GSV_1);
+		assertEquals(3, count);
+		assertEquals(0, event.getSatelliteCount(TalkerId.GL));
+		read(GSV_2);
+		assertEquals(3, count);
+		read(GNGSA);
+		assertEquals(4, count);
+	}
+
+	@Test
+	public void testPrimitiveValues() {
+		read(GNGSA);
+		read(GLGSV_1);
+		read(GLGSV_2);
+		assertNotNull(event);
+		assertEquals(6, event.getSatelliteCount());
+		assertEquals(TalkerId.GL, event.getTalkerId(0));
+		assertEquals(65, event.getPrn(0));
+		assertEquals(45, event.getElevation(0));
+		assertEquals(120, event.getAzimuth(0));
+		assertEquals(40, event.getNoise(0));
+		assertEquals(80, event.getPrn(5));
+		assertEquals(38, event.getNoise(5));
+		assertEquals("80", event.getSatelliteInfo().get(5).getId());
+		assertEquals(250, event.getSatelliteInfo().get(5).getAzimuth());
+	}
+
+	@Override
+	public void providerUpdate(SatelliteInfoEvent evt) {
+		event = evt;
+		count++;
+	}
+
+	private int satellites() {
+		GSVSentence s1 = (GSVSentence) factory.createParser(GSV_1);
+		GSVSentence s2 = (GSVSentence) factory.createParser(GSV_2);
+		return s1.getSatelliteInfo().size() + s2.getSatelliteInfo().size();
+	}
+
+	private void read(String nmea) {
+		instance.sentenceRead(new SentenceEvent(this, factory.createParser(nmea)));
+	}
+}
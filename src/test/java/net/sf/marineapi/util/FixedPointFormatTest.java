@@ -0,0 +1,130 @@
+package net.sf.marineapi.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class FixedPointFormatTest {
+
+    // patterns used by sentence parsers and util classes
+    private static final int[][] PATTERNS = {
+        { 0, 0 }, { 0, 1 }, { 0, 2 }, { 1, 0 }, { 1, 1 }, { 1, 2 }, { 1, 3 },
+        { 2, 0 }, { 2, 2 }, { 2, 3 }, { 3, 1 }, { 3, 2 }, { 3, 3 }, { 1, 7 },
+        { 4, 4 }, { 1, 16 }, { 2, 20 }
+    };
+
+    private static final double[] SPECIAL = {
+        0.0, -0.0, 0.04, -0.04, 0.05, -0.05, 0.15, 0.25, 0.35, 0.5, -0.5,
+        1.5, 2.5, 1.005, 1.0049999999999999, 0.125, 0.375, 9.95, 9.995,
+        99.95, 359.95, 59.9995, 60.0, 123.456, 5.0E-6, 1e-10, -1e-10, 1e14, 1e15,
+        1e20, -1e20, 123456789012.345, Double.MIN_VALUE, Double.MAX_VALUE,
+        Long.MAX_VALUE, 0.1 + 0.2, 4.35, 2.675, 1.45
+    };
+
+    @Test
+    public void testSpecialValues() {
+        for (int[] p : PATTERNS) {
+            for (double v : SPECIAL) {
+                assertFormat(v, p[0], p[1]);
+            }
+        }
+    }
+
+    @Test
+    public void testRandomValues() {
+        Random rnd = new Random(46);
+        for (int i = 0; i < 20000; i++) {
+            int[] p = PATTERNS[rnd.nextInt(PATTERNS.length)];
+            double v;
+            switch (i % 4) {
+                case 0:
+                    v = rnd.nextDouble() * 360;
+                    break;
+                case 1:
+                    v = (rnd.nextDouble() - 0.5) * 200;
+                    break;
+                case 2:
+                    // exact ties in decimal, e.g. 12.345 with two decimals
+                    v = (rnd.nextInt(2000000) - 1000000 + 0.5) / Math.pow(10, p[1]);
+                    break;
+                default:
+                    v = Double.longBitsToDouble(rnd.nextLong());
+                    if (Double.isNaN(v) || Double.isInfinite(v)) {
+                        v = 0;
+                    }
+            }
+            assertFormat(v, p[0], p[1]);
+        }
+    }
+
+    @Test
+    public void testNonFinite() {
+        assertFormat(Double.NaN, 2, 1);
+        assertFormat(Double.POSITIVE_INFINITY, 2, 1);
+        assertFormat(Double.NEGATIVE_INFINITY, 0, 3);
+    }
+
+    @Test
+    public void testInt() {
+        int[] values = { 0, 1, -1, 5, -5, 12, -12, 123, 99999, -99999,
+            Integer.MAX_VALUE, Integer.MIN_VALUE };
+        for (int width = 0; width < 12; width++) {
+            String pattern = width > 0 ? "%0" + width + "d" : "%d";
+            for (int v : values) {
+                assertEquals(String.format(pattern, v), FixedPointFormat.format(v, width));
+            }
+        }
+    }
+
+    @Test
+    public void testAppend() {
+        StringBuilder sb = new StringBuilder("x");
+        FixedPointFormat.append(sb, 7, 2);
+        FixedPointFormat.append(sb, 1.25, 2, 1);
+        assertEquals("x0701.2", sb.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeDecimals() {
+        FixedPointFormat.format(1.0, 1, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWidth() {
+        FixedPointFormat.format(1, -1);
+    }
+
+    private static void assertFormat(double value, int leading, int decimals) {
+        String expected = legacyFormat(value, leading, decimals);
+        String actual = FixedPointFormat.format(value, leading, decimals);
+        assertEquals(value + " [" + leading + "," + decimals + "]", expected, actual);
+    }
+
+    /**
+     * Formatting as previously done in SentenceParser.setDoubleValue().
+     */
+    private static String legacyFormat(double value, int leading, int decimals) {
+        StringBuilder pattern = new StringBuilder();
+        for (int i = 0; i < leading; i++) {
+            pattern.append('0');
+        }
+        if (decimals > 0) {
+            pattern.append('.');
+            for (int i = 0; i < decimals; i++) {
+                pattern.append('0');
+            }
+        }
+        if (pattern.length() == 0) {
+            pattern.append('0');
+        }
+        DecimalFormat nf = new DecimalFormat(pattern.toString());
+        DecimalFormatSymbols dfs = new DecimalFormatSymbols();
+        dfs.setDecimalSeparator('.');
+        nf.setDecimalFormatSymbols(dfs);
+        return nf.format(value);
+    }
+}
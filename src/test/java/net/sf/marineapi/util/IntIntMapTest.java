@@ -0,0 +1,88 @@
+package net.sf.marineapi.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class IntIntMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        IntIntMap map = new IntIntMap();
+        assertTrue(map.isEmpty());
+        map.put(123456789, 1);
+        map.put(-5, 2);
+        map.put(0, 3);
+        assertEquals(3, map.size());
+        assertEquals(1, map.get(123456789, -1));
+        assertEquals(2, map.get(-5, -1));
+        assertEquals(3, map.get(0, -1));
+        assertEquals(-1, map.get(42, -1));
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(42));
+    }
+
+    @Test
+    public void testReplace() {
+        IntIntMap map = new IntIntMap();
+        map.put(7, 1);
+        map.put(7, 2);
+        assertEquals(1, map.size());
+        assertEquals(2, map.get(7, -1));
+    }
+
+    @Test
+    public void testRemove() {
+        IntIntMap map = new IntIntMap();
+        map.put(7, 1);
+        map.put(0, 2);
+        assertTrue(map.remove(7));
+        assertFalse(map.remove(7));
+        assertTrue(map.remove(0));
+        assertFalse(map.remove(0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testKeys() {
+        IntIntMap map = new IntIntMap();
+        map.put(0, 1);
+        map.put(3, 1);
+        map.put(2, 1);
+        int[] keys = map.keys();
+        Arrays.sort(keys);
+        assertTrue(Arrays.equals(new int[] { 0, 2, 3 }, keys));
+        map.clear();
+        assertEquals(0, map.keys().length);
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        Random rnd = new Random(1);
+        IntIntMap map = new IntIntMap(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 200000; i++) {
+            int key = rnd.nextInt(5000);
+            if (rnd.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                expected.put(key, i);
+                map.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 5000; key++) {
+            Integer value = expected.get(key);
+            assertEquals(value == null ? -1 : value.intValue(), map.get(key, -1));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package net.sf.marineapi.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class LongHashSetTest {
+
+    @Test
+    public void testAddAndContains() {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(123456789012345L));
+        assertTrue(set.add(-5L));
+        assertTrue(set.add(0L));
+        assertFalse(set.add(-5L));
+        assertEquals(3, set.size());
+        assertTrue(set.contains(123456789012345L));
+        assertTrue(set.contains(-5L));
+        assertTrue(set.contains(0L));
+        assertFalse(set.contains(42L));
+    }
+
+    @Test
+    public void testClear() {
+        LongHashSet set = new LongHashSet();
+        set.add(0L);
+        set.add(7L);
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(0L));
+        assertFalse(set.contains(7L));
+        assertTrue(set.add(7L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeSize() {
+        new LongHashSet(-1);
+    }
+
+    @Test
+    public void testGrowthAgainstHashSet() {
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        Random rnd = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            long v = rnd.nextInt(5000) * 0x100000000L;
+            assertEquals(expected.add(v), set.add(v));
+        }
+        assertEquals(expected.size(), set.size());
+        for (long v : expected) {
+            assertTrue(set.contains(v));
+        }
+    }
+}